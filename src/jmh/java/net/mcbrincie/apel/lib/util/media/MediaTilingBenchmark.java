@@ -0,0 +1,76 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilter;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilterPipeline;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilters;
+import net.mcbrincie.apel.lib.util.media.resamplers.MediaResamplers;
+import net.mcbrincie.apel.lib.util.media.resamplers.TiledMediaResampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the sequential and the tiled media passes across frame sizes. The parallel tiling splits every frame,
+ * regardless of {@link MediaTiling#DEFAULT_PARALLEL_THRESHOLD}, so the size from which tiling pays off on the machine
+ * running the benchmark can be read from where the two lines cross
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTilingBenchmark {
+    @Param({"64", "128", "256", "512", "1024", "2048", "4096"})
+    public int size;
+
+    @Param({"sequential", "parallel"})
+    public String tiling;
+
+    private final MediaFilterPipeline pipeline = new MediaFilterPipeline();
+    private final List<MediaFilter> filters = List.of(MediaFilters.brightness(1.2f), MediaFilters.contrast(0.8f));
+    private MediaTiling mediaTiling;
+    private TiledMediaResampler resampler;
+    private int[] pixels;
+    private ParticleMedia.FrameData frame;
+
+    @Setup
+    public void setup() {
+        this.mediaTiling = this.tiling.equals("parallel")
+                ? MediaTiling.parallel(ForkJoinPool.commonPool(), 1)
+                : MediaTiling.SEQUENTIAL;
+        this.pipeline.setTiling(this.mediaTiling);
+        // Downscales by half, the usual use of a resampler on media drawn with particles
+        this.resampler = (TiledMediaResampler) MediaResamplers.bilinear(this.size / 2, this.size / 2);
+        this.pixels = new Random(42).ints(this.size * this.size).toArray();
+        this.frame = new ParticleMedia.FrameData(this.pixels, this.size, this.size);
+    }
+
+    @Benchmark
+    public ParticleMedia.FrameData fusedFilters() {
+        return this.pipeline.apply(this.frame, this.filters, 0);
+    }
+
+    @Benchmark
+    public ParticleMedia.FrameData bilinearResample() {
+        // The resampler replaces the color array of the frame, so hand it the source again
+        this.frame.frame = this.pixels;
+        this.frame.width = this.size;
+        this.frame.height = this.size;
+        this.resampler.apply(this.frame, 0, this.mediaTiling);
+        return this.frame;
+    }
+}
@@ -5,8 +5,11 @@ import net.mcbrincie.apel.lib.renderers.ApelFramePayload;
 import net.mcbrincie.apel.lib.renderers.ApelRenderer;
 import net.mcbrincie.apel.lib.util.math.bezier.BezierCurve;
 import net.minecraft.particle.ParticleEffect;
+import org.joml.Matrix3f;
 import org.joml.Vector3f;
 
+import java.util.List;
+
 /**
  * Handles {@link ApelFramePayload}s from the server.
  */
@@ -23,45 +26,70 @@ final class ApelFramePayloadHandler implements ClientPlayNetworking.PlayPayloadH
         // TODO: Can this be done once instead of every single payload?
         renderer.setParticleManager(context.client().particleManager);
 
-        context.client().execute(() -> {
+        context.client().execute(() -> this.drawInstructions(this.renderer, payload.instructions(), null));
+    }
 
-            Vector3f frameOrigin = new Vector3f(0);
-            ParticleEffect particleEffect = null;
-            for (ApelRenderer.Instruction ins : payload.instructions()) {
-                switch (ins) {
-                    case ApelRenderer.Frame(Vector3f origin) -> frameOrigin = origin;
+    /**
+     * Draws the instructions with the given renderer, starting with the given particle effect.
+     *
+     * @return the particle effect in use after the instructions
+     */
+    private ParticleEffect drawInstructions(ApelRenderer renderer, List<ApelRenderer.Instruction> instructions,
+                                            ParticleEffect particleEffect) {
+        for (ApelRenderer.Instruction ins : instructions) {
+            switch (ins) {
+                case ApelRenderer.Frame(Vector3f origin) -> {
+                    // Frames only carry their origin, which drawing does not need
+                }
 
-                    case ApelRenderer.PType(ParticleEffect pe) -> particleEffect = pe;
+                case ApelRenderer.PType(ParticleEffect pe) -> particleEffect = pe;
 
-                    case ApelRenderer.Particle(Vector3f pos) -> renderer.drawParticle(particleEffect, 0, pos);
+                case ApelRenderer.Particle(Vector3f pos) -> renderer.drawParticle(particleEffect, 0, pos);
 
-                    case ApelRenderer.Line(Vector3f drawPos, Vector3f start, Vector3f end, Vector3f rotation, int amount) ->
-                            renderer.drawLine(particleEffect, 0, drawPos, start, end, rotation, amount);
+                case ApelRenderer.Line(Vector3f drawPos, Vector3f start, Vector3f end, Vector3f rotation, int amount) ->
+                        renderer.drawLine(particleEffect, 0, drawPos, start, end, rotation, amount);
 
-                    case ApelRenderer.Ellipse(
-                            Vector3f center, float radius, float stretch, Vector3f rotation, int amount
-                    ) -> renderer.drawEllipse(particleEffect, 0, center, radius, stretch, rotation, amount);
+                case ApelRenderer.Ellipse(
+                        Vector3f center, float radius, float stretch, Vector3f rotation, int amount
+                ) -> renderer.drawEllipse(particleEffect, 0, center, radius, stretch, rotation, amount);
 
-                    case ApelRenderer.Ellipsoid(
-                            Vector3f drawPos, float xSemiAxis, float ySemiAxis, float zSemiAxis, Vector3f rotation,
-                            int amount
-                    ) -> renderer.drawEllipsoid(particleEffect, 0, drawPos, xSemiAxis, ySemiAxis, zSemiAxis, rotation,
-                                                amount
-                    );
+                case ApelRenderer.Ellipsoid(
+                        Vector3f drawPos, float xSemiAxis, float ySemiAxis, float zSemiAxis, Vector3f rotation,
+                        int amount
+                ) -> renderer.drawEllipsoid(particleEffect, 0, drawPos, xSemiAxis, ySemiAxis, zSemiAxis, rotation,
+                                            amount
+                );
 
-                    case ApelRenderer.BezierCurve(
-                            Vector3f drawPos, BezierCurve bezierCurve, Vector3f rotation, int amount
-                    ) -> renderer.drawBezier(particleEffect, 0, drawPos, bezierCurve, rotation, amount);
+                case ApelRenderer.BezierCurve(
+                        Vector3f drawPos, BezierCurve bezierCurve, Vector3f rotation, int amount
+                ) -> renderer.drawBezier(particleEffect, 0, drawPos, bezierCurve, rotation, amount);
 
-                    case ApelRenderer.Cone(
-                            Vector3f drawPos, float height, float radius, Vector3f rotation, int amount
-                    ) -> renderer.drawCone(particleEffect, 0, drawPos, height, radius, rotation, amount);
+                case ApelRenderer.Cone(
+                        Vector3f drawPos, float height, float radius, Vector3f rotation, int amount
+                ) -> renderer.drawCone(particleEffect, 0, drawPos, height, radius, rotation, amount);
 
-                    case ApelRenderer.Cylinder(
-                            Vector3f drawPos, float radius, float height, Vector3f rotation, int amount
-                    ) -> renderer.drawCylinder(particleEffect, 0, drawPos, radius, height, rotation, amount);
+                case ApelRenderer.Cylinder(
+                        Vector3f drawPos, float radius, float height, Vector3f rotation, int amount
+                ) -> renderer.drawCylinder(particleEffect, 0, drawPos, radius, height, rotation, amount);
+
+                case ApelRenderer.Instanced(List<ApelRenderer.Instruction> baseInstructions, float[] offsets) -> {
+                    ParticleEffect instanceEffect = particleEffect;
+                    OffsetRenderer offsetRenderer = new OffsetRenderer(renderer);
+                    for (int i = 0; i + 2 < offsets.length; i += 3) {
+                        offsetRenderer.setOffset(offsets[i], offsets[i + 1], offsets[i + 2]);
+                        instanceEffect = this.drawInstructions(offsetRenderer, baseInstructions, particleEffect);
+                    }
+                    particleEffect = instanceEffect;
                 }
+
+                case ApelRenderer.Transformed(
+                        List<ApelRenderer.Instruction> baseInstructions, Vector3f origin, Vector3f copyOrigin,
+                        Matrix3f transform
+                ) -> particleEffect = this.drawInstructions(
+                        new TransformRenderer(renderer, origin, copyOrigin, transform), baseInstructions, particleEffect
+                );
             }
-        });
+        }
+        return particleEffect;
     }
 }
@@ -0,0 +1,84 @@
+package net.mcbrincie.apel.client;
+
+import net.mcbrincie.apel.lib.renderers.ApelRenderer;
+import net.mcbrincie.apel.lib.util.math.bezier.BezierCurve;
+import net.minecraft.particle.ParticleEffect;
+import org.joml.Vector3f;
+
+/**
+ * Translates every shape by an offset before handing it to another renderer, so instanced shapes are still drawn
+ * (and have their points cached) by the wrapped renderer.
+ */
+final class OffsetRenderer implements ApelRenderer {
+
+    private final ApelRenderer renderer;
+    private final Vector3f offset = new Vector3f();
+    private final Vector3f translated = new Vector3f();
+
+    OffsetRenderer(ApelRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /* package-private */ void setOffset(float x, float y, float z) {
+        this.offset.set(x, y, z);
+    }
+
+    private Vector3f translate(Vector3f position) {
+        return this.translated.set(position).add(this.offset);
+    }
+
+    @Override
+    public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+        this.renderer.drawParticle(particleEffect, step, this.translate(drawPos));
+    }
+
+    @Override
+    public void drawLine(
+            ParticleEffect particleEffect, int step, Vector3f drawPos, Vector3f start, Vector3f end, Vector3f rotation,
+            int amount
+    ) {
+        this.renderer.drawLine(particleEffect, step, this.translate(drawPos), start, end, rotation, amount);
+    }
+
+    @Override
+    public void drawEllipsoid(
+            ParticleEffect particleEffect, int step, Vector3f drawPos, float xSemiAxis, float ySemiAxis,
+            float zSemiAxis, Vector3f rotation, int amount
+    ) {
+        this.renderer.drawEllipsoid(particleEffect, step, this.translate(drawPos), xSemiAxis, ySemiAxis, zSemiAxis,
+                                    rotation, amount
+        );
+    }
+
+    @Override
+    public void drawEllipse(
+            ParticleEffect particleEffect, int step, Vector3f center, float radius, float stretch, Vector3f rotation,
+            int amount
+    ) {
+        this.renderer.drawEllipse(particleEffect, step, this.translate(center), radius, stretch, rotation, amount);
+    }
+
+    @Override
+    public void drawBezier(
+            ParticleEffect particleEffect, int step, Vector3f drawPos, BezierCurve bezierCurve, Vector3f rotation,
+            int amount
+    ) {
+        this.renderer.drawBezier(particleEffect, step, this.translate(drawPos), bezierCurve, rotation, amount);
+    }
+
+    @Override
+    public void drawCone(
+            ParticleEffect particleEffect, int step, Vector3f drawPos, float height, float radius, Vector3f rotation,
+            int amount
+    ) {
+        this.renderer.drawCone(particleEffect, step, this.translate(drawPos), height, radius, rotation, amount);
+    }
+
+    @Override
+    public void drawCylinder(
+            ParticleEffect particleEffect, int step, Vector3f center, float radius, float height, Vector3f rotation,
+            int amount
+    ) {
+        this.renderer.drawCylinder(particleEffect, step, this.translate(center), radius, height, rotation, amount);
+    }
+}
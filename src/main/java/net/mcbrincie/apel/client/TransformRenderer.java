@@ -0,0 +1,33 @@
+package net.mcbrincie.apel.client;
+
+import net.mcbrincie.apel.lib.renderers.ApelRenderer;
+import net.minecraft.particle.ParticleEffect;
+import org.joml.Matrix3fc;
+import org.joml.Vector3f;
+
+/**
+ * Transforms every particle around an origin and moves it to the origin of the copy before handing it to another
+ * renderer.  Shapes are broken down into their particles by the default {@link ApelRenderer} implementations, since a
+ * transform such as a reflection cannot be expressed through the rotation of a shape.
+ */
+final class TransformRenderer implements ApelRenderer {
+
+    private final ApelRenderer renderer;
+    private final Vector3f origin;
+    private final Vector3f copyOrigin;
+    private final Matrix3fc transform;
+    private final Vector3f transformed = new Vector3f();
+
+    TransformRenderer(ApelRenderer renderer, Vector3f origin, Vector3f copyOrigin, Matrix3fc transform) {
+        this.renderer = renderer;
+        this.origin = origin;
+        this.copyOrigin = copyOrigin;
+        this.transform = transform;
+    }
+
+    @Override
+    public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+        this.transformed.set(drawPos).sub(this.origin).mul(this.transform).add(this.copyOrigin);
+        this.renderer.drawParticle(particleEffect, step, this.transformed);
+    }
+}
@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.AnimationTrimming;
 import net.mcbrincie.apel.lib.util.interceptor.context.AnimationContext;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import net.mcbrincie.apel.lib.util.interceptor.context.Key;
 import net.mcbrincie.apel.lib.util.math.bezier.BezierCurve;
 import org.joml.Vector3f;
@@ -83,6 +84,7 @@ public class BezierCurveAnimator extends PathAnimatorBase<BezierCurveAnimator> {
 
     @Override
     public void beginAnimation(ApelServerRenderer renderer) throws SeqDuplicateException, SeqMissingException {
+        ContextPool pool = ContextPool.get();
         float tStart = this.trimming.getStart();
         float tEnd = this.trimming.getEnd();
         this.allocateToScheduler();
@@ -104,11 +106,15 @@ public class BezierCurveAnimator extends PathAnimatorBase<BezierCurveAnimator> {
                     break;
                 }
                 Vector3f renderPosition = bezierCurve.compute(t);
-                AnimationContext animationContext = new AnimationContext(renderer.getServerWorld(), renderPosition, step);
-                this.beforeRender.compute(this, animationContext);
-                Vector3f actualPosition = animationContext.getPosition();
-                this.handleDrawingStep(renderer, step, actualPosition);
-                this.afterRender.compute(this, animationContext);
+                AnimationContext animationContext = pool.acquireAnimation(renderer.getServerWorld(), renderPosition, step);
+                try {
+                    this.beforeRender.compute(this, animationContext);
+                    Vector3f actualPosition = animationContext.getPosition();
+                    this.handleDrawingStep(renderer, step, actualPosition);
+                    this.afterRender.compute(this, animationContext);
+                } finally {
+                    pool.release(animationContext);
+                }
             }
         }
     }
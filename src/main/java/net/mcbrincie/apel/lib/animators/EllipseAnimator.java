@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.AnimationTrimming;
 import net.mcbrincie.apel.lib.util.interceptor.context.AnimationContext;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Vector3f;
 
@@ -208,6 +209,7 @@ public class EllipseAnimator extends PathAnimatorBase<EllipseAnimator> {
      */
     @Override
     public void beginAnimation(ApelServerRenderer renderer) throws SeqMissingException, SeqDuplicateException {
+        ContextPool pool = ContextPool.get();
         Predicate<Float> isTrimmed = this.computeTrimmingPredicate();
 
         int stepsPerRevolution = this.renderingSteps;
@@ -236,11 +238,15 @@ public class EllipseAnimator extends PathAnimatorBase<EllipseAnimator> {
                     continue;
                 }
                 Vector3f renderPosition = calculatePoint(currAngle);
-                AnimationContext animationContext = new AnimationContext(renderer.getServerWorld(), renderPosition, step);
-                this.beforeRender.compute(this, animationContext);
-                Vector3f actualPosition = animationContext.getPosition();
-                this.handleDrawingStep(renderer, step, actualPosition);
-                this.afterRender.compute(this, animationContext);
+                AnimationContext animationContext = pool.acquireAnimation(renderer.getServerWorld(), renderPosition, step);
+                try {
+                    this.beforeRender.compute(this, animationContext);
+                    Vector3f actualPosition = animationContext.getPosition();
+                    this.handleDrawingStep(renderer, step, actualPosition);
+                    this.afterRender.compute(this, animationContext);
+                } finally {
+                    pool.release(animationContext);
+                }
             }
         }
     }
@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.AnimationTrimming;
 import net.mcbrincie.apel.lib.util.interceptor.context.AnimationContext;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import net.mcbrincie.apel.lib.util.interceptor.context.Key;
 import org.joml.Vector3f;
 
@@ -57,6 +58,7 @@ public class LinearAnimator extends PathAnimatorBase<LinearAnimator> {
 
     @Override
     public void beginAnimation(ApelServerRenderer renderer) throws SeqDuplicateException, SeqMissingException {
+        ContextPool pool = ContextPool.get();
         int startStep = this.trimming.getStart();
         int endStep = this.trimming.getEnd();
         this.allocateToScheduler();
@@ -78,12 +80,16 @@ public class LinearAnimator extends PathAnimatorBase<LinearAnimator> {
                     break;
                 }
                 Vector3f renderPosition = new Vector3f(segmentDelta).mul(i).add(segmentStart);
-                AnimationContext animationContext = new AnimationContext(renderer.getServerWorld(), renderPosition, step);
-                animationContext.addMetadata(CURRENT_ENDPOINT_INDEX, segmentIndex);
-                this.beforeRender.compute(this, animationContext);
-                Vector3f actualPosition = animationContext.getPosition();
-                this.handleDrawingStep(renderer, step, actualPosition);
-                this.afterRender.compute(this, animationContext);
+                AnimationContext animationContext = pool.acquireAnimation(renderer.getServerWorld(), renderPosition, step);
+                try {
+                    animationContext.addMetadata(CURRENT_ENDPOINT_INDEX, segmentIndex);
+                    this.beforeRender.compute(this, animationContext);
+                    Vector3f actualPosition = animationContext.getPosition();
+                    this.handleDrawingStep(renderer, step, actualPosition);
+                    this.afterRender.compute(this, animationContext);
+                } finally {
+                    pool.release(animationContext);
+                }
             }
         }
     }
@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.exceptions.SeqDuplicateException;
 import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.interceptor.context.AnimationContext;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import net.mcbrincie.apel.lib.util.scheduler.ScheduledStep;
 
 import java.util.ArrayList;
@@ -85,34 +86,39 @@ public class ParallelAnimator extends PathAnimatorBase<ParallelAnimator> impleme
 
     @Override
     public void beginAnimation(ApelServerRenderer renderer) throws SeqDuplicateException, SeqMissingException {
+        ContextPool pool = ContextPool.get();
         for (int index = 0; index < this.animators.size(); index++) {
             PathAnimatorBase<?> animator = this.animators.get(index);
             int totalDelay = this.delay + this.animatorDelays.get(index);
 
-            AnimationContext animationContext = new AnimationContext(renderer.getServerWorld());
-            animationContext.addMetadata(PATH_ANIMATOR, animator);
-            animationContext.addMetadata(DELAY, totalDelay);
-            this.beforeRender.compute(this, animationContext);
+            AnimationContext animationContext = pool.acquireAnimation(renderer.getServerWorld(), null, 0);
+            try {
+                animationContext.addMetadata(PATH_ANIMATOR, animator);
+                animationContext.addMetadata(DELAY, totalDelay);
+                this.beforeRender.compute(this, animationContext);
 
-            if (!animationContext.shouldRender()) {
-                continue;
-            }
+                if (!animationContext.shouldRender()) {
+                    continue;
+                }
 
-            // Effectively final variables for the lambda
-            PathAnimatorBase<?> scheduledAnimator = animationContext.getMetadata(PATH_ANIMATOR, animator);
-            int delayForAnimator = animationContext.getMetadata(DELAY, totalDelay);
-            Runnable func = () -> scheduledAnimator.beginAnimation(renderer);
-
-            if (delayForAnimator == 0) {
-                func.run();
-            } else {
-                scheduledAnimator.allocateToScheduler();
-                Apel.SCHEDULER.allocateNewStep(
-                        scheduledAnimator, new ScheduledStep(delayForAnimator, new Runnable[]{func})
-                );
-            }
+                // Effectively final variables for the lambda
+                PathAnimatorBase<?> scheduledAnimator = animationContext.getMetadata(PATH_ANIMATOR, animator);
+                int delayForAnimator = animationContext.getMetadata(DELAY, totalDelay);
+                Runnable func = () -> scheduledAnimator.beginAnimation(renderer);
+
+                if (delayForAnimator == 0) {
+                    func.run();
+                } else {
+                    scheduledAnimator.allocateToScheduler();
+                    Apel.SCHEDULER.allocateNewStep(
+                            scheduledAnimator, new ScheduledStep(delayForAnimator, new Runnable[]{func})
+                    );
+                }
 
-            this.afterRender.compute(this, animationContext);
+                this.afterRender.compute(this, animationContext);
+            } finally {
+                pool.release(animationContext);
+            }
         }
     }
 
@@ -4,6 +4,7 @@ import net.mcbrincie.apel.Apel;
 import net.mcbrincie.apel.lib.exceptions.SeqDuplicateException;
 import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.objects.ParticleObject;
+import net.mcbrincie.apel.lib.objects.ParticleProgram;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ServerWorldAccess;
 import net.mcbrincie.apel.lib.util.interceptor.AnimationInterceptor;
@@ -28,6 +29,7 @@ import java.util.List;
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public abstract class PathAnimatorBase<T extends PathAnimatorBase<T>> {
     protected ParticleObject<? extends ParticleObject<?>> particleObject;
+    protected ParticleProgram program;
     protected int delay = 1;
     protected int processingSpeed = 1;
     protected int renderingSteps = 0;
@@ -70,6 +72,7 @@ public abstract class PathAnimatorBase<T extends PathAnimatorBase<T>> {
     */
     public PathAnimatorBase(PathAnimatorBase<T> animator) {
         this.particleObject = animator.particleObject;
+        this.program = animator.program != null ? ParticleProgram.compile(animator.particleObject) : null;
         this.delay = animator.delay;
         this.processingSpeed = animator.processingSpeed;
         this.renderingInterval = animator.renderingInterval;
@@ -196,9 +199,22 @@ public abstract class PathAnimatorBase<T extends PathAnimatorBase<T>> {
     public final ParticleObject<? extends ParticleObject<?>> setParticleObject(@NotNull ParticleObject<? extends ParticleObject<?>> object) {
         ParticleObject<?> particleObject = this.particleObject;
         this.particleObject = object;
+        this.program = null;
         return particleObject;
     }
 
+    /** Compiles the particle object into a {@link ParticleProgram}, which the animator then draws instead of the
+     * object itself, until the particle object is set again. The program records the static parts of the object tree
+     * once, and records them again after setters change the tree
+     *
+     * @return The compiled program
+     */
+    public final ParticleProgram compileParticleObject() {
+        ParticleProgram program = ParticleProgram.compile(this.particleObject);
+        this.program = program;
+        return program;
+    }
+
     /** Gets the processing speed. Which is measured in rs/st and dictates how many functions
      * to execute per rendering step. By default, it is set to 1 rs/st
      *
@@ -300,7 +316,12 @@ public abstract class PathAnimatorBase<T extends PathAnimatorBase<T>> {
         Runnable func = () -> {
             renderer.beforeFrame(step, drawPosition);
             float deltaTickTime = ((ServerWorldAccess) renderer.getServerWorld()).APEL$getDeltaTickTime();
-            this.particleObject.doDraw(renderer, step, drawPosition, steps, deltaTickTime, new Vector3f(1));
+            ParticleProgram program = this.program;
+            if (program != null) {
+                program.run(renderer, step, drawPosition, steps, deltaTickTime);
+            } else {
+                this.particleObject.doDraw(renderer, step, drawPosition, steps, deltaTickTime, new Vector3f(1));
+            }
             renderer.afterFrame(step, drawPosition);
         };
         if (this.delay == 0) {
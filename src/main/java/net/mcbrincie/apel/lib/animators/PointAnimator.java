@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.exceptions.SeqDuplicateException;
 import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.interceptor.context.AnimationContext;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import org.joml.Vector3f;
 
 
@@ -61,14 +62,19 @@ public class PointAnimator extends PathAnimatorBase<PointAnimator> {
 
     @Override
     public void beginAnimation(ApelServerRenderer renderer) throws SeqDuplicateException, SeqMissingException {
+        ContextPool pool = ContextPool.get();
         this.allocateToScheduler();
         for (int step = 0; step < this.renderingSteps; step++) {
             Vector3f renderPoint = new Vector3f(this.point);
-            AnimationContext animationContext = new AnimationContext(renderer.getServerWorld(), renderPoint, step);
-            this.beforeRender.compute(this, animationContext);
-            Vector3f actualPoint = animationContext.getPosition();
-            this.handleDrawingStep(renderer, step, actualPoint);
-            this.afterRender.compute(this, animationContext);
+            AnimationContext animationContext = pool.acquireAnimation(renderer.getServerWorld(), renderPoint, step);
+            try {
+                this.beforeRender.compute(this, animationContext);
+                Vector3f actualPoint = animationContext.getPosition();
+                this.handleDrawingStep(renderer, step, actualPoint);
+                this.afterRender.compute(this, animationContext);
+            } finally {
+                pool.release(animationContext);
+            }
         }
     }
 
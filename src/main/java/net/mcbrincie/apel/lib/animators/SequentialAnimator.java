@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.exceptions.SeqDuplicateException;
 import net.mcbrincie.apel.lib.exceptions.SeqMissingException;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.interceptor.context.AnimationContext;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import net.mcbrincie.apel.lib.util.scheduler.ScheduledStep;
 
 import java.util.ArrayList;
@@ -82,37 +83,42 @@ public class SequentialAnimator extends PathAnimatorBase<SequentialAnimator> imp
 
     @Override
     public void beginAnimation(ApelServerRenderer renderer) throws SeqDuplicateException, SeqMissingException {
+        ContextPool pool = ContextPool.get();
         int totalDelay = this.delay;
         for (int index = 0; index < this.animators.size(); index++) {
             PathAnimatorBase<?> animator = this.animators.get(index);
             int animatorDelay = this.animatorDelays.get(index);
 
-            AnimationContext animationContext = new AnimationContext(renderer.getServerWorld());
-            animationContext.addMetadata(PATH_ANIMATOR, animator);
-            animationContext.addMetadata(DELAY, animatorDelay);
-            this.beforeRender.compute(this, animationContext);
+            AnimationContext animationContext = pool.acquireAnimation(renderer.getServerWorld(), null, 0);
+            try {
+                animationContext.addMetadata(PATH_ANIMATOR, animator);
+                animationContext.addMetadata(DELAY, animatorDelay);
+                this.beforeRender.compute(this, animationContext);
 
-            if (!animationContext.shouldRender()) {
-                continue;
-            }
+                if (!animationContext.shouldRender()) {
+                    continue;
+                }
 
-            // Effectively final variables for the lambda
-            PathAnimatorBase<?> animatorToSchedule = animationContext.getMetadata(PATH_ANIMATOR, animator);
-            int delayForAnimator = animationContext.getMetadata(DELAY, animatorDelay);
-            Runnable func = () -> animatorToSchedule.beginAnimation(renderer);
-
-            if (this.delay + delayForAnimator == 0) {
-                func.run();
-            } else {
-                totalDelay += delayForAnimator;
-                animatorToSchedule.allocateToScheduler();
-                Apel.SCHEDULER.allocateNewStep(
-                        animatorToSchedule, new ScheduledStep(totalDelay, new Runnable[]{func})
-                );
-                totalDelay += animatorToSchedule.calculateDuration();
-            }
+                // Effectively final variables for the lambda
+                PathAnimatorBase<?> animatorToSchedule = animationContext.getMetadata(PATH_ANIMATOR, animator);
+                int delayForAnimator = animationContext.getMetadata(DELAY, animatorDelay);
+                Runnable func = () -> animatorToSchedule.beginAnimation(renderer);
+
+                if (this.delay + delayForAnimator == 0) {
+                    func.run();
+                } else {
+                    totalDelay += delayForAnimator;
+                    animatorToSchedule.allocateToScheduler();
+                    Apel.SCHEDULER.allocateNewStep(
+                            animatorToSchedule, new ScheduledStep(totalDelay, new Runnable[]{func})
+                    );
+                    totalDelay += animatorToSchedule.calculateDuration();
+                }
 
-            this.afterRender.compute(this, animationContext);
+                this.afterRender.compute(this, animationContext);
+            } finally {
+                pool.release(animationContext);
+            }
         }
     }
 
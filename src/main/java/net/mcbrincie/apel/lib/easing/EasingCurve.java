@@ -1,5 +1,6 @@
 package net.mcbrincie.apel.lib.easing;
 
+import net.mcbrincie.apel.lib.easing.utility.BakedEasingCurve;
 import net.minecraft.util.math.Vec2f;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.Vec3i;
@@ -45,12 +46,19 @@ import java.lang.Math;
  * the corresponding values to compute and not the higher dimensional values
  * </p>
 
+ * <p>
+ * Hot paths evaluating a scalar or a {@link Vector3f} curve on every step should prefer {@link #getFloat(float)} and
+ * {@link #getValue(float, Vector3f)}, from {@link FloatEasing} and {@link Vec3fEasing}, which neither box the result
+ * nor allocate any vector. Curves that are expensive to compute can also be sampled into a lookup table with
+ * {@link #bake(int)}, which makes them cost the same to evaluate regardless of their complexity
+ * </p>
+
  * <b>Note:</b> Stateless easing curves do not have an EasingType. See {@link StatefulEasingCurve}
  *
  * @param <T> The type to use for the computation (can be either a vector or a scalar value)
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
-public abstract class EasingCurve<T> {
+public abstract class EasingCurve<T> implements FloatEasing, Vec3fEasing {
     protected float easeProgressFactor;
     protected T start;
     protected T end;
@@ -234,7 +242,7 @@ public abstract class EasingCurve<T> {
      * @return The computed value
      */
     public final float compute(float t) {
-        return compute(new float[]{t})[0];
+        return this.computeScalar(t);
     }
 
     /** Compute the easing curve and return back the computed value. However, each
@@ -263,6 +271,16 @@ public abstract class EasingCurve<T> {
         return Math.clamp(t * (1 + this.easeProgressFactor), 0, 1);
     }
 
+    /** Compute the t parameter for the easing curve without allocating. Every other compute method goes through this
+     * one, so curves that do not use {@link #interpolate(float)} override it
+     *
+     * @param t The t value to compute
+     * @return The computed value
+     */
+    protected float computeScalar(float t) {
+        return this.interpolate(this.computeValueT(t));
+    }
+
     /** Compute the t parameters for the easing curve and return the computed results
      *
      * @param t The list of t values to compute
@@ -271,8 +289,7 @@ public abstract class EasingCurve<T> {
     protected float[] compute(float[] t) {
         float[] tCopy = new float[t.length];
         for (int i = 0; i < t.length; i++) {
-            float t2 = computeValueT(t[i]);
-            tCopy[i] = this.interpolate(t2);
+            tCopy[i] = this.computeScalar(t[i]);
         }
         return tCopy;
     }
@@ -322,6 +339,49 @@ public abstract class EasingCurve<T> {
         );
     }
 
+    /** Bakes the easing curve into a lookup table of {@code resolution + 1} samples, see {@link BakedEasingCurve}.
+     * The baked curve evaluates in constant time, using the same start and end values as this curve
+     *
+     * @param resolution The number of intervals [0, 1] is sampled in
+     * @return The baked easing curve
+     */
+    public EasingCurve<T> bake(int resolution) {
+        return new BakedEasingCurve<>(this, resolution);
+    }
+
+    /** Compute the easing curve and get an intermediate value from the start to end as a primitive float. Unlike
+     * {@link #getValue(float)}, integer start and end values are not rounded
+     *
+     * @param t The t parameter
+     * @return The computed intermediate value
+     */
+    @Override
+    public float getFloat(float t) {
+        if (!(this.start instanceof Number startValue) || !(this.end instanceof Number endValue)) {
+            throw new RuntimeException("The start & end parameters have to be a scalar");
+        }
+        float computedT = this.computeScalar(t);
+        return ((1f - computedT) * startValue.floatValue()) + (computedT * endValue.floatValue());
+    }
+
+    /** Compute the easing curve and write the intermediate value from the start to end into {@code dest}
+     *
+     * @param t The t parameter, used for all 3 axes
+     * @param dest The vector receiving the computed value
+     * @return The {@code dest} vector
+     */
+    @Override
+    public Vector3f getValue(float t, Vector3f dest) {
+        if (!(this.start instanceof Vector3f startValue) || !(this.end instanceof Vector3f endValue)) {
+            throw new RuntimeException("The start & end parameters have to be a Vector3f");
+        }
+        float computedT = this.computeScalar(t);
+        return dest.set(
+                ((1f - computedT) * startValue.x) + (computedT * endValue.x),
+                ((1f - computedT) * startValue.y) + (computedT * endValue.y),
+                ((1f - computedT) * startValue.z) + (computedT * endValue.z)
+        );
+    }
 
     /** This is the interpolate method. It is the implementation of all the easing logic,
      * it receives a t value. It then returns the new computed t value based on the provided
@@ -0,0 +1,17 @@
+package net.mcbrincie.apel.lib.easing;
+
+/** A {@link FloatEasing} evaluates a scalar easing directly as a primitive float, without boxing the result or checking
+ * its type on every call. Every {@link EasingCurve} implements it, although only curves whose start and end are numbers
+ * support it, and is meant for hot paths such as computing the properties of a particle object on every step
+ *
+ * @see Vec3fEasing
+ */
+@FunctionalInterface
+public interface FloatEasing {
+    /** Computes the easing and gets the intermediate value between its start and end, without rounding it
+     *
+     * @param t The t parameter
+     * @return The computed intermediate value
+     */
+    float getFloat(float t);
+}
@@ -0,0 +1,20 @@
+package net.mcbrincie.apel.lib.easing;
+
+import org.joml.Vector3f;
+
+/** A {@link Vec3fEasing} evaluates a 3D vector easing into a vector supplied by the caller, so no vector is allocated
+ * per call. Every {@link EasingCurve} implements it, although only curves whose start and end are {@link Vector3f}
+ * support it, and is meant for hot paths such as computing the rotation, scale and offset of a particle object
+ *
+ * @see FloatEasing
+ */
+@FunctionalInterface
+public interface Vec3fEasing {
+    /** Computes the easing and writes the intermediate value between its start and end into {@code dest}
+     *
+     * @param t The t parameter, used for all 3 axes
+     * @param dest The vector receiving the computed value
+     * @return The {@code dest} vector
+     */
+    Vector3f getValue(float t, Vector3f dest);
+}
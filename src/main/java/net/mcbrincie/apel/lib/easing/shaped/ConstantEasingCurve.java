@@ -24,6 +24,28 @@ public class ConstantEasingCurve<T> extends EasingCurve<T> {
         return this.value;
     }
 
+    @Override
+    public EasingCurve<T> bake(int resolution) {
+        // A constant is already evaluated in constant time
+        return this;
+    }
+
+    @Override
+    public float getFloat(float t) {
+        if (!(this.value instanceof Number number)) {
+            throw new RuntimeException("The constant value has to be a scalar");
+        }
+        return number.floatValue();
+    }
+
+    @Override
+    public Vector3f getValue(float t, Vector3f dest) {
+        if (!(this.value instanceof Vector3f vector)) {
+            throw new RuntimeException("The constant value has to be a Vector3f");
+        }
+        return dest.set(vector);
+    }
+
     @Override
     protected float interpolate(float t) {
         return 0;
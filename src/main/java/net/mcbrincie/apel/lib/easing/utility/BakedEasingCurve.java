@@ -0,0 +1,46 @@
+package net.mcbrincie.apel.lib.easing.utility;
+
+import net.mcbrincie.apel.lib.easing.EasingCurve;
+
+/** This is the BakedEasingCurve, which acts as a utility for evaluating expensive curves in constant time. The t values
+ * computed by another curve are sampled once into a table at evenly spaced points of [0, 1], and every evaluation then
+ * linearly interpolates between the two closest samples. Any curve can be baked, including composite and operator curves,
+ * and the ease progress factor of the baked curve is sampled along with it. The start and end are taken from the baked
+ * curve, and since it is a utility, there is no Ease Type.
+ * <br /> <br />
+ * The higher the resolution, the closer the baked curve follows the original one; curves with sharp changes, such as
+ * the elastic or bounce curves, need more samples to keep their shape
+ *
+ * @param <T> The type to use for the computation (can be either a vector or a scalar value)
+ */
+@SuppressWarnings("unused")
+public class BakedEasingCurve<T> extends EasingCurve<T> {
+    protected final float[] samples;
+
+    public BakedEasingCurve(EasingCurve<T> easingCurve, int resolution) {
+        super(easingCurve.getStart(), easingCurve.getEnd());
+        if (resolution < 1) {
+            throw new IllegalArgumentException("The resolution of a baked easing curve must be at least 1");
+        }
+        this.samples = new float[resolution + 1];
+        for (int i = 0; i <= resolution; i++) {
+            this.samples[i] = easingCurve.compute((float) i / resolution);
+        }
+    }
+
+    /** Gets the number of intervals the curve was sampled in
+     *
+     * @return The resolution of the baked curve
+     */
+    public int getResolution() {
+        return this.samples.length - 1;
+    }
+
+    @Override
+    protected float interpolate(float t) {
+        float position = t * (this.samples.length - 1);
+        int index = Math.min((int) position, this.samples.length - 2);
+        float fraction = position - index;
+        return this.samples[index] + (this.samples[index + 1] - this.samples[index]) * fraction;
+    }
+}
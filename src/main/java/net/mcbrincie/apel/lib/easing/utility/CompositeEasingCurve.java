@@ -20,17 +20,12 @@ public class CompositeEasingCurve<T> extends EasingCurve<T> {
     }
 
     @Override
-    public float[] compute(float[] t) {
-        float[] tCopy = new float[t.length];
-        for (int i = 0; i < t.length; i++) {
-            float val = 0;
-            float t2 = computeValueT(t[i]);
-            for (EasingCurve<T> easingCurve : this.easingCurves) {
-                t2 = easingCurve.compute(t2);
-            }
-            tCopy[i] = t2;
+    protected float computeScalar(float t) {
+        float t2 = computeValueT(t);
+        for (EasingCurve<T> easingCurve : this.easingCurves) {
+            t2 = easingCurve.compute(t2);
         }
-        return tCopy;
+        return t2;
     }
 
     @Override
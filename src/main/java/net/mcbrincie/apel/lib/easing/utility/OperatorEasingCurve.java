@@ -23,23 +23,19 @@ public class OperatorEasingCurve<T> extends EasingCurve<T> {
     }
 
     @Override
-    public float[] compute(float[] t) {
-        float[] tCopy = new float[t.length];
-        for (int i = 0; i < t.length; i++) {
-            float val = 0;
-            float t2 = computeValueT(t[i]);
-            for (EasingCurve<T> easingCurve : this.easingCurves) {
-                float computedValT = easingCurve.compute(t2);
-                val = switch (easingOperation) {
-                    case ADD -> computedValT + val;
-                    case SUBTRACT -> computedValT - val;
-                    case MULTIPLY -> computedValT * val;
-                    case DIVIDE -> computedValT / val;
-                };
-            }
-            tCopy[i] = val;
+    protected float computeScalar(float t) {
+        float val = 0;
+        float t2 = computeValueT(t);
+        for (EasingCurve<T> easingCurve : this.easingCurves) {
+            float computedValT = easingCurve.compute(t2);
+            val = switch (easingOperation) {
+                case ADD -> computedValT + val;
+                case SUBTRACT -> computedValT - val;
+                case MULTIPLY -> computedValT * val;
+                case DIVIDE -> computedValT / val;
+            };
         }
-        return tCopy;
+        return val;
     }
 
     @Override
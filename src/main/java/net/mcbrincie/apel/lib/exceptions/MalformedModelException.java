@@ -0,0 +1,11 @@
+package net.mcbrincie.apel.lib.exceptions;
+
+public class MalformedModelException extends RuntimeException {
+    public MalformedModelException(String errorMessage) {
+        super(errorMessage);
+    }
+
+    public MalformedModelException(String errorMessage, Throwable cause) {
+        super(errorMessage, cause);
+    }
+}
@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
@@ -13,8 +14,9 @@ import org.joml.Vector3i;
  * Objects will repeat as described in the {@code gridSize} property which allows for repeating the object in each of
  * the X, Y, and Z dimensions.  The spacing along each axis is customizable via the {@code spacingPerAxis} property.
  * <p>
- * The ParticleArray will run the interceptor for the repeated object once before drawing it in each position of the
- * array.  After drawing the object as many times as the array requires, the {@code afterDraw} interceptor will run.
+ * The ParticleArray will draw the repeated object, running its interceptors, only once per step.  The particles it draws
+ * are then repeated at each position of the array through {@link ApelServerRenderer#drawInstanced}, so the geometry of
+ * the object is computed once no matter the size of the grid.
  * <p>
  * The array will be centered around the {@link DrawContext}'s {@code position} property, though the entire array
  * can be adjusted with the {@code offset} property, as usual.  The individual object offset will be consistent across
@@ -25,6 +27,9 @@ import org.joml.Vector3i;
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleArray<O extends ParticleObject<O>> extends UtilityParticleObject<ParticleArray<O>, O> {
+    protected static final ComputedField.OfObject<Vector3i> GRID_SIZE = ComputedField.objectField("gridSize");
+    protected static final ComputedField.OfObject<Vector3f> SPACING = ComputedField.objectField("spacing");
+
     protected EasingCurve<Vector3i> gridSize;
     protected EasingCurve<Vector3f> spacing;
 
@@ -69,6 +74,7 @@ public class ParticleArray<O extends ParticleObject<O>> extends UtilityParticleO
     public EasingCurve<Vector3f> setSpacing(EasingCurve<Vector3f> spacing) {
         EasingCurve<Vector3f> prevSpacings = this.spacing;
         this.spacing = spacing;
+        this.invalidateGeometry();
         return prevSpacings;
     }
 
@@ -102,42 +108,47 @@ public class ParticleArray<O extends ParticleObject<O>> extends UtilityParticleO
     public EasingCurve<Vector3i> setGridSize(EasingCurve<Vector3i> gridSize) {
         EasingCurve<Vector3i> prevGridSize = this.gridSize;
         this.gridSize = gridSize;
+        this.invalidateGeometry();
         return prevGridSize;
     }
 
     @Override
     protected ComputedEasingPO computeAdditionalEasings(ComputedEasingPO container) {
-        return container.addComputedField("gridSize", this.gridSize)
-                .addComputedField("spacing", this.spacing);
+        return container.addComputedField(GRID_SIZE, this.gridSize)
+                .addComputedField(SPACING, this.spacing);
     }
 
     @Override
-    public void draw(ApelServerRenderer renderer, DrawContext data, Vector3f actualSize) {
+    public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingPO> data, Vector3f actualSize) {
         ComputedEasingPO mainComputedEasings = data.getComputedEasings();
-        ComputedEasingPO childComputedEasings = new ComputedEasingPO(this.particleObject, data.getCurrentStep(), data.getNumberOfStep());
-        DrawContext childContext = new DrawContext(renderer, data, childComputedEasings);
-        this.particleObject.prepareContext(childContext);
-        // Call interceptors once
-        this.particleObject.beforeDrawEvent.compute(this.particleObject, childContext);
-        Vector3i currGridSize = (Vector3i) mainComputedEasings.getComputedField("gridSize");
-        Vector3f currSpacing = (Vector3f) mainComputedEasings.getComputedField("spacing");
+        Vector3i currGridSize = mainComputedEasings.getComputedField(GRID_SIZE);
+        Vector3f currSpacing = mainComputedEasings.getComputedField(SPACING);
 
         int xGaps = currGridSize.x - 1;
         int yGaps = currGridSize.y - 1;
         int zGaps = currGridSize.z - 1;
+        float[] offsets = new float[Math.max(0, currGridSize.x * currGridSize.y * currGridSize.z) * 3];
+        int index = 0;
         for (int x = -xGaps; x <= xGaps; x += 2) {
             for (int y = -yGaps; y <= yGaps; y += 2) {
                 for (int z = -zGaps; z <= zGaps; z += 2) {
-                    Vector3f arrayOffset = new Vector3f(x, y, z).mul(currSpacing).div(2f);
-                    // Debating between this and modifying the `particleObject` offset (for baking purposes)
-                    childContext.getPosition().add(arrayOffset);
-                    this.particleObject.display(renderer, childContext, actualSize);
-                    childContext.getPosition().sub(arrayOffset);
+                    offsets[index++] = x * currSpacing.x / 2f;
+                    offsets[index++] = y * currSpacing.y / 2f;
+                    offsets[index++] = z * currSpacing.z / 2f;
                 }
             }
         }
-        this.particleObject.afterDrawEvent.compute(this.particleObject, childContext);
 
+        // The object is drawn a single time, running its interceptors once, and every cell replays its particles
+        Vector3f position = data.getPosition();
+        renderer.drawInstanced(data.getCurrentStep(), position, offsets, instanceRenderer -> this.particleObject.doDraw(
+                instanceRenderer,
+                data.getCurrentStep(),
+                new Vector3f(position),
+                data.getNumberOfStep(),
+                data.getDeltaTickTime(),
+                new Vector3f(actualSize)
+        ));
     }
 
     // The 'T' here is deliberately different from the 'O' in the ParticleArray class.
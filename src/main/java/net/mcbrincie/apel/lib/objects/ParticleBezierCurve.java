@@ -73,6 +73,7 @@ public class ParticleBezierCurve extends RenderableParticleObject<ParticleBezier
         }
         List<BezierCurve> prevEndpoints = this.bezierCurves;
         this.bezierCurves = bezierCurves;
+        this.invalidateGeometry();
         return prevEndpoints;
     }
 
@@ -105,6 +106,7 @@ public class ParticleBezierCurve extends RenderableParticleObject<ParticleBezier
         this.amounts = amounts;
         List<BezierCurve> prevEndpoints = this.bezierCurves;
         this.bezierCurves = curves;
+        this.invalidateGeometry();
         return new Pair<>(prevAmounts, prevEndpoints);
     }
 
@@ -141,6 +143,7 @@ public class ParticleBezierCurve extends RenderableParticleObject<ParticleBezier
         }
         this.amounts = new ArrayList<>(this.bezierCurves.size());
         Collections.fill(this.amounts, amount);
+        this.invalidateGeometry();
         return prevAmounts;
     }
 
@@ -163,6 +166,7 @@ public class ParticleBezierCurve extends RenderableParticleObject<ParticleBezier
         }
         List<Integer> prevAmount = this.amounts;
         this.amounts = amounts;
+        this.invalidateGeometry();
         return prevAmount;
     }
 
@@ -3,8 +3,8 @@ package net.mcbrincie.apel.lib.objects;
 import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
-import net.mcbrincie.apel.lib.util.ComputedEasingPO;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.ObjectInterceptor;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import net.mcbrincie.apel.lib.util.interceptor.context.Key;
@@ -13,7 +13,10 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.random.Random;
 import org.joml.Vector3f;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
 
 /**
  * This particle object subclass represents a set of 3D branches. Constructing the branch generator requires specifying
@@ -21,9 +24,28 @@ import java.util.Optional;
  * <b>TOTAL BRANCHES</b> and finally a minimum and a maximum number of the number of <b>BRANCHES PER DIVISION</b>.
  * The entire branch set may be rotated and offset relative to the draw origin by using the builder properties,
  * setters after construction, or during interceptor calls.
+ * <br /> <br />
+ * <b>Seeds & Generation</b><br>
+ * Branches are generated from a random seed. Without a {@link #setSeed(Long) seed}, every draw picks a new one, so the
+ * branches change on every step. With a seed, every draw generates the same branches as long as the properties stay the
+ * same. The generated branches are kept as flat arrays of segments, and with {@link #setGenerateOnce(boolean)} they are
+ * only generated on the first draw and then reused until a property of the generator changes.<br><br>
+ * Every top-level branch draws from its own random stream, split from the seed by the index of the branch, so the
+ * generated branches do not depend on the order they are generated in. This allows generating the branches of large
+ * trees in parallel, on the common fork-join pool, once their number reaches the {@link #setParallelThreshold(int)
+ * parallel threshold}
 */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGen> {
+    protected static final ComputedField.OfInt MIN_BRANCHES_PER_DIVISION = ComputedField.intField("minBranchesPerDivision");
+    protected static final ComputedField.OfInt MAX_BRANCHES_PER_DIVISION = ComputedField.intField("maxBranchesPerDivision");
+    protected static final ComputedField.OfFloat MIN_LENGTH = ComputedField.floatField("minLength");
+    protected static final ComputedField.OfFloat MAX_LENGTH = ComputedField.floatField("maxLength");
+    protected static final ComputedField.OfObject<Vector3f> MIN_ANGLE = ComputedField.objectField("minAngle");
+    protected static final ComputedField.OfObject<Vector3f> MAX_ANGLE = ComputedField.objectField("maxAngle");
+    protected static final ComputedField.OfInt MIN_TOTAL_BRANCHES = ComputedField.intField("minTotalBranches");
+    protected static final ComputedField.OfInt MAX_TOTAL_BRANCHES = ComputedField.intField("maxTotalBranches");
+
     protected EasingCurve<Vector3f> minAngle;
     protected EasingCurve<Vector3f> maxAngle;
     protected EasingCurve<Float> minLength;
@@ -33,7 +55,10 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     protected EasingCurve<Integer> maxBranchesPerDivision;
     protected EasingCurve<Integer> minBranchesPerDivision;
 
-    private static final Random rand = Random.create();
+    protected Long seed;
+    protected boolean generateOnce = false;
+    protected int parallelThreshold = 0;
+    private float[] generatedSegments;
 
     private ObjectInterceptor<ParticleBranchGen> beforeBranchDraw = ObjectInterceptor.identity();
     private ObjectInterceptor<ParticleBranchGen> afterBranchDraw = ObjectInterceptor.identity();
@@ -59,6 +84,9 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
         this.setMaxLength(builder.maxLengthThreshold);
         this.setAfterBranchDraw(builder.afterBranchDraw);
         this.setBeforeBranchDraw(builder.beforeBranchDraw);
+        this.setSeed(builder.seed);
+        this.setGenerateOnce(builder.generateOnce);
+        this.setParallelThreshold(builder.parallelThreshold);
     }
 
     /** The copy constructor for a specific particle object. It copies all
@@ -79,6 +107,9 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
         this.maxTotalBranches = branchGen.maxTotalBranches;
         this.beforeBranchDraw = branchGen.beforeBranchDraw;
         this.afterBranchDraw = branchGen.afterBranchDraw;
+        this.seed = branchGen.seed;
+        this.generateOnce = branchGen.generateOnce;
+        this.parallelThreshold = branchGen.parallelThreshold;
     }
 
     /** Gets the minimum branch length threshold
@@ -114,6 +145,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Float> setMinLength(EasingCurve<Float> minLength) {
         EasingCurve<Float> prevLength = this.minLength;
         this.minLength = minLength;
+        this.invalidateGeometry();
         return prevLength;
     }
 
@@ -150,6 +182,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Float> setMaxLength(EasingCurve<Float> maxLength) {
         EasingCurve<Float> prevLength = this.maxLength;
         this.maxLength = maxLength;
+        this.invalidateGeometry();
         return prevLength;
     }
 
@@ -186,6 +219,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Vector3f> setMinAngle(EasingCurve<Vector3f> minAngle) {
         EasingCurve<Vector3f> prevAngle = this.minAngle;
         this.minAngle = minAngle;
+        this.invalidateGeometry();
         return prevAngle;
     }
 
@@ -222,6 +256,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Vector3f> setMaxAngle(EasingCurve<Vector3f> maxAngle) {
         EasingCurve<Vector3f> prevAngle = this.maxAngle;
         this.maxAngle = maxAngle;
+        this.invalidateGeometry();
         return prevAngle;
     }
 
@@ -258,6 +293,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Integer> setMaxBranchesPerDivision(EasingCurve<Integer> branchCount) {
         EasingCurve<Integer> prevBranchCount = this.maxBranchesPerDivision;
         this.maxBranchesPerDivision = branchCount;
+        this.invalidateGeometry();
         return prevBranchCount;
     }
 
@@ -294,6 +330,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Integer> setMinBranchesPerDivsion(EasingCurve<Integer> branchCount) {
         EasingCurve<Integer> prevBranchCount = this.minBranchesPerDivision;
         this.minBranchesPerDivision = branchCount;
+        this.invalidateGeometry();
         return prevBranchCount;
     }
 
@@ -330,6 +367,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Integer> setMaxTotalBranches(EasingCurve<Integer> branchCount) {
         EasingCurve<Integer> prevBranchCount = this.maxTotalBranches;
         this.maxTotalBranches = branchCount;
+        this.invalidateGeometry();
         return prevBranchCount;
     }
 
@@ -366,9 +404,85 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
     public final EasingCurve<Integer> setMinTotalBranches(EasingCurve<Integer> branchCount) {
         EasingCurve<Integer> prevBranchCount = this.minTotalBranches;
         this.minTotalBranches = branchCount;
+        this.invalidateGeometry();
         return prevBranchCount;
     }
 
+    /** Gets the seed the branches are generated from, which is null when a new seed is picked on every draw
+     *
+     * @return The seed of the branches
+     */
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Sets the seed the branches are generated from. With a seed, every draw generates the same branches for the same
+     * properties, while a null seed picks a new one on every draw
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param seed The new seed, or null for a new seed on every draw
+     * @return The previous seed
+     */
+    public final Long setSeed(Long seed) {
+        Long prevSeed = this.seed;
+        this.seed = seed;
+        this.invalidateGeometry();
+        return prevSeed;
+    }
+
+    /** Gets whether the branches are only generated on the first draw and then reused
+     *
+     * @return Whether the branches are generated once
+     */
+    public boolean isGenerateOnce() {
+        return this.generateOnce;
+    }
+
+    /**
+     * Sets whether the branches are only generated on the first draw, and then reused until a property of the
+     * generator changes. The branches are generated from the properties computed for the first draw
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param generateOnce Whether to generate the branches once
+     * @return Whether the branches were previously generated once
+     */
+    public final boolean setGenerateOnce(boolean generateOnce) {
+        boolean prevGenerateOnce = this.generateOnce;
+        this.generateOnce = generateOnce;
+        this.invalidateGeometry();
+        return prevGenerateOnce;
+    }
+
+    /** Gets the number of top-level branches from which they are generated in parallel, zero meaning never
+     *
+     * @return The parallel threshold
+     */
+    public int getParallelThreshold() {
+        return this.parallelThreshold;
+    }
+
+    /**
+     * Sets the number of top-level branches from which they are generated in parallel on the common fork-join pool.
+     * Smaller trees are generated on the calling thread, since forking would cost more than it saves. Zero disables
+     * parallel generation
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param parallelThreshold The new parallel threshold
+     * @return The previous parallel threshold
+     */
+    public final int setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("The parallel threshold must be non-negative");
+        }
+        int prevParallelThreshold = this.parallelThreshold;
+        this.parallelThreshold = parallelThreshold;
+        return prevParallelThreshold;
+    }
+
     /**
      * Set the interceptor to run before drawing each branch render.  The interceptor will be provided
      * with references to the {@link ServerWorld}, the step number of the animation, a boolean describing whether
@@ -378,6 +492,7 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
      */
     public void setBeforeBranchDraw(ObjectInterceptor<ParticleBranchGen> beforeBranchDrawIntercept) {
         this.beforeBranchDraw = Optional.ofNullable(beforeBranchDrawIntercept).orElse(ObjectInterceptor.identity());
+        this.invalidateGeometry();
     }
 
     /**
@@ -389,97 +504,151 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
      */
     public void setAfterBranchDraw(ObjectInterceptor<ParticleBranchGen> afterBranchDrawIntercept) {
         this.afterBranchDraw = Optional.ofNullable(afterBranchDrawIntercept).orElse(ObjectInterceptor.identity());
+        this.invalidateGeometry();
     }
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return container.addComputedField("minBranchesPerDivision", this.minBranchesPerDivision)
-                .addComputedField("maxBranchesPerDivision", this.maxBranchesPerDivision)
-                .addComputedField("minLength", this.minLength)
-                .addComputedField("maxLength", this.maxLength)
-                .addComputedField("minAngle", this.minAngle)
-                .addComputedField("maxAngle", this.maxAngle)
-                .addComputedField("minTotalBranches", this.minTotalBranches)
-                .addComputedField("maxTotalBranches", this.maxTotalBranches);
-    }
-
-    private void generateFractal(
-            ApelServerRenderer renderer,
-            DrawContext<?> drawContext,
-            Vector3f start,
-            int subdivs
-    ) {
-        ComputedEasingRPO computedEasings = (ComputedEasingRPO) drawContext.getComputedEasings();
-        int currMinBranchesPerDivision = (int) computedEasings.getComputedField("minBranchesPerDivision");
-        int currMaxBranchesPerDivision = (int) computedEasings.getComputedField("maxBranchesPerDivision");
+        return container.addComputedField(MIN_BRANCHES_PER_DIVISION, this.minBranchesPerDivision)
+                .addComputedField(MAX_BRANCHES_PER_DIVISION, this.maxBranchesPerDivision)
+                .addComputedField(MIN_LENGTH, this.minLength)
+                .addComputedField(MAX_LENGTH, this.maxLength)
+                .addComputedField(MIN_ANGLE, this.minAngle)
+                .addComputedField(MAX_ANGLE, this.maxAngle)
+                .addComputedField(MIN_TOTAL_BRANCHES, this.minTotalBranches)
+                .addComputedField(MAX_TOTAL_BRANCHES, this.maxTotalBranches);
+    }
+
+    /** Without a seed, or generating once, the branches are random on every draw so the object is not static */
+    @Override
+    public boolean isStatic() {
+        boolean sameBranches = this.seed != null || this.generateOnce;
+        return sameBranches && this.beforeBranchDraw == ObjectInterceptor.<ParticleBranchGen>identity()
+                && this.afterBranchDraw == ObjectInterceptor.<ParticleBranchGen>identity()
+                && super.isStatic();
+    }
+
+    @Override
+    protected void invalidateGeometry() {
+        super.invalidateGeometry();
+        this.generatedSegments = null;
+    }
+
+    /** Generates every branch from the seed, as segments of 6 floats holding the start and end points */
+    private float[] generateSegments(ComputedEasingRPO computedEasings, long seed) {
+        int currMinTotalBranches = computedEasings.getComputedField(MIN_TOTAL_BRANCHES);
+        int currMaxTotalBranches = computedEasings.getComputedField(MAX_TOTAL_BRANCHES);
+        if (currMinTotalBranches <= 0) {
+            throw new IllegalArgumentException("Minimum Total Branch Count has to be positive and non-zero");
+        } else if (currMaxTotalBranches <= 0) {
+            throw new IllegalArgumentException("Maximum Total Branch Count has to be positive and non-zero");
+        }
+        int currMinBranchesPerDivision = computedEasings.getComputedField(MIN_BRANCHES_PER_DIVISION);
+        int currMaxBranchesPerDivision = computedEasings.getComputedField(MAX_BRANCHES_PER_DIVISION);
         if (currMinBranchesPerDivision <= 0) {
             throw new IllegalArgumentException("Minimum Branch Count Per Division has to be positive and non-zero");
         } else if (currMaxBranchesPerDivision <= 0) {
             throw new IllegalArgumentException("Maximum Branch Count Per Division has to be positive and non-zero");
         }
-        float currMinLength = (float) computedEasings.getComputedField("minLength");
-        float currMaxLength = (float) computedEasings.getComputedField("maxLength");
+        float currMinLength = computedEasings.getComputedField(MIN_LENGTH);
+        float currMaxLength = computedEasings.getComputedField(MAX_LENGTH);
         if (currMinLength <= 0) {
             throw new IllegalArgumentException("The minimum length's value is lower than or equal to zero");
         } else if (currMaxLength <= 0) {
             throw new IllegalArgumentException("The maximum length's value is lower than or equal to zero");
         }
-        Vector3f currMinAngle = (Vector3f) computedEasings.getComputedField("minAngle");
-        Vector3f currMaxAngle = (Vector3f) computedEasings.getComputedField("maxAngle");
-        boolean surpassedMinimumWithOddsNotFavour = (subdivs >= currMinBranchesPerDivision && rand.nextBoolean());
-        if (subdivs == currMaxBranchesPerDivision || surpassedMinimumWithOddsNotFavour) return;
-        float currLength = MathHelper.nextFloat(rand, currMinLength, currMaxLength);
-        float currAngleX = MathHelper.nextFloat(rand, currMinAngle.x, currMaxAngle.x);
-        float currAngleY = MathHelper.nextFloat(rand, currMinAngle.y, currMaxAngle.y);
-        float currAngleZ = MathHelper.nextFloat(rand, currMinAngle.z, currMaxAngle.z);
-        Vector3f end = new Vector3f(start).add(currLength, currLength, currLength);
-        /*
-        drawContext.addMetadata(SHOULD_RENDER, true);
-        drawContext.addMetadata(START_ENDPOINT, start);
-        drawContext.addMetadata(END_ENDPOINT, end);
-        this.beforeBranchDraw.apply(drawContext, this);
-        boolean shouldRender = drawContext.getMetadata(SHOULD_RENDER, true);
-        if (!shouldRender) return;
-        start = drawContext.getMetadata(START_ENDPOINT, start);
-        end = drawContext.getMetadata(END_ENDPOINT, end);
-         */
-        renderer.drawLine(
-                this.particleEffect,
-                drawContext.getCurrentStep(),
-                drawContext.getPosition(),
-                new Vector3f(start).add(drawContext.getPosition()),
-                end.add(drawContext.getPosition()),
-                computedEasings.computedRotation,
-                computedEasings.computedAmount
-        );
-        subdivs += 1;
-        /*
-        drawContext.addMetadata(END_ENDPOINT, end);
-         */
-        this.afterBranchDraw.apply(drawContext, this);
-        generateFractal(
-                renderer,
-                drawContext,
-                end.rotateZ(currAngleZ).rotateY(currAngleY).rotateX(currAngleX),
-                subdivs
-        );
+        int totalCount = MathHelper.nextInt(Random.create(seed), currMinTotalBranches, currMaxTotalBranches);
+        IntStream branches = IntStream.range(0, totalCount);
+        if (this.parallelThreshold > 0 && totalCount >= this.parallelThreshold) {
+            branches = branches.parallel();
+        }
+        // Every branch has its own random stream, so the branches are the same however they are scheduled
+        float[][] branchSegments = branches
+                .mapToObj(branch -> this.generateBranch(computedEasings, Random.create(branchSeed(seed, branch))))
+                .toArray(float[][]::new);
+        int length = 0;
+        for (float[] segments : branchSegments) {
+            length += segments.length;
+        }
+        float[] segments = new float[length];
+        int index = 0;
+        for (float[] branch : branchSegments) {
+            System.arraycopy(branch, 0, segments, index, branch.length);
+            index += branch.length;
+        }
+        return segments;
+    }
+
+    private float[] generateBranch(ComputedEasingRPO computedEasings, Random random) {
+        int currMinBranchesPerDivision = computedEasings.getComputedField(MIN_BRANCHES_PER_DIVISION);
+        int currMaxBranchesPerDivision = computedEasings.getComputedField(MAX_BRANCHES_PER_DIVISION);
+        float currMinLength = computedEasings.getComputedField(MIN_LENGTH);
+        float currMaxLength = computedEasings.getComputedField(MAX_LENGTH);
+        Vector3f currMinAngle = computedEasings.getComputedField(MIN_ANGLE);
+        Vector3f currMaxAngle = computedEasings.getComputedField(MAX_ANGLE);
+        float[] segments = new float[currMaxBranchesPerDivision * 6];
+        Vector3f start = new Vector3f();
+        int subdivs = 0;
+        while (true) {
+            boolean surpassedMinimumWithOddsNotFavour = (subdivs >= currMinBranchesPerDivision && random.nextBoolean());
+            if (subdivs == currMaxBranchesPerDivision || surpassedMinimumWithOddsNotFavour) break;
+            float currLength = MathHelper.nextFloat(random, currMinLength, currMaxLength);
+            float currAngleX = MathHelper.nextFloat(random, currMinAngle.x, currMaxAngle.x);
+            float currAngleY = MathHelper.nextFloat(random, currMinAngle.y, currMaxAngle.y);
+            float currAngleZ = MathHelper.nextFloat(random, currMinAngle.z, currMaxAngle.z);
+            int index = subdivs * 6;
+            segments[index] = start.x;
+            segments[index + 1] = start.y;
+            segments[index + 2] = start.z;
+            start.add(currLength, currLength, currLength);
+            segments[index + 3] = start.x;
+            segments[index + 4] = start.y;
+            segments[index + 5] = start.z;
+            start.rotateZ(currAngleZ).rotateY(currAngleY).rotateX(currAngleX);
+            subdivs += 1;
+        }
+        return Arrays.copyOf(segments, subdivs * 6);
     }
 
+    /** Splits the random stream of a branch from the seed, mixing it like SplitMix64 to decorrelate the branches */
+    private static long branchSeed(long seed, int branch) {
+        long z = seed + (branch + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingRPO> drawContext, Vector3f actualSize) {
-        ComputedEasingPO computedEasings = drawContext.getComputedEasings();
-        int currMinTotalBranches = (int) computedEasings.getComputedField("minTotalBranches");
-        int currMaxTotalBranches = (int) computedEasings.getComputedField("maxTotalBranches");
-        if (currMinTotalBranches <= 0) {
-            throw new IllegalArgumentException("Minimum Total Branch Count has to be positive and non-zero");
-        } else if (currMaxTotalBranches <= 0) {
-            throw new IllegalArgumentException("Maximum Total Branch Count has to be positive and non-zero");
+        ComputedEasingRPO computedEasings = drawContext.getComputedEasings();
+        float[] segments = this.generatedSegments;
+        if (segments == null) {
+            long drawSeed = this.seed != null ? this.seed : ThreadLocalRandom.current().nextLong();
+            segments = this.generateSegments(computedEasings, drawSeed);
+            if (this.generateOnce) {
+                this.generatedSegments = segments;
+            }
         }
-        int totalCount = MathHelper.nextInt(rand, currMinTotalBranches, currMaxTotalBranches);
         this.beforeDrawEvent.compute(this, drawContext);
-        for (int i = 0; i < totalCount; i++) {
-            generateFractal(renderer, drawContext, new Vector3f(0), 0);
+        Vector3f position = drawContext.getPosition();
+        for (int i = 0; i < segments.length; i += 6) {
+            /*
+            drawContext.addMetadata(SHOULD_RENDER, true);
+            drawContext.addMetadata(START_ENDPOINT, start);
+            drawContext.addMetadata(END_ENDPOINT, end);
+            this.beforeBranchDraw.apply(drawContext, this);
+             */
+            // Renderers may keep the endpoints of a line, so every line gets its own
+            renderer.drawLine(
+                    this.particleEffect,
+                    drawContext.getCurrentStep(),
+                    position,
+                    new Vector3f(segments[i], segments[i + 1], segments[i + 2]).add(position),
+                    new Vector3f(segments[i + 3], segments[i + 4], segments[i + 5]).add(position),
+                    computedEasings.computedRotation,
+                    computedEasings.computedAmount
+            );
+            this.afterBranchDraw.apply(drawContext, this);
         }
         this.afterDrawEvent.compute(this, drawContext);
     }
@@ -495,6 +664,9 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
         protected EasingCurve<Vector3f> maxAngle;
         protected ObjectInterceptor<ParticleBranchGen> afterBranchDraw;
         protected ObjectInterceptor<ParticleBranchGen> beforeBranchDraw;
+        protected Long seed;
+        protected boolean generateOnce = false;
+        protected int parallelThreshold = 0;
 
         private Builder() {}
 
@@ -744,6 +916,39 @@ public class ParticleBranchGen extends RenderableParticleObject<ParticleBranchGe
             return self();
         }
 
+        /**
+         * Sets the seed the branches are generated from. This method is not cumulative; repeated calls will overwrite
+         * the value.
+         *
+         * @see ParticleBranchGen#setSeed(Long)
+         */
+        public B seed(long seed) {
+            this.seed = seed;
+            return self();
+        }
+
+        /**
+         * Sets whether the branches are only generated on the first draw. This method is not cumulative; repeated
+         * calls will overwrite the value.
+         *
+         * @see ParticleBranchGen#setGenerateOnce(boolean)
+         */
+        public B generateOnce(boolean generateOnce) {
+            this.generateOnce = generateOnce;
+            return self();
+        }
+
+        /**
+         * Sets the number of top-level branches from which they are generated in parallel. This method is not
+         * cumulative; repeated calls will overwrite the value.
+         *
+         * @see ParticleBranchGen#setParallelThreshold(int)
+         */
+        public B parallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+            return self();
+        }
+
 
         @Override
         public ParticleBranchGen build() {
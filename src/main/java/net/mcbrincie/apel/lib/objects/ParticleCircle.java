@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -16,6 +17,8 @@ import org.joml.Vector3f;
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleCircle extends RenderableParticleObject<ParticleCircle> {
+    protected static final ComputedField.OfFloat RADIUS = ComputedField.floatField("radius");
+
     protected EasingCurve<Float> radius;
 
     public static Builder<?> builder() {
@@ -58,6 +61,7 @@ public class ParticleCircle extends RenderableParticleObject<ParticleCircle> {
     public final EasingCurve<Float> setRadius(float radius) {
         EasingCurve<Float> prevRadius = this.radius;
         this.radius = new ConstantEasingCurve<>(radius);
+        this.invalidateGeometry();
         return prevRadius;
     }
 
@@ -73,20 +77,21 @@ public class ParticleCircle extends RenderableParticleObject<ParticleCircle> {
     public final EasingCurve<Float> setRadius(EasingCurve<Float> radius) {
         EasingCurve<Float> prevRadius = this.radius;
         this.radius = radius;
+        this.invalidateGeometry();
         return prevRadius;
     }
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
         return container
-                .addComputedField("radius", this.radius);
+                .addComputedField(RADIUS, this.radius);
     }
 
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingRPO> drawContext, Vector3f actualSize) {
         ComputedEasingRPO computedEasingRPO = drawContext.getComputedEasings();
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingRPO.computedOffset);
-        float currRadius = (float) computedEasingRPO.getComputedField("radius");
+        float currRadius = computedEasingRPO.getComputedField(RADIUS);
         /*
         if (currRadius <= 0) {
             throw new RuntimeException("The radius must be positive and non-zero");
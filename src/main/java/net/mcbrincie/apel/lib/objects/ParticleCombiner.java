@@ -508,6 +508,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
 
         // Defensive copy (and to guarantee internal mutability)
         this.objects = new ArrayList<>(objects);
+        this.invalidateGeometry();
         return prevObjects;
     }
 
@@ -518,6 +519,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      * @return The previous particle object
      */
     public ParticleObject<?> setObject(int index, ParticleObject<?> newObject) {
+        this.invalidateGeometry();
         return this.objects.set(index, newObject);
     }
 
@@ -527,6 +529,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      */
     public final void appendObjects(List<ParticleObject<?>> objects) {
         this.objects.addAll(objects);
+        this.invalidateGeometry();
     }
 
     /** Appends a new particle object to the combiner. This is at the back
@@ -538,6 +541,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      */
     public void appendObject(ParticleObject<?> object) {
         this.objects.add(object);
+        this.invalidateGeometry();
     }
 
     /** Removes an object from the combiner.
@@ -546,6 +550,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      * @return The removed object
      */
     public ParticleObject<?> removeObject(int index) {
+        this.invalidateGeometry();
         return this.objects.remove(index);
     }
 
@@ -556,9 +561,41 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      */
     public ParticleObject<?> removeObject(ParticleObject<?> object) {
         int index = this.objects.indexOf(object);
+        this.invalidateGeometry();
         return this.objects.remove(index);
     }
 
+    /** Checks whether interceptors are set to run before or after drawing each child object
+     *
+     * @return Whether any child interceptor is set
+     */
+    public boolean hasChildInterceptors() {
+        return this.beforeChildDraw != ObjectInterceptor.<ParticleCombiner>identity()
+                || this.afterChildDraw != ObjectInterceptor.<ParticleCombiner>identity();
+    }
+
+    @Override
+    public boolean isStatic() {
+        if (!super.isStatic() || this.hasChildInterceptors()) {
+            return false;
+        }
+        for (ParticleObject<?> object : this.objects) {
+            if (!object.isStatic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long getVersion() {
+        long version = super.getVersion();
+        for (ParticleObject<?> object : this.objects) {
+            version = Math.max(version, object.getVersion());
+        }
+        return version;
+    }
+
     @Override
     public void display(ApelServerRenderer renderer, DrawContext<?> drawContext, Vector3f actualSize) {
         for (ParticleObject<?> object : this.objects) {
@@ -570,14 +607,14 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
                 continue;
             }
             ParticleObject<?> childObject = drawContext.getMetadata(OBJECT_IN_USE);
-            // Defensive copy before passing to a child object
+            // Defensive copies before passing to a child object, which multiplies the size by its scale in place
             Vector3f childDrawPos = new Vector3f(drawContext.getPosition());
             childObject.doDraw(renderer,
                     drawContext.getCurrentStep(),
                     childDrawPos,
                     drawContext.getNumberOfStep(),
                     drawContext.getDeltaTickTime(),
-                    actualSize
+                    new Vector3f(actualSize)
             );
             this.afterChildDraw.apply(drawContext, this);
         }
@@ -592,6 +629,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      */
     public void setBeforeChildDraw(ObjectInterceptor<ParticleCombiner> beforeChildDrawIntercept) {
         this.beforeChildDraw = Optional.ofNullable(beforeChildDrawIntercept).orElse(ObjectInterceptor.identity());
+        this.invalidateGeometry();
     }
 
     /**
@@ -602,6 +640,7 @@ public class ParticleCombiner extends ParticleObject<ParticleCombiner> {
      */
     public void setAfterChildDraw(ObjectInterceptor<ParticleCombiner> afterChildDraw) {
         this.afterChildDraw = Optional.ofNullable(afterChildDraw).orElse(ObjectInterceptor.identity());
+        this.invalidateGeometry();
     }
 
     public static class Builder<B extends Builder<B>> extends ParticleObject.Builder<B, ParticleCombiner> {
@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -13,6 +14,9 @@ import org.joml.Vector3f;
 */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleCone extends RenderableParticleObject<ParticleCone> {
+    protected static final ComputedField.OfFloat RADIUS = ComputedField.floatField("radius");
+    protected static final ComputedField.OfFloat HEIGHT = ComputedField.floatField("height");
+
     protected EasingCurve<Float> height;
     protected EasingCurve<Float> radius;
 
@@ -71,6 +75,7 @@ public class ParticleCone extends RenderableParticleObject<ParticleCone> {
     public final EasingCurve<Float> setRadius(EasingCurve<Float> radius) {
         EasingCurve<Float> prevRadius = this.radius;
         this.radius = radius;
+        this.invalidateGeometry();
         return prevRadius;
     }
 
@@ -107,21 +112,22 @@ public class ParticleCone extends RenderableParticleObject<ParticleCone> {
     public final EasingCurve<Float> setHeight(EasingCurve<Float> height) {
         EasingCurve<Float> prevHeight = this.height;
         this.height = height;
+        this.invalidateGeometry();
         return prevHeight;
     }
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return container.addComputedField("radius", this.radius)
-                .addComputedField("height", this.height);
+        return container.addComputedField(RADIUS, this.radius)
+                .addComputedField(HEIGHT, this.height);
     }
 
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingRPO> drawContext, Vector3f actualSize) {
         ComputedEasingRPO computedEasingRPO = drawContext.getComputedEasings();
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingRPO.computedOffset);
-        float currRadius = (float) computedEasingRPO.getComputedField("radius");
-        float currHeight = (float) computedEasingRPO.getComputedField("height");
+        float currRadius = computedEasingRPO.getComputedField(RADIUS);
+        float currHeight = computedEasingRPO.getComputedField(HEIGHT);
         /*
         if (currRadius <= 0) {
             throw new RuntimeException("The cone's radius is below or equal to zero");
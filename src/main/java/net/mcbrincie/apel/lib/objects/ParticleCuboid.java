@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingPO;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import net.mcbrincie.apel.lib.util.interceptor.context.Key;
 import org.joml.Vector3f;
@@ -21,6 +22,9 @@ import org.joml.Vector3i;
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleCuboid extends RenderableParticleObject<ParticleCuboid> {
+    protected static final ComputedField.OfObject<Vector3f> SIZE = ComputedField.objectField("size");
+    protected static final ComputedField.OfObject<Vector3i> AMOUNTS = ComputedField.objectField("amounts");
+
     protected EasingCurve<Vector3f> size = new ConstantEasingCurve<>(new Vector3f());
     protected EasingCurve<Vector3i> amounts = new ConstantEasingCurve<>(new Vector3i());
 
@@ -109,6 +113,7 @@ public class ParticleCuboid extends RenderableParticleObject<ParticleCuboid> {
     public final EasingCurve<Vector3f> setSize(EasingCurve<Vector3f> size) {
         EasingCurve<Vector3f> prevSize = this.size;
         this.size = size;
+        this.invalidateGeometry();
         return prevSize;
     }
 
@@ -151,6 +156,7 @@ public class ParticleCuboid extends RenderableParticleObject<ParticleCuboid> {
     public final EasingCurve<Vector3i> setAmounts(EasingCurve<Vector3i> amount) {
         EasingCurve<Vector3i> prevAmount = this.amounts;
         this.amounts = amount;
+        this.invalidateGeometry();
         return prevAmount;
     }
 
@@ -173,14 +179,14 @@ public class ParticleCuboid extends RenderableParticleObject<ParticleCuboid> {
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return container.addComputedField("size", this.size)
-                .addComputedField("amounts", this.amounts);
+        return container.addComputedField(SIZE, this.size)
+                .addComputedField(AMOUNTS, this.amounts);
     }
 
     @Override
     protected void prepareContext(DrawContext<?> drawContext) {
         // Scale
-        Vector3f currSize = (Vector3f) drawContext.getComputedEasings().getComputedField("size");
+        Vector3f currSize = drawContext.getComputedEasings().getComputedField(SIZE);
         float width = currSize.x / 2f;
         float height = currSize.y / 2f;
         float depth = currSize.z / 2f;
@@ -215,7 +221,7 @@ public class ParticleCuboid extends RenderableParticleObject<ParticleCuboid> {
         Vector3f vertex7 = vertices[7].mul(actualSize);
 
         int step = drawContext.getCurrentStep();
-        Vector3i currAmounts = (Vector3i) computedEasings.getComputedField("amounts");
+        Vector3i currAmounts = computedEasings.getComputedField(AMOUNTS);
         int xAmount = currAmounts.x;
         int yAmount = currAmounts.y;
         int zAmount = currAmounts.z;
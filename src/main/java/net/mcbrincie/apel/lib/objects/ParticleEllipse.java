@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -16,6 +17,9 @@ import org.joml.Vector3f;
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleEllipse extends RenderableParticleObject<ParticleEllipse> {
+    protected static final ComputedField.OfFloat RADIUS = ComputedField.floatField("radius");
+    protected static final ComputedField.OfFloat STRETCH = ComputedField.floatField("stretch");
+
     protected EasingCurve<Float> radius;
     protected EasingCurve<Float> stretch;
 
@@ -61,6 +65,7 @@ public class ParticleEllipse extends RenderableParticleObject<ParticleEllipse> {
     public final EasingCurve<Float> setRadius(float radius) {
         EasingCurve<Float> prevRadius = this.radius;
         this.radius = new ConstantEasingCurve<>(radius);
+        this.invalidateGeometry();
         return prevRadius;
     }
 
@@ -76,6 +81,7 @@ public class ParticleEllipse extends RenderableParticleObject<ParticleEllipse> {
     public final EasingCurve<Float> setRadius(EasingCurve<Float> radius) {
         EasingCurve<Float> prevRadius = this.radius;
         this.radius = radius;
+        this.invalidateGeometry();
         return prevRadius;
     }
 
@@ -99,6 +105,7 @@ public class ParticleEllipse extends RenderableParticleObject<ParticleEllipse> {
     public final EasingCurve<Float> setStretch(float stretch) {
         EasingCurve<Float> prevStretch = this.stretch;
         this.stretch = new ConstantEasingCurve<>(stretch);
+        this.invalidateGeometry();
         return prevStretch;
     }
 
@@ -114,22 +121,23 @@ public class ParticleEllipse extends RenderableParticleObject<ParticleEllipse> {
     public final EasingCurve<Float> setStretch(EasingCurve<Float> stretch) {
         EasingCurve<Float> prevStretch = this.stretch;
         this.stretch = stretch;
+        this.invalidateGeometry();
         return prevStretch;
     }
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
         return container
-                .addComputedField("radius", this.radius)
-                .addComputedField("stretch", this.stretch);
+                .addComputedField(RADIUS, this.radius)
+                .addComputedField(STRETCH, this.stretch);
     }
 
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingRPO> drawContext, Vector3f actualSize) {
         ComputedEasingRPO computedEasingPO = drawContext.getComputedEasings();
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingPO.computedOffset);
-        float currRadius = (float) computedEasingPO.getComputedField("radius");
-        float currStretch = (float) computedEasingPO.getComputedField("stretch");
+        float currRadius = computedEasingPO.getComputedField(RADIUS);
+        float currStretch = computedEasingPO.getComputedField(STRETCH);
         /*
         if (currRadius <= 0) {
             throw new RuntimeException("The radius must be positive and non-zero");
@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -14,6 +15,10 @@ import org.joml.Vector3f;
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleEllipsoid extends RenderableParticleObject<ParticleEllipsoid> {
+    protected static final ComputedField.OfFloat X_SEMI_AXIS = ComputedField.floatField("xSemiAxis");
+    protected static final ComputedField.OfFloat Y_SEMI_AXIS = ComputedField.floatField("ySemiAxis");
+    protected static final ComputedField.OfFloat Z_SEMI_AXIS = ComputedField.floatField("zSemiAxis");
+
     public static final double SQRT_5_PLUS_1 = 3.23606;
     protected EasingCurve<Float> xSemiAxis;
     protected EasingCurve<Float> ySemiAxis;
@@ -78,6 +83,7 @@ public class ParticleEllipsoid extends RenderableParticleObject<ParticleEllipsoi
     public final EasingCurve<Float> setXSemiAxis(EasingCurve<Float> xSemiAxis) {
         EasingCurve<Float> prevXSemiAxis = this.xSemiAxis;
         this.xSemiAxis = xSemiAxis;
+        this.invalidateGeometry();
         return prevXSemiAxis;
     }
 
@@ -115,6 +121,7 @@ public class ParticleEllipsoid extends RenderableParticleObject<ParticleEllipsoi
     public final EasingCurve<Float> setYSemiAxis(EasingCurve<Float> ySemiAxis) {
         EasingCurve<Float> prevYSemiAxis = this.ySemiAxis;
         this.ySemiAxis = ySemiAxis;
+        this.invalidateGeometry();
         return prevYSemiAxis;
     }
 
@@ -152,22 +159,23 @@ public class ParticleEllipsoid extends RenderableParticleObject<ParticleEllipsoi
     public final EasingCurve<Float> setZSemiAxis(EasingCurve<Float> zSemiAxis) {
         EasingCurve<Float> prevZSemiAxis = this.zSemiAxis;
         this.zSemiAxis = zSemiAxis;
+        this.invalidateGeometry();
         return prevZSemiAxis;
     }
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return container.addComputedField("xSemiAxis", this.xSemiAxis)
-                .addComputedField("ySemiAxis", this.ySemiAxis)
-                .addComputedField("zSemiAxis", this.zSemiAxis);
+        return container.addComputedField(X_SEMI_AXIS, this.xSemiAxis)
+                .addComputedField(Y_SEMI_AXIS, this.ySemiAxis)
+                .addComputedField(Z_SEMI_AXIS, this.zSemiAxis);
     }
 
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingRPO> drawContext, Vector3f actualSize) {
         ComputedEasingRPO computedEasings = drawContext.getComputedEasings();
-        float xSemiAxis = (float) computedEasings.getComputedField("xSemiAxis");
-        float ySemiAxis = (float) computedEasings.getComputedField("ySemiAxis");
-        float zSemiAxis = (float) computedEasings.getComputedField("zSemiAxis");
+        float xSemiAxis = computedEasings.getComputedField(X_SEMI_AXIS);
+        float ySemiAxis = computedEasings.getComputedField(Y_SEMI_AXIS);
+        float zSemiAxis = computedEasings.getComputedField(Z_SEMI_AXIS);
         /*
         if (xSemiAxis <= 0 || ySemiAxis <= 0 || zSemiAxis <= 0) {
             throw new RuntimeException("One of the semi axis values is negative or zero");
@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -20,6 +21,9 @@ import org.joml.Vector3f;
 */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleLine extends RenderableParticleObject<ParticleLine> {
+    protected static final ComputedField.OfObject<Vector3f> START = ComputedField.objectField("start");
+    protected static final ComputedField.OfObject<Vector3f> END = ComputedField.objectField("end");
+
     protected EasingCurve<Vector3f> start;
     protected EasingCurve<Vector3f> end;
 
@@ -66,6 +70,7 @@ public class ParticleLine extends RenderableParticleObject<ParticleLine> {
     public final EasingCurve<Vector3f> setStart(Vector3f start) {
         EasingCurve<Vector3f> prevStart = this.start;
         this.start = new ConstantEasingCurve<>(start);
+        this.invalidateGeometry();
         return prevStart;
     }
 
@@ -81,6 +86,7 @@ public class ParticleLine extends RenderableParticleObject<ParticleLine> {
     public final EasingCurve<Vector3f> setStart(EasingCurve<Vector3f> start) {
         EasingCurve<Vector3f> prevStart = this.start;
         this.start = start;
+        this.invalidateGeometry();
         return prevStart;
     }
 
@@ -104,6 +110,7 @@ public class ParticleLine extends RenderableParticleObject<ParticleLine> {
     public final EasingCurve<Vector3f> setEnd(EasingCurve<Vector3f> end) {
         EasingCurve<Vector3f> prevEnd = this.end;
         this.end = end;
+        this.invalidateGeometry();
         return prevEnd;
     }
 
@@ -119,14 +126,15 @@ public class ParticleLine extends RenderableParticleObject<ParticleLine> {
     public final EasingCurve<Vector3f> setEnd(Vector3f end) {
         EasingCurve<Vector3f> prevEnd = this.end;
         this.end = new ConstantEasingCurve<>(end);
+        this.invalidateGeometry();
         return prevEnd;
     }
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
         return container
-                .addComputedField("start", this.start)
-                .addComputedField("end", this.end);
+                .addComputedField(START, this.start)
+                .addComputedField(END, this.end);
     }
 
     @Override
@@ -135,8 +143,8 @@ public class ParticleLine extends RenderableParticleObject<ParticleLine> {
         int currAmount = computedEasings.computedAmount;
         Vector3f currRotation = drawContext.getComputedEasings().computedRotation;
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasings.computedOffset);
-        Vector3f currStart = (Vector3f) drawContext.getComputedEasings().getComputedField("start");
-        Vector3f currEnd = (Vector3f) drawContext.getComputedEasings().getComputedField("end");
+        Vector3f currStart = drawContext.getComputedEasings().getComputedField(START);
+        Vector3f currEnd = drawContext.getComputedEasings().getComputedField(END);
         if (currStart.equals(currEnd)) {
             throw new IllegalArgumentException("Endpoints must not be equal");
         }
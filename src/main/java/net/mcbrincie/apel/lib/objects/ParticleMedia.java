@@ -1,21 +1,33 @@
 package net.mcbrincie.apel.lib.objects;
 
+import net.mcbrincie.apel.Apel;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.interceptor.ObjectInterceptor;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
+import net.mcbrincie.apel.lib.util.media.MediaClipCache;
+import net.mcbrincie.apel.lib.util.media.MediaFrameDelta;
+import net.mcbrincie.apel.lib.util.media.MediaTiling;
 import net.mcbrincie.apel.lib.util.media.displays.ColorParticleMapper;
 import net.mcbrincie.apel.lib.util.media.displays.ColorParticleMappers;
 import net.mcbrincie.apel.lib.util.media.filters.MediaFilter;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilterPipeline;
 import net.mcbrincie.apel.lib.util.media.filters.MediaFilters;
+import net.mcbrincie.apel.lib.util.media.filters.PixelMediaFilter;
 import net.mcbrincie.apel.lib.util.media.processors.ImageMediaProcessor;
 import net.mcbrincie.apel.lib.util.media.processors.MediaProcessor;
+import net.mcbrincie.apel.lib.util.media.processors.StreamingImageMediaProcessor;
+import net.mcbrincie.apel.lib.util.media.quantizers.MediaPalette;
+import net.mcbrincie.apel.lib.util.media.quantizers.MediaQuantizer;
 import net.mcbrincie.apel.lib.util.media.resamplers.MediaResampler;
 import net.mcbrincie.apel.lib.util.media.resamplers.MediaResamplers;
+import net.mcbrincie.apel.lib.util.media.resamplers.TiledMediaResampler;
 import net.minecraft.particle.ParticleEffect;
 import org.joml.Vector3f;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -39,7 +51,16 @@ import java.util.List;
  *     <li><b>Media Resampling</b> The frame gets resized appropriately via a specific algorithm and then a new color array is returned</li>
  *
  *     <li><b>Media Filters (Optional)</b> There can be one or multiple filters at a time, they take the frame and apply color operations
- *     to it and return the new corresponding frame</li>
+ *     to it and return the new corresponding frame. They run through a {@link MediaFilterPipeline}, which fuses the per-pixel filters
+ *     into a single pass and writes into a reused scratch frame rather than the frame of the media processor</li>
+ *
+ *     <li><b>Media Quantization (Optional)</b> A {@link MediaQuantizer} maps every color to the closest entry of a small
+ *     {@link MediaPalette}, optionally with ordered dithering. The pixels are then drawn grouped by palette entry, with a single
+ *     particle effect per entry, which bounds the particle type switches of a frame to the size of the palette</li>
+ *
+ *     <li><b>Temporal Delta (Optional)</b> A {@link MediaFrameDelta} skips the pixels whose color did not change beyond a
+ *     threshold since they were last drawn, redrawing everything on periodic keyframes. This is meant for particles that
+ *     outlive a frame, where it cuts down the particles and network traffic of mostly static videos</li>
  *
  *     <li>
  *         <b>Display Method</b> This controls the conversion between colors and particles. There are 3 ways of converting
@@ -55,6 +76,11 @@ import java.util.List;
  *         </ul>
  *     </li>
  * </ol>
+ * Pixels whose alpha is below the alpha threshold are skipped entirely. The remaining pixels are drawn row by row, where
+ * every run of consecutive pixels sharing a color becomes a single {@link ApelServerRenderer#drawLine} call, so flat
+ * regions cost one particle lookup and, with Client-Side Rendering, one instruction. With a clip cache path, the processed
+ * and quantized frames are baked to a {@link MediaClipCache} in the background once and played back from it, skipping the
+ * whole pipeline
  * <br />
  *
  * <b>Note:</b> It is heavily recommended to use Client-Side Rendering for this as rendering any media is an intensive process. Ideally
@@ -66,6 +92,23 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
     protected MediaResampler mediaResampler;
     protected List<MediaFilter> mediaFilters;
     protected ColorParticleMapper colorParticleMapper;
+    protected MediaTiling mediaTiling = MediaTiling.SEQUENTIAL;
+    protected MediaQuantizer mediaQuantizer;
+    protected MediaFrameDelta mediaDelta;
+    protected int alphaThreshold;
+    protected Path clipCachePath;
+    // Per-instance scratch state, so the frames returned by the media processor are never modified
+    private final FrameData workingFrame = new FrameData(new int[0], 0, 0);
+    private final MediaFilterPipeline filterPipeline = new MediaFilterPipeline();
+    private final Vector3f particlePos = new Vector3f();
+    // The clip being loaded or baked in the background, along with the number of steps it is loaded for
+    private CompletableFuture<MediaClipCache> clipCache;
+    private int clipCacheSteps;
+
+    // Line instructions store the amount of particles as a short
+    private static final int MAX_RUN_LENGTH = Short.MAX_VALUE;
+    private static final Vector3f RUN_ORIGIN = new Vector3f();
+    private static final Vector3f RUN_ROTATION = new Vector3f();
 
     private ParticleMedia(Builder<?> builder) {
         super(builder.rotation, builder.offset, builder.beforeDraw, builder.afterDraw);
@@ -73,6 +116,11 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
         this.setMediaResampler(builder.mediaResampler);
         this.setMediaFilters(builder.mediaFilters);
         this.setColorToParticleMapper(builder.colorParticleMapper);
+        this.setMediaTiling(builder.mediaTiling);
+        this.setMediaQuantizer(builder.mediaQuantizer);
+        this.setMediaDelta(builder.mediaDelta);
+        this.setAlphaThreshold(builder.alphaThreshold);
+        this.setClipCachePath(builder.clipCachePath);
     }
 
     public static Builder<?> builder() {
@@ -90,7 +138,8 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
         return this.mediaProcessor;
     }
 
-    /** Sets the media processor used in the rendering of a visual media.
+    /** Sets the media processor used in the rendering of a visual media. The previous media processor is closed, which
+     * stops the decoder of a streaming one, so it should not be reused.
      * This implementation is used by the constructor, so subclasses cannot override this method.
      *
      * @see MediaProcessor
@@ -102,6 +151,10 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
     public final MediaProcessor setMediaProcessor(MediaProcessor newMediaProcessor) {
         MediaProcessor prevMediaProcessor = this.mediaProcessor;
         this.mediaProcessor = newMediaProcessor;
+        this.clipCache = null;
+        if (prevMediaProcessor != null && prevMediaProcessor != newMediaProcessor) {
+            prevMediaProcessor.close();
+        }
         return prevMediaProcessor;
     }
 
@@ -128,6 +181,7 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
     public final MediaResampler setMediaResampler(MediaResampler newMediaResampler) {
         MediaResampler prevMediaResampler = this.mediaResampler;
         this.mediaResampler = newMediaResampler;
+        this.clipCache = null;
         return prevMediaResampler;
     }
 
@@ -154,6 +208,7 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
     public final List<MediaFilter> setMediaFilters(List<MediaFilter> newMediaFilters) {
         List<MediaFilter> prevMediaFilters = this.mediaFilters;
         this.mediaFilters = newMediaFilters;
+        this.clipCache = null;
         return prevMediaFilters;
     }
 
@@ -180,6 +235,7 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
      */
     public void addMediaFilters(MediaFilter... mediaFilters) {
         this.mediaFilters.addAll(List.of(mediaFilters));
+        this.clipCache = null;
     }
 
     /** Adds the media filters to the pool of the media filters used in the rendering of a visual media.
@@ -192,6 +248,7 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
      */
     public void addMediaFiltersFirst(MediaFilter... mediaFilters) {
         this.mediaFilters.addAll(List.of(mediaFilters));
+        this.clipCache = null;
     }
 
     /** The copy constructor for a specific particle object. It copies all
@@ -201,10 +258,17 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
      */
     public ParticleMedia(ParticleMedia media) {
         super(media);
-        this.mediaResampler = media.mediaResampler;
-        this.mediaProcessor = media.mediaProcessor;
+        // Resamplers and streaming processors keep per-frame state, so the copy gets its own
+        this.mediaResampler = media.mediaResampler == null ? null : media.mediaResampler.copy();
+        this.mediaProcessor = media.mediaProcessor == null ? null : media.mediaProcessor.copy();
         this.mediaFilters = media.mediaFilters;
         this.colorParticleMapper = media.colorParticleMapper;
+        this.setMediaTiling(media.mediaTiling);
+        this.mediaQuantizer = media.mediaQuantizer;
+        // The rendered history belongs to the copied media, only its settings carry over
+        this.mediaDelta = media.mediaDelta == null ? null : media.mediaDelta.copy();
+        this.alphaThreshold = media.alphaThreshold;
+        this.clipCachePath = media.clipCachePath;
     }
 
     /** Gets the color to particle mapper method used in the rendering of a visual media
@@ -233,6 +297,151 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
         return prevColorParticleMapper;
     }
 
+    /** Gets the media tiling used for resampling and filtering a frame of the visual media
+     *
+     * @see MediaTiling
+     *
+     * @return The media tiling used in rendering
+     */
+    public MediaTiling getMediaTiling() {
+        return this.mediaTiling;
+    }
+
+    /** Sets the media tiling used for resampling and filtering a frame of the visual media. With
+     * {@link MediaTiling#parallel()}, large frames are split into row tiles processed on a fork-join pool. Only
+     * {@link TiledMediaResampler}s and {@link PixelMediaFilter}s are split, other resamplers and filters always run on
+     * the drawing thread. This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @see MediaTiling
+     *
+     * @param newMediaTiling The new media tiling to be used in rendering
+     * @return The previous media tiling used in rendering
+     */
+    public final MediaTiling setMediaTiling(MediaTiling newMediaTiling) {
+        if (newMediaTiling == null) {
+            throw new IllegalArgumentException("Media tiling cannot be null");
+        }
+        MediaTiling prevMediaTiling = this.mediaTiling;
+        this.mediaTiling = newMediaTiling;
+        this.filterPipeline.setTiling(newMediaTiling);
+        return prevMediaTiling;
+    }
+
+    /** Gets the media quantizer used in the rendering of a visual media, which is null if the colors are not quantized
+     *
+     * @see MediaQuantizer
+     *
+     * @return The media quantizer used in rendering
+     */
+    public MediaQuantizer getMediaQuantizer() {
+        return this.mediaQuantizer;
+    }
+
+    /** Sets the media quantizer used in the rendering of a visual media, null disables quantization. A computed palette
+     * is prepared out of frames spread across the clip before the first frame is drawn. A quantizer keeps per-frame
+     * buffers, so it should not be shared with a media drawn at the same time.
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @see MediaQuantizer
+     *
+     * @param newMediaQuantizer The new media quantizer to be used in rendering
+     * @return The previous media quantizer used in rendering
+     */
+    public final MediaQuantizer setMediaQuantizer(MediaQuantizer newMediaQuantizer) {
+        MediaQuantizer prevMediaQuantizer = this.mediaQuantizer;
+        this.mediaQuantizer = newMediaQuantizer;
+        this.clipCache = null;
+        return prevMediaQuantizer;
+    }
+
+    /** Gets the temporal delta used in the rendering of a visual media, which is null if every pixel is drawn on every frame
+     *
+     * @see MediaFrameDelta
+     *
+     * @return The temporal delta used in rendering
+     */
+    public MediaFrameDelta getMediaDelta() {
+        return this.mediaDelta;
+    }
+
+    /** Sets the temporal delta used in the rendering of a visual media, null draws every pixel on every frame.
+     * The delta holds the rendered history of this media, so it must not be shared with another media.
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @see MediaFrameDelta
+     *
+     * @param newMediaDelta The new temporal delta to be used in rendering
+     * @return The previous temporal delta used in rendering
+     */
+    public final MediaFrameDelta setMediaDelta(MediaFrameDelta newMediaDelta) {
+        MediaFrameDelta prevMediaDelta = this.mediaDelta;
+        this.mediaDelta = newMediaDelta;
+        return prevMediaDelta;
+    }
+
+    /** Gets the alpha threshold used in the rendering of a visual media, pixels whose alpha is below it are not drawn
+     *
+     * @return The alpha threshold used in rendering
+     */
+    public int getAlphaThreshold() {
+        return this.alphaThreshold;
+    }
+
+    /** Sets the alpha threshold used in the rendering of a visual media. Pixels whose alpha is below the threshold are
+     * skipped before any particle is looked up for them, so 0 draws every pixel and 1 skips the fully transparent ones.
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param alphaThreshold The new alpha threshold, between 0 and 255
+     * @return The previous alpha threshold used in rendering
+     */
+    public final int setAlphaThreshold(int alphaThreshold) {
+        if (alphaThreshold < 0 || alphaThreshold > 255) {
+            throw new IllegalArgumentException("Alpha threshold must be between 0 and 255");
+        }
+        int prevAlphaThreshold = this.alphaThreshold;
+        this.alphaThreshold = alphaThreshold;
+        this.clipCache = null;
+        return prevAlphaThreshold;
+    }
+
+    /** Gets the path the processed clip is baked to, which is null if every frame goes through the whole pipeline
+     *
+     * @see MediaClipCache
+     *
+     * @return The path of the baked clip
+     */
+    public Path getClipCachePath() {
+        return this.clipCachePath;
+    }
+
+    /** Sets the path the processed clip is baked to, null disables baking. On the first draw, a copy of the pipeline
+     * starts processing, quantizing and writing every step of the animation to the file on a background thread, and the
+     * media keeps rendering live until the file is memory-mapped and played back. An existing file is mapped right away
+     * if its fingerprint matches the pipeline, and baked again otherwise, so it never has to be deleted by hand. Changing
+     * any stage of the pipeline loads the clip again. This requires a media quantizer.
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @see MediaClipCache
+     *
+     * @param clipCachePath The new path of the baked clip
+     * @return The previous path of the baked clip
+     */
+    public final Path setClipCachePath(Path clipCachePath) {
+        Path prevClipCachePath = this.clipCachePath;
+        this.clipCachePath = clipCachePath;
+        this.clipCache = null;
+        return prevClipCachePath;
+    }
+
+    /** Closes the media processor, which stops the decoder thread of a {@link StreamingImageMediaProcessor}. This
+     * should be called once the media is no longer drawn, it cannot be drawn afterward
+     */
+    public void close() {
+        if (this.mediaProcessor != null) {
+            this.mediaProcessor.close();
+        }
+    }
+
     public static class FrameData {
         public int[] frame;
         public int width;
@@ -245,28 +454,204 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
         }
     }
 
+    private FrameData processFrame(int step, int numberOfSteps) {
+        FrameData source = this.mediaProcessor.process(step);
+        float t = ((float) step) / ((float) numberOfSteps);
+        // The resampler replaces the color array of the frame it is given, hand it a view instead of the source
+        this.workingFrame.frame = source.frame;
+        this.workingFrame.width = source.width;
+        this.workingFrame.height = source.height;
+        if (this.mediaResampler instanceof TiledMediaResampler tiledResampler) {
+            tiledResampler.apply(this.workingFrame, t, this.mediaTiling);
+        } else {
+            this.mediaResampler.apply(this.workingFrame, t);
+        }
+        return this.filterPipeline.apply(this.workingFrame, this.mediaFilters, t);
+    }
+
+    private MediaClipCache loadClipCache(int numberOfSteps) {
+        if (this.clipCachePath == null) {
+            return null;
+        }
+        if (this.mediaQuantizer == null) {
+            throw new IllegalStateException("Baking a media clip requires a media quantizer");
+        }
+        if (this.clipCache == null || this.clipCacheSteps != numberOfSteps) {
+            // The baker has its own processor, resampler and scratch frames, so this media keeps drawing meanwhile
+            ParticleMedia baker = new ParticleMedia(this);
+            Path path = this.clipCachePath;
+            this.clipCacheSteps = numberOfSteps;
+            this.clipCache = MediaClipCache.loadAsync(path, this.mediaProcessor.getPath(), numberOfSteps,
+                    step -> baker.processFrame(step, numberOfSteps), this.mediaQuantizer, this.alphaThreshold);
+            this.clipCache.whenComplete((clip, e) -> {
+                baker.close();
+                if (e != null) {
+                    Apel.LOGGER.error("Failed to bake the media clip at {}", path, e);
+                }
+            });
+        }
+        return this.clipCache.isDone() && !this.clipCache.isCompletedExceptionally() ? this.clipCache.join() : null;
+    }
+
+    private void prepareQuantizer(int numberOfSteps) {
+        if (!this.mediaQuantizer.isComputed() || this.mediaQuantizer.getPalette() != null) {
+            return;
+        }
+        // The sampler has its own processor, so the frames spread across the clip do not disturb the playback
+        ParticleMedia sampler = new ParticleMedia(this);
+        try {
+            this.mediaQuantizer.prepare(numberOfSteps, step -> sampler.processFrame(step, numberOfSteps));
+        } finally {
+            sampler.close();
+        }
+    }
+
+    /** Media is drawn frame by frame, so the object is never static */
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
     @Override
     public void display(ApelServerRenderer renderer, DrawContext<?> drawContext, Vector3f actualSize) {
-        ParticleMedia.FrameData data = this.mediaProcessor.process(drawContext.getCurrentStep());
-        float t = ((float) drawContext.getCurrentStep()) / ((float) drawContext.getNumberOfStep());
-        this.mediaResampler.apply(data, t);
-        for (MediaFilter filter : this.mediaFilters) {
-            filter.apply(data, t);
+        int currStep = drawContext.getCurrentStep();
+        Vector3f drawPos = drawContext.getPosition();
+        MediaClipCache clip = this.loadClipCache(drawContext.getNumberOfStep());
+        if (clip != null && currStep >= 0 && currStep < clip.getFrameCount()) {
+            this.displayBaked(renderer, clip, currStep, drawPos);
+            return;
         }
-
+        ParticleMedia.FrameData data = this.processFrame(currStep, drawContext.getNumberOfStep());
         int width = data.width;
         int height = data.height;
-        int currStep = drawContext.getCurrentStep();
-        Vector3f drawPos = drawContext.getPosition();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                ParticleEffect particleEffect = colorParticleMapper.apply(data.frame[y * width + x]);
-                Vector3f pos = new Vector3f(x, y, 0).add(drawPos).mul(-0.01f);
-                renderer.drawParticle(particleEffect, currStep, pos);
+        MediaFrameDelta delta = this.mediaDelta;
+        if (delta != null) {
+            delta.begin(width, height, currStep);
+        }
+        if (this.mediaQuantizer != null) {
+            this.prepareQuantizer(drawContext.getNumberOfStep());
+            this.displayQuantized(renderer, data, this.mediaQuantizer.quantize(data), delta, currStep, drawPos);
+            return;
+        }
+        // Runs of same-colored pixels on a row are drawn as a single line
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int runStart = -1;
+            int runColor = 0;
+            for (int x = 0; x < width; x++) {
+                int color = data.frame[row + x];
+                boolean drawn = (color >>> 24) >= this.alphaThreshold && (delta == null || delta.changed(row + x, color));
+                if (runStart >= 0 && (!drawn || color != runColor || x - runStart == MAX_RUN_LENGTH)) {
+                    this.drawRun(renderer, colorParticleMapper.apply(runColor), currStep, drawPos, y, runStart, x - 1);
+                    runStart = -1;
+                }
+                if (drawn && runStart < 0) {
+                    runStart = x;
+                    runColor = color;
+                }
+            }
+            if (runStart >= 0) {
+                this.drawRun(renderer, colorParticleMapper.apply(runColor), currStep, drawPos, y, runStart, width - 1);
+            }
+        }
+    }
+
+    private void displayQuantized(ApelServerRenderer renderer, FrameData data, MediaQuantizer.QuantizedFrame quantized,
+                                  MediaFrameDelta delta, int currStep, Vector3f drawPos) {
+        MediaPalette palette = quantized.getPalette();
+        int width = quantized.getWidth();
+        for (int entry = 0; entry < palette.size(); entry++) {
+            int from = quantized.groupStart(entry);
+            int to = quantized.groupStart(entry + 1);
+            if (from == to) {
+                continue;
+            }
+            int color = palette.getColor(entry);
+            ParticleEffect particleEffect = null;
+            // The pixels of a group are in row-major order, so a run is a sequence of consecutive pixels on one row
+            int runStart = -1;
+            int runEnd = -1;
+            for (int i = from; i < to; i++) {
+                int pixel = quantized.getPixel(i);
+                // The palette colors are opaque, the alpha of the frame decides whether the pixel is drawn
+                if ((data.frame[pixel] >>> 24) < this.alphaThreshold || (delta != null && !delta.changed(pixel, color))) {
+                    continue;
+                }
+                if (particleEffect == null) {
+                    particleEffect = colorParticleMapper.apply(color);
+                }
+                if (runStart >= 0 && (pixel != runEnd + 1 || pixel % width == 0 || pixel - runStart == MAX_RUN_LENGTH)) {
+                    this.drawRun(renderer, particleEffect, currStep, drawPos, runStart / width,
+                            runStart % width, runEnd % width);
+                    runStart = -1;
+                }
+                if (runStart < 0) {
+                    runStart = pixel;
+                }
+                runEnd = pixel;
+            }
+            if (runStart >= 0) {
+                this.drawRun(renderer, particleEffect, currStep, drawPos, runStart / width,
+                        runStart % width, runEnd % width);
+            }
+        }
+    }
+
+    private void displayBaked(ApelServerRenderer renderer, MediaClipCache clip, int frame, Vector3f drawPos) {
+        int width = clip.getWidth(frame);
+        MediaFrameDelta delta = this.mediaDelta;
+        if (delta != null) {
+            delta.begin(width, clip.getHeight(frame), frame);
+        }
+        MediaPalette palette = clip.getPalette();
+        int prevEntry = -1;
+        ParticleEffect particleEffect = null;
+        for (int run = 0; run < clip.getRunCount(frame); run++) {
+            int entry = clip.getRunEntry(frame, run);
+            if (entry != prevEntry) {
+                particleEffect = colorParticleMapper.apply(palette.getColor(entry));
+                prevEntry = entry;
+            }
+            int x = clip.getRunX(frame, run);
+            int y = clip.getRunY(frame, run);
+            int length = clip.getRunLength(frame, run);
+            if (delta == null && length <= MAX_RUN_LENGTH) {
+                this.drawRun(renderer, particleEffect, frame, drawPos, y, x, x + length - 1);
+                continue;
+            }
+            // Split the run around the pixels the delta skips
+            int color = palette.getColor(entry);
+            int runStart = -1;
+            for (int i = x; i < x + length; i++) {
+                boolean drawn = delta == null || delta.changed(y * width + i, color);
+                if (runStart >= 0 && (!drawn || i - runStart == MAX_RUN_LENGTH)) {
+                    this.drawRun(renderer, particleEffect, frame, drawPos, y, runStart, i - 1);
+                    runStart = -1;
+                }
+                if (drawn && runStart < 0) {
+                    runStart = i;
+                }
+            }
+            if (runStart >= 0) {
+                this.drawRun(renderer, particleEffect, frame, drawPos, y, runStart, x + length - 1);
             }
         }
     }
 
+    private void drawRun(ApelServerRenderer renderer, ParticleEffect particleEffect, int step, Vector3f drawPos,
+                         int y, int fromX, int toX) {
+        if (fromX == toX) {
+            // Renderers only read the position while drawing, so a single vector is reused for every lone pixel
+            Vector3f pos = this.particlePos.set(fromX, y, 0).add(drawPos).mul(-0.01f);
+            renderer.drawParticle(particleEffect, step, pos);
+            return;
+        }
+        // Lines are relative to their start, so the renderers' position caches only see one entry per run length
+        Vector3f start = new Vector3f(fromX, y, 0).add(drawPos).mul(-0.01f);
+        Vector3f end = new Vector3f((toX - fromX) * -0.01f, 0, 0);
+        renderer.drawLine(particleEffect, step, start, RUN_ORIGIN, end, RUN_ROTATION, toX - fromX + 1);
+    }
+
     public static class Builder<B extends Builder<B>> extends ParticleObject.Builder<B, ParticleMedia> {
         protected ObjectInterceptor<ParticleMedia> afterDraw;
         protected ObjectInterceptor<ParticleMedia> beforeDraw;
@@ -274,6 +659,11 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
         protected MediaResampler mediaResampler;
         protected List<MediaFilter> mediaFilters = new ArrayList<>();
         protected ColorParticleMapper colorParticleMapper;
+        protected MediaTiling mediaTiling = MediaTiling.SEQUENTIAL;
+        protected MediaQuantizer mediaQuantizer;
+        protected MediaFrameDelta mediaDelta;
+        protected int alphaThreshold = 0;
+        protected Path clipCachePath;
 
         private Builder() {}
 
@@ -331,6 +721,51 @@ public class ParticleMedia extends ParticleObject<ParticleMedia> {
             return self();
         }
 
+        /**
+         * Set the media tiling on the builder. This method is not cumulative;
+         * repeated calls will overwrite the value.
+         */
+        public final B mediaTiling(MediaTiling mediaTiling) {
+            this.mediaTiling = mediaTiling;
+            return self();
+        }
+
+        /**
+         * Set the media quantizer on the builder. This method is not cumulative;
+         * repeated calls will overwrite the value.
+         */
+        public final B mediaQuantizer(MediaQuantizer mediaQuantizer) {
+            this.mediaQuantizer = mediaQuantizer;
+            return self();
+        }
+
+        /**
+         * Set the temporal delta on the builder. This method is not cumulative;
+         * repeated calls will overwrite the value.
+         */
+        public final B mediaDelta(MediaFrameDelta mediaDelta) {
+            this.mediaDelta = mediaDelta;
+            return self();
+        }
+
+        /**
+         * Set the alpha threshold on the builder. This method is not cumulative;
+         * repeated calls will overwrite the value.
+         */
+        public final B alphaThreshold(int alphaThreshold) {
+            this.alphaThreshold = alphaThreshold;
+            return self();
+        }
+
+        /**
+         * Set the path of the baked clip on the builder. This method is not cumulative;
+         * repeated calls will overwrite the value.
+         */
+        public final B clipCachePath(Path clipCachePath) {
+            this.clipCachePath = clipCachePath;
+            return self();
+        }
+
         @Override
         public ParticleMedia build() {
             return new ParticleMedia(this);
@@ -4,21 +4,27 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.ObjectInterceptor;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
+import org.joml.Matrix3f;
 import org.joml.Vector3f;
 
 /** A utility particle object class that copies one particle object as
- * a mirrored one (it draws twice but acts as one particle object).
+ * a mirrored one (it appears twice but acts as one particle object).
  * Particle mirrors can also mirror themselves which can produce cool patterns.
- * The particle mirror can also lock certain rotation axis or even disable the rotation
- * inversion entirely. The same thing can be achieved via interceptors, but this makes
+ * The child object is only drawn once per step, and the mirrored copy is made by reflecting
+ * its particles across the mirror, so the child is never modified while drawing.
+ * The particle mirror can also lock certain axis or even disable the reflection
+ * entirely. The same thing can be achieved via interceptors, but this makes
  * it easier to use. Keep in mind that invisible particle objects won't be rendered.
  *
  * @param <O> The child particle object to use in the ParticleMirror class
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleMirror<O extends ParticleObject<O>> extends UtilityParticleObject<ParticleMirror<O>, O> {
+    protected static final ComputedField.OfFloat DISTANCE = ComputedField.floatField("distance");
+
     protected EasingCurve<Float> distance;
     protected boolean lockXAxis = false;
     protected boolean lockYAxis = false;
@@ -86,10 +92,11 @@ public class ParticleMirror<O extends ParticleObject<O>> extends UtilityParticle
     public EasingCurve<Float> setDistance(EasingCurve<Float> distance) {
         EasingCurve<Float> prevDist = this.distance;
         this.distance = distance;
+        this.invalidateGeometry();
         return prevDist;
     }
 
-    /** Sets the lock X value which locks the rotation for this axis
+    /** Sets the lock X value which locks the reflection for this axis, so the mirrored copy is not flipped along it
      *
      * @param bool The new boolean value if it should lock or not
      * @return The previous boolean value used
@@ -97,10 +104,11 @@ public class ParticleMirror<O extends ParticleObject<O>> extends UtilityParticle
     public boolean setLockX(boolean bool) {
         boolean prevLockAxis = this.lockXAxis;
         this.lockXAxis = bool;
+        this.invalidateGeometry();
         return prevLockAxis;
     }
 
-    /** Sets the lock Y value which locks the rotation for this axis
+    /** Sets the lock Y value which locks the reflection for this axis, so the mirrored copy is not flipped along it
      *
      * @param bool The new boolean value if it should lock or not
      * @return The previous boolean value used
@@ -108,10 +116,11 @@ public class ParticleMirror<O extends ParticleObject<O>> extends UtilityParticle
     public boolean setLockY(boolean bool) {
         boolean prevLockAxis = this.lockYAxis;
         this.lockYAxis = bool;
+        this.invalidateGeometry();
         return prevLockAxis;
     }
 
-    /** Sets the lock Z value which locks the rotation for this axis
+    /** Sets the lock Z value which locks the reflection for this axis, so the mirrored copy is not flipped along it
      *
      * @param bool The new boolean value if it should lock or not
      * @return The previous boolean value used
@@ -119,18 +128,19 @@ public class ParticleMirror<O extends ParticleObject<O>> extends UtilityParticle
     public boolean setLockZ(boolean bool) {
         boolean prevLockAxis = this.lockZAxis;
         this.lockZAxis = bool;
+        this.invalidateGeometry();
         return prevLockAxis;
     }
 
     @Override
     protected ComputedEasingPO computeAdditionalEasings(ComputedEasingPO container) {
-        return container.addComputedField("distance", this.distance);
+        return container.addComputedField(DISTANCE, this.distance);
     }
 
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingPO> drawContext, Vector3f actualSize) {
         ComputedEasingPO computedEasings = drawContext.getComputedEasings();
-        float dist = (float) computedEasings.getComputedField("distance");
+        float dist = computedEasings.getComputedField(DISTANCE);
         Vector3f position = drawContext.getPosition();
         if (dist == 0) {
             this.particleObject.doDraw(
@@ -143,37 +153,42 @@ public class ParticleMirror<O extends ParticleObject<O>> extends UtilityParticle
             );
             return;
         }
-        Vector3f rotatedDirection = new Vector3f(0, 1, 0)
+        Vector3f normal = new Vector3f(0, 1, 0)
                 .rotateZ(computedEasings.computedRotation.z)
                 .rotateY(computedEasings.computedRotation.y)
                 .rotateX(computedEasings.computedRotation.x);
-        Vector3f mirrored_pos = new Vector3f(position).add(rotatedDirection.mul(dist));
-        Vector3f target_pos = (new Vector3f(position).mul(2)).sub(mirrored_pos);
-        this.particleObject.doDraw(
-                renderer,
-                drawContext.getCurrentStep(),
-                target_pos,
-                drawContext.getNumberOfStep(),
-                drawContext.getDeltaTickTime(),
-                actualSize
-        );
-        float pi = (float) Math.PI;
-        float x = this.lockXAxis ? -pi : pi;
-        float y = this.lockYAxis ? -pi : pi;
-        float z = this.lockZAxis ? -pi : pi;
-        Vector3f prevRot = this.particleObject.getRotation().getValue(
-                (float) drawContext.getCurrentStep() / drawContext.getNumberOfStep()
-        );
-        this.particleObject.setRotation(new Vector3f(x, y, z).sub(prevRot));
-        this.particleObject.doDraw(
-                renderer,
-                drawContext.getCurrentStep(),
-                mirrored_pos,
-                drawContext.getNumberOfStep(),
-                drawContext.getDeltaTickTime(),
-                actualSize
+        Vector3f targetPos = new Vector3f(normal).mul(-dist).add(position);
+        Vector3f mirroredPos = new Vector3f(normal).mul(dist).add(position);
+
+        // The child is drawn once, and the renderer makes the reflected copy out of whatever the child drew
+        renderer.drawTransformedCopy(drawContext.getCurrentStep(), targetPos, mirroredPos, this.reflection(normal),
+                childRenderer -> this.particleObject.doDraw(
+                        childRenderer,
+                        drawContext.getCurrentStep(),
+                        new Vector3f(targetPos),
+                        drawContext.getNumberOfStep(),
+                        drawContext.getDeltaTickTime(),
+                        new Vector3f(actualSize)
+                )
         );
-        this.particleObject.setRotation(prevRot);
+    }
+
+    /** Builds the matrix reflecting points across the plane with the given normal, which is {@code I - 2nn}. Locked
+     * axes keep their row of the identity matrix, so the reflected copy is not mirrored along them
+     */
+    private Matrix3f reflection(Vector3f normal) {
+        boolean[] locks = {this.lockXAxis, this.lockYAxis, this.lockZAxis};
+        Matrix3f reflection = new Matrix3f();
+        for (int row = 0; row < 3; row++) {
+            if (locks[row]) {
+                continue;
+            }
+            for (int column = 0; column < 3; column++) {
+                float identity = row == column ? 1 : 0;
+                reflection.set(column, row, identity - 2 * normal.get(row) * normal.get(column));
+            }
+        }
+        return reflection;
     }
 
     public static class Builder<B extends Builder<B, T>, T extends ParticleObject<T>>
@@ -1,34 +1,93 @@
 package net.mcbrincie.apel.lib.objects;
 
+import com.google.common.collect.ImmutableList;
 import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import net.mcbrincie.apel.lib.util.interceptor.context.Key;
+import net.mcbrincie.apel.lib.util.models.IndexedMesh;
+import net.mcbrincie.apel.lib.util.models.MeshSampler;
+import net.mcbrincie.apel.lib.util.models.MeshSimplifier;
 import net.mcbrincie.apel.lib.util.models.ModelParserManager;
 import net.mcbrincie.apel.lib.util.models.ObjModel;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
 import org.joml.Vector3f;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
- * {@code ParticleModel} can render 3D Model files (*.obj, *.fbx, *.gltf) as a particle object.  These models inherit
+ * {@code ParticleModel} can render 3D Model files (*.obj, *.fbx, *.gltf, *.glb) as a particle object.  These models inherit
  * everything allowed by {@link ParticleObject}, and may also be scaled along each of the three axes.  The model is
- * drawn in a wireframe fashion, so only the edges are visible.  A single particle effect is used for the entire
- * model.
+ * drawn in a wireframe fashion by default, so only the edges are visible.  Alternatively, the surface of the model
+ * can be filled with a fixed budget of particles, see {@link DrawMode}.  A single particle effect is used for the
+ * entire model.
  * <p>
  * Implementation-specific details:
  * <ul>
- *     <li>{@code amount} will set the number of particles to use on every edge in the model</li>
+ *     <li>In {@link DrawMode#EDGES}, {@code amount} will set the number of particles to use on every edge in the
+ *     model</li>
+ *     <li>In the surface modes, {@code amount} will set the number of particles spread over the whole model.  The
+ *     sampled points are cached per model and amount, so easing the amount resamples the surface</li>
  * </ul>
+ * <p>
+ * <strong>Levels of detail:</strong> The builder can simplify the model into a chain of levels of detail when it is
+ * loaded, see {@link MeshSimplifier}.  Every frame, the least detailed level is picked that is allowed by the
+ * distance to the nearest player (one level per {@link #getLevelOfDetailDistance()} blocks), then the level is lowered
+ * further until the edges fit within the {@link #getParticleBudget()}.  Both are disabled when set to zero.  Models
+ * supplied through the {@link #OBJECT_MODEL} metadata are always drawn at full detail.
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleModel extends RenderableParticleObject<ParticleModel> {
+    protected static final ComputedField.OfFloat INTERVAL = ComputedField.floatField("interval");
+
     protected final ObjModel objModel;
     protected EasingCurve<Float> particle_interval = null;
+    protected DrawMode drawMode = DrawMode.EDGES;
+    protected final ImmutableList<LevelOfDetail> levelsOfDetail;
+    protected int particleBudget = 0;
+    protected float levelOfDetailDistance = 0;
+    private volatile SampleCache sampleCache;
+
+    /** How the model is turned into particles. */
+    public enum DrawMode {
+        /** Particles are drawn along every edge of every face, which produces a wireframe */
+        EDGES,
+        /** Particles are spread uniformly over the surface, see {@link MeshSampler#sampleSurface(int, long)} */
+        SURFACE,
+        /** Particles are spread over the surface as blue noise, see {@link MeshSampler#samplePoissonDisk(int, long)} */
+        POISSON_DISK
+    }
+
+    /** A simplified version of the model, along with the totals needed to estimate its particle cost.
+     *
+     * @param mesh The mesh of this level
+     * @param edges The number of edges drawn in {@link DrawMode#EDGES}
+     * @param edgeLength The total length of those edges, before scaling
+     */
+    protected record LevelOfDetail(IndexedMesh mesh, int edges, float edgeLength) {
+        static LevelOfDetail of(IndexedMesh mesh) {
+            Vector3f vertex1 = new Vector3f();
+            Vector3f vertex2 = new Vector3f();
+            float edgeLength = 0;
+            for (int face = 0; face < mesh.getFaceCount(); face++) {
+                int faceSize = mesh.getFaceSize(face);
+                for (int i = 0; i < faceSize; i++) {
+                    mesh.getPosition(mesh.getFaceVertex(face, i), vertex1);
+                    mesh.getPosition(mesh.getFaceVertex(face, (i + 1) % faceSize), vertex2);
+                    edgeLength += vertex1.distance(vertex2);
+                }
+            }
+            return new LevelOfDetail(mesh, mesh.getIndexCount(), edgeLength);
+        }
+    }
+
+    private record SampleCache(MeshSampler sampler, DrawMode mode, int amount, float[] points) {}
 
     public static Key<ObjModel> objectModelKey(String name) {
         return new Key<>(name) { };
@@ -36,6 +95,12 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
 
     public static final Key<ObjModel> OBJECT_MODEL = objectModelKey("object_model");
 
+    // Fraction of triangles kept from one level of detail to the next
+    private static final float LOD_TRIANGLE_RATIO = 0.5f;
+
+    // Fixed so that the sampled surface looks the same across runs and copies
+    private static final long SAMPLE_SEED = 0x41504C4D4F44454CL;
+
     public static <B extends Builder<B>> Builder<B> builder() {
         return new Builder<>();
     }
@@ -49,6 +114,10 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
         this.subscribeToBeforeDraw(builder.beforeDraw);
         this.subscribeToAfterDraw(builder.afterDraw);
         this.objModel = builder.objectModel;
+        this.levelsOfDetail = builder.levelsOfDetail;
+        this.setDrawMode(builder.drawMode);
+        this.setParticleBudget(builder.particleBudget);
+        this.setLevelOfDetailDistance(builder.levelOfDetailDistance);
         if (builder.interval != null) {
             this.setInterval(builder.interval);
             return;
@@ -65,6 +134,11 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
         super(model);
         this.objModel = model.objModel;
         this.particle_interval = model.particle_interval;
+        this.drawMode = model.drawMode;
+        this.levelsOfDetail = model.levelsOfDetail;
+        this.particleBudget = model.particleBudget;
+        this.levelOfDetailDistance = model.levelOfDetailDistance;
+        this.sampleCache = model.sampleCache;
     }
 
     /** Gets the interval of particles that are currently in use and returns it.
@@ -100,9 +174,98 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
     public final EasingCurve<Float> setInterval(EasingCurve<Float> newInterval) {
         EasingCurve<Float> prevInterval = this.particle_interval;
         this.particle_interval = newInterval;
+        this.invalidateGeometry();
         return prevInterval;
     }
 
+    /** Gets the mode used to turn the model into particles and returns it.
+     *
+     * @return The draw mode
+     */
+    public DrawMode getDrawMode() {
+        return this.drawMode;
+    }
+
+    /**
+     * Sets the mode used to turn the model into particles.  It returns the previously used draw mode.
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param drawMode The new draw mode
+     * @return The previously used draw mode
+     */
+    public final DrawMode setDrawMode(DrawMode drawMode) {
+        if (drawMode == null) {
+            throw new IllegalArgumentException("Draw mode cannot be null");
+        }
+        DrawMode prevDrawMode = this.drawMode;
+        this.drawMode = drawMode;
+        this.invalidateGeometry();
+        return prevDrawMode;
+    }
+
+    /** Gets the number of levels of detail the model was simplified into, including the full model.
+     *
+     * @return The number of levels of detail
+     */
+    public int getLevelOfDetailCount() {
+        return this.levelsOfDetail.size();
+    }
+
+    /** Gets the maximum number of particles the edges of the model should use and returns it.
+     *
+     * @return The particle budget, zero when there is none
+     */
+    public int getParticleBudget() {
+        return this.particleBudget;
+    }
+
+    /**
+     * Sets the maximum number of particles the edges of the model should use, which lowers the level of detail until
+     * the estimated number of particles fits.  Zero disables the budget.  It returns the previously used budget.
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param particleBudget The new particle budget
+     * @return The previously used particle budget
+     */
+    public final int setParticleBudget(int particleBudget) {
+        if (particleBudget < 0) {
+            throw new IllegalArgumentException("Particle budget cannot be negative");
+        }
+        int prevParticleBudget = this.particleBudget;
+        this.particleBudget = particleBudget;
+        this.invalidateGeometry();
+        return prevParticleBudget;
+    }
+
+    /** Gets the distance to the nearest player over which the level of detail is lowered by one and returns it.
+     *
+     * @return The distance per level of detail, zero when disabled
+     */
+    public float getLevelOfDetailDistance() {
+        return this.levelOfDetailDistance;
+    }
+
+    /**
+     * Sets the distance to the nearest player over which the level of detail is lowered by one.  Zero disables the
+     * distance-based selection.  It returns the previously used distance.
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param levelOfDetailDistance The new distance per level of detail
+     * @return The previously used distance per level of detail
+     */
+    public final float setLevelOfDetailDistance(float levelOfDetailDistance) {
+        if (levelOfDetailDistance < 0) {
+            throw new IllegalArgumentException("Level of detail distance cannot be negative");
+        }
+        float prevLevelOfDetailDistance = this.levelOfDetailDistance;
+        this.levelOfDetailDistance = levelOfDetailDistance;
+        this.invalidateGeometry();
+        return prevLevelOfDetailDistance;
+    }
+
     @Override
     protected void prepareContext(DrawContext<?> drawContext) {
         drawContext.addMetadata(OBJECT_MODEL, this.objModel);
@@ -110,7 +273,16 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return this.particle_interval != null ? container.addComputedField("interval", this.particle_interval) : container;
+        return this.particle_interval != null ? container.addComputedField(INTERVAL, this.particle_interval) : container;
+    }
+
+    /** The level of detail picked by the distance to the players may change on every step, so models using it are
+     * not static
+     */
+    @Override
+    public boolean isStatic() {
+        boolean distanceLevels = this.levelOfDetailDistance > 0 && this.levelsOfDetail.size() > 1;
+        return !distanceLevels && super.isStatic();
     }
 
     @Override
@@ -119,42 +291,99 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingPO.computedOffset);
 
         ObjModel objectModel = drawContext.getMetadata(OBJECT_MODEL, this.objModel);
-        for (ObjModel.Face face : objectModel.faces()) {
-            List<ObjModel.Vertex> vertices = face.vertices();
-            List<Vector3f> positions = new ArrayList<>(vertices.size());
-
-            for (ObjModel.Vertex vertex : face.vertices()) {
-                // Defensive copies of internal vertices
-                positions.add(new Vector3f(vertex.position()).mul(computedEasingPO.computedScale));
+        IndexedMesh mesh = objectModel == this.objModel
+                ? this.selectLevelOfDetail(drawContext, objectDrawPos, computedEasingPO).mesh()
+                : objectModel.mesh();
+        int step = drawContext.getCurrentStep();
+        if (this.drawMode != DrawMode.EDGES) {
+            this.drawSamples(renderer, step, objectDrawPos, mesh, computedEasingPO);
+            return;
+        }
+        for (int face = 0; face < mesh.getFaceCount(); face++) {
+            int faceSize = mesh.getFaceSize(face);
+            Vector3f[] positions = new Vector3f[faceSize];
+            for (int corner = 0; corner < faceSize; corner++) {
+                // Fresh vectors, since the renderer may hold on to them
+                positions[corner] = mesh.getPosition(mesh.getFaceVertex(face, corner), new Vector3f())
+                        .mul(computedEasingPO.computedScale);
             }
 
-            int step = drawContext.getCurrentStep();
-            for (int i = 0; i < positions.size() - 1; i++) {
-                Vector3f vertex1 = positions.get(i);
-                Vector3f vertex2 = positions.get(i + 1);
+            // The last edge closes the face
+            for (int i = 0; i < faceSize; i++) {
+                Vector3f vertex1 = positions[i];
+                Vector3f vertex2 = positions[(i + 1) % faceSize];
                 int useAmount = computedEasingPO.computedAmount;
                 if (this.particle_interval != null) {
-                    float particleInterval = (float) computedEasingPO.getComputedField("interval");
+                    float particleInterval = computedEasingPO.getComputedField(INTERVAL);
                     float dist = vertex1.distance(vertex2);
                     useAmount = (int) Math.ceil(dist / particleInterval);
                 }
                 renderer.drawLine(this.particleEffect, step, objectDrawPos, vertex1, vertex2,
                         computedEasingPO.computedRotation, useAmount);
             }
-            Vector3f vertex1 = positions.getLast();
-            Vector3f vertex2 = positions.getFirst();
-            // Close the face
-            int useAmount = computedEasingPO.computedAmount;
-            if (this.particle_interval != null) {
-                float particleInterval = (float) computedEasingPO.getComputedField("interval");
-                float dist = vertex1.distance(vertex2);
-                useAmount = (int) Math.ceil(dist / particleInterval);
+        }
+    }
+
+    private LevelOfDetail selectLevelOfDetail(DrawContext<ComputedEasingRPO> drawContext, Vector3f objectDrawPos,
+                                              ComputedEasingRPO computedEasingPO) {
+        int lastLevel = this.levelsOfDetail.size() - 1;
+        int level = 0;
+        ServerWorld world = drawContext.getWorld();
+        if (this.levelOfDetailDistance > 0 && world != null && lastLevel > 0) {
+            double nearest = Double.MAX_VALUE;
+            for (ServerPlayerEntity player : world.getPlayers()) {
+                nearest = Math.min(nearest, player.squaredDistanceTo(objectDrawPos.x, objectDrawPos.y, objectDrawPos.z));
+            }
+            level = (int) Math.min(lastLevel, Math.sqrt(nearest) / this.levelOfDetailDistance);
+        }
+        if (this.particleBudget > 0 && this.drawMode == DrawMode.EDGES) {
+            Vector3f scale = computedEasingPO.computedScale;
+            float maxScale = Math.max(Math.abs(scale.x), Math.max(Math.abs(scale.y), Math.abs(scale.z)));
+            while (level < lastLevel && this.estimateParticles(this.levelsOfDetail.get(level), maxScale,
+                    computedEasingPO) > this.particleBudget) {
+                level++;
             }
-            renderer.drawLine(this.particleEffect, step, objectDrawPos, vertex1, vertex2,
-                    computedEasingPO.computedRotation, useAmount);
+        }
+        return this.levelsOfDetail.get(level);
+    }
+
+    private long estimateParticles(LevelOfDetail levelOfDetail, float maxScale, ComputedEasingRPO computedEasingPO) {
+        if (this.particle_interval != null) {
+            float particleInterval = computedEasingPO.getComputedField(INTERVAL);
+            // Every edge rounds its particle count up
+            return (long) Math.ceil(levelOfDetail.edgeLength() * maxScale / particleInterval) + levelOfDetail.edges();
+        }
+        return (long) levelOfDetail.edges() * computedEasingPO.computedAmount;
+    }
+
+    private void drawSamples(ApelServerRenderer renderer, int step, Vector3f objectDrawPos, IndexedMesh mesh,
+                             ComputedEasingRPO computedEasingPO) {
+        float[] points = this.getSamples(mesh, computedEasingPO.computedAmount);
+        Vector3f rotation = computedEasingPO.computedRotation;
+        Quaternionfc quaternion = new Quaternionf().rotateZ(rotation.z).rotateY(rotation.y).rotateX(rotation.x);
+        for (int i = 0; i < points.length; i += 3) {
+            // Fresh vectors, since the renderer may hold on to them
+            Vector3f point = new Vector3f(points[i], points[i + 1], points[i + 2])
+                    .mul(computedEasingPO.computedScale).rotate(quaternion).add(objectDrawPos);
+            renderer.drawParticle(this.particleEffect, step, point);
         }
     }
 
+    private float[] getSamples(IndexedMesh mesh, int amount) {
+        SampleCache cache = this.sampleCache;
+        if (cache != null && cache.sampler.getMesh() == mesh && cache.mode == this.drawMode && cache.amount == amount) {
+            return cache.points;
+        }
+        // The area table only depends on the mesh, keep it when just the amount or mode changed
+        MeshSampler sampler = cache != null && cache.sampler.getMesh() == mesh ? cache.sampler : new MeshSampler(mesh);
+        float[] points = switch (this.drawMode) {
+            case POISSON_DISK -> sampler.samplePoissonDisk(amount, SAMPLE_SEED);
+            default -> sampler.sampleSurface(amount, SAMPLE_SEED);
+        };
+        this.sampleCache = new SampleCache(sampler, this.drawMode, amount, points);
+        return points;
+    }
+
     /** This is the particle model object builder used for setting up a new particle model instance.
      * It is designed to be more friendly of how you arrange the parameters. Call {@code .builder()} to initiate
      * the builder, once you supplied the parameters then you can call {@code .build()} to create the instance
@@ -166,6 +395,11 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
         protected String filename;
         protected EasingCurve<Float> interval;
         protected ObjModel objectModel;
+        protected DrawMode drawMode = DrawMode.EDGES;
+        protected int levels = 1;
+        protected int particleBudget = 0;
+        protected float levelOfDetailDistance = 0;
+        protected ImmutableList<LevelOfDetail> levelsOfDetail;
 
         private Builder() {}
 
@@ -208,6 +442,41 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
             return self();
         }
 
+        /**
+         * Set the draw mode on the builder.  This method is not cumulative; repeated calls will overwrite the value.
+         */
+        public final B drawMode(DrawMode drawMode) {
+            this.drawMode = drawMode;
+            return self();
+        }
+
+        /**
+         * Set the maximum number of levels of detail, including the full model, to simplify the model into when it is
+         * built.  This method is not cumulative; repeated calls will overwrite the value.
+         */
+        public final B levelsOfDetail(int levels) {
+            this.levels = levels;
+            return self();
+        }
+
+        /**
+         * Set the particle budget on the builder.  This method is not cumulative; repeated calls will overwrite the
+         * value.
+         */
+        public final B particleBudget(int particleBudget) {
+            this.particleBudget = particleBudget;
+            return self();
+        }
+
+        /**
+         * Set the distance to the nearest player over which the level of detail is lowered by one.  This method is not
+         * cumulative; repeated calls will overwrite the value.
+         */
+        public final B levelOfDetailDistance(float levelOfDetailDistance) {
+            this.levelOfDetailDistance = levelOfDetailDistance;
+            return self();
+        }
+
         @Override
         public ParticleModel build() {
             if (filename == null && objectModel == null) {
@@ -216,6 +485,11 @@ public class ParticleModel extends RenderableParticleObject<ParticleModel> {
             if (objectModel == null) {
                 objectModel = MODEL_PARSER_MANAGER.parse(new File(this.filename));
             }
+            ImmutableList.Builder<LevelOfDetail> chain = ImmutableList.builder();
+            for (IndexedMesh mesh : MeshSimplifier.buildLevelsOfDetail(objectModel.mesh(), levels, LOD_TRIANGLE_RATIO)) {
+                chain.add(LevelOfDetail.of(mesh));
+            }
+            this.levelsOfDetail = chain.build();
             return new ParticleModel(this);
         }
     }
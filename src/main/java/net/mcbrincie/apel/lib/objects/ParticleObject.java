@@ -3,15 +3,19 @@ package net.mcbrincie.apel.lib.objects;
 import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.mcbrincie.apel.lib.util.ApelUtils;
 import net.mcbrincie.apel.lib.util.ComputedEasingPO;
+import net.mcbrincie.apel.lib.util.FoldedConstant;
 import net.mcbrincie.apel.lib.util.interceptor.ObjectInterceptor;
 import net.mcbrincie.apel.lib.util.interceptor.ObjectInterceptorDispatcher;
+import net.mcbrincie.apel.lib.util.interceptor.context.ContextPool;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import net.mcbrincie.apel.lib.util.interceptor.context.Key;
 import net.minecraft.server.world.ServerWorld;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Vector3f;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -56,6 +60,13 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
     protected EasingCurve<Vector3f> offset = new ConstantEasingCurve<>(new Vector3f(0, 0, 0));
     protected final ObjectInterceptorDispatcher<T> afterDrawEvent;
     protected final ObjectInterceptorDispatcher<T> beforeDrawEvent;
+    // Values of constant rotation, scale and offset curves, computed once instead of on every step
+    private FoldedConstant foldedRotation;
+    private FoldedConstant foldedScale;
+    private FoldedConstant foldedOffset;
+    // Shared by every object, so the latest change anywhere in a tree always carries the largest version of the tree
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    private long version;
 
     /**
      * Used by subclasses to when constructing themselves to set the properties shared by all ParticleObjects.
@@ -116,6 +127,7 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
     public final EasingCurve<Vector3f> setRotation(EasingCurve<Vector3f> rotation) {
         EasingCurve<Vector3f> prevRotation = this.rotation;
         this.rotation = rotation;
+        this.invalidateGeometry();
         return prevRotation;
     }
 
@@ -156,6 +168,7 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
     public final EasingCurve<Vector3f> setScale(EasingCurve<Vector3f> scale) {
         EasingCurve<Vector3f> prevScale = this.scale;
         this.scale = scale;
+        this.invalidateGeometry();
         return prevScale;
     }
 
@@ -196,6 +209,7 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
     public final EasingCurve<Vector3f> setOffset(EasingCurve<Vector3f> offset) {
         EasingCurve<Vector3f> prevOffset = this.offset;
         this.offset = offset;
+        this.invalidateGeometry();
         return prevOffset;
     }
 
@@ -212,9 +226,60 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
     public final EasingCurve<Vector3f> setOffset(Vector3f offset) {
         EasingCurve<Vector3f> prevOffset = this.offset;
         this.offset = new ConstantEasingCurve<>(offset);
+        this.invalidateGeometry();
         return prevOffset;
     }
 
+    /** Computes the rotation at the given t value, normalized to (-2π, 2π). When the rotation is a
+     * {@link ConstantEasingCurve}, its normalized value is computed once and shared by every step, so the returned
+     * vector must not be modified.
+     *
+     * @param t The t value to compute the rotation at
+     * @return The computed rotation
+     */
+    public Vector3f computeRotation(float t) {
+        if (this.rotation instanceof ConstantEasingCurve<Vector3f> constant) {
+            if (this.foldedRotation == null || !this.foldedRotation.isFoldOf(constant)) {
+                this.foldedRotation = new FoldedConstant(constant, rotation -> ApelUtils.normalizeRotation(rotation, rotation));
+            }
+            return this.foldedRotation.get();
+        }
+        Vector3f rotation = this.rotation.getValue(t, new Vector3f());
+        return ApelUtils.normalizeRotation(rotation, rotation);
+    }
+
+    /** Computes the scale at the given t value. When the scale is a {@link ConstantEasingCurve}, its value is shared
+     * by every step, so the returned vector must not be modified.
+     *
+     * @param t The t value to compute the scale at
+     * @return The computed scale
+     */
+    public Vector3f computeScale(float t) {
+        if (this.scale instanceof ConstantEasingCurve<Vector3f> constant) {
+            if (this.foldedScale == null || !this.foldedScale.isFoldOf(constant)) {
+                this.foldedScale = new FoldedConstant(constant, scale -> scale);
+            }
+            return this.foldedScale.get();
+        }
+        return this.scale.getValue(t, new Vector3f());
+    }
+
+    /** Computes the offset at the given t value. When the offset is a {@link ConstantEasingCurve}, its value is shared
+     * by every step, so the returned vector must not be modified.
+     *
+     * @param t The t value to compute the offset at
+     * @return The computed offset
+     */
+    public Vector3f computeOffset(float t) {
+        if (this.offset instanceof ConstantEasingCurve<Vector3f> constant) {
+            if (this.foldedOffset == null || !this.foldedOffset.isFoldOf(constant)) {
+                this.foldedOffset = new FoldedConstant(constant, offset -> offset);
+            }
+            return this.foldedOffset.get();
+        }
+        return this.offset.getValue(t, new Vector3f());
+    }
+
     /** Subscribes an interceptor to run prior to drawing the object. The interceptor will be provided with references to the
      * {@link ServerWorld}, an "origin" point from which the object should be drawn, the step number of the animation... etc,
      * and including any metadata defined by {@link Key} defined in the specific subclass.
@@ -225,6 +290,7 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
      */
     public final void subscribeToBeforeDraw(@NotNull ObjectInterceptor<T> beforeDraw) {
         this.beforeDrawEvent.addInterceptor(beforeDraw);
+        this.invalidateGeometry();
     }
 
     /** Subscribes an interceptor to run after drawing the object. The interceptor will be provided with references to the
@@ -237,6 +303,7 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
      */
     public final void subscribeToAfterDraw(@NotNull ObjectInterceptor<T> afterDraw) {
         this.afterDrawEvent.addInterceptor(afterDraw);
+        this.invalidateGeometry();
     }
 
     /**
@@ -265,6 +332,20 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
         return container;
     }
 
+    /** Checks whether the object draws the same particles, relative to its drawing position, on every step. This is
+     * the case when it has no interceptors, and its rotation, offset, scale and every additional easing it computes
+     * are constant curves. A {@link ParticleProgram} records static objects once instead of drawing them on every step.
+     * <p>
+     * Subclasses whose drawing depends on anything other than their easings (such as randomness or the players
+     * around them) must override this method to return false in those cases.
+     *
+     * @return Whether the object is static
+     */
+    public boolean isStatic() {
+        return this.beforeDrawEvent.isEmpty() && this.afterDrawEvent.isEmpty()
+                && this.computeAdditionalEasings(new ComputedEasingPO(this, 0, 1)).isConstant();
+    }
+
     public void doDraw(ApelServerRenderer renderer, int step, Vector3f drawPos,
                        int numberOfSteps, float deltaTickTime, Vector3f actualSize) {
         doDraw(() -> new ComputedEasingPO(this, step, numberOfSteps), this::computeAdditionalEasings,
@@ -278,17 +359,22 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
     ) {
         TC computedEasingPO = computeMethod.apply(factory.get());
         actualSize = actualSize.mul(computedEasingPO.computedScale);
-        DrawContext<?> drawContext = new DrawContext<>(
+        ContextPool pool = ContextPool.get();
+        DrawContext<?> drawContext = pool.acquireDraw(
                 renderer.getServerWorld(), drawPos,
                 step, numberOfSteps, deltaTickTime,
                 computedEasingPO
         );
-        this.prepareContext(drawContext);
-        //noinspection unchecked
-        this.beforeDrawEvent.compute((T) this, drawContext);
-        this.display(renderer, drawContext, actualSize);
-        //noinspection unchecked
-        this.afterDrawEvent.compute((T) this, drawContext);
+        try {
+            this.prepareContext(drawContext);
+            //noinspection unchecked
+            this.beforeDrawEvent.compute((T) this, drawContext);
+            this.display(renderer, drawContext, actualSize);
+            //noinspection unchecked
+            this.afterDrawEvent.compute((T) this, drawContext);
+        } finally {
+            pool.release(drawContext);
+        }
     }
 
     /**
@@ -301,6 +387,27 @@ public abstract class ParticleObject<T extends ParticleObject<T>> {
         // Default implementation does nothing
     }
 
+    /**
+     * Called by the setters whenever a property that shapes what the object draws changes, so subclasses caching the
+     * drawn geometry can drop it.  The default implementation moves the object to a new {@link #getVersion() version},
+     * so overrides must call it.
+     */
+    protected void invalidateGeometry() {
+        this.version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Gets the version of the object, which changes every time a setter changes what the object draws.  Versions are
+     * taken from a counter shared by every object, and objects holding other objects return the latest version among
+     * themselves and their children, so a cache of particles drawn by a whole tree, such as a {@link ParticleProgram},
+     * can tell that any part of it changed by comparing a single number.
+     *
+     * @return The version of the object
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     /**
      * Provides a base for ParticleObject subclasses to extend when creating their builders.
      * <p>
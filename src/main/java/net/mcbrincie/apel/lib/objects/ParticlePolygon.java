@@ -5,6 +5,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import net.mcbrincie.apel.lib.util.math.bezier.BezierCurve;
 import net.minecraft.util.math.MathHelper;
@@ -23,6 +24,9 @@ import java.util.List;
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticlePolygon extends RenderableParticleObject<ParticlePolygon> {
+    protected static final ComputedField.OfInt SIDES = ComputedField.intField("sides");
+    protected static final ComputedField.OfFloat CURVE = ComputedField.floatField("curve");
+
     protected EasingCurve<Integer> sides;
     protected EasingCurve<Float> curve;
     private final List<BezierCurve> bezierCurves = new ArrayList<>();
@@ -79,6 +83,7 @@ public class ParticlePolygon extends RenderableParticleObject<ParticlePolygon> {
     public final EasingCurve<Integer> setSides(EasingCurve<Integer> sides) throws IllegalArgumentException {
         EasingCurve<Integer> prevSides = this.sides;
         this.sides = sides;
+        this.invalidateGeometry();
         return prevSides;
     }
 
@@ -121,6 +126,7 @@ public class ParticlePolygon extends RenderableParticleObject<ParticlePolygon> {
     public final EasingCurve<Float> setCurve(EasingCurve<Float> curve) throws IllegalArgumentException {
         EasingCurve<Float> prevCurve = this.curve;
         this.curve = curve;
+        this.invalidateGeometry();
         return prevCurve;
     }
 
@@ -134,8 +140,8 @@ public class ParticlePolygon extends RenderableParticleObject<ParticlePolygon> {
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return container.addComputedField("sides", this.sides)
-                .addComputedField("curve", this.curve);
+        return container.addComputedField(SIDES, this.sides)
+                .addComputedField(CURVE, this.curve);
     }
 
     @Override
@@ -144,12 +150,12 @@ public class ParticlePolygon extends RenderableParticleObject<ParticlePolygon> {
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingPO.computedOffset);
 
         // Divide the particles evenly among sides
-        int computedSides = (int) computedEasingPO.getComputedField("sides");
+        int computedSides = computedEasingPO.getComputedField(SIDES);
         if (computedSides <= 2) {
             throw new RuntimeException("Sides has to be more than 2 in order to generate");
         }
         int particlesPerLine = computedEasingPO.computedAmount / computedSides;
-        float computedCurve = (float) computedEasingPO.getComputedField("curve");
+        float computedCurve = computedEasingPO.getComputedField(CURVE);
         if (computedCurve < -1 || computedCurve > 1) {
             throw new RuntimeException("Curve value is out of bounds between [-1, 1]");
         }
@@ -0,0 +1,179 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.mcbrincie.apel.lib.renderers.StaticGeometry;
+import net.mcbrincie.apel.lib.util.ComputedEasingPO;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A {@link ParticleProgram} is a particle object tree compiled into a flat list of draw operations. Combiners without
+ * interceptors are flattened into their children, with their scale multiplied into the size of the children. Every run
+ * of consecutive {@link ParticleObject#isStatic() static} objects becomes one operation replaying their particles,
+ * recorded the first time the program runs, while the subtrees with dynamic easings or interceptors are drawn as
+ * usual on every step.
+ * <br /> <br />
+ * The program remembers the {@link ParticleObject#getVersion() version} of the tree it was compiled from, and compiles
+ * it again (recording the static objects anew) whenever a setter changed any object of the tree, including objects
+ * added to or removed from combiners. Changes the objects cannot see, such as modifying a vertex vector in place,
+ * require calling {@link #invalidate()}
+ */
+@SuppressWarnings("unused")
+public final class ParticleProgram {
+    private final ParticleObject<?> root;
+    private Operation[] operations;
+    private long compiledVersion;
+
+    private ParticleProgram(ParticleObject<?> root) {
+        this.root = root;
+    }
+
+    /** Compiles a particle object tree into a program
+     *
+     * @param root The root object of the tree
+     * @return The compiled program
+     */
+    public static ParticleProgram compile(ParticleObject<?> root) {
+        ParticleProgram program = new ParticleProgram(root);
+        program.compile();
+        return program;
+    }
+
+    /** Draws the compiled tree, which draws the same particles as calling
+     * {@link ParticleObject#doDraw(ApelServerRenderer, int, Vector3f, int, float, Vector3f)} on the root object with a
+     * size of one. The tree is compiled again first if it changed since it was compiled
+     *
+     * @param renderer The renderer to draw with
+     * @param step The current step of the animation
+     * @param drawPos The position to draw at
+     * @param numberOfSteps The number of steps of the animation
+     * @param deltaTickTime The time between the current tick and the previous one
+     */
+    public void run(ApelServerRenderer renderer, int step, Vector3f drawPos, int numberOfSteps, float deltaTickTime) {
+        for (Operation operation : this.compile()) {
+            operation.run(renderer, step, drawPos, numberOfSteps, deltaTickTime);
+        }
+    }
+
+    /** Discards the compiled operations, so the tree is compiled again the next time the program runs */
+    public void invalidate() {
+        this.operations = null;
+    }
+
+    /** Gets the number of operations the tree was compiled into, compiling it if needed
+     *
+     * @return The number of operations
+     */
+    public int size() {
+        return this.compile().length;
+    }
+
+    private Operation[] compile() {
+        // Walking the tree for its version costs far less than drawing it
+        long version = this.root.getVersion();
+        if (this.operations == null || version != this.compiledVersion) {
+            this.operations = compileOperations(this.root);
+            this.compiledVersion = version;
+        }
+        return this.operations;
+    }
+
+    private static Operation[] compileOperations(ParticleObject<?> root) {
+        List<Operation> operations = new ArrayList<>();
+        List<ParticleObject<?>> staticObjects = new ArrayList<>();
+        Vector3f staticSize = new Vector3f(1);
+        compileObject(root, new Vector3f(1), operations, staticObjects, staticSize);
+        flushStatic(operations, staticObjects, staticSize);
+        return operations.toArray(Operation[]::new);
+    }
+
+    private static void compileObject(ParticleObject<?> object, Vector3f size, List<Operation> operations,
+                                      List<ParticleObject<?>> staticObjects, Vector3f staticSize) {
+        if (object.isStatic()) {
+            // Consecutive static objects are recorded together, as long as they are drawn at the same size
+            if (!staticObjects.isEmpty() && !staticSize.equals(size)) {
+                flushStatic(operations, staticObjects, staticSize);
+            }
+            staticObjects.add(object);
+            staticSize.set(size);
+            return;
+        }
+        if (object instanceof ParticleCombiner combiner && isTransparent(combiner)) {
+            Vector3f childSize = new Vector3f(size).mul(new ComputedEasingPO(combiner, 0, 1).computedScale);
+            for (ParticleObject<?> child : combiner.getObjects()) {
+                compileObject(child, childSize, operations, staticObjects, staticSize);
+            }
+            return;
+        }
+        flushStatic(operations, staticObjects, staticSize);
+        operations.add(new DynamicOperation(object, new Vector3f(size)));
+    }
+
+    /** A combiner only draws its children at its own position, so it can be replaced by its children as long as it
+     * runs no interceptors and its scale is constant
+     */
+    private static boolean isTransparent(ParticleCombiner combiner) {
+        return combiner.beforeDrawEvent.isEmpty() && combiner.afterDrawEvent.isEmpty()
+                && !combiner.hasChildInterceptors()
+                && new ComputedEasingPO(combiner, 0, 1).isConstant();
+    }
+
+    private static void flushStatic(List<Operation> operations, List<ParticleObject<?>> staticObjects,
+                                    Vector3f staticSize) {
+        if (staticObjects.isEmpty()) {
+            return;
+        }
+        operations.add(new StaticOperation(staticObjects.toArray(ParticleObject<?>[]::new), new Vector3f(staticSize)));
+        staticObjects.clear();
+    }
+
+    private interface Operation {
+        void run(ApelServerRenderer renderer, int step, Vector3f drawPos, int numberOfSteps, float deltaTickTime);
+    }
+
+    private static final class StaticOperation implements Operation {
+        private final ParticleObject<?>[] objects;
+        private final Vector3f size;
+        private StaticGeometry geometry;
+
+        private StaticOperation(ParticleObject<?>[] objects, Vector3f size) {
+            this.objects = objects;
+            this.size = size;
+        }
+
+        @Override
+        public void run(ApelServerRenderer renderer, int step, Vector3f drawPos, int numberOfSteps,
+                        float deltaTickTime) {
+            StaticGeometry geometry = this.geometry;
+            if (geometry == null) {
+                geometry = StaticGeometry.record(renderer, drawPos, recorder -> {
+                    for (ParticleObject<?> object : this.objects) {
+                        object.doDraw(recorder, step, new Vector3f(drawPos), numberOfSteps, deltaTickTime,
+                                new Vector3f(this.size));
+                    }
+                });
+                this.geometry = geometry;
+            }
+            geometry.replay(renderer, step, drawPos);
+        }
+    }
+
+    private static final class DynamicOperation implements Operation {
+        private final ParticleObject<?> object;
+        private final Vector3f size;
+
+        private DynamicOperation(ParticleObject<?> object, Vector3f size) {
+            this.object = object;
+            this.size = size;
+        }
+
+        @Override
+        public void run(ApelServerRenderer renderer, int step, Vector3f drawPos, int numberOfSteps,
+                        float deltaTickTime) {
+            // Defensive copies, like the combiner makes, since objects multiply the size in place
+            this.object.doDraw(renderer, step, new Vector3f(drawPos), numberOfSteps, deltaTickTime,
+                    new Vector3f(this.size));
+        }
+    }
+}
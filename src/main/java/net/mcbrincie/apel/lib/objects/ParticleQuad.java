@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -23,6 +24,11 @@ import org.joml.Vector3f;
  */
 @SuppressWarnings("unused")
 public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
+    protected static final ComputedField.OfObject<Vector3f> VERTEX1 = ComputedField.objectField("vertex1");
+    protected static final ComputedField.OfObject<Vector3f> VERTEX2 = ComputedField.objectField("vertex2");
+    protected static final ComputedField.OfObject<Vector3f> VERTEX3 = ComputedField.objectField("vertex3");
+    protected static final ComputedField.OfObject<Vector3f> VERTEX4 = ComputedField.objectField("vertex4");
+
     protected EasingCurve<Vector3f> vertex1;
     protected EasingCurve<Vector3f> vertex2;
     protected EasingCurve<Vector3f> vertex3;
@@ -71,6 +77,7 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
         this.vertex2 = new ConstantEasingCurve<>(vertices[1]);
         this.vertex3 = new ConstantEasingCurve<>(vertices[2]);
         this.vertex4 = new ConstantEasingCurve<>(vertices[3]);
+        this.invalidateGeometry();
     }
 
     /** Sets all vertices at once instead of one at a time.
@@ -90,6 +97,7 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
         this.vertex2 = vertices[1];
         this.vertex3 = vertices[2];
         this.vertex4 = vertices[3];
+        this.invalidateGeometry();
     }
 
     /**
@@ -121,6 +129,7 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
     public final EasingCurve<Vector3f> setVertex1(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex = this.vertex1;
         this.vertex1 = newVertex;
+        this.invalidateGeometry();
         return prevVertex;
     }
 
@@ -153,6 +162,7 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
     public final EasingCurve<Vector3f> setVertex2(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex = this.vertex2;
         this.vertex2 = newVertex;
+        this.invalidateGeometry();
         return prevVertex;
     }
 
@@ -185,6 +195,7 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
     public final EasingCurve<Vector3f> setVertex3(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex = this.vertex3;
         this.vertex3 = newVertex;
+        this.invalidateGeometry();
         return prevVertex;
     }
 
@@ -217,6 +228,7 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
     public final EasingCurve<Vector3f> setVertex4(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex = this.vertex4;
         this.vertex4 = newVertex;
+        this.invalidateGeometry();
         return prevVertex;
     }
 
@@ -254,10 +266,10 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
 
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
-        return container.addComputedField("vertex1", this.vertex1)
-                .addComputedField("vertex2", this.vertex2)
-                .addComputedField("vertex3", this.vertex3)
-                .addComputedField("vertex4", this.vertex4);
+        return container.addComputedField(VERTEX1, this.vertex1)
+                .addComputedField(VERTEX2, this.vertex2)
+                .addComputedField(VERTEX3, this.vertex3)
+                .addComputedField(VERTEX4, this.vertex4);
     }
 
     @Override
@@ -266,10 +278,10 @@ public class ParticleQuad extends RenderableParticleObject<ParticleQuad> {
 
         // Defensive copy of `drawPos`
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasing.computedOffset);
-        Vector3f currVertex1 = (Vector3f) computedEasing.getComputedField("vertex1");
-        Vector3f currVertex2 = (Vector3f) computedEasing.getComputedField("vertex2");
-        Vector3f currVertex3 = (Vector3f) computedEasing.getComputedField("vertex3");
-        Vector3f currVertex4 = (Vector3f) computedEasing.getComputedField("vertex4");
+        Vector3f currVertex1 = computedEasing.getComputedField(VERTEX1);
+        Vector3f currVertex2 = computedEasing.getComputedField(VERTEX2);
+        Vector3f currVertex3 = computedEasing.getComputedField(VERTEX3);
+        Vector3f currVertex4 = computedEasing.getComputedField(VERTEX4);
         currVertex1 = currVertex1.mul(actualSize);
         currVertex2 = currVertex2.mul(actualSize);
         currVertex3 = currVertex3.mul(actualSize);
@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -14,6 +15,8 @@ import org.joml.Vector3f;
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleSphere extends RenderableParticleObject<ParticleSphere> {
     public static final double SQRT_5_PLUS_1 = 3.23606;
+    protected static final ComputedField.OfFloat RADIUS = ComputedField.floatField("radius");
+
     protected EasingCurve<Float> radius;
 
     public static Builder<?> builder() {
@@ -47,6 +50,7 @@ public class ParticleSphere extends RenderableParticleObject<ParticleSphere> {
     public final EasingCurve<Float> setRadius(EasingCurve<Float> radius) {
         EasingCurve<Float> prevRadius = this.radius;
         this.radius = radius;
+        this.invalidateGeometry();
         return prevRadius;
     }
 
@@ -70,12 +74,16 @@ public class ParticleSphere extends RenderableParticleObject<ParticleSphere> {
         return this.radius;
     }
 
+    @Override
+    protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
+        return container.addComputedField(RADIUS, this.radius);
+    }
+
     @Override
     public void draw(ApelServerRenderer renderer, DrawContext<ComputedEasingRPO> drawContext, Vector3f actualSize) {
         ComputedEasingRPO computedEasingRPO = drawContext.getComputedEasings();
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingRPO.computedOffset);
-        float t = (float) drawContext.getCurrentStep() / drawContext.getNumberOfStep();
-        float currRadius = this.radius.getValue(t);
+        float currRadius = computedEasingRPO.getComputedField(RADIUS);
         actualSize = actualSize.mul(currRadius);
         renderer.drawEllipsoid(this.particleEffect, drawContext.getCurrentStep(), objectDrawPos, actualSize.x,
                 actualSize.y, actualSize.z, computedEasingRPO.computedRotation, computedEasingRPO.computedAmount
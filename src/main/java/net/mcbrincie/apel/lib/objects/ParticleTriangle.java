@@ -4,6 +4,7 @@ import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedField;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import org.joml.Vector3f;
 
@@ -13,6 +14,10 @@ import org.joml.Vector3f;
 */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle> {
+    protected static final ComputedField.OfObject<Vector3f> VERTEX1 = ComputedField.objectField("vertex1");
+    protected static final ComputedField.OfObject<Vector3f> VERTEX2 = ComputedField.objectField("vertex2");
+    protected static final ComputedField.OfObject<Vector3f> VERTEX3 = ComputedField.objectField("vertex3");
+
     protected EasingCurve<Vector3f> vertex1;
     protected EasingCurve<Vector3f> vertex2;
     protected EasingCurve<Vector3f> vertex3;
@@ -87,6 +92,7 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
     public EasingCurve<Vector3f> setVertex1(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex1 = this.vertex1;
         this.vertex1 = newVertex;
+        this.invalidateGeometry();
         return prevVertex1;
     }
 
@@ -115,6 +121,7 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
     public EasingCurve<Vector3f> setVertex2(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex2 = this.vertex2;
         this.vertex2 = newVertex;
+        this.invalidateGeometry();
         return prevVertex2;
     }
 
@@ -143,6 +150,7 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
     public EasingCurve<Vector3f> setVertex3(EasingCurve<Vector3f> newVertex) {
         EasingCurve<Vector3f> prevVertex3 = this.vertex3;
         this.vertex3 = newVertex;
+        this.invalidateGeometry();
         return prevVertex3;
     }
 
@@ -164,6 +172,7 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
         this.vertex1 = new ConstantEasingCurve<>(vertices[0]);
         this.vertex2 = new ConstantEasingCurve<>(vertices[1]);
         this.vertex3 = new ConstantEasingCurve<>(vertices[2]);
+        this.invalidateGeometry();
     }
 
     /**
@@ -185,6 +194,7 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
         this.vertex1 = vertices[0];
         this.vertex2 = vertices[1];
         this.vertex3 = vertices[2];
+        this.invalidateGeometry();
     }
 
     /** Gets the first individual vertex.
@@ -214,9 +224,9 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
     @Override
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
         return container
-                .addComputedField("vertex1", this.vertex1)
-                .addComputedField("vertex2", this.vertex2)
-                .addComputedField("vertex3", this.vertex3);
+                .addComputedField(VERTEX1, this.vertex1)
+                .addComputedField(VERTEX2, this.vertex2)
+                .addComputedField(VERTEX3, this.vertex3);
     }
 
     @Override
@@ -224,9 +234,9 @@ public class ParticleTriangle extends RenderableParticleObject<ParticleTriangle>
         // Defensive copy of `drawPos`
         ComputedEasingRPO computedEasingPO = drawContext.getComputedEasings();
         Vector3f objectDrawPos = new Vector3f(drawContext.getPosition()).add(computedEasingPO.computedOffset);
-        Vector3f currVertex1 = (Vector3f) computedEasingPO.getComputedField("vertex1");
-        Vector3f currVertex2 = (Vector3f) computedEasingPO.getComputedField("vertex2");
-        Vector3f currVertex3 = (Vector3f) computedEasingPO.getComputedField("vertex3");
+        Vector3f currVertex1 = computedEasingPO.getComputedField(VERTEX1);
+        Vector3f currVertex2 = computedEasingPO.getComputedField(VERTEX2);
+        Vector3f currVertex3 = computedEasingPO.getComputedField(VERTEX3);
         checkValidTriangle(currVertex1, currVertex2, currVertex3);
 
         Vector3f computedRotation = computedEasingPO.computedRotation;
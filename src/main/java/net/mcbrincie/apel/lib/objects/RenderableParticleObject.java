@@ -3,7 +3,9 @@ package net.mcbrincie.apel.lib.objects;
 import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.mcbrincie.apel.lib.renderers.StaticGeometry;
 import net.mcbrincie.apel.lib.util.ComputedEasingRPO;
+import net.mcbrincie.apel.lib.util.ComputedEasings;
 import net.mcbrincie.apel.lib.util.interceptor.ObjectInterceptor;
 import net.mcbrincie.apel.lib.util.interceptor.context.DrawContext;
 import net.minecraft.particle.ParticleEffect;
@@ -45,11 +47,27 @@ import org.joml.Vector3f;
  * scaling, vertex positions, particle amounts, or any other property of the subclass.
  *
  * <p>Subclasses should also provide a builder that mimics those provided by APEL-native ParticleRenderObject subclasses.
+ *
+ * <h2>Static Geometry</h2>
+ * <p>Objects which look the same on every step, such as a fixed cuboid, can opt into {@link #setStaticGeometry(boolean)}.
+ * The particles drawn on the first step are then recorded relative to the draw position, and later steps only translate
+ * them to the new position instead of calling {@code draw}.  The recording is dropped whenever a setter changes the
+ * object, or the computed rotation, scale, offset or amount, or any of the easings computed by
+ * {@link #computeAdditionalEasings}, differ from the recorded ones.  Changes the object cannot
+ * see, such as modifying a vertex vector in place or interceptors altering the geometry between steps, are not picked
+ * up, and subclasses adding their own setters should call {@link #invalidateGeometry()} from them.
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public abstract class RenderableParticleObject<T extends RenderableParticleObject<T>> extends ParticleObject<T> {
+    // Rotation, scale and offset, then the amount and the actual size
+    private static final int GEOMETRY_STATE_SIZE = 13;
+
     protected ParticleEffect particleEffect;
     protected EasingCurve<Integer> amount = new ConstantEasingCurve<>(1);
+    protected boolean staticGeometry = false;
+    private StaticGeometry recordedGeometry;
+    private final float[] recordedState = new float[GEOMETRY_STATE_SIZE];
+    private final ComputedEasings.Snapshot recordedFields = new ComputedEasings.Snapshot();
 
     /**
      * Used by subclasses to when constructing themselves to set the properties shared by all ParticleObjects.
@@ -81,6 +99,7 @@ public abstract class RenderableParticleObject<T extends RenderableParticleObjec
         super(object);
         this.particleEffect = object.particleEffect;
         this.amount = object.amount;
+        this.staticGeometry = object.staticGeometry;
     }
 
     /** This is a placeholder constructor */
@@ -105,6 +124,7 @@ public abstract class RenderableParticleObject<T extends RenderableParticleObjec
     public final ParticleEffect setParticleEffect(ParticleEffect particle) {
         ParticleEffect prevParticle = this.particleEffect;
         this.particleEffect = particle;
+        this.invalidateGeometry();
         return prevParticle;
     }
 
@@ -143,14 +163,49 @@ public abstract class RenderableParticleObject<T extends RenderableParticleObjec
     public final EasingCurve<Integer> setAmount(EasingCurve<Integer> amount) {
         EasingCurve<Integer> prevAmount = this.amount;
         this.amount = amount;
+        this.invalidateGeometry();
         return prevAmount;
     }
 
+    /** Gets whether the drawn particles are recorded once and replayed on later steps.
+     *
+     * @return Whether the geometry is static
+     */
+    public boolean isStaticGeometry() {
+        return this.staticGeometry;
+    }
+
+    /**
+     * Sets whether the drawn particles are recorded once and replayed on later steps, which is only correct for objects
+     * that look the same on every step.  It returns whether the geometry was static before.
+     *
+     * @param staticGeometry Whether the geometry is static
+     * @return Whether the geometry was static before
+     */
+    public final boolean setStaticGeometry(boolean staticGeometry) {
+        boolean prevStaticGeometry = this.staticGeometry;
+        this.staticGeometry = staticGeometry;
+        this.invalidateGeometry();
+        return prevStaticGeometry;
+    }
+
+    @Override
+    protected void invalidateGeometry() {
+        super.invalidateGeometry();
+        this.recordedGeometry = null;
+    }
+
     /** Computes some additional easing properties. */
     protected ComputedEasingRPO computeAdditionalEasings(ComputedEasingRPO container) {
         return container;
     }
 
+    @Override
+    public boolean isStatic() {
+        return this.beforeDrawEvent.isEmpty() && this.afterDrawEvent.isEmpty()
+                && this.computeAdditionalEasings(new ComputedEasingRPO(this, 0, 1)).isConstant();
+    }
+
     public final void doDraw(
             ApelServerRenderer renderer, int step, Vector3f drawPos, int numberOfSteps,
             float deltaTickTime, Vector3f actualSize
@@ -162,7 +217,41 @@ public abstract class RenderableParticleObject<T extends RenderableParticleObjec
     @Override
     public final void display(ApelServerRenderer renderer, DrawContext<?> data, Vector3f actualSize) {
         //noinspection unchecked
-        this.draw(renderer, (DrawContext<ComputedEasingRPO>) data, actualSize);
+        DrawContext<ComputedEasingRPO> drawContext = (DrawContext<ComputedEasingRPO>) data;
+        if (!this.staticGeometry) {
+            this.draw(renderer, drawContext, actualSize);
+            return;
+        }
+        StaticGeometry geometry = this.recordedGeometry;
+        boolean sameState = this.recordGeometryState(drawContext.getComputedEasings(), actualSize);
+        if (geometry == null || !sameState) {
+            geometry = StaticGeometry.record(renderer, drawContext.getPosition(),
+                    recorder -> this.draw(recorder, drawContext, actualSize));
+            this.recordedGeometry = geometry;
+        }
+        geometry.replay(renderer, drawContext.getCurrentStep(), drawContext.getPosition());
+    }
+
+    /** Stores the state the recorded geometry depends on, returning whether it was the same as the stored one */
+    private boolean recordGeometryState(ComputedEasingRPO computedEasings, Vector3f actualSize) {
+        float[] state = this.recordedState;
+        boolean same = storeState(state, 0, computedEasings.computedRotation);
+        same &= storeState(state, 3, computedEasings.computedScale);
+        same &= storeState(state, 6, computedEasings.computedOffset);
+        same &= storeState(state, 10, actualSize);
+        same &= state[9] == computedEasings.computedAmount;
+        state[9] = computedEasings.computedAmount;
+        // The additional easings of subclasses, such as the radius of a circle
+        same &= computedEasings.storeFields(this.recordedFields);
+        return same;
+    }
+
+    private static boolean storeState(float[] state, int index, Vector3f value) {
+        boolean same = state[index] == value.x && state[index + 1] == value.y && state[index + 2] == value.z;
+        state[index] = value.x;
+        state[index + 1] = value.y;
+        state[index + 2] = value.z;
+        return same;
     }
 
     /**
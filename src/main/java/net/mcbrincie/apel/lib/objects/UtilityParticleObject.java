@@ -60,6 +60,7 @@ public abstract class UtilityParticleObject<T extends UtilityParticleObject<T, O
                                     ObjectInterceptor<T> afterDraw
     ) {
         super(rotation, offset, beforeDraw, afterDraw);
+        this.setParticleObject(particleObject);
     }
 
     /**
@@ -76,6 +77,28 @@ public abstract class UtilityParticleObject<T extends UtilityParticleObject<T, O
     /** This is a placeholder constructor */
     protected UtilityParticleObject() {}
 
+    /** Gets the particle object the utility particle object is built around
+     *
+     * @return The particle object
+     */
+    public O getParticleObject() {
+        return this.particleObject;
+    }
+
+    /** Sets the particle object the utility particle object is built around, and returns the previous one
+     * <p>
+     * This implementation is used by the constructor, so subclasses cannot override this method.
+     *
+     * @param particleObject The new particle object
+     * @return The previous particle object
+     */
+    public final O setParticleObject(O particleObject) {
+        O prevParticleObject = this.particleObject;
+        this.particleObject = particleObject;
+        this.invalidateGeometry();
+        return prevParticleObject;
+    }
+
     public final void doDraw(
             ApelServerRenderer renderer, int step, Vector3f drawPos,
             int numberOfSteps, float deltaTickTime, Vector3f actualSize
@@ -83,6 +106,17 @@ public abstract class UtilityParticleObject<T extends UtilityParticleObject<T, O
         super.doDraw(renderer, step, drawPos, numberOfSteps, deltaTickTime, actualSize);
     }
 
+    @Override
+    public boolean isStatic() {
+        return super.isStatic() && this.particleObject.isStatic();
+    }
+
+    @Override
+    public long getVersion() {
+        return this.particleObject == null ? super.getVersion()
+                : Math.max(super.getVersion(), this.particleObject.getVersion());
+    }
+
     @Override
     public void display(ApelServerRenderer renderer, DrawContext<?> data, Vector3f actualSize) {
         //noinspection unchecked
@@ -24,21 +24,31 @@ public record ApelFramePayload(List<ApelNetworkRenderer.Instruction> instruction
         // TODO: Consider a value to describe the number of instructions
         List<ApelNetworkRenderer.Instruction> instructions = new ArrayList<>();
         while (buf.readableBytes() > 0) {
-            switch (buf.readByte()) {
-                case 'F' -> instructions.add(ApelRenderer.Frame.from(buf));
-                case 'T' -> instructions.add(ApelRenderer.PType.from(buf));
-                case 'L' -> instructions.add(ApelRenderer.Line.from(buf));
-                case 'P' -> instructions.add(ApelRenderer.Particle.from(buf));
-                case 'E' -> instructions.add(ApelRenderer.Ellipse.from(buf));
-                case 'S' -> instructions.add(ApelRenderer.Ellipsoid.from(buf));
-                case 'B' -> instructions.add(ApelRenderer.BezierCurve.from(buf));
-                case 'C' -> instructions.add(ApelRenderer.Cone.from(buf));
-                case 'Y' -> instructions.add(ApelRenderer.Cylinder.from(buf));
+            ApelNetworkRenderer.Instruction instruction = readInstruction(buf);
+            if (instruction != null) {
+                instructions.add(instruction);
             }
         }
         return instructions;
     }
 
+    static ApelNetworkRenderer.Instruction readInstruction(RegistryByteBuf buf) {
+        return switch (buf.readByte()) {
+            case 'F' -> ApelRenderer.Frame.from(buf);
+            case 'T' -> ApelRenderer.PType.from(buf);
+            case 'L' -> ApelRenderer.Line.from(buf);
+            case 'P' -> ApelRenderer.Particle.from(buf);
+            case 'E' -> ApelRenderer.Ellipse.from(buf);
+            case 'S' -> ApelRenderer.Ellipsoid.from(buf);
+            case 'B' -> ApelRenderer.BezierCurve.from(buf);
+            case 'C' -> ApelRenderer.Cone.from(buf);
+            case 'Y' -> ApelRenderer.Cylinder.from(buf);
+            case 'I' -> ApelRenderer.Instanced.from(buf);
+            case 'M' -> ApelRenderer.Transformed.from(buf);
+            default -> null;
+        };
+    }
+
     @Override
     public Id<? extends CustomPayload> getId() {
         return ID;
@@ -6,10 +6,13 @@ import net.minecraft.particle.ParticleEffect;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.Vec3d;
+import org.joml.Matrix3f;
+import org.joml.Matrix3fc;
 import org.joml.Vector3f;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /** The apel network renderer is used for client-side rendering.
  * It sends off a packet to the client that contains instructions
@@ -43,7 +46,8 @@ public class ApelNetworkRenderer implements ApelServerRenderer {
     @Override
     public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
         this.detectParticleTypeChange(particleEffect);
-        this.instructions.add(new Particle(drawPos));
+        // Callers may reuse the position for the next particle, while the instruction lives until the frame is sent
+        this.instructions.add(new Particle(new Vector3f(drawPos)));
     }
 
     /** Creates an instruction in the packet to draw a particle line with the start position, end position and
@@ -123,6 +127,67 @@ public class ApelNetworkRenderer implements ApelServerRenderer {
         this.instructions.add(new Cylinder(center, radius, height, rotation, amount));
     }
 
+    /** Creates an instruction in the packet to draw the instructions of a single instance at each of the offsets.
+     * The instance is drawn into a separate list of instructions, which always starts by naming its particle type,
+     * so the client can draw it as many times as needed from the compact shapes and a few bytes per offset. The offsets
+     * are kept until the frame is sent, so callers must not modify them afterward
+     *
+     * @param step The step its currently in
+     * @param drawPos The position the instance is drawn at, which the offsets are relative to
+     * @param offsets The offsets of the instances, packed as consecutive x, y and z values
+     * @param drawInstance The drawing function of the instance
+     */
+    @Override
+    public void drawInstanced(int step, Vector3f drawPos, float[] offsets, Consumer<ApelServerRenderer> drawInstance) {
+        if (offsets.length == 0) {
+            // Nothing is drawn, so neither the instructions nor the particle type the client keeps may change
+            return;
+        }
+        List<Instruction> frameInstructions = this.instructions;
+        List<Instruction> instanceInstructions = new ArrayList<>();
+        this.instructions = instanceInstructions;
+        this.prevParticleEffect = null;
+        try {
+            drawInstance.accept(this);
+        } finally {
+            this.instructions = frameInstructions;
+        }
+        // The client keeps the last particle type of the instance, just like the renderer does
+        this.instructions.add(new Instanced(instanceInstructions, offsets));
+    }
+
+    /** Creates the instructions of the object, followed by an instruction to draw them again transformed. The object
+     * is drawn into a separate list of instructions which always starts by naming its particle type, so the client
+     * draws the copy from the same compact shapes instead of receiving every particle of it
+     *
+     * @param step The step its currently in
+     * @param drawPos The position the object is drawn at
+     * @param copyPos The position the transformed copy is drawn at
+     * @param transform The matrix transforming the points of the copy
+     * @param draw The drawing function of the object
+     */
+    @Override
+    public void drawTransformedCopy(
+            int step, Vector3f drawPos, Vector3f copyPos, Matrix3fc transform, Consumer<ApelServerRenderer> draw
+    ) {
+        List<Instruction> frameInstructions = this.instructions;
+        List<Instruction> objectInstructions = new ArrayList<>();
+        this.instructions = objectInstructions;
+        this.prevParticleEffect = null;
+        try {
+            draw.accept(this);
+        } finally {
+            this.instructions = frameInstructions;
+        }
+        if (objectInstructions.isEmpty()) {
+            return;
+        }
+        // Both copies end on the last particle type of the object, which the renderer keeps
+        this.instructions.addAll(objectInstructions);
+        this.instructions.add(new Transformed(
+                objectInstructions, new Vector3f(drawPos), new Vector3f(copyPos), new Matrix3f(transform)));
+    }
+
     @Override
     public void beforeFrame(int step, Vector3f frameOrigin) {
         this.instructions.add(new Frame(frameOrigin));
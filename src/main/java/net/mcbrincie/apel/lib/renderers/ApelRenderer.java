@@ -6,6 +6,7 @@ import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.particle.ParticleEffect;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
+import org.joml.Matrix3f;
 import org.joml.Quaternionf;
 import org.joml.Quaternionfc;
 import org.joml.Vector3f;
@@ -38,7 +39,8 @@ public interface ApelRenderer {
     TrigTable trigTable = Apel.TRIG_TABLE;
 
     /**
-     * Instructs the renderer to draw the given particle effect at the given position.
+     * Instructs the renderer to draw the given particle effect at the given position. Callers may reuse and modify
+     * the position vector once this returns, so implementations must copy it if they keep it.
      *
      * @param particleEffect The ParticleEffect to draw
      * @param step The current step of the animation
@@ -616,4 +618,97 @@ public interface ApelRenderer {
             return points;
         }
     }
+
+    /**
+     * Draws the {@code instructions} of a base shape once per instance, translated by the offset of the instance.  The
+     * offsets are packed as consecutive x, y and z values.
+     */
+    record Instanced(List<Instruction> instructions, float[] offsets) implements Instruction {
+
+        static Instanced from(RegistryByteBuf buf) {
+            int instructionCount = buf.readVarInt();
+            List<Instruction> instructions = new ArrayList<>(instructionCount);
+            for (int i = 0; i < instructionCount; i++) {
+                Instruction instruction = ApelFramePayload.readInstruction(buf);
+                // Unknown tags are skipped, as they are for the instructions of the frame itself
+                if (instruction != null) {
+                    instructions.add(instruction);
+                }
+            }
+            float[] offsets = new float[buf.readVarInt() * 3];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = buf.readFloat();
+            }
+            return new Instanced(instructions, offsets);
+        }
+
+        @Override
+        public void write(RegistryByteBuf buf) {
+            buf.writeByte('I');
+            buf.writeVarInt(instructions.size());
+            instructions.forEach(ins -> ins.write(buf));
+            buf.writeVarInt(offsets.length / 3);
+            for (float offset : offsets) {
+                buf.writeFloat(offset);
+            }
+        }
+
+        @Override
+        public Vector3f[] computePoints() {
+            throw new UnsupportedOperationException("Instances do not have points of their own");
+        }
+    }
+
+    /**
+     * Draws a copy of the {@code instructions}, whose points are moved relative to {@code origin}, transformed by
+     * {@code transform} and then translated to {@code copyOrigin}.  The instructions themselves are drawn separately,
+     * so a copy such as a reflection only costs the transform on the wire.
+     */
+    record Transformed(List<Instruction> instructions, Vector3f origin, Vector3f copyOrigin, Matrix3f transform)
+            implements Instruction {
+
+        static Transformed from(RegistryByteBuf buf) {
+            int instructionCount = buf.readVarInt();
+            List<Instruction> instructions = new ArrayList<>(instructionCount);
+            for (int i = 0; i < instructionCount; i++) {
+                Instruction instruction = ApelFramePayload.readInstruction(buf);
+                // Unknown tags are skipped, as they are for the instructions of the frame itself
+                if (instruction != null) {
+                    instructions.add(instruction);
+                }
+            }
+            Vector3f origin = new Vector3f(buf.readFloat(), buf.readFloat(), buf.readFloat());
+            Vector3f copyOrigin = new Vector3f(buf.readFloat(), buf.readFloat(), buf.readFloat());
+            Matrix3f transform = new Matrix3f(
+                    buf.readFloat(), buf.readFloat(), buf.readFloat(),
+                    buf.readFloat(), buf.readFloat(), buf.readFloat(),
+                    buf.readFloat(), buf.readFloat(), buf.readFloat()
+            );
+            return new Transformed(instructions, origin, copyOrigin, transform);
+        }
+
+        @Override
+        public void write(RegistryByteBuf buf) {
+            buf.writeByte('M');
+            buf.writeVarInt(instructions.size());
+            instructions.forEach(ins -> ins.write(buf));
+            buf.writeFloat(origin.x);
+            buf.writeFloat(origin.y);
+            buf.writeFloat(origin.z);
+            buf.writeFloat(copyOrigin.x);
+            buf.writeFloat(copyOrigin.y);
+            buf.writeFloat(copyOrigin.z);
+            // Column-major, matching the constructor used when reading
+            for (int column = 0; column < 3; column++) {
+                for (int row = 0; row < 3; row++) {
+                    buf.writeFloat(transform.get(column, row));
+                }
+            }
+        }
+
+        @Override
+        public Vector3f[] computePoints() {
+            throw new UnsupportedOperationException("Transformed copies do not have points of their own");
+        }
+    }
 }
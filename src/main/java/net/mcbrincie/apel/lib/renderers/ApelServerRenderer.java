@@ -1,6 +1,10 @@
 package net.mcbrincie.apel.lib.renderers;
 
 import net.minecraft.server.world.ServerWorld;
+import org.joml.Matrix3fc;
+import org.joml.Vector3f;
+
+import java.util.function.Consumer;
 
 /**
  * This extends the {@link ApelRenderer} to provide server-side functionality that requires the {@link ServerWorld}.
@@ -16,4 +20,41 @@ public interface ApelServerRenderer extends ApelRenderer {
     }
 
     ServerWorld getServerWorld();
+
+    /**
+     * Instructs the renderer to draw an instance once at each of the given offsets from the {@code drawPos}.  The
+     * instance is drawn by {@code drawInstance} a single time, at the {@code drawPos}, so its geometry is only computed
+     * once no matter the number of offsets.  The default implementation records the particles of the instance and
+     * replays them at every offset.
+     *
+     * @param step The current step of the animation
+     * @param drawPos The position the instance is drawn at, which the offsets are relative to
+     * @param offsets The offsets of the instances, packed as consecutive x, y and z values
+     * @param drawInstance The drawing function of the instance, called once with the renderer to draw with
+     */
+    default void drawInstanced(int step, Vector3f drawPos, float[] offsets, Consumer<ApelServerRenderer> drawInstance) {
+        StaticGeometry instance = StaticGeometry.record(this, drawPos, drawInstance);
+        Vector3f instancePos = new Vector3f();
+        for (int i = 0; i + 2 < offsets.length; i += 3) {
+            instance.replay(this, step, instancePos.set(offsets[i], offsets[i + 1], offsets[i + 2]).add(drawPos));
+        }
+    }
+
+    /**
+     * Instructs the renderer to draw an object at {@code drawPos} together with a copy of it, whose points are
+     * transformed by {@code transform} around {@code drawPos} and then moved to {@code copyPos}.  The object is drawn by
+     * {@code draw} a single time, so its geometry and interceptors only run once for both copies.  The default
+     * implementation draws the object while recording its particles, and replays the transformed copy from them.
+     *
+     * @param step The current step of the animation
+     * @param drawPos The position the object is drawn at
+     * @param copyPos The position the transformed copy is drawn at
+     * @param transform The matrix transforming the points of the copy, such as a reflection
+     * @param draw The drawing function of the object, called once with the renderer to draw with
+     */
+    default void drawTransformedCopy(
+            int step, Vector3f drawPos, Vector3f copyPos, Matrix3fc transform, Consumer<ApelServerRenderer> draw
+    ) {
+        StaticGeometry.recordAndDraw(this, drawPos, draw).replay(this, step, copyPos, transform);
+    }
 }
@@ -0,0 +1,248 @@
+package net.mcbrincie.apel.lib.renderers;
+
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Matrix3fc;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/** A {@link StaticGeometry} is every particle drawn by an object, recorded once relative to the position it was drawn
+ * at, so it can be drawn again at any position by only translating the recorded points. Shapes drawn through the
+ * {@link ApelRenderer} helpers such as {@link ApelRenderer#drawLine} are recorded as the particles they are made of.
+ * <br /> <br />
+ * Replaying always calls {@link ApelRenderer#drawParticle}, so it saves the geometry computations on server-side
+ * renderers, but renderers which send shapes as compact instructions (such as the {@link ApelNetworkRenderer}) will
+ * send every particle instead
+ */
+@SuppressWarnings("unused")
+public final class StaticGeometry {
+    private final ParticleEffect[] effects;
+    private final float[] points;
+
+    private StaticGeometry(ParticleEffect[] effects, float[] points) {
+        this.effects = effects;
+        this.points = points;
+    }
+
+    /** Records the particles drawn by the given drawing function
+     *
+     * @param renderer The renderer the drawing function would otherwise use
+     * @param origin The position the drawing function draws at, which the points are recorded relative to
+     * @param draw The drawing function, called once with the recording renderer
+     * @return The recorded geometry
+     */
+    public static StaticGeometry record(ApelServerRenderer renderer, Vector3f origin, Consumer<ApelServerRenderer> draw) {
+        Recorder recorder = new Recorder(renderer.getServerWorld(), null, new Vector3f(origin));
+        draw.accept(recorder);
+        return recorder.toGeometry();
+    }
+
+    /** Records the particles drawn by the given drawing function while also drawing them with the renderer. Shapes are
+     * passed on to the renderer as they are, so renderers sending compact instructions still send the shape, and are
+     * only broken down into particles for the recording
+     *
+     * @param renderer The renderer to draw with
+     * @param origin The position the drawing function draws at, which the points are recorded relative to
+     * @param draw The drawing function, called once with the recording renderer
+     * @return The recorded geometry
+     */
+    public static StaticGeometry recordAndDraw(
+            ApelServerRenderer renderer, Vector3f origin, Consumer<ApelServerRenderer> draw
+    ) {
+        Recorder recorder = new Recorder(renderer.getServerWorld(), renderer, new Vector3f(origin));
+        draw.accept(recorder);
+        return recorder.toGeometry();
+    }
+
+    /** Draws the recorded particles, translated to the given position
+     *
+     * @param renderer The renderer to draw with
+     * @param step The current step of the animation
+     * @param origin The position to draw at
+     */
+    public void replay(ApelServerRenderer renderer, int step, Vector3f origin) {
+        Vector3f position = new Vector3f();
+        for (int i = 0; i < this.effects.length; i++) {
+            position.set(this.points[i * 3], this.points[i * 3 + 1], this.points[i * 3 + 2]).add(origin);
+            renderer.drawParticle(this.effects[i], step, position);
+        }
+    }
+
+    /** Draws the recorded particles, transformed by the given matrix around the position and then translated to it
+     *
+     * @param renderer The renderer to draw with
+     * @param step The current step of the animation
+     * @param origin The position to draw at
+     * @param transform The matrix transforming the recorded points, such as a rotation or a reflection
+     */
+    public void replay(ApelServerRenderer renderer, int step, Vector3f origin, Matrix3fc transform) {
+        Vector3f position = new Vector3f();
+        for (int i = 0; i < this.effects.length; i++) {
+            position.set(this.points[i * 3], this.points[i * 3 + 1], this.points[i * 3 + 2]).mul(transform).add(origin);
+            renderer.drawParticle(this.effects[i], step, position);
+        }
+    }
+
+    /** Gets the number of recorded particles
+     *
+     * @return The number of particles
+     */
+    public int size() {
+        return this.effects.length;
+    }
+
+    private static final class Recorder implements ApelServerRenderer {
+        private final ServerWorld world;
+        // The renderer every call is passed on to, or null when only recording
+        private final ApelServerRenderer target;
+        private final Vector3f origin;
+        private final List<ParticleEffect> effects = new ArrayList<>();
+        private float[] points = new float[48];
+        // Set while a shape already passed on to the target is broken down into particles for the recording
+        private boolean inShape = false;
+
+        private Recorder(ServerWorld world, ApelServerRenderer target, Vector3f origin) {
+            this.world = world;
+            this.target = target;
+            this.origin = origin;
+        }
+
+        private StaticGeometry toGeometry() {
+            return new StaticGeometry(
+                    this.effects.toArray(ParticleEffect[]::new), Arrays.copyOf(this.points, this.effects.size() * 3)
+            );
+        }
+
+        /** Passes a shape on to the target, if any, and records its particles without passing them on again */
+        private void shape(Consumer<ApelServerRenderer> target, Runnable record) {
+            if (this.target == null || this.inShape) {
+                record.run();
+                return;
+            }
+            target.accept(this.target);
+            this.inShape = true;
+            try {
+                record.run();
+            } finally {
+                this.inShape = false;
+            }
+        }
+
+        @Override
+        public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+            if (this.target != null && !this.inShape) {
+                this.target.drawParticle(particleEffect, step, drawPos);
+            }
+            int index = this.effects.size() * 3;
+            if (index == this.points.length) {
+                this.points = Arrays.copyOf(this.points, this.points.length * 2);
+            }
+            this.points[index] = drawPos.x - this.origin.x;
+            this.points[index + 1] = drawPos.y - this.origin.y;
+            this.points[index + 2] = drawPos.z - this.origin.z;
+            this.effects.add(particleEffect);
+        }
+
+        @Override
+        public void drawLine(
+                ParticleEffect particleEffect, int step, Vector3f drawPos, Vector3f start, Vector3f end,
+                Vector3f rotation, int amount
+        ) {
+            this.shape(
+                    renderer -> renderer.drawLine(particleEffect, step, drawPos, start, end, rotation, amount),
+                    () -> ApelServerRenderer.super.drawLine(particleEffect, step, drawPos, start, end, rotation, amount)
+            );
+        }
+
+        @Override
+        public void drawEllipsoid(
+                ParticleEffect particleEffect, int step, Vector3f drawPos, float xSemiAxis, float ySemiAxis,
+                float zSemiAxis, Vector3f rotation, int amount
+        ) {
+            this.shape(
+                    renderer -> renderer.drawEllipsoid(
+                            particleEffect, step, drawPos, xSemiAxis, ySemiAxis, zSemiAxis, rotation, amount),
+                    () -> ApelServerRenderer.super.drawEllipsoid(
+                            particleEffect, step, drawPos, xSemiAxis, ySemiAxis, zSemiAxis, rotation, amount)
+            );
+        }
+
+        @Override
+        public void drawEllipse(
+                ParticleEffect particleEffect, int step, Vector3f center, float radius, float stretch,
+                Vector3f rotation, int amount
+        ) {
+            this.shape(
+                    renderer -> renderer.drawEllipse(particleEffect, step, center, radius, stretch, rotation, amount),
+                    () -> ApelServerRenderer.super.drawEllipse(
+                            particleEffect, step, center, radius, stretch, rotation, amount)
+            );
+        }
+
+        @Override
+        public void drawBezier(
+                ParticleEffect particleEffect, int step, Vector3f drawPos,
+                net.mcbrincie.apel.lib.util.math.bezier.BezierCurve bezierCurve, Vector3f rotation, int amount
+        ) {
+            this.shape(
+                    renderer -> renderer.drawBezier(particleEffect, step, drawPos, bezierCurve, rotation, amount),
+                    () -> ApelServerRenderer.super.drawBezier(
+                            particleEffect, step, drawPos, bezierCurve, rotation, amount)
+            );
+        }
+
+        @Override
+        public void drawCone(
+                ParticleEffect particleEffect, int step, Vector3f drawPos, float height, float radius,
+                Vector3f rotation, int amount
+        ) {
+            this.shape(
+                    renderer -> renderer.drawCone(particleEffect, step, drawPos, height, radius, rotation, amount),
+                    () -> ApelServerRenderer.super.drawCone(
+                            particleEffect, step, drawPos, height, radius, rotation, amount)
+            );
+        }
+
+        @Override
+        public void drawCylinder(
+                ParticleEffect particleEffect, int step, Vector3f center, float radius, float height,
+                Vector3f rotation, int amount
+        ) {
+            this.shape(
+                    renderer -> renderer.drawCylinder(particleEffect, step, center, radius, height, rotation, amount),
+                    () -> ApelServerRenderer.super.drawCylinder(
+                            particleEffect, step, center, radius, height, rotation, amount)
+            );
+        }
+
+        @Override
+        public void drawTransformedCopy(
+                int step, Vector3f drawPos, Vector3f copyPos, Matrix3fc transform, Consumer<ApelServerRenderer> draw
+        ) {
+            if (this.target == null || this.inShape) {
+                ApelServerRenderer.super.drawTransformedCopy(step, drawPos, copyPos, transform, draw);
+                return;
+            }
+            // The target draws both copies its own way, while the particles of the object are recorded on the side
+            StaticGeometry[] object = new StaticGeometry[1];
+            this.target.drawTransformedCopy(step, drawPos, copyPos, transform,
+                    renderer -> object[0] = StaticGeometry.recordAndDraw(renderer, drawPos, draw));
+            this.inShape = true;
+            try {
+                object[0].replay(this, step, drawPos);
+                object[0].replay(this, step, copyPos, transform);
+            } finally {
+                this.inShape = false;
+            }
+        }
+
+        @Override
+        public ServerWorld getServerWorld() {
+            return this.world;
+        }
+    }
+}
@@ -23,6 +23,23 @@ public class ApelUtils {
         return new Vector3f(x, y, z);
     }
 
+    /**
+     * Removes full rotations from each component of the provided {@code rotation} vector, like
+     * {@link #normalizeRotation(Vector3f)}, but writes the result into {@code dest} instead of a new vector.
+     * {@code dest} may be the {@code rotation} vector itself.
+     *
+     * @param rotation The existing rotation vector
+     * @param dest The vector receiving the partial rotation components
+     * @return The {@code dest} vector
+     */
+    public static Vector3f normalizeRotation(Vector3f rotation, Vector3f dest) {
+        return dest.set(
+                (float) (rotation.x % Math.TAU),
+                (float) (rotation.y % Math.TAU),
+                (float) (rotation.z % Math.TAU)
+        );
+    }
+
     /**
      * Gets from a 3D vector the axis value that corresponds to an index. For example, the x-axis
      * has an index of 0, the index value must be either 0, 1 or 2
@@ -10,8 +10,11 @@ public class ComputedEasingPO extends ComputedEasings<ComputedEasingPO> {
 
     public ComputedEasingPO(ParticleObject<?> particleObject, float currStep, float numberOfSteps) {
         super(currStep, numberOfSteps);
-        this.computedRotation = ApelUtils.normalizeRotation(particleObject.getRotation().getValue(this.tVal));
-        this.computedScale = particleObject.getScale().getValue(this.tVal);
-        this.computedOffset = particleObject.getOffset().getValue(this.tVal);
+        this.computedRotation = particleObject.computeRotation(this.tVal);
+        this.computedScale = particleObject.computeScale(this.tVal);
+        this.computedOffset = particleObject.computeOffset(this.tVal);
+        this.track(particleObject.getRotation());
+        this.track(particleObject.getScale());
+        this.track(particleObject.getOffset());
     }
 }
@@ -8,14 +8,35 @@ public class ComputedEasingRPO extends ComputedEasingPO {
 
     public ComputedEasingRPO(RenderableParticleObject<?> particleObject, float currStep, float numberOfSteps) {
         super(particleObject, currStep, numberOfSteps);
-        this.computedAmount = particleObject.getAmount().getValue(this.tVal);
+        this.computedAmount = Math.round(particleObject.getAmount().getFloat(this.tVal));
+        this.track(particleObject.getAmount());
         if (this.computedAmount <= 0) {
             throw new IllegalArgumentException("Amount of particles has to be above 0");
         }
     }
 
+    @Override
+    public ComputedEasingRPO addComputedField(ComputedField.OfFloat field, EasingCurve<Float> value) {
+        super.addComputedField(field, value);
+        return this;
+    }
+
+    @Override
+    public ComputedEasingRPO addComputedField(ComputedField.OfInt field, EasingCurve<Integer> value) {
+        super.addComputedField(field, value);
+        return this;
+    }
+
+    @Override
+    public <T> ComputedEasingRPO addComputedField(ComputedField.OfObject<T> field, EasingCurve<T> value) {
+        super.addComputedField(field, value);
+        return this;
+    }
+
+    @Override
+    @Deprecated
     public <T> ComputedEasingRPO addComputedField(String name, EasingCurve<T> value) {
-        this.computedFields.put(name, value.getValue(this.tVal));
+        super.addComputedField(name, value);
         return this;
     }
 }
@@ -1,23 +1,170 @@
 package net.mcbrincie.apel.lib.util;
 
 import net.mcbrincie.apel.lib.easing.EasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Objects;
 
+/** Holds the easings of an object computed for the current step. Additional easings are declared as
+ * {@link ComputedField} constants, and each one is stored at the index of its field, floats and integers in primitive
+ * arrays. The arrays are only allocated once a field of their type is added, and grow to the number of fields of that
+ * type declared so far. Fields which were not added read as zero or null.
+ * <br /> <br />
+ * The container also tracks whether every easing computed into it is a {@link ConstantEasingCurve}, in which case it
+ * would hold the same values on every step (see {@link #isConstant()}), and the additional fields can be compared with
+ * those of a previous step through a {@link Snapshot} (see {@link #storeFields(Snapshot)})
+ *
+ * @param <E> The type of the container itself, uses the curiously recurring type pattern
+ */
+@SuppressWarnings({"unchecked", "unused"})
 public class ComputedEasings<E extends ComputedEasings<E>> {
+    private static final float[] NO_FLOATS = new float[0];
+    private static final int[] NO_INTS = new int[0];
+    private static final Object[] NO_OBJECTS = new Object[0];
+
     protected final float tVal;
-    protected HashMap<String, Object> computedFields = new HashMap<>();
+    private float[] floatFields = NO_FLOATS;
+    private int[] intFields = NO_INTS;
+    private Object[] objectFields = NO_OBJECTS;
+    private HashMap<String, Object> computedFields;
+    private boolean constant = true;
 
     public ComputedEasings(float currStep, float numberOfSteps) {
         this.tVal = currStep / numberOfSteps;
     }
 
+    /** Computes a float field for the current step
+     *
+     * @param field The field to compute
+     * @param value The easing curve of the field
+     * @return The container itself
+     */
+    public E addComputedField(ComputedField.OfFloat field, EasingCurve<Float> value) {
+        int index = field.getIndex();
+        if (index >= this.floatFields.length) {
+            this.floatFields = Arrays.copyOf(this.floatFields, Math.max(index + 1, ComputedField.getFloatCount()));
+        }
+        this.track(value);
+        this.floatFields[index] = value.getFloat(this.tVal);
+        return (E) this;
+    }
+
+    /** Computes an integer field for the current step, rounding the value of the easing curve
+     *
+     * @param field The field to compute
+     * @param value The easing curve of the field
+     * @return The container itself
+     */
+    public E addComputedField(ComputedField.OfInt field, EasingCurve<Integer> value) {
+        int index = field.getIndex();
+        if (index >= this.intFields.length) {
+            this.intFields = Arrays.copyOf(this.intFields, Math.max(index + 1, ComputedField.getIntCount()));
+        }
+        this.track(value);
+        this.intFields[index] = Math.round(value.getFloat(this.tVal));
+        return (E) this;
+    }
+
+    /** Computes a field of any other type for the current step
+     *
+     * @param field The field to compute
+     * @param value The easing curve of the field
+     * @return The container itself
+     * @param <T> The type of the field
+     */
+    public <T> E addComputedField(ComputedField.OfObject<T> field, EasingCurve<T> value) {
+        int index = field.getIndex();
+        if (index >= this.objectFields.length) {
+            this.objectFields = Arrays.copyOf(this.objectFields, Math.max(index + 1, ComputedField.getObjectCount()));
+        }
+        this.track(value);
+        this.objectFields[index] = value.getValue(this.tVal);
+        return (E) this;
+    }
+
+    /** Checks whether every easing computed into the container so far is a constant curve
+     *
+     * @return Whether the container would hold the same values on every step
+     */
+    public boolean isConstant() {
+        return this.constant;
+    }
+
+    /** Records an easing curve computed into the container, for {@link #isConstant()}
+     *
+     * @param curve The computed easing curve
+     */
+    protected final void track(EasingCurve<?> curve) {
+        this.constant &= curve instanceof ConstantEasingCurve;
+    }
+
+    /** Stores the additional fields computed into the container in the snapshot, returning whether they are the same as
+     * the ones stored before. Floats are compared bit for bit and other values with {@code equals}, so objects which
+     * hand out the same mutable instance on every step only compare equal to themselves
+     *
+     * @param snapshot The snapshot of the fields of a previous step
+     * @return Whether the fields are the same as the ones stored in the snapshot
+     */
+    public boolean storeFields(Snapshot snapshot) {
+        boolean same = Arrays.equals(this.floatFields, snapshot.floatFields)
+                && Arrays.equals(this.intFields, snapshot.intFields)
+                && Arrays.equals(this.objectFields, snapshot.objectFields)
+                && Objects.equals(this.computedFields, snapshot.computedFields);
+        if (!same) {
+            snapshot.floatFields = this.floatFields.clone();
+            snapshot.intFields = this.intFields.clone();
+            snapshot.objectFields = this.objectFields.clone();
+            snapshot.computedFields = this.computedFields == null ? null : new HashMap<>(this.computedFields);
+        }
+        return same;
+    }
+
+    public float getComputedField(ComputedField.OfFloat field) {
+        int index = field.getIndex();
+        return index < this.floatFields.length ? this.floatFields[index] : 0f;
+    }
+
+    public int getComputedField(ComputedField.OfInt field) {
+        int index = field.getIndex();
+        return index < this.intFields.length ? this.intFields[index] : 0;
+    }
+
+    public <T> T getComputedField(ComputedField.OfObject<T> field) {
+        int index = field.getIndex();
+        // This cast is safe because `addComputedField` ensures the field and value types match at compile-time
+        return index < this.objectFields.length ? (T) this.objectFields[index] : null;
+    }
+
+    /** Computes a field identified by its name
+     *
+     * @deprecated Declare a {@link ComputedField} instead, which avoids the lookup and boxing on every step
+     */
+    @Deprecated
     public <T> E addComputedField(String name, EasingCurve<T> value) {
+        if (this.computedFields == null) {
+            this.computedFields = new HashMap<>();
+        }
+        this.track(value);
         this.computedFields.put(name, value.getValue(this.tVal));
         return (E) this;
     }
 
+    /** Gets a field identified by its name
+     *
+     * @deprecated Declare a {@link ComputedField} instead, which avoids the lookup and boxing on every step
+     */
+    @Deprecated
     public Object getComputedField(String name) {
-        return this.computedFields.get(name);
+        return this.computedFields != null ? this.computedFields.get(name) : null;
+    }
+
+    /** A copy of the additional fields of a container, see {@link #storeFields(Snapshot)} */
+    public static final class Snapshot {
+        private float[] floatFields = NO_FLOATS;
+        private int[] intFields = NO_INTS;
+        private Object[] objectFields = NO_OBJECTS;
+        private HashMap<String, Object> computedFields;
     }
 }
@@ -0,0 +1,94 @@
+package net.mcbrincie.apel.lib.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Declares an additional easing computed on every step by {@link ComputedEasings}, such as the radius of a circle.
+ * Fields are meant to be declared once, as constants of the particle object class that computes them:
+ * <pre>
+ * private static final ComputedField.OfFloat RADIUS = ComputedField.floatField("radius");
+ * </pre>
+ * Every field is assigned a dense index when it is declared, which containers use to store its value.  Float and
+ * integer fields are stored in primitive arrays and computed through {@link net.mcbrincie.apel.lib.easing.FloatEasing},
+ * so neither computing nor reading them boxes, and other types are stored in an object array.  The name is only used
+ * to describe the field, two fields with the same name are still distinct.
+ */
+@SuppressWarnings("unused")
+public abstract class ComputedField {
+    private static final AtomicInteger floatCount = new AtomicInteger();
+    private static final AtomicInteger intCount = new AtomicInteger();
+    private static final AtomicInteger objectCount = new AtomicInteger();
+
+    protected final String name;
+    protected final int index;
+
+    private ComputedField(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    public static OfFloat floatField(String name) {
+        return new OfFloat(name);
+    }
+
+    public static OfInt intField(String name) {
+        return new OfInt(name);
+    }
+
+    public static <T> OfObject<T> objectField(String name) {
+        return new OfObject<>(name);
+    }
+
+    public final String getName() {
+        return this.name;
+    }
+
+    /** Gets the index of the field in the storage of its type
+     *
+     * @return The index of the field
+     */
+    public final int getIndex() {
+        return this.index;
+    }
+
+    static int getFloatCount() {
+        return floatCount.get();
+    }
+
+    static int getIntCount() {
+        return intCount.get();
+    }
+
+    static int getObjectCount() {
+        return objectCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{name=" + this.name + ", index=" + this.index + "}";
+    }
+
+    /** A computed field holding a float */
+    public static final class OfFloat extends ComputedField {
+        private OfFloat(String name) {
+            super(name, floatCount.getAndIncrement());
+        }
+    }
+
+    /** A computed field holding an integer, rounded from the easing curve's value */
+    public static final class OfInt extends ComputedField {
+        private OfInt(String name) {
+            super(name, intCount.getAndIncrement());
+        }
+    }
+
+    /** A computed field holding any other value, such as a vector
+     *
+     * @param <T> The type of the value
+     */
+    public static final class OfObject<T> extends ComputedField {
+        private OfObject(String name) {
+            super(name, objectCount.getAndIncrement());
+        }
+    }
+}
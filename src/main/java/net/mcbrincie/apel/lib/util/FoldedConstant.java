@@ -0,0 +1,59 @@
+package net.mcbrincie.apel.lib.util;
+
+import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
+import org.joml.Vector3f;
+
+import java.util.function.UnaryOperator;
+
+/** A {@link FoldedConstant} holds the value of a constant {@link Vector3f} easing curve, computed once rather than on
+ * every step. The value is transformed once (such as normalizing a rotation) and shared by every step, so it must never
+ * be modified.
+ * <br /> <br />
+ * The vector of a constant curve can still be modified in place by whoever supplied it, so the fold keeps a copy of it
+ * and recomputes its value when it changes. The recomputed value is a new vector, which leaves the vectors that were
+ * handed out before (and possibly kept by a renderer) untouched
+ */
+public final class FoldedConstant {
+    private final ConstantEasingCurve<Vector3f> curve;
+    private final Vector3f source;
+    private final Vector3f snapshot = new Vector3f();
+    private final UnaryOperator<Vector3f> transform;
+    private Vector3f value;
+
+    /** Folds a constant curve
+     *
+     * @param curve The constant curve to fold
+     * @param transform The transformation applied to a copy of the constant's value
+     */
+    public FoldedConstant(ConstantEasingCurve<Vector3f> curve, UnaryOperator<Vector3f> transform) {
+        this.curve = curve;
+        this.source = curve.getStart();
+        this.transform = transform;
+        this.refold();
+    }
+
+    private void refold() {
+        this.snapshot.set(this.source);
+        this.value = this.transform.apply(new Vector3f(this.source));
+    }
+
+    /** Checks whether this folds the given curve
+     *
+     * @param curve The curve to check
+     * @return Whether the curve is the one folded
+     */
+    public boolean isFoldOf(ConstantEasingCurve<Vector3f> curve) {
+        return this.curve == curve;
+    }
+
+    /** Gets the folded value, which must not be modified
+     *
+     * @return The transformed value of the constant
+     */
+    public Vector3f get() {
+        if (this.source.x != this.snapshot.x || this.source.y != this.snapshot.y || this.source.z != this.snapshot.z) {
+            this.refold();
+        }
+        return this.value;
+    }
+}
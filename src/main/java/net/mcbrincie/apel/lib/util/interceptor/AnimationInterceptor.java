@@ -34,11 +34,12 @@ public interface AnimationInterceptor<T extends PathAnimatorBase<T>> extends Bas
     void apply(AnimationContext data, T animator);
 
     /** An identity interceptor that does nothing. May be used when clearing an
-     * interceptor.
+     * interceptor. Dispatchers drop it when it is added, so it costs nothing when drawing.
      * @return the identity interceptor
      * @param <T> The type being intercepted
      */
     static <T extends PathAnimatorBase<T>> AnimationInterceptor<T> identity() {
-        return (data, object) -> {};
+        //noinspection unchecked
+        return (AnimationInterceptor<T>) IdentityInterceptors.ANIMATION;
     }
 }
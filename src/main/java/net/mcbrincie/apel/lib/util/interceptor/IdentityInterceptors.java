@@ -0,0 +1,17 @@
+package net.mcbrincie.apel.lib.util.interceptor;
+
+/**
+ * Holds the single instances returned by {@link ObjectInterceptor#identity()} and {@link AnimationInterceptor#identity()},
+ * so dispatchers can recognize identity interceptors by reference and drop them instead of calling them.
+ */
+@SuppressWarnings("rawtypes")
+final class IdentityInterceptors {
+    static final ObjectInterceptor OBJECT = (data, object) -> {};
+    static final AnimationInterceptor ANIMATION = (data, animator) -> {};
+
+    private IdentityInterceptors() {}
+
+    static boolean isIdentity(BaseInterceptor<?, ?> interceptor) {
+        return interceptor == OBJECT || interceptor == ANIMATION;
+    }
+}
@@ -1,6 +1,12 @@
 package net.mcbrincie.apel.lib.util.interceptor;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /** This is a base class for the interceptor dispatcher where it can host multiple {@link BaseInterceptor} to be executed on a specific code section,
  * it executes the interceptors based on their priority whereby interceptors with higher priority will be executed earlier
@@ -15,6 +21,13 @@ import java.util.*;
  * priority counter takes the priority assigned if it is larger than it
  * <br /> <br />
  *
+ * Null and identity interceptors are dropped when added. The interceptors are flattened into an array whenever one is
+ * added, so executing them is a loop over that array, and a dispatcher without interceptors only checks its length.
+ * <br /> <br />
+ * Interceptors may be added from any thread, even while an animation is running. Adding one copies the state of the
+ * dispatcher and publishes the copy atomically, retrying if another thread added an interceptor in between, so
+ * neither adding nor computing ever blocks. A computation runs the interceptors of the state published when it began.
+ * <br /> <br />
  * When it is time to execute the interceptors {@link #compute(Object, Object)} may be called which takes
  * care of the rest. <strong>Keep in mind that the context and object will be modified on the compute method</strong>
  *
@@ -24,31 +37,35 @@ import java.util.*;
  */
 @SuppressWarnings("unused")
 public abstract class InterceptorDispatcher<T, C, I extends BaseInterceptor<C, T>> {
-    private final Map<Integer, List<I>> priorityMap = new HashMap<>();
-    private int priorityCounter = 0;
-    private final List<I> sortedInterceptors = new ArrayList<>();
-    private boolean needsSort = true;
+    private static final BaseInterceptor<?, ?>[] EMPTY = new BaseInterceptor<?, ?>[0];
+
+    private final AtomicReference<State<I>> state = new AtomicReference<>(
+            new State<>(Collections.emptySortedMap(), 0, EMPTY)
+    );
 
     protected InterceptorDispatcher() {}
 
-    /** Add a particle object interceptor without any predefined priority to the dispatcher
+    /** Add a particle object interceptor without any predefined priority to the dispatcher. Null and identity
+     * interceptors are dropped, since they would do nothing
      *
      * @param objectInterceptor The object interceptor to add
      * @return The priority assigned to the object interceptor
      */
     public int addInterceptor(I objectInterceptor) {
-        if (Objects.isNull(objectInterceptor)) {
-            return priorityCounter;
+        if (Objects.isNull(objectInterceptor) || IdentityInterceptors.isIdentity(objectInterceptor)) {
+            return this.state.get().priorityCounter();
+        }
+        while (true) {
+            State<I> current = this.state.get();
+            int prio = current.priorityCounter() + 1;
+            if (this.state.compareAndSet(current, current.with(prio, objectInterceptor, prio))) {
+                return prio;
+            }
         }
-        int prio = this.priorityCounter += 1;
-        this.priorityMap
-                .computeIfAbsent(prio, k -> new ArrayList<>())
-                .add(objectInterceptor);
-        this.needsSort = true;
-        return prio;
     }
 
-    /** Add a particle object interceptor with a predefined priority to the dispatcher
+    /** Add a particle object interceptor with a predefined priority to the dispatcher. Null and identity
+     * interceptors are dropped, since they would do nothing
      *
      * @param objectInterceptor The object interceptor to add
      * @param priority The priority of the object interceptor (if there are more than one interceptor with
@@ -56,22 +73,25 @@ public abstract class InterceptorDispatcher<T, C, I extends BaseInterceptor<C, T
      * @return If there were any other interceptors in that priority
      */
     public boolean addInterceptor(int priority, I objectInterceptor) {
-        boolean existed = this.priorityMap.containsKey(priority);
-        this.priorityMap
-                .computeIfAbsent(priority, k -> new ArrayList<>())
-                .add(objectInterceptor);
-        needsSort = true;
-        return existed;
+        while (true) {
+            State<I> current = this.state.get();
+            boolean existed = current.priorities().containsKey(priority);
+            if (Objects.isNull(objectInterceptor) || IdentityInterceptors.isIdentity(objectInterceptor)) {
+                return existed;
+            }
+            State<I> next = current.with(priority, objectInterceptor, current.priorityCounter());
+            if (this.state.compareAndSet(current, next)) {
+                return existed;
+            }
+        }
     }
 
-    /** Ensure our flat list is up to date. */
-    private void rebuildIfNeeded() {
-        if (!this.needsSort) return;
-        this.sortedInterceptors.clear();
-        this.priorityMap.entrySet().stream()
-                .sorted(Comparator.comparingInt(Map.Entry::getKey))
-                .forEach(entry -> this.sortedInterceptors.addAll(entry.getValue()));
-        this.needsSort = false;
+    /** Checks whether there are no interceptors to execute, in which case {@link #compute(Object, Object)} does nothing
+     *
+     * @return Whether the dispatcher has no interceptors
+     */
+    public boolean isEmpty() {
+        return this.state.get().snapshot().length == 0;
     }
 
     /** Trigger a computation in the dispatcher whereby the interceptors with the highest priority will be executed
@@ -81,10 +101,32 @@ public abstract class InterceptorDispatcher<T, C, I extends BaseInterceptor<C, T
      * @param object The particle object to use in the computations
      * @param context The context to use in the computations
      */
+    @SuppressWarnings("unchecked")
     public void compute(T object, C context) {
-        this.rebuildIfNeeded();
-        for (int i = 0; i < this.sortedInterceptors.size(); i++) {
-            this.sortedInterceptors.get(i).apply(context, object);
+        BaseInterceptor<?, ?>[] interceptors = this.state.get().snapshot();
+        for (BaseInterceptor<?, ?> interceptor : interceptors) {
+            ((I) interceptor).apply(context, object);
+        }
+    }
+
+    /** The published state of a dispatcher, which is never modified once published. The snapshot holds the
+     * interceptors flattened in priority order */
+    private record State<I>(
+            SortedMap<Integer, List<I>> priorities, int priorityCounter, BaseInterceptor<?, ?>[] snapshot
+    ) {
+        State<I> with(int priority, I interceptor, int priorityCounter) {
+            SortedMap<Integer, List<I>> priorities = new TreeMap<>(this.priorities);
+            List<I> group = new ArrayList<>(priorities.getOrDefault(priority, List.of()));
+            group.add(interceptor);
+            priorities.put(priority, List.copyOf(group));
+
+            List<I> sortedInterceptors = new ArrayList<>();
+            for (List<I> interceptors : priorities.values()) {
+                sortedInterceptors.addAll(interceptors);
+            }
+            return new State<>(
+                    Collections.unmodifiableSortedMap(priorities), priorityCounter, sortedInterceptors.toArray(EMPTY)
+            );
         }
     }
 }
@@ -34,11 +34,12 @@ public interface ObjectInterceptor<T extends ParticleObject<T>> extends BaseInte
     void apply(DrawContext<?> data, T object);
 
     /** An identity interceptor that does nothing. May be used when clearing an
-     * interceptor.
+     * interceptor. Dispatchers drop it when it is added, so it costs nothing when drawing.
      * @return the identity interceptor
      * @param <T> The type being intercepted
      */
     static <T extends ParticleObject<T>> ObjectInterceptor<T> identity() {
-        return (data, object) -> {};
+        //noinspection unchecked
+        return (ObjectInterceptor<T>) IdentityInterceptors.OBJECT;
     }
 }
@@ -3,10 +3,6 @@ package net.mcbrincie.apel.lib.util.interceptor.context;
 import net.minecraft.server.world.ServerWorld;
 import org.joml.Vector3f;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -32,17 +28,24 @@ import static java.util.Objects.requireNonNull;
  * or nothing was placed in the metadata, {@link #getMetadata(Key, Object)} will accept and return a
  * default value of the correct type.
  * <p>
+ * <strong>Storage:</strong> Metadata is stored in an array indexed by the slot of each {@link Key}, see
+ * {@link DrawContext}.
+ * <p>
+ * <strong>Lifetime:</strong> The contexts handed to interceptors come from a {@link ContextPool} and are reused once
+ * the step ends, so they must not be kept past the interceptor call, see {@link DrawContext}.
+ * <p>
  * <strong>Warning:</strong> Casting or auto-unboxing metadata values to primitive values may result in
  * {@code NullPointerException} if the given key does not have a value or has a null value.  It is strongly recommended
  * to use {@link #getMetadata(Key, Object)} when handling primitive types.
  */
 public class AnimationContext {
-    private final ServerWorld world;
+    private ServerWorld world;
 
-    private final Vector3f position;
-    private final int currentStep;
+    private Vector3f position;
+    private int currentStep;
     private boolean shouldRender;
-    private final Map<Key<?>, Object> metadata;
+    private final MetadataSlots metadata;
+    private boolean released;
 
     /**
      * Creates an AnimationContext with no position or step number.  Useful for composite animators that do not render
@@ -62,11 +65,30 @@ public class AnimationContext {
      * @param currentStep The step number of the current animator
      */
     public AnimationContext(ServerWorld world, Vector3f position, int currentStep) {
+        this.metadata = new MetadataSlots();
+        this.reset(world, position, currentStep);
+    }
+
+    /** Reinitializes a pooled context for a new step, dropping the metadata of the previous one */
+    void reset(ServerWorld world, Vector3f position, int currentStep) {
         this.world = world;
         this.position = position;
         this.currentStep = currentStep;
-        this.metadata = new HashMap<>();
         this.shouldRender = true;
+        this.metadata.clear();
+    }
+
+    /** Marks the context as released, so any further use of it throws */
+    void release() {
+        this.released = true;
+        this.position = null;
+        this.metadata.clear();
+    }
+
+    private void checkNotReleased() {
+        if (this.released) {
+            throw new IllegalStateException("An AnimationContext was used after its step ended");
+        }
     }
 
     /**
@@ -75,6 +97,7 @@ public class AnimationContext {
      * @return the active Minecraft ServerWorld
      */
     public ServerWorld getWorld() {
+        this.checkNotReleased();
         return world;
     }
 
@@ -88,6 +111,7 @@ public class AnimationContext {
      * @return the position from which the current shape's rendering is computed
      */
     public Vector3f getPosition() {
+        this.checkNotReleased();
         return position;
     }
 
@@ -99,6 +123,7 @@ public class AnimationContext {
      * @return The current step number of the animation
      */
     public int getCurrentStep() {
+        this.checkNotReleased();
         return currentStep;
     }
 
@@ -108,6 +133,7 @@ public class AnimationContext {
      * @return the rendering status
      */
     public boolean shouldRender() {
+        this.checkNotReleased();
         return this.shouldRender;
     }
 
@@ -117,6 +143,7 @@ public class AnimationContext {
      * @param shouldRender Whether to render (true) or not (false)
      */
     public void setShouldRender(boolean shouldRender) {
+        this.checkNotReleased();
         this.shouldRender = shouldRender;
     }
 
@@ -128,6 +155,7 @@ public class AnimationContext {
      * @param <T> the type of the key and new value
      */
     public <T> void addMetadata(Key<T> key, T value) {
+        this.checkNotReleased();
         this.metadata.put(key, value);
     }
 
@@ -144,6 +172,7 @@ public class AnimationContext {
      */
     @SuppressWarnings({"unchecked"})
     public <T> T getMetadata(Key<T> key) {
+        this.checkNotReleased();
         // This cast is safe because `addMetadata` ensures the key and value types match at compile-time
         return (T) this.metadata.get(key);
     }
@@ -162,6 +191,8 @@ public class AnimationContext {
      */
     @SuppressWarnings("unused")
     public <T> T getMetadata(Key<T> key, T defaultValue) {
-        return Optional.ofNullable(this.getMetadata(key)).orElse(requireNonNull(defaultValue));
+        requireNonNull(defaultValue);
+        T value = this.getMetadata(key);
+        return value != null ? value : defaultValue;
     }
 }
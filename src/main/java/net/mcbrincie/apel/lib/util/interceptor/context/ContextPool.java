@@ -0,0 +1,133 @@
+package net.mcbrincie.apel.lib.util.interceptor.context;
+
+import net.mcbrincie.apel.lib.util.ComputedEasingPO;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * A ContextPool hands out the {@link DrawContext} and {@link AnimationContext} instances used while drawing, so a
+ * frame of an object tree reuses the same contexts instead of allocating new ones for every object and step.  Drawing
+ * is nested (a combiner draws its children while its own context is still in use), so each pool keeps a stack of
+ * contexts per kind, and every acquired context must be released, innermost first, once its draw or step ends.
+ * <p>
+ * Pools are per thread, since animations may be drawn from more than one thread.  Use {@link #get()} to retrieve the
+ * pool of the current thread.
+ * <p>
+ * <strong>Debug Mode:</strong> A context kept past the end of its draw silently sees the values of whichever draw
+ * reuses it next.  Running with {@code -Dapel.debugContexts=true} makes the pool allocate a new context every time and
+ * mark it as released afterward, so any later use of an escaped context throws an {@link IllegalStateException}.
+ */
+@SuppressWarnings("unused")
+public final class ContextPool {
+    /** Whether released contexts are poisoned rather than reused */
+    public static final boolean DEBUG = Boolean.getBoolean("apel.debugContexts");
+
+    private static final ThreadLocal<ContextPool> POOLS = ThreadLocal.withInitial(() -> new ContextPool(DEBUG));
+
+    private final boolean debug;
+    private DrawContext<?>[] drawContexts = new DrawContext<?>[8];
+    private int drawDepth;
+    private AnimationContext[] animationContexts = new AnimationContext[4];
+    private int animationDepth;
+
+    ContextPool(boolean debug) {
+        this.debug = debug;
+    }
+
+    /** Gets the pool of the current thread
+     *
+     * @return The pool of the current thread
+     */
+    public static ContextPool get() {
+        return POOLS.get();
+    }
+
+    /** Acquires a draw context, which must be given back with {@link #release(DrawContext)} once the draw ends
+     *
+     * @param world the active ServerWorld reference
+     * @param position the position at which the drawing will occur
+     * @param step the current animation step
+     * @param numberOfSteps the number steps of the animation
+     * @param deltaTickTime the deltatime between ticks
+     * @param computedEasings The computed easing container
+     * @return A context holding the given values and no metadata
+     * @param <E> What type of computed easings container to use for particle objects
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends ComputedEasingPO> DrawContext<E> acquireDraw(
+            ServerWorld world, Vector3f position, int step, int numberOfSteps,
+            float deltaTickTime, E computedEasings
+    ) {
+        if (this.drawDepth == this.drawContexts.length) {
+            this.drawContexts = Arrays.copyOf(this.drawContexts, this.drawDepth * 2);
+        }
+        DrawContext<E> context = (DrawContext<E>) this.drawContexts[this.drawDepth];
+        if (context == null || this.debug) {
+            context = new DrawContext<>(world, position, step, numberOfSteps, deltaTickTime, computedEasings);
+            this.drawContexts[this.drawDepth] = context;
+        } else {
+            context.reset(world, position, step, numberOfSteps, deltaTickTime, computedEasings);
+        }
+        this.drawDepth++;
+        return context;
+    }
+
+    /** Gives back the innermost draw context acquired from this pool
+     *
+     * @param context The context to release
+     * @throws IllegalStateException If the context is not the innermost one acquired
+     */
+    public void release(DrawContext<?> context) {
+        if (this.drawDepth == 0 || this.drawContexts[this.drawDepth - 1] != context) {
+            throw new IllegalStateException("DrawContexts must be released innermost first by the pool that acquired them");
+        }
+        this.drawDepth--;
+        if (this.debug) {
+            context.release();
+            this.drawContexts[this.drawDepth] = null;
+        }
+    }
+
+    /** Acquires an animation context, which must be given back with {@link #release(AnimationContext)} once the step
+     * ends
+     *
+     * @param world The Minecraft ServerWorld instance
+     * @param position The position along the animation path, or null for composite animators
+     * @param currentStep The step number of the current animator
+     * @return A context holding the given values and no metadata, set to render
+     */
+    public AnimationContext acquireAnimation(ServerWorld world, Vector3f position, int currentStep) {
+        if (this.animationDepth == this.animationContexts.length) {
+            this.animationContexts = Arrays.copyOf(this.animationContexts, this.animationDepth * 2);
+        }
+        AnimationContext context = this.animationContexts[this.animationDepth];
+        if (context == null || this.debug) {
+            context = new AnimationContext(world, position, currentStep);
+            this.animationContexts[this.animationDepth] = context;
+        } else {
+            context.reset(world, position, currentStep);
+        }
+        this.animationDepth++;
+        return context;
+    }
+
+    /** Gives back the innermost animation context acquired from this pool
+     *
+     * @param context The context to release
+     * @throws IllegalStateException If the context is not the innermost one acquired
+     */
+    public void release(AnimationContext context) {
+        if (this.animationDepth == 0 || this.animationContexts[this.animationDepth - 1] != context) {
+            throw new IllegalStateException(
+                    "AnimationContexts must be released innermost first by the pool that acquired them"
+            );
+        }
+        this.animationDepth--;
+        if (this.debug) {
+            context.release();
+            this.animationContexts[this.animationDepth] = null;
+        }
+    }
+}
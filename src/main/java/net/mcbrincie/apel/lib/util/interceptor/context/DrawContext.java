@@ -5,10 +5,6 @@ import net.mcbrincie.apel.lib.util.ComputedEasingPO;
 import net.minecraft.server.world.ServerWorld;
 import org.joml.Vector3f;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -35,6 +31,13 @@ import static java.util.Objects.requireNonNull;
  * nothing was placed in the metadata, {@link #getMetadata(Key, Object)} will accept and return a default value of the
  * correct type.
  * <p>
+ * <strong>Storage:</strong> Metadata is stored in an array indexed by the slot of each {@link Key}, which is only
+ * allocated once metadata is added, so contexts without metadata cost no allocation and lookups are an array access.
+ * <p>
+ * <strong>Lifetime:</strong> The contexts handed to interceptors come from a {@link ContextPool} and are reused once
+ * the draw ends, so they, their metadata and their position must not be kept past the interceptor call.  Running with
+ * {@code -Dapel.debugContexts=true} turns any later use of a context into an {@link IllegalStateException}.
+ * <p>
  * <strong>Warning:</strong> Casting or auto-unboxing metadata values to primitive types may result in
  * {@code NullPointerException} if the given key does not have a value or has a null value.  It is strongly recommended
  * to use {@link #getMetadata(Key, Object)} when handling primitive types.
@@ -42,13 +45,14 @@ import static java.util.Objects.requireNonNull;
  * @param <E> What type of computed easings container to use for particle objects
  */
 public class DrawContext<E extends ComputedEasingPO> {
-    private final int currentStep;
-    private final int numberOfSteps;
-    private final Vector3f position;
-    private final ServerWorld world;
-    private final float deltaTickTime;
-    private final Map<Key<?>, Object> metadata;
-    private final E computedEasings;
+    private int currentStep;
+    private int numberOfSteps;
+    private Vector3f position;
+    private ServerWorld world;
+    private float deltaTickTime;
+    private final MetadataSlots metadata;
+    private E computedEasings;
+    private boolean released;
 
     /** Constructs an InterceptorData object to pass to an interceptor
      *
@@ -63,13 +67,8 @@ public class DrawContext<E extends ComputedEasingPO> {
             ServerWorld world, Vector3f position, int step, int numberOfSteps,
             float deltaTickTime, E computedEasingPO
     ) {
-        this.currentStep = step;
-        this.position = position;
-        this.world = world;
-        this.metadata = new HashMap<>();
-        this.numberOfSteps = numberOfSteps;
-        this.computedEasings = computedEasingPO;
-        this.deltaTickTime = deltaTickTime;
+        this.metadata = new MetadataSlots();
+        this.reset(world, position, step, numberOfSteps, deltaTickTime, computedEasingPO);
     }
 
     public DrawContext(DrawContext<E> context) {
@@ -77,7 +76,7 @@ public class DrawContext<E extends ComputedEasingPO> {
         this.position = context.position;
         this.deltaTickTime = context.deltaTickTime;
         this.numberOfSteps = context.numberOfSteps;
-        this.metadata = new HashMap<>();
+        this.metadata = new MetadataSlots();
         this.world = context.world;
         this.computedEasings = context.computedEasings;
     }
@@ -93,6 +92,34 @@ public class DrawContext<E extends ComputedEasingPO> {
         );
     }
 
+    /** Reinitializes a pooled context for a new draw, dropping the metadata of the previous one */
+    void reset(
+            ServerWorld world, Vector3f position, int step, int numberOfSteps,
+            float deltaTickTime, E computedEasingPO
+    ) {
+        this.currentStep = step;
+        this.position = position;
+        this.world = world;
+        this.numberOfSteps = numberOfSteps;
+        this.computedEasings = computedEasingPO;
+        this.deltaTickTime = deltaTickTime;
+        this.metadata.clear();
+    }
+
+    /** Marks the context as released, so any further use of it throws */
+    void release() {
+        this.released = true;
+        this.position = null;
+        this.computedEasings = null;
+        this.metadata.clear();
+    }
+
+    private void checkNotReleased() {
+        if (this.released) {
+            throw new IllegalStateException("A DrawContext was used after its draw ended");
+        }
+    }
+
     /** Add metadata to the map for interceptors to use.
      *
      * @param key The key of the metadata field
@@ -100,6 +127,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      * @param <T> The type to add as a metadata field
      */
     public <T> void addMetadata(Key<T> key, T value) {
+        this.checkNotReleased();
         this.metadata.put(key, value);
     }
 
@@ -116,6 +144,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      */
     @SuppressWarnings({"unchecked"})
     public <T> T getMetadata(Key<T> key) {
+        this.checkNotReleased();
         // This cast is safe because `addMetadata` ensures the key and value types match at compile-time
         return (T) this.metadata.get(key);
     }
@@ -134,7 +163,9 @@ public class DrawContext<E extends ComputedEasingPO> {
      */
     @SuppressWarnings("unused")
     public <T> T getMetadata(Key<T> key, T defaultValue) {
-        return Optional.ofNullable(this.getMetadata(key)).orElse(requireNonNull(defaultValue));
+        requireNonNull(defaultValue);
+        T value = this.getMetadata(key);
+        return value != null ? value : defaultValue;
     }
 
     /** Get the current step of the animation this object is in.
@@ -142,6 +173,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      * @return the current step of the animation
      */
     public int getCurrentStep() {
+        this.checkNotReleased();
         return currentStep;
     }
 
@@ -150,6 +182,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      * @return a collection of the computed easings
      */
     public E getComputedEasings() {
+        this.checkNotReleased();
         return computedEasings;
     }
 
@@ -158,6 +191,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      * @return the number of steps the animation has
      */
     public int getNumberOfStep() {
+        this.checkNotReleased();
         return numberOfSteps;
     }
 
@@ -166,6 +200,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      * @return the position from which the current shape's rendering is computed
      */
     public Vector3f getPosition() {
+        this.checkNotReleased();
         return position;
     }
 
@@ -174,6 +209,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      * @return the active Minecraft ServerWorld
      */
     public ServerWorld getWorld() {
+        this.checkNotReleased();
         return world;
     }
 
@@ -183,6 +219,7 @@ public class DrawContext<E extends ComputedEasingPO> {
      */
     @SuppressWarnings("unused")
     public float getDeltaTickTime() {
+        this.checkNotReleased();
         return this.deltaTickTime;
     }
 }
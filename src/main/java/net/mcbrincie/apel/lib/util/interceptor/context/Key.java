@@ -4,7 +4,10 @@ import com.google.common.reflect.TypeToken;
 import net.mcbrincie.apel.lib.objects.ParticleObject;
 import org.joml.Vector3f;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Indexes metadata in the DrawContext.  Keys are equal if both their name and their type match, regardless of
@@ -29,18 +32,44 @@ import java.util.Objects;
  * <pre>
  * DrawContext.Key&lt;Type&gt; keyOfType = new DrawContext.Key&lt;Type&gt;("keyName") {};
  * </pre>
+ * Every key is assigned a dense integer slot when it is created, shared by all equal keys, which contexts use to index
+ * their metadata array.  Keys are meant to be declared once as constants, since every distinct name and type pair
+ * permanently takes a slot.
  *
  * @param <T> The type of value pointed to by this key.
  */
 public abstract class Key<T> {
+    private static final Map<SlotId, Integer> slots = new ConcurrentHashMap<>();
+    private static final AtomicInteger slotCount = new AtomicInteger();
+
     protected final String name;
     protected TypeToken<T> type;
+    protected final int slot;
 
     public Key(String name) {
         this.name = name;
         // Extracts the generic type from the superclass (Key, in this case)
         this.type = new TypeToken<>(getClass()) {
         };
+        this.slot = slots.computeIfAbsent(new SlotId(name, this.type), id -> slotCount.getAndIncrement());
+    }
+
+    /**
+     * Gets the slot of the key in the metadata of a context, which is the same for all equal keys.
+     *
+     * @return The slot of the key
+     */
+    public final int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Gets the number of slots handed out so far, which is one more than the highest slot of any key.
+     *
+     * @return The number of slots
+     */
+    public static int getSlotCount() {
+        return slotCount.get();
     }
 
     public static Key<Integer> integerKey(String name) {
@@ -100,4 +129,6 @@ public abstract class Key<T> {
     public int hashCode() {
         return Objects.hash(name, type);
     }
+
+    private record SlotId(String name, TypeToken<?> type) {}
 }
@@ -0,0 +1,32 @@
+package net.mcbrincie.apel.lib.util.interceptor.context;
+
+import java.util.Arrays;
+
+/**
+ * The metadata of a context, stored in an array indexed by the {@link Key#getSlot() slot} of each key.  The array is
+ * only allocated once metadata is added, and grows to the number of slots handed out so far, so adding and retrieving
+ * metadata is an array access rather than a map lookup.
+ */
+final class MetadataSlots {
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] values = EMPTY;
+
+    <T> void put(Key<T> key, T value) {
+        int slot = key.getSlot();
+        if (slot >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(slot + 1, Key.getSlotCount()));
+        }
+        this.values[slot] = value;
+    }
+
+    Object get(Key<?> key) {
+        int slot = key.getSlot();
+        return slot < this.values.length ? this.values[slot] : null;
+    }
+
+    /** Removes every value while keeping the array, so a pooled context can be reused without allocating */
+    void clear() {
+        Arrays.fill(this.values, null);
+    }
+}
@@ -0,0 +1,372 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import net.mcbrincie.apel.Apel;
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.quantizers.MediaPalette;
+import net.mcbrincie.apel.lib.util.media.quantizers.MediaQuantizer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/** A {@link MediaClipCache} is a fully processed {@link ParticleMedia} clip baked to a file, which is memory-mapped when
+ * played back so none of the decoding, resampling, filtering or quantizing has to run again. Baking only gives the same
+ * result as live rendering when that pipeline is deterministic, which means the resamplers and filters must use constant
+ * easing curves.
+ * <br /> <br />
+ * Clips are loaded with {@link #load}, which bakes the clip again whenever the stored fingerprint does not match the
+ * pipeline. The fingerprint covers the media file (its path, size and modification time), the frame count, the alpha
+ * threshold, the quantizer's palette settings and the processed pixels of a few frames spread across the clip, so changing
+ * the resampler or the filters is noticed even though they are plain functions. {@link #loadAsync} does the same on a
+ * background thread, so the first draw does not stall while the clip bakes.
+ * <br /> <br />
+ * Every frame is stored as runs of consecutive same-colored pixels on a row, sorted by palette entry, so playback draws
+ * them in the same order as a quantized live frame. The file layout (big-endian) is:
+ * <ul>
+ *     <li><b>Header</b> The magic {@code APMC}, the format version, the fingerprint (8 bytes), the frame count, the palette
+ *     size and the palette colors, followed by the offset of each frame in the file</li>
+ *     <li><b>Frames</b> The width, height and run count of the frame, then each run as the palette entry (1 byte), the
+ *     x and y of its first pixel and its length (2 bytes each)</li>
+ * </ul>
+ */
+@SuppressWarnings("unused")
+public final class MediaClipCache {
+    private static final int MAGIC = 0x41504D43;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final int RUN_BYTES = 7;
+    private static final int MAX_COORDINATE = 0xFFFF;
+    // Frames spread across the clip whose processed pixels go into the fingerprint
+    private static final int FINGERPRINT_FRAMES = 4;
+    // Bakes are disk-bound, so they run one at a time on a single daemon thread
+    private static final ExecutorService BAKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Apel Media Clip Baker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MappedByteBuffer buffer;
+    private final long fingerprint;
+    private final MediaPalette palette;
+    private final int frameCount;
+    private final int offsetsStart;
+
+    private MediaClipCache(MappedByteBuffer buffer, long fingerprint, MediaPalette palette, int frameCount,
+                           int offsetsStart) {
+        this.buffer = buffer;
+        this.fingerprint = fingerprint;
+        this.palette = palette;
+        this.frameCount = frameCount;
+        this.offsetsStart = offsetsStart;
+    }
+
+    /** Memory-maps a baked clip
+     *
+     * @param path The path of the baked clip
+     * @return The mapped clip
+     * @throws IOException If the file cannot be read or is not a baked clip of this version
+     */
+    public static MediaClipCache open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a baked media clip: " + path);
+        }
+        long fingerprint = buffer.getLong(8);
+        int frameCount = buffer.getInt(16);
+        int paletteSize = buffer.getInt(20);
+        int[] colors = new int[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            colors[i] = buffer.getInt(HEADER_SIZE + i * 4);
+        }
+        return new MediaClipCache(buffer, fingerprint, MediaPalette.of(colors), frameCount,
+                HEADER_SIZE + paletteSize * 4);
+    }
+
+    /** Computes the fingerprint a baked clip of the pipeline is stored with. It processes a few frames spread across the
+     * clip, so it costs about as much as drawing them
+     *
+     * @param source The media file the frames are read from, null if there is none
+     * @param frameCount The number of frames of the clip
+     * @param frames The function processing the frame of a step, whose result is only read until the next call
+     * @param quantizer The quantizer mapping the frames to a palette
+     * @param alphaThreshold The alpha below which pixels are not drawn
+     * @return The fingerprint of the pipeline
+     * @throws IOException If the attributes of the media file cannot be read
+     */
+    public static long fingerprint(Path source, int frameCount, IntFunction<ParticleMedia.FrameData> frames,
+                                   MediaQuantizer quantizer, int alphaThreshold) throws IOException {
+        long hash = mix(VERSION, frameCount);
+        hash = mix(hash, alphaThreshold);
+        hash = mix(hash, quantizer.isDithered() ? 1 : 0);
+        if (quantizer.isComputed()) {
+            hash = mix(hash, quantizer.getPaletteSize());
+        } else {
+            MediaPalette palette = quantizer.getPalette();
+            for (int entry = 0; entry < palette.size(); entry++) {
+                hash = mix(hash, palette.getColor(entry));
+            }
+        }
+        if (source != null) {
+            hash = mix(hash, source.toAbsolutePath().toString().hashCode());
+            hash = mix(hash, Files.size(source));
+            hash = mix(hash, Files.getLastModifiedTime(source).toMillis());
+        }
+        int sampledFrames = Math.min(frameCount, FINGERPRINT_FRAMES);
+        for (int i = 0; i < sampledFrames; i++) {
+            ParticleMedia.FrameData data = frames.apply((int) ((long) i * frameCount / sampledFrames));
+            hash = mix(mix(hash, data.width), data.height);
+            for (int pixel = 0; pixel < data.width * data.height; pixel++) {
+                hash = mix(hash, data.frame[pixel]);
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return Long.rotateLeft((hash ^ value) * 0x9E3779B97F4A7C15L, 31);
+    }
+
+    /** Maps the clip baked at the path if its fingerprint matches the pipeline, otherwise bakes it again. A file which
+     * is missing, unreadable or of another format version is baked again as well
+     *
+     * @param path The path of the baked clip
+     * @param source The media file the frames are read from, null if there is none
+     * @param frameCount The number of frames of the clip
+     * @param frames The function processing the frame of a step, whose result is only read until the next call
+     * @param quantizer The quantizer mapping the frames to a palette, which is left untouched
+     * @param alphaThreshold The alpha below which pixels are not drawn
+     * @return The mapped clip
+     * @throws IOException If the clip cannot be baked
+     */
+    public static MediaClipCache load(Path path, Path source, int frameCount,
+                                      IntFunction<ParticleMedia.FrameData> frames, MediaQuantizer quantizer,
+                                      int alphaThreshold) throws IOException {
+        long fingerprint = fingerprint(source, frameCount, frames, quantizer, alphaThreshold);
+        if (Files.exists(path)) {
+            try {
+                MediaClipCache clip = open(path);
+                if (clip.getFingerprint() == fingerprint && clip.getFrameCount() == frameCount) {
+                    return clip;
+                }
+            } catch (IOException e) {
+                Apel.LOGGER.info("Baking the media clip at {} again, it could not be read", path);
+            }
+        }
+        return bake(path, fingerprint, frameCount, frames, quantizer, alphaThreshold);
+    }
+
+    /** Does the same as {@link #load} on a background thread, which is shared by every clip so bakes run one at a time.
+     * The frames function is called on that thread, so it must not share any state with the media being drawn
+     *
+     * @param path The path of the baked clip
+     * @param source The media file the frames are read from, null if there is none
+     * @param frameCount The number of frames of the clip
+     * @param frames The function processing the frame of a step, whose result is only read until the next call
+     * @param quantizer The quantizer mapping the frames to a palette, which is left untouched
+     * @param alphaThreshold The alpha below which pixels are not drawn
+     * @return The future mapped clip, which completes exceptionally with an {@link UncheckedIOException} if the clip
+     * cannot be baked
+     */
+    public static CompletableFuture<MediaClipCache> loadAsync(Path path, Path source, int frameCount,
+                                                              IntFunction<ParticleMedia.FrameData> frames,
+                                                              MediaQuantizer quantizer, int alphaThreshold) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(path, source, frameCount, frames, quantizer, alphaThreshold);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, BAKER);
+    }
+
+    /** Bakes a clip to a file and memory-maps it. The frames are quantized in order and streamed to a temporary sibling
+     * file, pixels whose alpha is below the threshold are left out, and the header is written once every frame is, so a
+     * failed bake never leaves a truncated clip behind. The file stores a single palette, so a computed palette is built
+     * up front out of frames spread evenly across the clip rather than out of the first one
+     *
+     * @param path The path to bake the clip to
+     * @param fingerprint The fingerprint to store, see {@link #fingerprint}
+     * @param frameCount The number of frames to bake
+     * @param frames The function processing the frame of a step, whose result is only read until the next call
+     * @param quantizer The quantizer mapping the frames to a palette, which is left untouched
+     * @param alphaThreshold The alpha below which pixels are not drawn
+     * @return The mapped clip
+     * @throws IOException If the file cannot be written
+     */
+    public static MediaClipCache bake(Path path, long fingerprint, int frameCount,
+                                      IntFunction<ParticleMedia.FrameData> frames, MediaQuantizer quantizer,
+                                      int alphaThreshold) throws IOException {
+        if (frameCount < 1) {
+            throw new IllegalArgumentException("A baked clip must have at least one frame");
+        }
+        // The baking quantizer is always a new one, the given one may be quantizing frames on another thread
+        if (quantizer.isComputed()) {
+            MediaQuantizer sampler = MediaQuantizer.medianCut(quantizer.getPaletteSize(), quantizer.isDithered());
+            sampler.prepare(frameCount, frames);
+            quantizer = sampler;
+        } else {
+            quantizer = MediaQuantizer.of(quantizer.getPalette(), quantizer.isDithered());
+        }
+        MediaPalette palette = quantizer.getPalette();
+        int headerSize = HEADER_SIZE + palette.size() * 4 + frameCount * 4;
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            // Frames are streamed past the header, whose offsets are only known once they are written
+            channel.position(headerSize);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            int[] frameOffsets = new int[frameCount];
+            for (int frame = 0; frame < frameCount; frame++) {
+                ParticleMedia.FrameData data = frames.apply(frame);
+                if (data.width > MAX_COORDINATE || data.height > MAX_COORDINATE) {
+                    throw new IllegalArgumentException("Baked frames cannot be larger than 65535 pixels on a side");
+                }
+                long offset = (long) headerSize + out.size();
+                if (offset >= Integer.MAX_VALUE) {
+                    throw new IOException("Baked clips cannot be larger than 2 GiB");
+                }
+                frameOffsets[frame] = (int) offset;
+                writeFrame(out, data, quantizer.quantize(data), alphaThreshold);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(headerSize);
+            header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).putInt(frameCount).putInt(palette.size());
+            for (int entry = 0; entry < palette.size(); entry++) {
+                header.putInt(palette.getColor(entry));
+            }
+            for (int offset : frameOffsets) {
+                header.putInt(offset);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    private static void writeFrame(DataOutputStream out, ParticleMedia.FrameData data,
+                                   MediaQuantizer.QuantizedFrame quantized, int alphaThreshold) throws IOException {
+        int width = quantized.getWidth();
+        // The run count is only known once the runs are written
+        ByteArrayOutputStream runs = new ByteArrayOutputStream();
+        DataOutputStream runsOut = new DataOutputStream(runs);
+        int runCount = 0;
+        for (int entry = 0; entry < quantized.getPalette().size(); entry++) {
+            int runStart = -1;
+            int runEnd = -1;
+            for (int i = quantized.groupStart(entry); i < quantized.groupStart(entry + 1); i++) {
+                int pixel = quantized.getPixel(i);
+                if ((data.frame[pixel] >>> 24) < alphaThreshold) {
+                    continue;
+                }
+                if (runStart >= 0 && (pixel != runEnd + 1 || pixel % width == 0)) {
+                    writeRun(runsOut, entry, runStart, runEnd, width);
+                    runCount++;
+                    runStart = -1;
+                }
+                if (runStart < 0) {
+                    runStart = pixel;
+                }
+                runEnd = pixel;
+            }
+            if (runStart >= 0) {
+                writeRun(runsOut, entry, runStart, runEnd, width);
+                runCount++;
+            }
+        }
+        out.writeInt(quantized.getWidth());
+        out.writeInt(quantized.getHeight());
+        out.writeInt(runCount);
+        runs.writeTo(out);
+    }
+
+    private static void writeRun(DataOutputStream out, int entry, int runStart, int runEnd, int width) throws IOException {
+        out.writeByte(entry);
+        out.writeShort(runStart % width);
+        out.writeShort(runStart / width);
+        out.writeShort(runEnd - runStart + 1);
+    }
+
+    /** Gets the fingerprint of the pipeline the clip was baked with
+     *
+     * @return The stored fingerprint
+     */
+    public long getFingerprint() {
+        return this.fingerprint;
+    }
+
+    public MediaPalette getPalette() {
+        return this.palette;
+    }
+
+    public int getFrameCount() {
+        return this.frameCount;
+    }
+
+    private int frameOffset(int frame) {
+        return this.buffer.getInt(this.offsetsStart + frame * 4);
+    }
+
+    public int getWidth(int frame) {
+        return this.buffer.getInt(this.frameOffset(frame));
+    }
+
+    public int getHeight(int frame) {
+        return this.buffer.getInt(this.frameOffset(frame) + 4);
+    }
+
+    public int getRunCount(int frame) {
+        return this.buffer.getInt(this.frameOffset(frame) + 8);
+    }
+
+    private int runOffset(int frame, int run) {
+        return this.frameOffset(frame) + 12 + run * RUN_BYTES;
+    }
+
+    /** Gets the palette entry of a run, runs being sorted by entry
+     *
+     * @param frame The frame of the run
+     * @param run The index of the run in the frame
+     * @return The palette entry of the run
+     */
+    public int getRunEntry(int frame, int run) {
+        return Byte.toUnsignedInt(this.buffer.get(this.runOffset(frame, run)));
+    }
+
+    public int getRunX(int frame, int run) {
+        return Short.toUnsignedInt(this.buffer.getShort(this.runOffset(frame, run) + 1));
+    }
+
+    public int getRunY(int frame, int run) {
+        return Short.toUnsignedInt(this.buffer.getShort(this.runOffset(frame, run) + 3));
+    }
+
+    public int getRunLength(int frame, int run) {
+        return Short.toUnsignedInt(this.buffer.getShort(this.runOffset(frame, run) + 5));
+    }
+}
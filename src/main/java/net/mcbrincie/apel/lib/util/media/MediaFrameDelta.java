@@ -0,0 +1,123 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+
+import java.util.Arrays;
+
+/** The {@link MediaFrameDelta} enables temporal delta rendering of a {@link ParticleMedia}. It remembers the color last
+ * rendered at every pixel, and only lets a pixel be drawn again when its color drifted from that by more than a threshold
+ * on any channel (alpha included). Slow drifts still get drawn once they add up past the threshold, since the comparison
+ * is against the last rendered color rather than the previous frame.
+ * <br /> <br />
+ * Every pixel is drawn on keyframes, which happen on the first frame, every {@code keyframeInterval} frames, whenever the
+ * frame size changes, and whenever the step does not move forward (such as when the animation restarts). Delta rendering
+ * only makes sense when the drawn particles outlive a frame, otherwise the unchanged pixels simply disappear until the
+ * next keyframe.
+ * <br /> <br />
+ * A delta keeps the history of one media, so it is not thread-safe and must not be shared between media
+ */
+@SuppressWarnings("unused")
+public final class MediaFrameDelta {
+    private final int threshold;
+    private final int keyframeInterval;
+    private int[] rendered = new int[0];
+    private int width = -1;
+    private int height = -1;
+    private int lastStep = Integer.MIN_VALUE;
+    private int framesSinceKeyframe;
+    private boolean keyframe;
+
+    private MediaFrameDelta(int threshold, int keyframeInterval) {
+        this.threshold = threshold;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /** Constructs a delta which redraws a pixel when any of its channels changed by more than the threshold
+     *
+     * @param threshold The largest change of a channel which is not redrawn, between 0 and 254
+     * @param keyframeInterval The number of frames between two keyframes, at least 1
+     * @return The constructed delta
+     */
+    public static MediaFrameDelta of(int threshold, int keyframeInterval) {
+        if (threshold < 0 || threshold > 254) {
+            throw new IllegalArgumentException("The threshold must be between 0 and 254");
+        }
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("The keyframe interval must be at least 1");
+        }
+        return new MediaFrameDelta(threshold, keyframeInterval);
+    }
+
+    /** Constructs a new delta with the same settings, but without any rendered history
+     *
+     * @return The constructed delta
+     */
+    public MediaFrameDelta copy() {
+        return new MediaFrameDelta(this.threshold, this.keyframeInterval);
+    }
+
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    public int getKeyframeInterval() {
+        return this.keyframeInterval;
+    }
+
+    /** Starts a new frame, which has to be called before {@link #changed(int, int)} is called for its pixels
+     *
+     * @param width The width of the frame
+     * @param height The height of the frame
+     * @param step The step the frame is drawn at
+     * @return Whether the frame is a keyframe, on which every pixel is drawn
+     */
+    public boolean begin(int width, int height, int step) {
+        this.keyframe = width != this.width || height != this.height || step <= this.lastStep
+                || ++this.framesSinceKeyframe >= this.keyframeInterval;
+        if (this.keyframe) {
+            this.framesSinceKeyframe = 0;
+            if (this.rendered.length < width * height) {
+                this.rendered = new int[width * height];
+            }
+            this.width = width;
+            this.height = height;
+        }
+        this.lastStep = step;
+        return this.keyframe;
+    }
+
+    /** Checks whether the pixel has to be drawn, which is the case on keyframes or when its color changed beyond the
+     * threshold. The color is recorded as rendered when it has to be drawn
+     *
+     * @param pixel The pixel, as {@code y * width + x}
+     * @param argb The color of the pixel in the current frame
+     * @return Whether the pixel has to be drawn
+     */
+    public boolean changed(int pixel, int argb) {
+        if (!this.keyframe) {
+            int previous = this.rendered[pixel];
+            if (previous == argb || !this.exceedsThreshold(previous, argb)) {
+                return false;
+            }
+        }
+        this.rendered[pixel] = argb;
+        return true;
+    }
+
+    private boolean exceedsThreshold(int previous, int argb) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            if (Math.abs((previous >>> shift & 0xFF) - (argb >>> shift & 0xFF)) > this.threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Forgets the rendered history, so the next frame is a keyframe */
+    public void reset() {
+        this.width = -1;
+        this.height = -1;
+        this.lastStep = Integer.MIN_VALUE;
+        Arrays.fill(this.rendered, 0);
+    }
+}
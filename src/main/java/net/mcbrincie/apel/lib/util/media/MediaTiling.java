@@ -0,0 +1,106 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** {@link MediaTiling} decides how a per-row operation on a frame is executed. Frames are split into tiles of whole rows,
+ * which keeps every tile reading and writing contiguous memory. With {@link #SEQUENTIAL}, the rows are processed on the
+ * calling thread. With {@link #parallel()}, frames with at least a threshold of pixels are split into tiles that are
+ * processed on a fork-join pool, while smaller frames stay on the calling thread since forking would cost more than it saves.
+ * Pools with a parallelism of one, such as the common pool on a single core, always stay on the calling thread too, as
+ * there is no other worker to share the tiles with and the forks only add overhead.
+ * <br /> <br />
+ * The tiled output is identical to the sequential one. The {@code MediaTilingBenchmark} in the {@code jmh} source set
+ * measures both paths across frame sizes, which is how the threshold of a given machine should be picked.
+ * <br /> <br />
+ * The row operation must only write to the rows it is given, as tiles run concurrently
+ */
+public final class MediaTiling {
+    /** The number of pixels of a frame from which {@link #parallel()} splits the work */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 128 * 128;
+    // Roughly the number of pixels processed per tile, small enough to balance and big enough to amortize the fork
+    private static final int TILE_PIXELS = 16 * 1024;
+
+    /** Processes every frame on the calling thread */
+    public static final MediaTiling SEQUENTIAL = new MediaTiling(null, Integer.MAX_VALUE);
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    private MediaTiling(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /** Processes frames of at least {@link #DEFAULT_PARALLEL_THRESHOLD} pixels on the common fork-join pool
+     *
+     * @return The parallel media tiling
+     */
+    public static MediaTiling parallel() {
+        return parallel(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /** Processes frames of at least {@code parallelThreshold} pixels on the given fork-join pool
+     *
+     * @param pool The pool to process the tiles on
+     * @param parallelThreshold The number of pixels below which frames are processed on the calling thread
+     * @return The parallel media tiling
+     */
+    public static MediaTiling parallel(ForkJoinPool pool, int parallelThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("The fork-join pool cannot be null");
+        }
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("The parallel threshold must be positive");
+        }
+        return new MediaTiling(pool, parallelThreshold);
+    }
+
+    /** Runs the row operation over every row of a frame, either on the calling thread or split into tiles on the pool
+     *
+     * @param width The width of the frame
+     * @param height The height of the frame
+     * @param rows The operation to run, given the rows from (inclusive) and to (exclusive)
+     */
+    public void forEachRows(int width, int height, RowOperation rows) {
+        if (this.pool == null || this.pool.getParallelism() < 2
+                || (long) width * height < this.parallelThreshold || height < 2) {
+            rows.process(0, height);
+            return;
+        }
+        int rowsPerTile = Math.max(1, TILE_PIXELS / Math.max(1, width));
+        this.pool.invoke(new RowTiles(rows, 0, height, rowsPerTile));
+    }
+
+    @FunctionalInterface
+    public interface RowOperation {
+        void process(int fromRow, int toRow);
+    }
+
+    private static final class RowTiles extends RecursiveAction {
+        private final RowOperation rows;
+        private final int fromRow;
+        private final int toRow;
+        private final int rowsPerTile;
+
+        private RowTiles(RowOperation rows, int fromRow, int toRow, int rowsPerTile) {
+            this.rows = rows;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.rowsPerTile = rowsPerTile;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.toRow - this.fromRow <= this.rowsPerTile) {
+                this.rows.process(this.fromRow, this.toRow);
+                return;
+            }
+            int middle = (this.fromRow + this.toRow) >>> 1;
+            invokeAll(
+                    new RowTiles(this.rows, this.fromRow, middle, this.rowsPerTile),
+                    new RowTiles(this.rows, middle, this.toRow, this.rowsPerTile)
+            );
+        }
+    }
+}
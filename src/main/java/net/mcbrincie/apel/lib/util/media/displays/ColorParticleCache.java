@@ -0,0 +1,77 @@
+package net.mcbrincie.apel.lib.util.media.displays;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/** A bounded cache from colors (or any int key) to the values created for them, such as the particle effects created by
+ * {@link ColorParticleMappers}. Keys are stored unboxed in an open-addressing table of fixed capacity: a key is looked up
+ * in a short window of slots starting at its hash, and when the window is full, the slot at its hash is overwritten,
+ * which evicts whichever color was there. Memory is therefore bounded no matter how many colors a media contains.
+ * <br /> <br />
+ * The cache is lock-free and safe to use from multiple threads. Each slot holds an immutable entry that is replaced
+ * atomically, so a reader sees either the old or the new entry. Two threads missing the same key may both create a value,
+ * and either one ends up cached, so the factory must return interchangeable values
+ *
+ * @param <V> The type of the cached values
+ */
+public final class ColorParticleCache<V> {
+    // The number of slots probed before evicting
+    private static final int PROBE_WINDOW = 8;
+
+    private final AtomicReferenceArray<Entry<V>> slots;
+    private final int mask;
+    private final IntFunction<V> factory;
+
+    /** Creates a cache holding up to {@code capacity} values, rounded up to a power of two
+     *
+     * @param capacity The maximum number of cached values
+     * @param factory The function creating the value of a key that is not cached
+     */
+    public ColorParticleCache(int capacity, IntFunction<V> factory) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("The capacity of the cache must be between 1 and 2^30");
+        }
+        int size = Math.max(PROBE_WINDOW, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.factory = factory;
+    }
+
+    /** Gets the value of the key, creating and caching it if it is not cached
+     *
+     * @param key The key to look up
+     * @return The value of the key
+     */
+    public V get(int key) {
+        int home = hash(key) & this.mask;
+        int free = -1;
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            int index = (home + i) & this.mask;
+            Entry<V> entry = this.slots.get(index);
+            if (entry == null) {
+                free = free < 0 ? index : free;
+            } else if (entry.key == key) {
+                return entry.value;
+            }
+        }
+        V value = this.factory.apply(key);
+        this.slots.set(free >= 0 ? free : home, new Entry<>(key, value));
+        return value;
+    }
+
+    /** Gets the maximum number of values the cache holds
+     *
+     * @return The capacity of the cache
+     */
+    public int capacity() {
+        return this.slots.length();
+    }
+
+    private static int hash(int key) {
+        // Spread neighbouring colors over the table, they only differ in their low bits per channel
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private record Entry<V>(int key, V value) {}
+}
@@ -2,22 +2,50 @@ package net.mcbrincie.apel.lib.util.media.displays;
 
 import net.minecraft.particle.DustParticleEffect;
 
-import java.util.HashMap;
-
 /** Provides some builtin color to particle mapper functions. For now, there is a specific one and that is
  * the dust particle mapper, where it maps a color to a dust particle with that color. However there are more
  * planned on the future
+ * <br /> <br />
+ * The dust particles are cached in a bounded {@link ColorParticleCache} shared by every dust particle mapper, so they
+ * may be used from parallel media rendering. The alpha of a color is ignored, as dust particles are always opaque
  */
 public class ColorParticleMappers {
-    private static final HashMap<Integer, DustParticleEffect> cache = new HashMap<>();
+    private static final int DUST_CACHE_CAPACITY = 4096;
+    private static final ColorParticleCache<DustParticleEffect> cache = new ColorParticleCache<>(
+            DUST_CACHE_CAPACITY, rgb -> new DustParticleEffect(rgb, 0.2f)
+    );
 
     /** Constructs a color to dust particle mapper function
      *
      * @return The color to dust particle mapper
      */
     public static ColorParticleMapper dustParticleMapper() {
-        return ((rgba) ->
-            cache.computeIfAbsent(rgba, k -> new DustParticleEffect(rgba, 0.2f))
-        );
+        return (rgba) -> cache.get(rgba & 0xFFFFFF);
+    }
+
+    /** Constructs a color to dust particle mapper function which first quantizes the color, keeping only the
+     * {@code bitsPerChannel} most significant bits of red, green and blue. With 5 or 6 bits per channel, colors that
+     * cannot be told apart as particles share a single particle effect, which keeps the cache hit rate high for
+     * true-color media
+     *
+     * @param bitsPerChannel The number of bits kept per color channel, between 1 and 8
+     * @return The color to dust particle mapper
+     */
+    public static ColorParticleMapper dustParticleMapper(int bitsPerChannel) {
+        if (bitsPerChannel < 1 || bitsPerChannel > 8) {
+            throw new IllegalArgumentException("The bits per channel must be between 1 and 8");
+        }
+        if (bitsPerChannel == 8) {
+            return dustParticleMapper();
+        }
+        int shift = 8 - bitsPerChannel;
+        int levels = (1 << bitsPerChannel) - 1;
+        return (rgba) -> {
+            // Rescale each truncated channel over the full range, so white stays white
+            int r = ((rgba >>> 16 & 0xFF) >>> shift) * 255 / levels;
+            int g = ((rgba >>> 8 & 0xFF) >>> shift) * 255 / levels;
+            int b = ((rgba & 0xFF) >>> shift) * 255 / levels;
+            return cache.get(r << 16 | g << 8 | b);
+        };
     }
 }
@@ -4,7 +4,8 @@ import net.mcbrincie.apel.lib.objects.ParticleMedia;
 
 /** This is the media filter. It takes the frame data and a t parameter (for the computing of the easing curves) and
  * modifies this frame data depending on the filter itself, returning nothing in the process. There are builtin filters
- * to choose from in {@link MediaFilters}
+ * to choose from in {@link MediaFilters}. Filters that only map each pixel's color on its own should implement
+ * {@link PixelMediaFilter} instead, which allows them to be fused with other filters into a single pass
  *
  * @see MediaFilters
  * @see ParticleMedia
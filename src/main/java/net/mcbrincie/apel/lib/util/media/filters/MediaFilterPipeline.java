@@ -0,0 +1,106 @@
+package net.mcbrincie.apel.lib.util.media.filters;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.MediaTiling;
+
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/** The {@link MediaFilterPipeline} applies a list of media filters to a frame without modifying it. The filtered frame is
+ * written into a scratch frame owned by the pipeline, which is reused across frames, so no garbage is produced once its
+ * color array has grown to the frame size.
+ * <br /> <br />
+ * Consecutive {@link PixelMediaFilter}s are fused: every pixel is read once, passed through all of their operations and
+ * written once, in row-major order. Any other {@link MediaFilter} is applied in place on the scratch frame, after copying
+ * the source into it if no filter ran before it.
+ * <br /> <br />
+ * The fused passes are split into row tiles according to the pipeline's {@link MediaTiling}, which is sequential by
+ * default. A pipeline is not thread-safe, and the returned frame is only valid until the next call to
+ * {@link #apply(ParticleMedia.FrameData, List, float)}
+ */
+public final class MediaFilterPipeline {
+    private final ParticleMedia.FrameData scratch = new ParticleMedia.FrameData(new int[0], 0, 0);
+    private IntUnaryOperator[] operations = new IntUnaryOperator[0];
+    private MediaTiling tiling = MediaTiling.SEQUENTIAL;
+
+    /** Sets how the fused passes are split into row tiles and returns the previous tiling
+     *
+     * @param tiling The new media tiling
+     * @return The previous media tiling
+     */
+    public MediaTiling setTiling(MediaTiling tiling) {
+        MediaTiling prevTiling = this.tiling;
+        this.tiling = tiling;
+        return prevTiling;
+    }
+
+    /** Applies the filters to the source frame, leaving the source untouched
+     *
+     * @param source The frame to filter
+     * @param filters The filters to apply, in order
+     * @param t The t parameter passed to the filters
+     * @return The source frame if there are no filters, otherwise the filtered scratch frame
+     */
+    public ParticleMedia.FrameData apply(ParticleMedia.FrameData source, List<MediaFilter> filters, float t) {
+        if (filters.isEmpty()) {
+            return source;
+        }
+        if (this.operations.length < filters.size()) {
+            this.operations = new IntUnaryOperator[filters.size()];
+        }
+        this.ensureScratch(source.width, source.height);
+        int[] input = source.frame;
+        int i = 0;
+        while (i < filters.size()) {
+            if (filters.get(i) instanceof PixelMediaFilter) {
+                int count = 0;
+                while (i < filters.size() && filters.get(i) instanceof PixelMediaFilter pixelFilter) {
+                    this.operations[count++] = pixelFilter.pixelOperation(t);
+                    i++;
+                }
+                this.fusedPass(input, count);
+            } else {
+                if (input != this.scratch.frame) {
+                    System.arraycopy(input, 0, this.scratch.frame, 0, this.scratch.width * this.scratch.height);
+                }
+                filters.get(i++).apply(this.scratch, t);
+                // General filters may resize or replace the frame
+                this.ensureScratch(this.scratch.width, this.scratch.height);
+            }
+            input = this.scratch.frame;
+        }
+        return this.scratch;
+    }
+
+    private void ensureScratch(int width, int height) {
+        if (this.scratch.frame.length < width * height) {
+            int[] grown = new int[width * height];
+            System.arraycopy(this.scratch.frame, 0, grown, 0, this.scratch.frame.length);
+            this.scratch.frame = grown;
+        }
+        this.scratch.width = width;
+        this.scratch.height = height;
+    }
+
+    private void fusedPass(int[] input, int count) {
+        int[] output = this.scratch.frame;
+        int width = this.scratch.width;
+        IntUnaryOperator[] operations = this.operations;
+        this.tiling.forEachRows(width, this.scratch.height,
+                (fromRow, toRow) -> fusedRows(input, output, width, operations, count, fromRow, toRow));
+    }
+
+    private static void fusedRows(int[] input, int[] output, int width, IntUnaryOperator[] operations, int count,
+                                  int fromRow, int toRow) {
+        for (int y = fromRow; y < toRow; y++) {
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                int argb = input[row + x];
+                for (int op = 0; op < count; op++) {
+                    argb = operations[op].applyAsInt(argb);
+                }
+                output[row + x] = argb;
+            }
+        }
+    }
+}
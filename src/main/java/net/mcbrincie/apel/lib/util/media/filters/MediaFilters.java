@@ -23,7 +23,8 @@ import net.minecraft.util.math.ColorHelper;
  *     <li>Hue Rotation</li>
  *     <li>Average</li>
  * </ul>
- * All of the filters except {@link #invert()} support a factor that can be either an easing curve or a constant
+ * All of the filters except {@link #invert()} support a factor that can be either an easing curve or a constant.
+ * They are all {@link PixelMediaFilter}s, so the {@link MediaFilterPipeline} fuses them into a single pass over the frame
  */
 @SuppressWarnings("unused")
 public class MediaFilters {
@@ -34,18 +35,15 @@ public class MediaFilters {
      * @param factor The brightness factor to be used
      * @return The constructed media brightness filter
      */
-    public static MediaFilter brightness(EasingCurve<Float> factor) {
-        return (data, t) -> {
-            float computedFactor = factor.getValue(t);
-            for (int x = 0; x < data.width; x++) {
-                for (int y = 0; y < data.height; y++) {
-                    int argb = data.frame[y * data.width + x];
-                    int R = Math.clamp((int) (ColorHelper.getRed(argb) * computedFactor), 0, 255);
-                    int G = Math.clamp((int) (ColorHelper.getGreen(argb) * computedFactor), 0, 255);
-                    int B = Math.clamp((int) (ColorHelper.getBlue(argb) * computedFactor), 0, 255);
-                    data.frame[y * data.width + x] = ColorHelper.fromFloats(ColorHelper.getAlpha(argb), R, G, B);
-                }
-            }
+    public static PixelMediaFilter brightness(EasingCurve<Float> factor) {
+        return t -> {
+            float computedFactor = factor.getFloat(t);
+            return argb -> {
+                int R = Math.clamp((int) (ColorHelper.getRed(argb) * computedFactor), 0, 255);
+                int G = Math.clamp((int) (ColorHelper.getGreen(argb) * computedFactor), 0, 255);
+                int B = Math.clamp((int) (ColorHelper.getBlue(argb) * computedFactor), 0, 255);
+                return ColorHelper.getArgb(ColorHelper.getAlpha(argb), R, G, B);
+            };
         };
     }
 
@@ -56,7 +54,7 @@ public class MediaFilters {
      * @param factor The brightness factor to be used
      * @return The constructed media brightness filter
      */
-    public static MediaFilter brightness(float factor) {
+    public static PixelMediaFilter brightness(float factor) {
         return brightness(new ConstantEasingCurve<>(factor));
     }
 
@@ -68,23 +66,20 @@ public class MediaFilters {
      * @param factor The contrast factor to be used
      * @return The constructed media contrast filter
      */
-    public static MediaFilter contrast(EasingCurve<Float> factor) {
-        return (data, t) -> {
-            float computedFactor = factor.getValue(t);
+    public static PixelMediaFilter contrast(EasingCurve<Float> factor) {
+        return t -> {
+            float computedFactor = factor.getFloat(t);
             if (computedFactor > 1 || computedFactor < -1) {
                 throw new RuntimeException("The contrast factor must be between -1 and 1 (inclusive on both)");
             }
             float c = Math.clamp((int) (computedFactor * 255), 0, 255);
             float f = (259 * (c + 255f)) / (255f * (259 - c));
-            for (int x = 0; x < data.width; x++) {
-                for (int y = 0; y < data.height; y++) {
-                    int argb = data.frame[y * data.width + x];
-                    int R = Math.clamp((int) (f * (ColorHelper.getRed(argb) - 128) + 128), 0, 255);
-                    int G = Math.clamp((int) (f * (ColorHelper.getGreen(argb) - 128) + 128), 0, 255);
-                    int B = Math.clamp((int) (f * (ColorHelper.getBlue(argb) - 128) + 128), 0, 255);
-                    data.frame[y * data.width + x] = ColorHelper.fromFloats(ColorHelper.getAlpha(argb), R, G, B);
-                }
-            }
+            return argb -> {
+                int R = Math.clamp((int) (f * (ColorHelper.getRed(argb) - 128) + 128), 0, 255);
+                int G = Math.clamp((int) (f * (ColorHelper.getGreen(argb) - 128) + 128), 0, 255);
+                int B = Math.clamp((int) (f * (ColorHelper.getBlue(argb) - 128) + 128), 0, 255);
+                return ColorHelper.getArgb(ColorHelper.getAlpha(argb), R, G, B);
+            };
         };
     }
 
@@ -96,7 +91,7 @@ public class MediaFilters {
      * @param factor The contrast factor to be used
      * @return The constructed media contrast filter
      */
-    public static MediaFilter contrast(float factor) {
+    public static PixelMediaFilter contrast(float factor) {
         return contrast(new ConstantEasingCurve<>(factor));
     }
 
@@ -108,22 +103,19 @@ public class MediaFilters {
      * @param factor The saturation factor to be used
      * @return The constructed media saturation filter
      */
-    public static MediaFilter saturate(EasingCurve<Float> factor) {
-        return (data, t) -> {
-            float computedFactor = factor.getValue(t);
-            for (int x = 0; x < data.width; x++) {
-                for (int y = 0; y < data.height; y++) {
-                    int argb = data.frame[y * data.width + x];
-                    int R = ColorHelper.getRed(argb);
-                    int G = ColorHelper.getGreen(argb);
-                    int B = ColorHelper.getBlue(argb);
-                    float lum = 0.299f * R + 0.587f * G + 0.114f * B;
-                    G = Math.clamp((int) (lum + (G - lum) * computedFactor), 0, 255);
-                    R = Math.clamp((int) (lum + (R - lum) * computedFactor), 0, 255);
-                    B = Math.clamp((int) (lum + (B - lum) * computedFactor), 0, 255);
-                    data.frame[y * data.width + x] = ColorHelper.fromFloats(ColorHelper.getAlpha(argb), R, G, B);
-                }
-            }
+    public static PixelMediaFilter saturate(EasingCurve<Float> factor) {
+        return t -> {
+            float computedFactor = factor.getFloat(t);
+            return argb -> {
+                int R = ColorHelper.getRed(argb);
+                int G = ColorHelper.getGreen(argb);
+                int B = ColorHelper.getBlue(argb);
+                float lum = 0.299f * R + 0.587f * G + 0.114f * B;
+                G = Math.clamp((int) (lum + (G - lum) * computedFactor), 0, 255);
+                R = Math.clamp((int) (lum + (R - lum) * computedFactor), 0, 255);
+                B = Math.clamp((int) (lum + (B - lum) * computedFactor), 0, 255);
+                return ColorHelper.getArgb(ColorHelper.getAlpha(argb), R, G, B);
+            };
         };
     }
 
@@ -134,7 +126,7 @@ public class MediaFilters {
      * @param factor The saturation factor to be used
      * @return The constructed media saturation filter
      */
-    public static MediaFilter saturate(float factor) {
+    public static PixelMediaFilter saturate(float factor) {
         return saturate(new ConstantEasingCurve<>(factor));
     }
 
@@ -142,17 +134,8 @@ public class MediaFilters {
      *
      * @return The constructed media invert filter
      */
-    public static MediaFilter invert() {
-        return (data, t) -> {
-            for (int x = 0; x < data.width; x++) {
-                for (int y = 0; y < data.height; y++) {
-                    int argb = data.frame[y * data.width + x];
-                    int R = 255 - ColorHelper.getRed(argb);
-                    int G = 255 - ColorHelper.getGreen(argb);
-                    int B = 255 - ColorHelper.getBlue(argb);
-                    data.frame[y * data.width + x] = ColorHelper.fromFloats(ColorHelper.getAlpha(argb), R, G, B);
-                }
-            }
-        };
+    public static PixelMediaFilter invert() {
+        // Flipping the color bits is the same as subtracting each channel from 255
+        return t -> argb -> argb ^ 0x00FFFFFF;
     }
 }
@@ -0,0 +1,29 @@
+package net.mcbrincie.apel.lib.util.media.filters;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+
+import java.util.function.IntUnaryOperator;
+
+/** This is the pixel media filter. Unlike a general {@link MediaFilter}, it only maps each pixel's color to a new color on
+ * its own, without looking at its neighbours. It is split in two steps: {@link #pixelOperation(float)} computes everything
+ * depending on the t parameter once per frame, and the returned operation is then called for every pixel.
+ * <br /> <br />
+ * This lets the {@link MediaFilterPipeline} fuse consecutive pixel filters into a single pass over the frame, instead of
+ * one pass per filter. All the builtin filters in {@link MediaFilters} are pixel media filters
+ *
+ * @see MediaFilterPipeline
+ * @see MediaFilters
+ */
+@FunctionalInterface
+public interface PixelMediaFilter extends MediaFilter {
+    IntUnaryOperator pixelOperation(float t);
+
+    @Override
+    default void apply(ParticleMedia.FrameData data, float t) {
+        IntUnaryOperator operation = this.pixelOperation(t);
+        int size = data.width * data.height;
+        for (int i = 0; i < size; i++) {
+            data.frame[i] = operation.applyAsInt(data.frame[i]);
+        }
+    }
+}
@@ -22,9 +22,11 @@ import java.util.List;
  * Sadly, this is still a work in progress, so the only tested image working is PNG, for WEBP it doesn't seem to work
  */
 public class ImageMediaProcessor implements MediaProcessor {
+    private final Path path;
     private final List<ParticleMedia.FrameData> frames;
 
     public ImageMediaProcessor(Path path) {
+        this.path = path;
         ImageIO.setUseCache(false);
 
         try (ImageInputStream in = ImageIO.createImageInputStream(Files.newInputStream(path))) {
@@ -63,6 +65,11 @@ public class ImageMediaProcessor implements MediaProcessor {
         return dest;
     }
 
+    @Override
+    public Path getPath() {
+        return this.path;
+    }
+
     public ParticleMedia.FrameData process(int currentFrame) {
         if (this.frames.size() == 1) {
             return this.frames.getFirst();
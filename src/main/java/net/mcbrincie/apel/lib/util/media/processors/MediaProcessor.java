@@ -2,6 +2,8 @@ package net.mcbrincie.apel.lib.util.media.processors;
 
 import net.mcbrincie.apel.lib.objects.ParticleMedia;
 
+import java.nio.file.Path;
+
 /** {@link MediaProcessor} is generally the first step of the {@link ParticleMedia} rendering pipeline, it
  * takes a specific frame index and outputs the corresponding frame data for that frame.
  * The frame data contains three things:
@@ -11,9 +13,34 @@ import net.mcbrincie.apel.lib.objects.ParticleMedia;
  *     <li>The height of the frame</li>
  * </ul>
  * The frame data is modified throughout the pipeline of the {@link ParticleMedia} for performance reason,
- * for now there is only one media processor and that is for images {@link ImageMediaProcessor}. There is a planned one
- * for videos as well, but it will come on the next update
+ * for now there are two media processors for images: {@link ImageMediaProcessor}, which decodes every frame up front, and
+ * {@link StreamingImageMediaProcessor}, which decodes ahead on a background thread for long animations. There is a planned
+ * one for videos as well, but it will come on the next update
  */
-public interface MediaProcessor {
+public interface MediaProcessor extends AutoCloseable {
     ParticleMedia.FrameData process(int currentFrame);
+
+    /** Gets a processor for a copy of the particle media. Processors which keep a playback position return a new
+     * instance, the rest are shared
+     *
+     * @return The processor to use for the copy
+     */
+    default MediaProcessor copy() {
+        return this;
+    }
+
+    /** Gets the file the frames are read from, which baked clips fingerprint so they are baked again once it changes.
+     * Processors which do not read a file return null
+     *
+     * @return The path of the media file
+     */
+    default Path getPath() {
+        return null;
+    }
+
+    /** Releases the resources held by the processor, such as decoder threads. Processors which hold nothing do
+     * nothing
+     */
+    @Override
+    default void close() {}
 }
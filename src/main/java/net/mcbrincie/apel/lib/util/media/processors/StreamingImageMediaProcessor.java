@@ -0,0 +1,274 @@
+package net.mcbrincie.apel.lib.util.media.processors;
+
+import net.mcbrincie.apel.Apel;
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** This is the {@link StreamingImageMediaProcessor}, it plays the same files as {@link ImageMediaProcessor} but instead of
+ * decoding every frame up front, it decodes ahead on a background thread into a bounded ring buffer. The memory used is
+ * therefore constant regardless of how long the animation is, and the first frame is available as soon as it is decoded
+ * rather than once the whole file is.
+ * <br /> <br />
+ * The ring buffer holds {@code bufferedFrames} frames whose color arrays are reused once a frame has been played, so no
+ * garbage is produced per frame. This comes with one contract: the returned frame data is only valid until the next call
+ * to {@link #process(int)}, after which its color array may be overwritten by the decoder. Frames are meant to be requested
+ * in order; the decoder wraps around from the last frame to the first one, so looping media never waits on a decode.
+ * Requesting an older frame or one far ahead restarts the decoder at that frame.
+ * <br /> <br />
+ * The decoder thread is a daemon thread, though it should be stopped with {@link #close()} once the media is no longer used.
+ * A {@link ParticleMedia} closes its processor when it is replaced or when the media itself is closed
+ */
+public class StreamingImageMediaProcessor implements MediaProcessor, AutoCloseable {
+    private static final int DEFAULT_BUFFERED_FRAMES = 8;
+
+    private final Path path;
+    private final int bufferedFrames;
+    private final int frameCount;
+    private final ParticleMedia.FrameData[] slots;
+    private final int[][] slotPixels;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition frameDecoded = this.lock.newCondition();
+    private final Condition slotFreed = this.lock.newCondition();
+    private final Thread decoder;
+
+    // All guarded by the lock. The buffered frames follow the head frame, wrapping around the end of the media, and are
+    // stored in consecutive slots starting at the head slot
+    private int headFrame = 0;
+    private int headSlot = 0;
+    private int bufferedCount = 0;
+    private int seekFrame = -1;
+    private boolean closed = false;
+    private RuntimeException failure;
+
+    public StreamingImageMediaProcessor(Path path) {
+        this(path, DEFAULT_BUFFERED_FRAMES);
+    }
+
+    public StreamingImageMediaProcessor(Path path, int bufferedFrames) {
+        this(path, bufferedFrames, countFrames(path));
+    }
+
+    // Copies reuse the frame count, counting the frames scans the whole file
+    private StreamingImageMediaProcessor(Path path, int bufferedFrames, int frameCount) {
+        if (bufferedFrames < 2) {
+            throw new IllegalArgumentException("At least two frames must be buffered");
+        }
+        if (frameCount < 1) {
+            throw new RuntimeException("The media at " + path + " contains no frames");
+        }
+        this.path = path;
+        this.bufferedFrames = bufferedFrames;
+        this.frameCount = frameCount;
+        int slotCount = Math.min(bufferedFrames, this.frameCount);
+        this.slots = new ParticleMedia.FrameData[slotCount];
+        this.slotPixels = new int[slotCount][];
+        for (int i = 0; i < slotCount; i++) {
+            this.slotPixels[i] = new int[0];
+            this.slots[i] = new ParticleMedia.FrameData(this.slotPixels[i], 0, 0);
+        }
+        this.decoder = new Thread(this::decodeLoop, "Apel Media Decoder");
+        this.decoder.setDaemon(true);
+        this.decoder.start();
+    }
+
+    private static int countFrames(Path path) {
+        ImageIO.setUseCache(false);
+        try (InputStream file = Files.newInputStream(path);
+             ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = openReader(in, path);
+            try {
+                return reader.getNumImages(true);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ImageReader openReader(ImageInputStream in, Path path) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            throw new IOException("No ImageReader Found For: " + path);
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(in, false, true);
+        return reader;
+    }
+
+    @Override
+    public Path getPath() {
+        return this.path;
+    }
+
+    /** Gets the number of frames of the media
+     *
+     * @return The number of frames
+     */
+    public int getFrameCount() {
+        return this.frameCount;
+    }
+
+    /** Gets how many frames ahead of the head frame a frame is, wrapping around the end of the media. Must be called
+     * while holding the lock
+     */
+    private int distance(int frame) {
+        return Math.floorMod(frame - this.headFrame, this.frameCount);
+    }
+
+    public ParticleMedia.FrameData process(int currentFrame) {
+        if (this.frameCount == 1) {
+            currentFrame = 0;
+        } else if (currentFrame >= this.frameCount || currentFrame < 0) {
+            throw new RuntimeException(
+                    String.format(
+                            "Cannot get the #%s frame out of a animated image containing %s frame(s)",
+                            currentFrame, this.frameCount
+                    )
+            );
+        }
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("The media processor has been closed");
+            }
+            int distance = this.distance(currentFrame);
+            if (distance >= this.bufferedCount + this.slots.length) {
+                // Out of the decode-ahead window, drop the buffer and restart decoding at the requested frame
+                this.headFrame = currentFrame;
+                this.bufferedCount = 0;
+                this.seekFrame = currentFrame;
+                this.slotFreed.signalAll();
+            } else {
+                // Release every frame played before this one, so the decoder can reuse their arrays
+                int released = Math.min(distance, this.bufferedCount);
+                this.headFrame = (this.headFrame + released) % this.frameCount;
+                this.headSlot = (this.headSlot + released) % this.slots.length;
+                this.bufferedCount -= released;
+                if (released > 0) {
+                    this.slotFreed.signalAll();
+                }
+            }
+            while (this.distance(currentFrame) >= this.bufferedCount) {
+                if (this.failure != null) {
+                    throw this.failure;
+                }
+                if (this.closed) {
+                    throw new IllegalStateException("The media processor has been closed");
+                }
+                this.frameDecoded.awaitUninterruptibly();
+            }
+            return this.slots[(this.headSlot + this.distance(currentFrame)) % this.slots.length];
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void decodeLoop() {
+        try (InputStream file = Files.newInputStream(this.path);
+             ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            ImageReader reader = openReader(in, this.path);
+            int nextFrame = 0;
+            while (true) {
+                this.lock.lock();
+                try {
+                    while (!this.closed && this.seekFrame < 0 && this.bufferedCount == this.slots.length) {
+                        this.slotFreed.awaitUninterruptibly();
+                    }
+                    if (this.closed) {
+                        break;
+                    }
+                    if (this.seekFrame >= 0) {
+                        nextFrame = this.seekFrame;
+                        this.seekFrame = -1;
+                    }
+                } finally {
+                    this.lock.unlock();
+                }
+
+                // Decode outside the lock, the slot is free since it is past the buffered frames
+                BufferedImage image = reader.read(nextFrame);
+
+                this.lock.lock();
+                try {
+                    if (this.closed || this.seekFrame >= 0
+                            || nextFrame != (this.headFrame + this.bufferedCount) % this.frameCount) {
+                        // A seek or close happened while decoding, this frame is no longer wanted
+                        continue;
+                    }
+                    int slot = (this.headSlot + this.bufferedCount) % this.slots.length;
+                    this.store(slot, image);
+                    this.bufferedCount++;
+                    // Keep decoding past the last frame, so looping back to the first one is already buffered
+                    nextFrame = (nextFrame + 1) % this.frameCount;
+                    this.frameDecoded.signalAll();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+            reader.dispose();
+        } catch (IOException | RuntimeException e) {
+            Apel.LOGGER.error("Failed to decode the media at {}", this.path, e);
+            this.lock.lock();
+            try {
+                this.failure = new RuntimeException(e);
+                this.frameDecoded.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void store(int slot, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (this.slotPixels[slot].length < width * height) {
+            this.slotPixels[slot] = new int[width * height];
+        }
+        // Converts to ARGB directly into the reused array, no intermediate image is needed
+        image.getRGB(0, 0, width, height, this.slotPixels[slot], 0, width);
+        ParticleMedia.FrameData data = this.slots[slot];
+        data.frame = this.slotPixels[slot];
+        data.width = width;
+        data.height = height;
+    }
+
+    /** Opens a new processor for the same media, with its own decoder and buffer, since the playback position of a
+     * streaming processor cannot be shared. The frame count is reused rather than counted again
+     *
+     * @return The new processor
+     */
+    @Override
+    public StreamingImageMediaProcessor copy() {
+        return new StreamingImageMediaProcessor(this.path, this.bufferedFrames, this.frameCount);
+    }
+
+    /** Stops the decoder thread and drops the buffered frames. Any later call to {@link #process(int)} fails */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.bufferedCount = 0;
+            for (int i = 0; i < this.slots.length; i++) {
+                this.slotPixels[i] = new int[0];
+                this.slots[i].frame = this.slotPixels[i];
+            }
+            this.slotFreed.signalAll();
+            this.frameDecoded.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
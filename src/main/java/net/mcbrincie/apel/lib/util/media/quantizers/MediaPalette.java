@@ -0,0 +1,199 @@
+package net.mcbrincie.apel.lib.util.media.quantizers;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** A fixed palette of at most 256 opaque colors that frames are quantized to by a {@link MediaQuantizer}. Finding the
+ * closest palette entry of a color goes through a lookup table indexed by the color truncated to 5 bits per channel,
+ * which is built once when the palette is created, so mapping a pixel is a single array read.
+ * <br /> <br />
+ * A palette can be given explicitly with {@link #of(int...)}, or computed from a frame with
+ * {@link #medianCut(ParticleMedia.FrameData, int)}
+ */
+@SuppressWarnings("unused")
+public final class MediaPalette {
+    /** The maximum number of colors a palette can hold */
+    public static final int MAX_SIZE = 256;
+    // Frames are subsampled down to about this many pixels when computing a palette
+    private static final int MAX_SAMPLES = 1 << 16;
+
+    private final int[] colors;
+    private final byte[] lookup = new byte[1 << 15];
+
+    private MediaPalette(int[] colors) {
+        this.colors = colors;
+        for (int key = 0; key < this.lookup.length; key++) {
+            // Center of the 5-bit cell, so the lookup picks the nearest entry for the average color it stands for
+            int r = (key >> 10 & 0x1F) << 3 | 4;
+            int g = (key >> 5 & 0x1F) << 3 | 4;
+            int b = (key & 0x1F) << 3 | 4;
+            this.lookup[key] = (byte) this.searchNearest(r, g, b);
+        }
+    }
+
+    /** Creates a palette out of the given colors, whose alpha is ignored
+     *
+     * @param colors The colors of the palette, between 1 and {@link #MAX_SIZE}
+     * @return The created palette
+     */
+    public static MediaPalette of(int... colors) {
+        if (colors.length < 1 || colors.length > MAX_SIZE) {
+            throw new IllegalArgumentException("A palette must have between 1 and " + MAX_SIZE + " colors");
+        }
+        int[] opaque = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            opaque[i] = colors[i] | 0xFF000000;
+        }
+        return new MediaPalette(opaque);
+    }
+
+    /** Computes a palette for the frame with the median-cut algorithm. The colors of the frame are repeatedly split at the
+     * median of the channel with the widest range in the box holding the most varied colors, until there are
+     * {@code size} boxes; the palette holds the average color of each box
+     *
+     * @param frame The frame to compute the palette of
+     * @param size The maximum number of colors, between 1 and {@link #MAX_SIZE}
+     * @return The computed palette
+     */
+    public static MediaPalette medianCut(ParticleMedia.FrameData frame, int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("A palette must have between 1 and " + MAX_SIZE + " colors");
+        }
+        int pixels = frame.width * frame.height;
+        int stride = Math.max(1, pixels / MAX_SAMPLES);
+        int[] samples = new int[(pixels + stride - 1) / stride];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = frame.frame[i * stride] & 0xFFFFFF;
+        }
+        return medianCut(samples, samples.length, size);
+    }
+
+    // Median-cut over the first count RGB samples, which are reordered in place
+    static MediaPalette medianCut(int[] samples, int count, int size) {
+        if (count == 0) {
+            return of(0);
+        }
+
+        // Boxes are ranges of the samples array, each sorted in place when split
+        List<int[]> boxes = new ArrayList<>();
+        boxes.add(new int[]{0, count});
+        while (boxes.size() < size) {
+            int widest = -1;
+            int widestRange = 0;
+            int widestChannel = 0;
+            for (int i = 0; i < boxes.size(); i++) {
+                int[] box = boxes.get(i);
+                if (box[1] - box[0] < 2) {
+                    continue;
+                }
+                for (int channel = 0; channel < 3; channel++) {
+                    int range = channelRange(samples, box[0], box[1], channel);
+                    if (range > widestRange) {
+                        widest = i;
+                        widestRange = range;
+                        widestChannel = channel;
+                    }
+                }
+            }
+            if (widest < 0) {
+                // Every box holds a single color
+                break;
+            }
+            int[] box = boxes.get(widest);
+            sortByChannel(samples, box[0], box[1], widestChannel);
+            int median = (box[0] + box[1]) >>> 1;
+            boxes.set(widest, new int[]{box[0], median});
+            boxes.add(new int[]{median, box[1]});
+        }
+
+        int[] colors = new int[boxes.size()];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = average(samples, boxes.get(i)[0], boxes.get(i)[1]);
+        }
+        return new MediaPalette(colors);
+    }
+
+    private static int channelRange(int[] samples, int from, int to, int channel) {
+        int shift = 16 - channel * 8;
+        int min = 255;
+        int max = 0;
+        for (int i = from; i < to; i++) {
+            int value = samples[i] >> shift & 0xFF;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return max - min;
+    }
+
+    private static void sortByChannel(int[] samples, int from, int to, int channel) {
+        // Put the channel in the high bits so a plain sort orders by it, flipping the sign bit to sort it unsigned
+        int shift = 16 - channel * 8;
+        for (int i = from; i < to; i++) {
+            samples[i] = ((samples[i] >> shift & 0xFF) << 24 ^ 0x80000000) | samples[i];
+        }
+        Arrays.sort(samples, from, to);
+        for (int i = from; i < to; i++) {
+            samples[i] &= 0xFFFFFF;
+        }
+    }
+
+    private static int average(int[] samples, int from, int to) {
+        long r = 0;
+        long g = 0;
+        long b = 0;
+        for (int i = from; i < to; i++) {
+            r += samples[i] >> 16 & 0xFF;
+            g += samples[i] >> 8 & 0xFF;
+            b += samples[i] & 0xFF;
+        }
+        int count = to - from;
+        return 0xFF000000 | (int) (r / count) << 16 | (int) (g / count) << 8 | (int) (b / count);
+    }
+
+    private int searchNearest(int r, int g, int b) {
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < this.colors.length; i++) {
+            int dr = (this.colors[i] >> 16 & 0xFF) - r;
+            int dg = (this.colors[i] >> 8 & 0xFF) - g;
+            int db = (this.colors[i] & 0xFF) - b;
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /** Gets the number of colors in the palette
+     *
+     * @return The palette size
+     */
+    public int size() {
+        return this.colors.length;
+    }
+
+    /** Gets the color of a palette entry, which is always opaque
+     *
+     * @param entry The index of the entry
+     * @return The ARGB color of the entry
+     */
+    public int getColor(int entry) {
+        return this.colors[entry];
+    }
+
+    /** Gets the palette entry closest to the color, ignoring its alpha
+     *
+     * @param r The red channel, between 0 and 255
+     * @param g The green channel, between 0 and 255
+     * @param b The blue channel, between 0 and 255
+     * @return The index of the closest entry
+     */
+    public int nearest(int r, int g, int b) {
+        return Byte.toUnsignedInt(this.lookup[(r >> 3) << 10 | (g >> 3) << 5 | (b >> 3)]);
+    }
+}
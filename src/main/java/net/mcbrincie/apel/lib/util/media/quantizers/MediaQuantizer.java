@@ -0,0 +1,363 @@
+package net.mcbrincie.apel.lib.util.media.quantizers;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/** The {@link MediaQuantizer} is an optional stage of the {@link ParticleMedia} rendering pipeline, running after the filters
+ * and before the color particle mapper. It maps every pixel of a frame to the closest entry of a fixed {@link MediaPalette},
+ * optionally applying ordered (Bayer) dithering so gradients remain visible with few colors, and groups the pixels by their
+ * palette entry. Particle media then only needs one particle effect per palette entry, and every particle of a group shares it,
+ * which keeps the particle type switches (and the network instructions they cause) down to the number of entries in use.
+ * <br /> <br />
+ * The palette is either given up front, or computed with median-cut once per clip. {@link #prepare} computes it out of
+ * frames spread evenly across the clip before the first one is drawn, so clips that open on black or fade in do not get
+ * the palette of their first frame, and the same colors map to the same entry on every frame. An adaptive quantizer
+ * additionally keeps sampling every frame it quantizes (into a fixed-size reservoir, so frames seen long ago still count)
+ * and rebuilds the palette whenever a frame strays too far from it, which costs a median-cut and a new lookup table on
+ * the drawing thread each time. A quantizer reuses its buffers across frames, so it is not thread-safe and must not be
+ * shared between media that are drawn concurrently
+ */
+@SuppressWarnings("unused")
+public final class MediaQuantizer {
+    // 4x4 Bayer threshold matrix, row-major
+    private static final int[] BAYER = {
+            0, 8, 2, 10,
+            12, 4, 14, 6,
+            3, 11, 1, 9,
+            15, 7, 13, 5
+    };
+    // Pixels sampled out of every frame for the palette and for measuring its error
+    private static final int SAMPLES_PER_FRAME = 4096;
+    // Frames spread across the clip that a computed palette is prepared from
+    private static final int PALETTE_FRAMES = 32;
+    // Pixels kept across frames to compute the palette out of
+    private static final int RESERVOIR_SIZE = 1 << 16;
+    // The palette is not rebuilt while the mean squared error stays below this, about 16 per channel
+    private static final int MIN_REBUILD_ERROR = 3 * 16 * 16;
+
+    private final int paletteSize;
+    private final boolean dither;
+    private final boolean computed;
+    private final boolean adaptive;
+    private MediaPalette palette;
+    private float ditherSpread;
+    private final QuantizedFrame quantized = new QuantizedFrame();
+    private int[] reservoir;
+    private int reservoirCount;
+    private long samplesSeen;
+    // Seeded so the same clip always ends up with the same palettes
+    private final SplittableRandom random = new SplittableRandom(0);
+    private double rebuildError;
+
+    private MediaQuantizer(MediaPalette palette, int paletteSize, boolean dither, boolean adaptive) {
+        this.palette = palette;
+        this.paletteSize = paletteSize;
+        this.dither = dither;
+        this.computed = palette == null;
+        this.adaptive = adaptive;
+        if (palette != null) {
+            this.ditherSpread = spread(palette.size());
+        }
+    }
+
+    /** Constructs a quantizer whose palette of up to {@code paletteSize} colors is computed once with median-cut, out of
+     * the frames given to {@link #prepare}, or out of the first frame quantized if it was not prepared
+     *
+     * @param paletteSize The maximum number of palette colors, between 1 and {@link MediaPalette#MAX_SIZE}
+     * @param dither Whether to apply ordered dithering
+     * @return The constructed quantizer
+     */
+    public static MediaQuantizer medianCut(int paletteSize, boolean dither) {
+        checkPaletteSize(paletteSize);
+        return new MediaQuantizer(null, paletteSize, dither, false);
+    }
+
+    /** Constructs a quantizer whose palette of up to {@code paletteSize} colors is computed with median-cut like
+     * {@link #medianCut(int, boolean)}, and rebuilt out of every frame sampled so far whenever a frame strays too far
+     * from it. Every rebuild computes a new palette and lookup table while drawing, and the same colors may map to other
+     * entries afterward, so this is only worth it for long clips whose colors change entirely
+     *
+     * @param paletteSize The maximum number of palette colors, between 1 and {@link MediaPalette#MAX_SIZE}
+     * @param dither Whether to apply ordered dithering
+     * @return The constructed quantizer
+     */
+    public static MediaQuantizer adaptive(int paletteSize, boolean dither) {
+        checkPaletteSize(paletteSize);
+        return new MediaQuantizer(null, paletteSize, dither, true);
+    }
+
+    private static void checkPaletteSize(int paletteSize) {
+        if (paletteSize < 1 || paletteSize > MediaPalette.MAX_SIZE) {
+            throw new IllegalArgumentException("A palette must have between 1 and " + MediaPalette.MAX_SIZE + " colors");
+        }
+    }
+
+    /** Constructs a quantizer to the given palette
+     *
+     * @param palette The palette to quantize to
+     * @param dither Whether to apply ordered dithering
+     * @return The constructed quantizer
+     */
+    public static MediaQuantizer of(MediaPalette palette, boolean dither) {
+        return new MediaQuantizer(palette, palette.size(), dither, false);
+    }
+
+    /** Gets whether the palette is computed from the frames, rather than given up front
+     *
+     * @return Whether the palette is computed
+     */
+    public boolean isComputed() {
+        return this.computed;
+    }
+
+    /** Gets whether the palette is rebuilt while quantizing, when a frame strays too far from it
+     *
+     * @return Whether the palette is adaptive
+     */
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /** Gets whether ordered dithering is applied
+     *
+     * @return Whether the quantizer dithers
+     */
+    public boolean isDithered() {
+        return this.dither;
+    }
+
+    /** Gets the maximum number of palette colors
+     *
+     * @return The palette size
+     */
+    public int getPaletteSize() {
+        return this.paletteSize;
+    }
+
+    private static float spread(int paletteSize) {
+        // Roughly the distance between palette colors along one channel
+        return 255f / (float) Math.max(1, Math.cbrt(paletteSize));
+    }
+
+    /** Gets the palette frames are quantized to, which is null until it is prepared or the first frame is quantized if
+     * it is computed, and may change between frames if it is adaptive
+     *
+     * @return The palette of the quantizer
+     */
+    public MediaPalette getPalette() {
+        return this.palette;
+    }
+
+    /** Quantizes the frame and groups its pixels by palette entry. The frame is left untouched
+     *
+     * @param data The frame to quantize
+     * @return The quantized frame, reused by the next call
+     */
+    public QuantizedFrame quantize(ParticleMedia.FrameData data) {
+        if (this.palette == null || this.adaptive) {
+            this.sample(data);
+            if (this.palette == null || this.error(data) > this.rebuildError) {
+                this.rebuild();
+                this.rebuildError = Math.max(MIN_REBUILD_ERROR, 2 * this.error(data));
+            }
+        }
+        int width = data.width;
+        int height = data.height;
+        int pixels = width * height;
+        QuantizedFrame out = this.quantized;
+        out.prepare(this.palette, width, height);
+        int[] entries = out.entries;
+        int[] groupStarts = out.groupStarts;
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                int argb = data.frame[row + x];
+                int r = argb >> 16 & 0xFF;
+                int g = argb >> 8 & 0xFF;
+                int b = argb & 0xFF;
+                if (this.dither) {
+                    int offset = (int) ((BAYER[(y & 3) << 2 | (x & 3)] / 16f - 0.5f) * this.ditherSpread);
+                    r = Math.clamp(r + offset, 0, 255);
+                    g = Math.clamp(g + offset, 0, 255);
+                    b = Math.clamp(b + offset, 0, 255);
+                }
+                int entry = this.palette.nearest(r, g, b);
+                entries[row + x] = entry;
+                groupStarts[entry + 1]++;
+            }
+        }
+        // Counting sort of the pixels by entry, the counts become the start of each group
+        for (int entry = 0; entry < this.palette.size(); entry++) {
+            groupStarts[entry + 1] += groupStarts[entry];
+        }
+        int[] cursor = out.cursor;
+        System.arraycopy(groupStarts, 0, cursor, 0, this.palette.size());
+        for (int pixel = 0; pixel < pixels; pixel++) {
+            out.pixels[cursor[entries[pixel]]++] = pixel;
+        }
+        return out;
+    }
+
+    /** Computes the palette out of frames spread evenly across the clip, before any of them is quantized. Does nothing if
+     * the palette was given
+     *
+     * @param frameCount The number of frames of the clip
+     * @param frames The function processing a frame of the clip, whose result is only read until the next call
+     */
+    public void prepare(int frameCount, IntFunction<ParticleMedia.FrameData> frames) {
+        if (!this.computed || frameCount < 1) {
+            return;
+        }
+        int sampledFrames = Math.min(frameCount, PALETTE_FRAMES);
+        for (int i = 0; i < sampledFrames; i++) {
+            this.sample(frames.apply((int) ((long) i * frameCount / sampledFrames)));
+        }
+        this.rebuild();
+        this.rebuildError = MIN_REBUILD_ERROR;
+    }
+
+    private void rebuild() {
+        int[] samples = this.reservoir == null ? new int[0] : Arrays.copyOf(this.reservoir, this.reservoirCount);
+        this.palette = MediaPalette.medianCut(samples, samples.length, this.paletteSize);
+        this.ditherSpread = spread(this.palette.size());
+    }
+
+    /** Samples the pixels of a frame for a computed palette without quantizing it, so that a palette can be built out of
+     * frames spread across a clip up front. Does nothing if the palette was given
+     *
+     * @param data The frame to sample
+     */
+    public void sample(ParticleMedia.FrameData data) {
+        if (!this.computed) {
+            return;
+        }
+        if (this.reservoir == null) {
+            this.reservoir = new int[RESERVOIR_SIZE];
+        }
+        int pixels = data.width * data.height;
+        int stride = Math.max(1, pixels / SAMPLES_PER_FRAME);
+        for (int i = 0; i < pixels; i += stride) {
+            int argb = data.frame[i];
+            if ((argb >>> 24) == 0) {
+                // Fully transparent pixels are never drawn, their color does not matter
+                continue;
+            }
+            // Reservoir sampling, every pixel seen so far has the same chance of being kept
+            this.samplesSeen++;
+            if (this.reservoirCount < this.reservoir.length) {
+                this.reservoir[this.reservoirCount++] = argb & 0xFFFFFF;
+            } else {
+                long slot = this.random.nextLong(this.samplesSeen);
+                if (slot < this.reservoir.length) {
+                    this.reservoir[(int) slot] = argb & 0xFFFFFF;
+                }
+            }
+        }
+    }
+
+    /** Gets a quantizer to a fixed palette, computed from the frames sampled so far if the palette is computed. Media
+     * cached to disk store a single palette, which is taken from here
+     *
+     * @return This quantizer if its palette was given, otherwise a new quantizer to the palette of the sampled frames
+     */
+    public MediaQuantizer fixed() {
+        if (!this.computed) {
+            return this;
+        }
+        int[] samples = this.reservoir == null ? new int[0] : Arrays.copyOf(this.reservoir, this.reservoirCount);
+        return of(MediaPalette.medianCut(samples, samples.length, this.paletteSize), this.dither);
+    }
+
+    // Mean squared error of the frame's sampled pixels against the current palette
+    private double error(ParticleMedia.FrameData data) {
+        int pixels = data.width * data.height;
+        int stride = Math.max(1, pixels / SAMPLES_PER_FRAME);
+        long total = 0;
+        int count = 0;
+        for (int i = 0; i < pixels; i += stride) {
+            int argb = data.frame[i];
+            if ((argb >>> 24) == 0) {
+                continue;
+            }
+            int r = argb >> 16 & 0xFF;
+            int g = argb >> 8 & 0xFF;
+            int b = argb & 0xFF;
+            int color = this.palette.getColor(this.palette.nearest(r, g, b));
+            int dr = (color >> 16 & 0xFF) - r;
+            int dg = (color >> 8 & 0xFF) - g;
+            int db = (color & 0xFF) - b;
+            total += dr * dr + dg * dg + db * db;
+            count++;
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /** A frame quantized by a {@link MediaQuantizer}. The pixels (as {@code y * width + x}) are grouped by palette entry,
+     * the pixels of entry {@code e} being {@code pixels[groupStart(e)]} up to {@code pixels[groupStart(e + 1)]} (exclusive),
+     * in row-major order within each group
+     */
+    public static final class QuantizedFrame {
+        private MediaPalette palette;
+        private int width;
+        private int height;
+        private int[] entries = new int[0];
+        private int[] pixels = new int[0];
+        private final int[] groupStarts = new int[MediaPalette.MAX_SIZE + 1];
+        private final int[] cursor = new int[MediaPalette.MAX_SIZE];
+
+        private QuantizedFrame() {}
+
+        private void prepare(MediaPalette palette, int width, int height) {
+            this.palette = palette;
+            this.width = width;
+            this.height = height;
+            if (this.entries.length < width * height) {
+                this.entries = new int[width * height];
+                this.pixels = new int[width * height];
+            }
+            Arrays.fill(this.groupStarts, 0);
+        }
+
+        public MediaPalette getPalette() {
+            return this.palette;
+        }
+
+        public int getWidth() {
+            return this.width;
+        }
+
+        public int getHeight() {
+            return this.height;
+        }
+
+        /** Gets where the pixels of a palette entry start, {@code groupStart(palette.size())} being the number of pixels
+         *
+         * @param entry The palette entry, up to the palette size (inclusive)
+         * @return The index of the entry's first pixel in {@link #getPixel(int)}
+         */
+        public int groupStart(int entry) {
+            return this.groupStarts[entry];
+        }
+
+        /** Gets a pixel of the grouped order
+         *
+         * @param i The index in the grouped order
+         * @return The pixel, as {@code y * width + x}
+         */
+        public int getPixel(int i) {
+            return this.pixels[i];
+        }
+
+        /** Gets the palette entry of a pixel
+         *
+         * @param pixel The pixel, as {@code y * width + x}
+         * @return The palette entry of the pixel
+         */
+        public int getEntry(int pixel) {
+            return this.entries[pixel];
+        }
+    }
+}
@@ -12,4 +12,13 @@ import net.mcbrincie.apel.lib.objects.ParticleMedia;
 @FunctionalInterface
 public interface MediaResampler {
     void apply(ParticleMedia.FrameData data, float t);
+
+    /** Gets a resampler for a copy of the particle media. Resamplers which reuse buffers across frames return a new
+     * instance, the rest are shared
+     *
+     * @return The resampler to use for the copy
+     */
+    default MediaResampler copy() {
+        return this;
+    }
 }
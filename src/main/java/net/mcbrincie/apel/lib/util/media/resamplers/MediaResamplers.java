@@ -3,6 +3,7 @@ package net.mcbrincie.apel.lib.util.media.resamplers;
 import net.mcbrincie.apel.lib.easing.EasingCurve;
 import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
 import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.MediaTiling;
 import net.minecraft.util.math.ColorHelper;
 
 /** {@link MediaResamplers} offers built-in some commonly used media resamplers such as:
@@ -39,24 +40,7 @@ public class MediaResamplers {
      * @return The constructed nearest neighbor media resampler function
     */
     public static MediaResampler nearestNeighbour(EasingCurve<Integer> destWidth, EasingCurve<Integer> destHeight) {
-        return (data, t) -> {
-            int destW = destWidth.getValue(t);
-            int destH = destHeight.getValue(t);
-            int[] dst = new int[destW * destH];
-            float xRatio = data.width / (float) destW;
-            float yRatio = data.height / (float) destH;
-
-            for (int y = 0; y < destH; y++) {
-                int srcY = Math.min((int)(y * yRatio), data.height - 1);
-                int dstRow = y * destW;
-                int srcRow = srcY * data.width;
-                for (int x = 0; x < destW; x++) {
-                    int srcX = Math.min((int)(x * xRatio), data.width - 1);
-                    dst[dstRow + x] = data.frame[srcRow + srcX];
-                }
-            }
-            data.frame = dst;
-        };
+        return new NearestNeighbourResampler(destWidth, destHeight);
     }
 
     /** Constructs the nearest neighbor media resampler, returning the function to be used. It is one of the fastest
@@ -83,40 +67,7 @@ public class MediaResamplers {
      * @return The constructed bilinear media resampler function
      */
     public static MediaResampler bilinear(EasingCurve<Integer> destWidth, EasingCurve<Integer> destHeight) {
-        return (data, t) -> {
-            int destW = destWidth.getValue(t);
-            int destH = destHeight.getValue(t);
-            int[] dst = new int[destW * destH];
-            float xRatio = (data.width  - 1) / (float)(destW);
-            float yRatio = (data.height  - 1) / (float)(destH);
-
-            for (int y = 0; y < destH; y++) {
-                float fy = y * yRatio;
-                int y0 = (int) fy;
-                int y1 = Math.min(y0 + 1, data.height - 1);
-                float dy = fy - y0;
-                int row0 = y0 * data.width;
-                int row1 = y1 * data.width;
-
-                for (int x = 0; x < destW; x++) {
-                    float fx = x * xRatio;
-                    int x0 = (int) fx;
-                    int x1 = Math.min(x0 + 1, data.width - 1);
-                    float dx = fx - x0;
-
-                    int c00 = data.frame[row0 + x0];
-                    int c10 = data.frame[row0 + x1];
-                    int c01 = data.frame[row1 + x0];
-                    int c11 = data.frame[row1 + x1];
-
-                    int c0 = ColorHelper.lerp(dx, c00, c10);
-                    int c1 = ColorHelper.lerp(dx, c01, c11);
-
-                    dst[y * destW + x] = ColorHelper.lerp(dy, c0, c1);
-                }
-            }
-            data.frame = dst;
-        };
+        return new BilinearResampler(destWidth, destHeight);
     }
 
 
@@ -132,4 +83,159 @@ public class MediaResamplers {
     public static MediaResampler bilinear(int destWidth, int destHeight) {
         return bilinear(new ConstantEasingCurve<>(destWidth), new ConstantEasingCurve<>(destHeight));
     }
+
+    /** Base of the resamplers that precompute where every destination pixel reads from. The tables only depend on the
+     * source and destination dimensions, so they are rebuilt only when one of them changes, and the destination color
+     * array is reused for as long as the destination dimensions stay the same. Destination rows are independent, so
+     * they are split according to the given {@link MediaTiling}.
+     * <br /> <br />
+     * The frame data is given the reused color array, which is overwritten by the next call. As such, a resampler
+     * instance must not be shared between media that are drawn concurrently; copies of a particle media get their own
+     * through {@link #copy()}
+     */
+    private static abstract class CachedResampler implements TiledMediaResampler {
+        protected final EasingCurve<Integer> destWidth;
+        protected final EasingCurve<Integer> destHeight;
+        protected int srcW = -1;
+        protected int srcH = -1;
+        protected int destW = -1;
+        protected int destH = -1;
+        protected int[] destination = new int[0];
+
+        protected CachedResampler(EasingCurve<Integer> destWidth, EasingCurve<Integer> destHeight) {
+            this.destWidth = destWidth;
+            this.destHeight = destHeight;
+        }
+
+        @Override
+        public void apply(ParticleMedia.FrameData data, float t, MediaTiling tiling) {
+            int newDestW = Math.round(this.destWidth.getFloat(t));
+            int newDestH = Math.round(this.destHeight.getFloat(t));
+            if (data.width != this.srcW || data.height != this.srcH || newDestW != this.destW || newDestH != this.destH) {
+                if (newDestW * newDestH != this.destination.length) {
+                    this.destination = new int[newDestW * newDestH];
+                }
+                this.srcW = data.width;
+                this.srcH = data.height;
+                this.destW = newDestW;
+                this.destH = newDestH;
+                this.buildTables();
+            }
+            int[] src = data.frame;
+            int[] dst = this.destination;
+            tiling.forEachRows(this.destW, this.destH, (fromRow, toRow) -> this.resample(src, dst, fromRow, toRow));
+            data.frame = this.destination;
+            data.width = this.destW;
+            data.height = this.destH;
+        }
+
+        protected abstract void buildTables();
+
+        protected abstract void resample(int[] src, int[] dst, int fromRow, int toRow);
+    }
+
+    private static final class NearestNeighbourResampler extends CachedResampler {
+        private int[] srcColumns = new int[0];
+        private int[] srcRows = new int[0];
+
+        private NearestNeighbourResampler(EasingCurve<Integer> destWidth, EasingCurve<Integer> destHeight) {
+            super(destWidth, destHeight);
+        }
+
+        @Override
+        public MediaResampler copy() {
+            return new NearestNeighbourResampler(this.destWidth, this.destHeight);
+        }
+
+        @Override
+        protected void buildTables() {
+            float xRatio = this.srcW / (float) this.destW;
+            float yRatio = this.srcH / (float) this.destH;
+            this.srcColumns = new int[this.destW];
+            this.srcRows = new int[this.destH];
+            for (int x = 0; x < this.destW; x++) {
+                this.srcColumns[x] = Math.min((int) (x * xRatio), this.srcW - 1);
+            }
+            for (int y = 0; y < this.destH; y++) {
+                this.srcRows[y] = Math.min((int) (y * yRatio), this.srcH - 1) * this.srcW;
+            }
+        }
+
+        @Override
+        protected void resample(int[] src, int[] dst, int fromRow, int toRow) {
+            int[] srcColumns = this.srcColumns;
+            int destW = this.destW;
+            for (int y = fromRow; y < toRow; y++) {
+                int srcRow = this.srcRows[y];
+                int dstRow = y * destW;
+                for (int x = 0; x < destW; x++) {
+                    dst[dstRow + x] = src[srcRow + srcColumns[x]];
+                }
+            }
+        }
+    }
+
+    private static final class BilinearResampler extends CachedResampler {
+        private int[] x0 = new int[0];
+        private int[] x1 = new int[0];
+        private float[] dx = new float[0];
+        private int[] row0 = new int[0];
+        private int[] row1 = new int[0];
+        private float[] dy = new float[0];
+
+        private BilinearResampler(EasingCurve<Integer> destWidth, EasingCurve<Integer> destHeight) {
+            super(destWidth, destHeight);
+        }
+
+        @Override
+        public MediaResampler copy() {
+            return new BilinearResampler(this.destWidth, this.destHeight);
+        }
+
+        @Override
+        protected void buildTables() {
+            float xRatio = (this.srcW - 1) / (float) this.destW;
+            float yRatio = (this.srcH - 1) / (float) this.destH;
+            this.x0 = new int[this.destW];
+            this.x1 = new int[this.destW];
+            this.dx = new float[this.destW];
+            for (int x = 0; x < this.destW; x++) {
+                float fx = x * xRatio;
+                this.x0[x] = (int) fx;
+                this.x1[x] = Math.min(this.x0[x] + 1, this.srcW - 1);
+                this.dx[x] = fx - this.x0[x];
+            }
+            this.row0 = new int[this.destH];
+            this.row1 = new int[this.destH];
+            this.dy = new float[this.destH];
+            for (int y = 0; y < this.destH; y++) {
+                float fy = y * yRatio;
+                int y0 = (int) fy;
+                this.row0[y] = y0 * this.srcW;
+                this.row1[y] = Math.min(y0 + 1, this.srcH - 1) * this.srcW;
+                this.dy[y] = fy - y0;
+            }
+        }
+
+        @Override
+        protected void resample(int[] src, int[] dst, int fromRow, int toRow) {
+            int destW = this.destW;
+            for (int y = fromRow; y < toRow; y++) {
+                int row0 = this.row0[y];
+                int row1 = this.row1[y];
+                float dy = this.dy[y];
+                int dstRow = y * destW;
+                for (int x = 0; x < destW; x++) {
+                    int x0 = this.x0[x];
+                    int x1 = this.x1[x];
+                    float dx = this.dx[x];
+
+                    int c0 = ColorHelper.lerp(dx, src[row0 + x0], src[row0 + x1]);
+                    int c1 = ColorHelper.lerp(dx, src[row1 + x0], src[row1 + x1]);
+
+                    dst[dstRow + x] = ColorHelper.lerp(dy, c0, c1);
+                }
+            }
+        }
+    }
 }
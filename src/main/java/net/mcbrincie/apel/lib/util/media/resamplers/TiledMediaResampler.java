@@ -0,0 +1,20 @@
+package net.mcbrincie.apel.lib.util.media.resamplers;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.MediaTiling;
+
+/** This is the {@link TiledMediaResampler} interface. It is a {@link MediaResampler} whose destination rows can be computed
+ * independently of each other, so {@link ParticleMedia} can split the work into row tiles according to its
+ * {@link MediaTiling}. The builtin nearest neighbour and bilinear resamplers in {@link MediaResamplers} are tiled
+ *
+ * @see MediaTiling
+ * @see MediaResamplers
+ */
+public interface TiledMediaResampler extends MediaResampler {
+    void apply(ParticleMedia.FrameData data, float t, MediaTiling tiling);
+
+    @Override
+    default void apply(ParticleMedia.FrameData data, float t) {
+        this.apply(data, t, MediaTiling.SEQUENTIAL);
+    }
+}
@@ -1,10 +1,419 @@
 package net.mcbrincie.apel.lib.util.models;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import net.mcbrincie.apel.Apel;
+import net.mcbrincie.apel.lib.exceptions.MalformedModelException;
+import org.joml.Vector3f;
+
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 
+/**
+ * Parses a glTF 2.0 file, either the binary container (*.glb) or the JSON one (*.gltf), into an {@link ObjModel}.
+ * <p>
+ * The file and any external buffers are memory-mapped, and the position and index accessors of the triangle
+ * primitives are viewed in place through an {@link IndexedMesh}, so nothing is copied into objects. Only when a file
+ * contains more than one triangle primitive are they merged into a single mesh, which copies them once at load.
+ * <p>
+ * Node transforms, materials, textures, skins and animations are ignored; meshes are read in their local space.
+ * Sparse accessors, and accessors without a buffer view, are densified into a copy at load.
+ * <p>
+ * Every property the parser relies on is validated before it is used, and files that do not follow the specification
+ * are logged as malformed and parse into an empty model.
+ */
 public class GltfParser implements ModelParser {
+    private static final int GLB_MAGIC = 0x46546C67;
+    private static final int GLB_HEADER_SIZE = 12;
+    private static final int CHUNK_JSON = 0x4E4F534A;
+    private static final int CHUNK_BIN = 0x004E4942;
+
+    private static final int MODE_TRIANGLES = 4;
+    private static final int COMPONENT_UNSIGNED_BYTE = 5121;
+    private static final int COMPONENT_UNSIGNED_SHORT = 5123;
+    private static final int COMPONENT_UNSIGNED_INT = 5125;
+    private static final int COMPONENT_FLOAT = 5126;
+
+    /**
+     * Read the file indicated by {@code modelFile} and load it into an {@link ObjModel} for use in a
+     * {@code ParticleModel}.
+     *
+     * @param modelFile a File containing the model
+     * @return an ObjModel instance, whose faces and polylines are empty
+     */
     @Override
-    public ObjModel parse(File file) {
-        return null;
+    public ObjModel parse(File modelFile) {
+        Path path = modelFile.toPath();
+        try {
+            ByteBuffer file = map(path);
+            if (file.remaining() >= GLB_HEADER_SIZE && file.getInt(0) == GLB_MAGIC) {
+                return ObjModel.of(this.parseBinary(file, path));
+            }
+            JsonObject gltf = parseJson(file);
+            return ObjModel.of(this.parseMeshes(gltf, this.loadBuffers(gltf, null, path)));
+        } catch (IOException e) {
+            Apel.LOGGER.error("glTF Model File Could Not Be Read", e);
+        } catch (MalformedModelException | JsonParseException e) {
+            Apel.LOGGER.error("glTF Model File Is Malformed", e);
+        }
+        return ObjModel.of(IndexedMesh.EMPTY);
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private static JsonObject parseJson(ByteBuffer json) {
+        JsonElement element = JsonParser.parseString(StandardCharsets.UTF_8.decode(json).toString());
+        if (!element.isJsonObject()) {
+            throw new MalformedModelException("The glTF JSON must be an object");
+        }
+        return element.getAsJsonObject();
+    }
+
+    private IndexedMesh parseBinary(ByteBuffer file, Path path) throws IOException {
+        int version = file.getInt(4);
+        if (version != 2) {
+            throw new MalformedModelException("Only glTF version 2 is supported, found version " + version);
+        }
+        int length = Math.min(file.getInt(8), file.limit());
+        JsonObject gltf = null;
+        ByteBuffer binChunk = null;
+        int offset = GLB_HEADER_SIZE;
+        while (offset + 8 <= length) {
+            int chunkLength = file.getInt(offset);
+            int chunkType = file.getInt(offset + 4);
+            if (chunkLength < 0 || chunkLength > length - offset - 8) {
+                throw new MalformedModelException("A binary glTF chunk extends past the end of the file");
+            }
+            ByteBuffer chunk = file.slice(offset + 8, chunkLength).order(ByteOrder.LITTLE_ENDIAN);
+            if (chunkType == CHUNK_JSON) {
+                gltf = parseJson(chunk);
+            } else if (chunkType == CHUNK_BIN && binChunk == null) {
+                binChunk = chunk;
+            }
+            // Chunks are padded to 4-byte boundaries
+            offset += 8 + ((chunkLength + 3) & ~3);
+        }
+        if (gltf == null) {
+            throw new MalformedModelException("The binary glTF file has no JSON chunk");
+        }
+        return this.parseMeshes(gltf, this.loadBuffers(gltf, binChunk, path));
+    }
+
+    private List<ByteBuffer> loadBuffers(JsonObject gltf, ByteBuffer binChunk, Path path) throws IOException {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        if (!gltf.has("buffers")) {
+            return buffers;
+        }
+        JsonArray bufferList = array(gltf, "buffers");
+        for (int i = 0; i < bufferList.size(); i++) {
+            JsonObject buffer = object(bufferList, i, "buffer");
+            if (!buffer.has("uri")) {
+                // Only the first buffer of a *.glb file may omit the uri, it refers to the binary chunk
+                if (binChunk == null || !buffers.isEmpty()) {
+                    throw new MalformedModelException("A glTF buffer without an uri has no binary chunk to refer to");
+                }
+                buffers.add(binChunk);
+                continue;
+            }
+            String uri = string(buffer, "uri");
+            if (uri.startsWith("data:")) {
+                String data = uri.substring(uri.indexOf(',') + 1);
+                try {
+                    buffers.add(ByteBuffer.wrap(Base64.getDecoder().decode(data)).order(ByteOrder.LITTLE_ENDIAN));
+                } catch (IllegalArgumentException e) {
+                    throw new MalformedModelException("The data uri of glTF buffer " + i + " is not base64", e);
+                }
+            } else {
+                Path bufferPath;
+                try {
+                    bufferPath = path.resolveSibling(uri);
+                } catch (InvalidPathException e) {
+                    throw new MalformedModelException("The uri of glTF buffer " + i + " is not a valid path", e);
+                }
+                buffers.add(map(bufferPath));
+            }
+        }
+        return buffers;
+    }
+
+    private IndexedMesh parseMeshes(JsonObject gltf, List<ByteBuffer> buffers) {
+        List<IndexedMesh> primitives = new ArrayList<>();
+        if (gltf.has("meshes")) {
+            JsonArray meshes = array(gltf, "meshes");
+            for (int m = 0; m < meshes.size(); m++) {
+                JsonArray primitiveList = array(object(meshes, m, "mesh"), "primitives");
+                for (int p = 0; p < primitiveList.size(); p++) {
+                    JsonObject primitive = object(primitiveList, p, "primitive");
+                    int mode = optionalInteger(primitive, "mode", MODE_TRIANGLES);
+                    if (mode != MODE_TRIANGLES) {
+                        // Points, lines, strips and fans have no faces to draw in the wireframe
+                        continue;
+                    }
+                    primitives.add(this.parsePrimitive(gltf, buffers, primitive));
+                }
+            }
+        }
+        return switch (primitives.size()) {
+            case 0 -> IndexedMesh.EMPTY;
+            case 1 -> primitives.getFirst();
+            default -> merge(primitives);
+        };
+    }
+
+    private IndexedMesh parsePrimitive(JsonObject gltf, List<ByteBuffer> buffers, JsonObject primitive) {
+        JsonArray accessors = array(gltf, "accessors");
+        JsonObject attributes = object(primitive, "attributes");
+        if (!attributes.has("POSITION")) {
+            throw new MalformedModelException("A glTF primitive has no POSITION attribute");
+        }
+        int positionIndex = integer(attributes, "POSITION");
+        JsonObject positionAccessor = object(accessors, positionIndex, "accessor");
+        if (integer(positionAccessor, "componentType") != COMPONENT_FLOAT
+                || !string(positionAccessor, "type").equals("VEC3")) {
+            throw new MalformedModelException(
+                    "The POSITION attribute of a glTF primitive must be a float VEC3, see accessor " + positionIndex
+            );
+        }
+        int vertexCount = count(positionAccessor, positionIndex);
+        AccessorView positions = this.view(gltf, buffers, positionAccessor, positionIndex, 3 * Float.BYTES);
+
+        if (!primitive.has("indices")) {
+            triangleCount(vertexCount, positionIndex);
+            return new IndexedMesh(positions.buffer, positions.stride, vertexCount, null, 0, vertexCount, null);
+        }
+        int indicesIndex = integer(primitive, "indices");
+        JsonObject indexAccessor = object(accessors, indicesIndex, "accessor");
+        int indexSize = indexSize(integer(indexAccessor, "componentType"), indicesIndex);
+        int indexCount = triangleCount(count(indexAccessor, indicesIndex), indicesIndex);
+        AccessorView indices = this.view(gltf, buffers, indexAccessor, indicesIndex, indexSize);
+        IndexedMesh mesh = new IndexedMesh(
+                positions.buffer, positions.stride, vertexCount, indices.buffer, indexSize, indexCount, null
+        );
+        // The mesh reads lazily, so validate the indices now rather than failing while drawing
+        for (int i = 0; i < indexCount; i++) {
+            int vertex = mesh.getIndex(i);
+            if (vertex < 0 || vertex >= vertexCount) {
+                throw new MalformedModelException(String.format(
+                        "The glTF accessor %d refers to vertex %d, but only %d vertices exist",
+                        indicesIndex, vertex, vertexCount
+                ));
+            }
+        }
+        return mesh;
+    }
+
+    private static int indexSize(int componentType, int accessorIndex) {
+        return switch (componentType) {
+            case COMPONENT_UNSIGNED_BYTE -> 1;
+            case COMPONENT_UNSIGNED_SHORT -> 2;
+            case COMPONENT_UNSIGNED_INT -> 4;
+            default -> throw new MalformedModelException(
+                    "The indices of a glTF accessor must be unsigned integers, see accessor " + accessorIndex
+            );
+        };
+    }
+
+    /** The elements of an accessor, {@code stride} bytes apart */
+    private record AccessorView(ByteBuffer buffer, int stride) {}
+
+    private AccessorView view(JsonObject gltf, List<ByteBuffer> buffers, JsonObject accessor, int accessorIndex,
+                              int elementSize) {
+        int count = count(accessor, accessorIndex);
+        AccessorView base;
+        if (accessor.has("bufferView")) {
+            JsonObject bufferView = this.bufferView(gltf, accessor);
+            int stride = optionalInteger(bufferView, "byteStride", elementSize);
+            if (stride < elementSize) {
+                throw new MalformedModelException(
+                        "The byte stride of a glTF buffer view is smaller than its elements, see accessor "
+                                + accessorIndex
+                );
+            }
+            long length = count == 0 ? 0 : (long) stride * (count - 1) + elementSize;
+            base = new AccessorView(this.slice(buffers, bufferView, offset(accessor), length), stride);
+        } else {
+            // An accessor without a buffer view is initialized with zeros
+            ByteBuffer zeros = ByteBuffer.allocate(size(count, elementSize, accessorIndex)).order(ByteOrder.LITTLE_ENDIAN);
+            base = new AccessorView(zeros, elementSize);
+        }
+        if (!accessor.has("sparse")) {
+            return base;
+        }
+        return this.densify(gltf, buffers, object(accessor, "sparse"), accessorIndex, base, count, elementSize);
+    }
+
+    private AccessorView densify(JsonObject gltf, List<ByteBuffer> buffers, JsonObject sparse, int accessorIndex,
+                                 AccessorView base, int count, int elementSize) {
+        ByteBuffer dense = ByteBuffer.allocate(size(count, elementSize, accessorIndex))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            dense.put(i * elementSize, base.buffer, i * base.stride, elementSize);
+        }
+        int sparseCount = count(sparse, accessorIndex);
+        JsonObject sparseIndices = object(sparse, "indices");
+        JsonObject sparseValues = object(sparse, "values");
+        int indexSize = indexSize(integer(sparseIndices, "componentType"), accessorIndex);
+        ByteBuffer indices = this.slice(
+                buffers, this.bufferView(gltf, sparseIndices), offset(sparseIndices), (long) sparseCount * indexSize
+        );
+        ByteBuffer values = this.slice(
+                buffers, this.bufferView(gltf, sparseValues), offset(sparseValues), (long) sparseCount * elementSize
+        );
+        for (int i = 0; i < sparseCount; i++) {
+            int target = switch (indexSize) {
+                case 1 -> Byte.toUnsignedInt(indices.get(i));
+                case 2 -> Short.toUnsignedInt(indices.getShort(i * 2));
+                default -> indices.getInt(i * 4);
+            };
+            if (target < 0 || target >= count) {
+                throw new MalformedModelException(String.format(
+                        "The sparse glTF accessor %d replaces element %d, but only %d elements exist",
+                        accessorIndex, target, count
+                ));
+            }
+            dense.put(target * elementSize, values, i * elementSize, elementSize);
+        }
+        return new AccessorView(dense, elementSize);
+    }
+
+    private JsonObject bufferView(JsonObject gltf, JsonObject reference) {
+        return object(array(gltf, "bufferViews"), integer(reference, "bufferView"), "buffer view");
+    }
+
+    private static int offset(JsonObject reference) {
+        return optionalInteger(reference, "byteOffset", 0);
+    }
+
+    private ByteBuffer slice(List<ByteBuffer> buffers, JsonObject bufferView, int offset, long length) {
+        int bufferIndex = integer(bufferView, "buffer");
+        if (bufferIndex < 0 || bufferIndex >= buffers.size()) {
+            throw new MalformedModelException("A glTF buffer view refers to the missing buffer " + bufferIndex);
+        }
+        ByteBuffer buffer = buffers.get(bufferIndex);
+        long start = (long) offset(bufferView) + offset;
+        if (start < 0 || length < 0 || start + length > buffer.limit()) {
+            throw new MalformedModelException(String.format(
+                    "A glTF buffer view reads %d bytes at %d, past the end of buffer %d", length, start, bufferIndex
+            ));
+        }
+        return buffer.slice((int) start, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int count(JsonObject accessor, int accessorIndex) {
+        int count = integer(accessor, "count");
+        if (count < 0) {
+            throw new MalformedModelException("The count of glTF accessor " + accessorIndex + " is negative");
+        }
+        return count;
+    }
+
+    private static int triangleCount(int count, int accessorIndex) {
+        if (count % 3 != 0) {
+            throw new MalformedModelException(
+                    "A glTF triangle primitive needs a multiple of three vertices, see accessor " + accessorIndex
+            );
+        }
+        return count;
+    }
+
+    private static int size(int count, int elementSize, int accessorIndex) {
+        long size = (long) count * elementSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new MalformedModelException("The glTF accessor " + accessorIndex + " is too large");
+        }
+        return (int) size;
+    }
+
+    private static JsonObject object(JsonObject parent, String name) {
+        JsonElement element = parent.get(name);
+        if (element == null || !element.isJsonObject()) {
+            throw new MalformedModelException("The glTF property \"" + name + "\" must be an object");
+        }
+        return element.getAsJsonObject();
+    }
+
+    private static JsonObject object(JsonArray array, int index, String kind) {
+        if (index < 0 || index >= array.size() || !array.get(index).isJsonObject()) {
+            throw new MalformedModelException("The glTF " + kind + " " + index + " does not exist");
+        }
+        return array.get(index).getAsJsonObject();
+    }
+
+    private static JsonArray array(JsonObject parent, String name) {
+        JsonElement element = parent.get(name);
+        if (element == null || !element.isJsonArray()) {
+            throw new MalformedModelException("The glTF property \"" + name + "\" must be an array");
+        }
+        return element.getAsJsonArray();
+    }
+
+    private static int integer(JsonObject parent, String name) {
+        JsonElement element = parent.get(name);
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+            throw new MalformedModelException("The glTF property \"" + name + "\" must be an integer");
+        }
+        double value = element.getAsDouble();
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new MalformedModelException("The glTF property \"" + name + "\" must be an integer");
+        }
+        return (int) value;
+    }
+
+    private static int optionalInteger(JsonObject parent, String name, int defaultValue) {
+        return parent.has(name) ? integer(parent, name) : defaultValue;
+    }
+
+    private static String string(JsonObject parent, String name) {
+        JsonElement element = parent.get(name);
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
+            throw new MalformedModelException("The glTF property \"" + name + "\" must be a string");
+        }
+        return element.getAsString();
+    }
+
+    private static IndexedMesh merge(List<IndexedMesh> primitives) {
+        int vertexCount = 0;
+        int indexCount = 0;
+        for (IndexedMesh primitive : primitives) {
+            vertexCount += primitive.getVertexCount();
+            indexCount += primitive.getIndexCount();
+        }
+        float[] positions = new float[vertexCount * 3];
+        int[] indices = new int[indexCount];
+        Vector3f position = new Vector3f();
+        int vertexBase = 0;
+        int i = 0;
+        for (IndexedMesh primitive : primitives) {
+            for (int v = 0; v < primitive.getVertexCount(); v++) {
+                primitive.getPosition(v, position);
+                int offset = (vertexBase + v) * 3;
+                positions[offset] = position.x;
+                positions[offset + 1] = position.y;
+                positions[offset + 2] = position.z;
+            }
+            for (int j = 0; j < primitive.getIndexCount(); j++) {
+                indices[i++] = vertexBase + primitive.getIndex(j);
+            }
+            vertexBase += primitive.getVertexCount();
+        }
+        return IndexedMesh.triangles(positions, indices);
     }
 }
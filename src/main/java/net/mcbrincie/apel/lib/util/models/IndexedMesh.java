@@ -0,0 +1,176 @@
+package net.mcbrincie.apel.lib.util.models;
+
+import org.joml.Vector3f;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Represents a read-only, indexed polygon mesh. Unlike the faces of an {@link ObjModel}, the vertex positions and the
+ * face indices are not stored as objects, instead they are read in place from (little-endian) byte buffers. This
+ * allows binary model formats such as glTF to hand over a view of the file's buffers (which may be memory-mapped)
+ * without copying them.
+ * <p>
+ * Positions are three consecutive floats per vertex, separated by {@code positionStride} bytes. Indices may be
+ * unsigned 8, 16 or 32-bit integers. When no index buffer is supplied, the vertices are used in order. Faces are
+ * triangles unless {@code faceOffsets} is supplied, in which case face {@code f} uses the indices from
+ * {@code faceOffsets[f]} (inclusive) to {@code faceOffsets[f + 1]} (exclusive).
+ * <p>
+ * Reads never modify the buffers' positions, so a mesh may be shared by multiple particle objects and threads.
+ */
+public final class IndexedMesh {
+    public static final IndexedMesh EMPTY = IndexedMesh.triangles(new float[0], new int[0]);
+
+    private final ByteBuffer positions;
+    private final int positionStride;
+    private final int vertexCount;
+    private final ByteBuffer indices;
+    private final int indexSize;
+    private final int indexCount;
+    private final int[] faceOffsets;
+
+    /**
+     * Creates a mesh that views the given buffers. The buffers are sliced, so later changes to their position or
+     * byte order do not affect the mesh.
+     *
+     * @param positions The buffer holding the vertex positions, starting at its current position
+     * @param positionStride The number of bytes between the start of two consecutive positions
+     * @param vertexCount The number of vertices
+     * @param indices The buffer holding the indices starting at its current position, or null for non-indexed meshes
+     * @param indexSize The size in bytes of one index (1, 2 or 4)
+     * @param indexCount The number of indices
+     * @param faceOffsets The offsets of each face into the indices, or null if the mesh only consists of triangles
+     */
+    public IndexedMesh(ByteBuffer positions, int positionStride, int vertexCount,
+                       ByteBuffer indices, int indexSize, int indexCount, int[] faceOffsets) {
+        if (positionStride < 12) {
+            throw new IllegalArgumentException("The position stride must at least hold three floats");
+        }
+        if (indices != null && indexSize != 1 && indexSize != 2 && indexSize != 4) {
+            throw new IllegalArgumentException("The index size must be 1, 2 or 4 bytes");
+        }
+        if (faceOffsets == null && indexCount % 3 != 0) {
+            throw new IllegalArgumentException("A triangle mesh must have a multiple of three indices");
+        }
+        this.positions = positions.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.positionStride = positionStride;
+        this.vertexCount = vertexCount;
+        this.indices = indices == null ? null : indices.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.indexSize = indexSize;
+        this.indexCount = indices == null ? vertexCount : indexCount;
+        this.faceOffsets = faceOffsets;
+    }
+
+    /**
+     * Creates a triangle mesh out of flat position (xyz per vertex) and index arrays.
+     *
+     * @param positions The vertex positions
+     * @param indices The indices, three per triangle
+     * @return The constructed mesh
+     */
+    public static IndexedMesh triangles(float[] positions, int[] indices) {
+        return IndexedMesh.of(positions, indices, null);
+    }
+
+    /**
+     * Creates a polygon mesh out of flat position (xyz per vertex) and index arrays.
+     *
+     * @param positions The vertex positions
+     * @param indices The indices of all faces, one after another
+     * @param faceOffsets The offsets of each face into the indices (plus a trailing offset equal to the index
+     *         count), or null if the mesh only consists of triangles
+     * @return The constructed mesh
+     */
+    public static IndexedMesh of(float[] positions, int[] indices, int[] faceOffsets) {
+        ByteBuffer positionBuffer = ByteBuffer.allocate(positions.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        positionBuffer.asFloatBuffer().put(positions);
+        ByteBuffer indexBuffer = ByteBuffer.allocate(indices.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        indexBuffer.asIntBuffer().put(indices);
+        return new IndexedMesh(
+                positionBuffer, 3 * Float.BYTES, positions.length / 3,
+                indexBuffer, Integer.BYTES, indices.length, faceOffsets
+        );
+    }
+
+    /** Gets the number of vertices the mesh has.
+     *
+     * @return The number of vertices
+     */
+    public int getVertexCount() {
+        return this.vertexCount;
+    }
+
+    /** Gets the number of indices the mesh has, all faces included.
+     *
+     * @return The number of indices
+     */
+    public int getIndexCount() {
+        return this.indexCount;
+    }
+
+    /** Gets the number of faces the mesh has.
+     *
+     * @return The number of faces
+     */
+    public int getFaceCount() {
+        return this.faceOffsets == null ? this.indexCount / 3 : this.faceOffsets.length - 1;
+    }
+
+    /** Checks if every face of the mesh is a triangle.
+     *
+     * @return Whether the mesh only consists of triangles
+     */
+    public boolean isTriangulated() {
+        return this.faceOffsets == null;
+    }
+
+    /** Gets the number of vertices that make up a specific face.
+     *
+     * @param face The index of the face
+     * @return The number of vertices in the face
+     */
+    public int getFaceSize(int face) {
+        return this.faceOffsets == null ? 3 : this.faceOffsets[face + 1] - this.faceOffsets[face];
+    }
+
+    /** Gets the vertex index used by a corner of a face.
+     *
+     * @param face The index of the face
+     * @param corner The corner of the face, must be lower than {@link #getFaceSize(int)}
+     * @return The index of the vertex
+     */
+    public int getFaceVertex(int face, int corner) {
+        return this.getIndex(this.faceOffsets == null ? face * 3 + corner : this.faceOffsets[face] + corner);
+    }
+
+    /** Gets the vertex index stored at a position of the index buffer.
+     *
+     * @param i The position in the index buffer
+     * @return The index of the vertex
+     */
+    public int getIndex(int i) {
+        if (this.indices == null) {
+            return i;
+        }
+        return switch (this.indexSize) {
+            case 1 -> Byte.toUnsignedInt(this.indices.get(i));
+            case 2 -> Short.toUnsignedInt(this.indices.getShort(i * 2));
+            default -> this.indices.getInt(i * 4);
+        };
+    }
+
+    /** Reads the position of a vertex into the destination vector and returns it.
+     *
+     * @param vertex The index of the vertex
+     * @param dest The vector to write the position into
+     * @return The destination vector
+     */
+    public Vector3f getPosition(int vertex, Vector3f dest) {
+        int offset = vertex * this.positionStride;
+        return dest.set(
+                this.positions.getFloat(offset),
+                this.positions.getFloat(offset + 4),
+                this.positions.getFloat(offset + 8)
+        );
+    }
+}
@@ -0,0 +1,247 @@
+package net.mcbrincie.apel.lib.util.models;
+
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Samples points spread over the surface of an {@link IndexedMesh}. Polygonal faces are split into triangle fans,
+ * and the area of every triangle is accumulated into a table once, when the sampler is created. A sample then picks
+ * its triangle by binary searching that table, so larger triangles receive proportionally more points regardless of
+ * how finely the mesh is tessellated.
+ * <p>
+ * Two distributions are offered:
+ * <ul>
+ *     <li>{@link #sampleSurface(int, long)} stratifies the area table, so points are uniform over the surface
+ *     without large gaps, but they may still clump locally</li>
+ *     <li>{@link #samplePoissonDisk(int, long)} produces blue noise, points keep a minimum distance from each other,
+ *     at a higher one-time cost</li>
+ * </ul>
+ * Both return exactly {@code amount} points as a flat array (xyz per point) in the mesh's local space, and are
+ * deterministic for a given seed. A sampler is immutable once created and may be shared between threads.
+ */
+@SuppressWarnings("unused")
+public final class MeshSampler {
+    // Candidates generated per requested point when eliminating down to a Poisson-disk set
+    private static final int POISSON_CANDIDATES = 6;
+    // Fraction of the hexagonal packing distance used as the minimum distance, low enough for greedy acceptance
+    // to reach the budget before running out of candidates
+    private static final double POISSON_RADIUS_FACTOR = 0.65;
+
+    private final IndexedMesh mesh;
+    private final int[] triangles;
+    private final double[] cumulativeArea;
+    private final double totalArea;
+
+    /**
+     * Creates a sampler for the given mesh, building its cumulative area table.
+     *
+     * @param mesh The mesh to sample
+     */
+    public MeshSampler(IndexedMesh mesh) {
+        this.mesh = mesh;
+        int triangleCount = 0;
+        for (int face = 0; face < mesh.getFaceCount(); face++) {
+            triangleCount += Math.max(0, mesh.getFaceSize(face) - 2);
+        }
+        this.triangles = new int[triangleCount * 3];
+        this.cumulativeArea = new double[triangleCount];
+
+        Vector3f a = new Vector3f();
+        Vector3f b = new Vector3f();
+        Vector3f c = new Vector3f();
+        double area = 0;
+        int t = 0;
+        for (int face = 0; face < mesh.getFaceCount(); face++) {
+            int first = mesh.getFaceVertex(face, 0);
+            for (int corner = 1; corner < mesh.getFaceSize(face) - 1; corner++) {
+                int second = mesh.getFaceVertex(face, corner);
+                int third = mesh.getFaceVertex(face, corner + 1);
+                mesh.getPosition(first, a);
+                mesh.getPosition(second, b).sub(a);
+                mesh.getPosition(third, c).sub(a);
+                area += 0.5 * b.cross(c).length();
+                this.triangles[t * 3] = first;
+                this.triangles[t * 3 + 1] = second;
+                this.triangles[t * 3 + 2] = third;
+                this.cumulativeArea[t++] = area;
+            }
+        }
+        this.totalArea = area;
+    }
+
+    /** Gets the mesh this sampler was created for.
+     *
+     * @return The sampled mesh
+     */
+    public IndexedMesh getMesh() {
+        return this.mesh;
+    }
+
+    /** Gets the total surface area of the mesh.
+     *
+     * @return The surface area
+     */
+    public double getSurfaceArea() {
+        return this.totalArea;
+    }
+
+    /**
+     * Samples {@code amount} points uniformly over the surface of the mesh. The area table is split into
+     * {@code amount} equal strata with one point jittered inside each, which spreads the points more evenly than
+     * independent random picks.
+     *
+     * @param amount The number of points
+     * @param seed The seed of the random jitter
+     * @return The points, three floats (xyz) per point
+     */
+    public float[] sampleSurface(int amount, long seed) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("The amount of samples cannot be negative");
+        }
+        float[] points = new float[amount * 3];
+        if (this.totalArea <= 0) {
+            // Degenerate meshes have nowhere to put points, collapse them onto the first vertex if there is one
+            if (this.mesh.getVertexCount() > 0) {
+                Vector3f origin = this.mesh.getPosition(0, new Vector3f());
+                for (int i = 0; i < amount; i++) {
+                    points[i * 3] = origin.x;
+                    points[i * 3 + 1] = origin.y;
+                    points[i * 3 + 2] = origin.z;
+                }
+            }
+            return points;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        Vector3f a = new Vector3f();
+        Vector3f b = new Vector3f();
+        Vector3f c = new Vector3f();
+        for (int i = 0; i < amount; i++) {
+            double target = (i + random.nextDouble()) / amount * this.totalArea;
+            int t = this.findTriangle(target);
+            this.mesh.getPosition(this.triangles[t * 3], a);
+            this.mesh.getPosition(this.triangles[t * 3 + 1], b);
+            this.mesh.getPosition(this.triangles[t * 3 + 2], c);
+
+            // Uniform barycentric coordinates, folding the upper half of the parallelogram back into the triangle
+            float u = (float) random.nextDouble();
+            float v = (float) random.nextDouble();
+            if (u + v > 1) {
+                u = 1 - u;
+                v = 1 - v;
+            }
+            float w = 1 - u - v;
+            points[i * 3] = w * a.x + u * b.x + v * c.x;
+            points[i * 3 + 1] = w * a.y + u * b.y + v * c.y;
+            points[i * 3 + 2] = w * a.z + u * b.z + v * c.z;
+        }
+        return points;
+    }
+
+    /**
+     * Samples {@code amount} points over the surface of the mesh with a blue-noise (Poisson-disk) distribution.
+     * Uniform candidates are generated and greedily accepted when no already accepted point lies within the minimum
+     * distance, using a spatial hash grid for the neighbour lookups. Should the surface fill up before the budget
+     * is reached, the remaining points are taken from the rejected candidates, so exactly {@code amount} points are
+     * returned.
+     *
+     * @param amount The number of points
+     * @param seed The seed of the candidate generation
+     * @return The points, three floats (xyz) per point
+     */
+    public float[] samplePoissonDisk(int amount, long seed) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("The amount of samples cannot be negative");
+        }
+        float[] candidates = this.sampleSurface(amount * POISSON_CANDIDATES, seed);
+        if (this.totalArea <= 0 || amount == 0) {
+            return Arrays.copyOf(candidates, amount * 3);
+        }
+        shuffle(candidates, new SplittableRandom(~seed));
+
+        // Distance between neighbours when the points are packed hexagonally over the whole area
+        double packing = Math.sqrt(2 * this.totalArea / (Math.sqrt(3) * amount));
+        float radius = (float) (packing * POISSON_RADIUS_FACTOR);
+        float radiusSquared = radius * radius;
+        Map<Long, List<Integer>> grid = new HashMap<>();
+
+        float[] points = new float[amount * 3];
+        boolean[] accepted = new boolean[candidates.length / 3];
+        int count = 0;
+        for (int i = 0; i < accepted.length && count < amount; i++) {
+            float x = candidates[i * 3];
+            float y = candidates[i * 3 + 1];
+            float z = candidates[i * 3 + 2];
+            int cellX = (int) Math.floor(x / radius);
+            int cellY = (int) Math.floor(y / radius);
+            int cellZ = (int) Math.floor(z / radius);
+            if (hasNeighbour(grid, points, cellX, cellY, cellZ, x, y, z, radiusSquared)) {
+                continue;
+            }
+            grid.computeIfAbsent(cellKey(cellX, cellY, cellZ), key -> new ArrayList<>()).add(count);
+            accepted[i] = true;
+            points[count * 3] = x;
+            points[count * 3 + 1] = y;
+            points[count * 3 + 2] = z;
+            count++;
+        }
+        for (int i = 0; i < accepted.length && count < amount; i++) {
+            if (!accepted[i]) {
+                System.arraycopy(candidates, i * 3, points, count * 3, 3);
+                count++;
+            }
+        }
+        return points;
+    }
+
+    private int findTriangle(double target) {
+        int index = Arrays.binarySearch(this.cumulativeArea, target);
+        // An insertion point is the first triangle whose cumulative area exceeds the target
+        index = index < 0 ? -index - 1 : index;
+        return Math.min(index, this.cumulativeArea.length - 1);
+    }
+
+    private static boolean hasNeighbour(Map<Long, List<Integer>> grid, float[] points, int cellX, int cellY,
+                                        int cellZ, float x, float y, float z, float radiusSquared) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    List<Integer> cell = grid.get(cellKey(cellX + dx, cellY + dy, cellZ + dz));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int point : cell) {
+                        float distX = points[point * 3] - x;
+                        float distY = points[point * 3 + 1] - y;
+                        float distZ = points[point * 3 + 2] - z;
+                        if (distX * distX + distY * distY + distZ * distZ < radiusSquared) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long cellKey(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+
+    private static void shuffle(float[] points, SplittableRandom random) {
+        // The stratified candidates are ordered along the area table, shuffle them so acceptance is not biased
+        for (int i = points.length / 3 - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            for (int k = 0; k < 3; k++) {
+                float tmp = points[i * 3 + k];
+                points[i * 3 + k] = points[j * 3 + k];
+                points[j * 3 + k] = tmp;
+            }
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package net.mcbrincie.apel.lib.util.models;
+
+import com.google.common.collect.ImmutableList;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Decimates an {@link IndexedMesh} with quadric error metric edge collapses (Garland &amp; Heckbert). Every vertex
+ * accumulates the planes of the triangles around it into a quadric, and edges are collapsed cheapest first, the cost
+ * being the squared distance of the collapsed vertex to the planes of both endpoints. The collapsed vertex is placed
+ * at whichever of the two endpoints or their midpoint has the lowest cost, so no new positions are invented outside
+ * the original edge. Collapses that would fold a triangle over, or pinch the surface into a non-manifold one (those
+ * breaking the link condition), are rejected.
+ * <p>
+ * Borders of open meshes are weighted so they keep their outline. Polygonal faces are split into triangle fans before
+ * decimating, and when the original mesh was polygonal, adjacent coplanar triangles are merged back into convex
+ * polygons afterward, so switching between levels doesn't add diagonal edges to the wireframe.
+ * <p>
+ * Simplification is meant to run once, when a model is loaded, and allocates accordingly.
+ */
+public final class MeshSimplifier {
+    // How much more a border of an open mesh resists moving than an interior plane
+    private static final double BOUNDARY_WEIGHT = 1000;
+    // The cosine of the largest angle between two triangles merged into one polygon
+    private static final float COPLANAR_COSINE = 0.9999f;
+
+    private MeshSimplifier() {}
+
+    /**
+     * Builds a chain of progressively simpler meshes. The first level is the given mesh itself, each following level
+     * has at most {@code ratio} times the triangles of the previous one. The chain stops early when a level could
+     * not be simplified any further.
+     *
+     * @param mesh The mesh to simplify
+     * @param levels The maximum number of levels, including the original mesh
+     * @param ratio The fraction of triangles kept from one level to the next, between 0 and 1 (exclusive)
+     * @return The levels of detail, from the most to the least detailed
+     */
+    public static ImmutableList<IndexedMesh> buildLevelsOfDetail(IndexedMesh mesh, int levels, float ratio) {
+        if (levels < 1) {
+            throw new IllegalArgumentException("There must be at least one level of detail");
+        }
+        if (ratio <= 0 || ratio >= 1) {
+            throw new IllegalArgumentException("The triangle ratio must be between 0 and 1");
+        }
+        ImmutableList.Builder<IndexedMesh> chain = ImmutableList.builder();
+        chain.add(mesh);
+        IndexedMesh current = mesh;
+        for (int level = 1; level < levels; level++) {
+            int triangles = triangleCount(current);
+            IndexedMesh simplified = simplify(current, (int) (triangles * ratio));
+            int simplifiedTriangles = triangleCount(simplified);
+            if (simplifiedTriangles >= triangles || simplifiedTriangles == 0) {
+                break;
+            }
+            chain.add(simplified);
+            current = simplified;
+        }
+        return chain.build();
+    }
+
+    /**
+     * Simplifies the mesh until it has at most {@code targetTriangles} triangles, or until no edge is left to
+     * collapse. A triangulated mesh stays triangulated, while the triangles of a polygonal one are merged back into
+     * polygons where they are coplanar.
+     *
+     * @param mesh The mesh to simplify
+     * @param targetTriangles The number of triangles to reduce the mesh to
+     * @return The simplified mesh
+     */
+    public static IndexedMesh simplify(IndexedMesh mesh, int targetTriangles) {
+        int vertexCount = mesh.getVertexCount();
+        float[] positions = new float[vertexCount * 3];
+        Vector3f position = new Vector3f();
+        for (int v = 0; v < vertexCount; v++) {
+            mesh.getPosition(v, position);
+            positions[v * 3] = position.x;
+            positions[v * 3 + 1] = position.y;
+            positions[v * 3 + 2] = position.z;
+        }
+        int[] triangles = triangulate(mesh);
+        int triangleCount = triangles.length / 3;
+
+        // Plane quadrics, upper triangle of the symmetric 4x4 matrix per vertex
+        double[] quadrics = new double[vertexCount * 10];
+        List<List<Integer>> vertexTriangles = new ArrayList<>(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            vertexTriangles.add(new ArrayList<>());
+        }
+        Vector3f edge1 = new Vector3f();
+        Vector3f edge2 = new Vector3f();
+        for (int t = 0; t < triangleCount; t++) {
+            int a = triangles[t * 3];
+            int b = triangles[t * 3 + 1];
+            int c = triangles[t * 3 + 2];
+            edge1.set(positions[b * 3] - positions[a * 3], positions[b * 3 + 1] - positions[a * 3 + 1],
+                    positions[b * 3 + 2] - positions[a * 3 + 2]);
+            edge2.set(positions[c * 3] - positions[a * 3], positions[c * 3 + 1] - positions[a * 3 + 1],
+                    positions[c * 3 + 2] - positions[a * 3 + 2]);
+            Vector3f normal = edge1.cross(edge2);
+            if (normal.lengthSquared() > 0) {
+                normal.normalize();
+                double d = -(normal.x * positions[a * 3] + normal.y * positions[a * 3 + 1]
+                        + normal.z * positions[a * 3 + 2]);
+                for (int corner = 0; corner < 3; corner++) {
+                    addPlane(quadrics, triangles[t * 3 + corner], normal.x, normal.y, normal.z, d);
+                }
+            }
+            vertexTriangles.get(a).add(t);
+            vertexTriangles.get(b).add(t);
+            vertexTriangles.get(c).add(t);
+        }
+        addBoundaryPlanes(positions, triangles, quadrics);
+
+        boolean[] removedTriangles = new boolean[triangleCount];
+        boolean[] removedVertices = new boolean[vertexCount];
+        int[] versions = new int[vertexCount];
+        int[] marks = new int[vertexCount];
+        int stamp = 0;
+        PriorityQueue<Collapse> queue = new PriorityQueue<>();
+        for (int t = 0; t < triangleCount; t++) {
+            for (int corner = 0; corner < 3; corner++) {
+                // Interior edges get queued twice, once per triangle, whichever is polled second is stale by then
+                queue.add(collapse(positions, quadrics, versions, triangles[t * 3 + corner],
+                        triangles[t * 3 + (corner + 1) % 3]));
+            }
+        }
+
+        int liveTriangles = triangleCount;
+        while (liveTriangles > targetTriangles && !queue.isEmpty()) {
+            Collapse collapse = queue.poll();
+            int u = collapse.keep;
+            int v = collapse.remove;
+            if (removedVertices[u] || removedVertices[v]
+                    || versions[u] != collapse.keepVersion || versions[v] != collapse.removeVersion) {
+                // Stale entry, one of the endpoints changed after it was queued
+                continue;
+            }
+            if (!keepsManifold(triangles, removedTriangles, vertexTriangles, u, v, marks, ++stamp)) {
+                // Collapsing would glue two parts of the surface together
+                continue;
+            }
+            if (flips(positions, triangles, removedTriangles, vertexTriangles.get(u), u, v, collapse)
+                    || flips(positions, triangles, removedTriangles, vertexTriangles.get(v), v, u, collapse)) {
+                // Folding a triangle over would tear the surface, the edge is queued again once a neighbour collapses
+                continue;
+            }
+            positions[u * 3] = collapse.x;
+            positions[u * 3 + 1] = collapse.y;
+            positions[u * 3 + 2] = collapse.z;
+            for (int i = 0; i < 10; i++) {
+                quadrics[u * 10 + i] += quadrics[v * 10 + i];
+            }
+            removedVertices[v] = true;
+            versions[u]++;
+            for (int t : vertexTriangles.get(v)) {
+                if (removedTriangles[t]) {
+                    continue;
+                }
+                boolean touchesKept = false;
+                for (int corner = 0; corner < 3; corner++) {
+                    touchesKept |= triangles[t * 3 + corner] == u;
+                }
+                if (touchesKept) {
+                    // The triangle degenerates into the collapsed edge
+                    removedTriangles[t] = true;
+                    liveTriangles--;
+                    continue;
+                }
+                for (int corner = 0; corner < 3; corner++) {
+                    if (triangles[t * 3 + corner] == v) {
+                        triangles[t * 3 + corner] = u;
+                    }
+                }
+                vertexTriangles.get(u).add(t);
+            }
+            vertexTriangles.get(v).clear();
+            for (int t : vertexTriangles.get(u)) {
+                if (removedTriangles[t]) {
+                    continue;
+                }
+                for (int corner = 0; corner < 3; corner++) {
+                    int neighbour = triangles[t * 3 + corner];
+                    if (neighbour != u) {
+                        queue.add(collapse(positions, quadrics, versions, u, neighbour));
+                    }
+                }
+            }
+        }
+        IndexedMesh simplified = compact(positions, triangles, removedTriangles);
+        return mesh.isTriangulated() ? simplified : mergeCoplanar(simplified);
+    }
+
+    /**
+     * Checks the link condition of the edge: the only vertices adjacent to both endpoints must be the ones opposite
+     * the edge, in the triangles that collapse along with it. Otherwise, the collapse glues two parts of the surface
+     * together along an edge. A triangle around {@code v} spanning two of these opposite vertices is rejected too,
+     * as it would end up on top of another triangle, like when collapsing an edge of a tetrahedron.
+     */
+    private static boolean keepsManifold(int[] triangles, boolean[] removedTriangles,
+                                         List<List<Integer>> vertexTriangles, int u, int v, int[] marks, int stamp) {
+        int collapsing = 0;
+        for (int t : vertexTriangles.get(u)) {
+            if (removedTriangles[t]) {
+                continue;
+            }
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = triangles[t * 3 + corner];
+                collapsing += vertex == v ? 1 : 0;
+                marks[vertex] = stamp;
+            }
+        }
+        // Common neighbours are marked with the negated stamp, so each is only counted once
+        int common = 0;
+        for (int t : vertexTriangles.get(v)) {
+            if (removedTriangles[t]) {
+                continue;
+            }
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = triangles[t * 3 + corner];
+                if (vertex != u && vertex != v && marks[vertex] == stamp) {
+                    marks[vertex] = -stamp;
+                    common++;
+                }
+            }
+        }
+        if (common != collapsing) {
+            return false;
+        }
+        for (int t : vertexTriangles.get(v)) {
+            if (removedTriangles[t]) {
+                continue;
+            }
+            int opposite = 0;
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = triangles[t * 3 + corner];
+                if (vertex == u) {
+                    opposite = 0;
+                    break;
+                }
+                opposite += marks[vertex] == -stamp ? 1 : 0;
+            }
+            if (opposite == 2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean flips(float[] positions, int[] triangles, boolean[] removedTriangles,
+                                 List<Integer> around, int moved, int other, Collapse collapse) {
+        for (int t : around) {
+            if (removedTriangles[t]) {
+                continue;
+            }
+            int corner = 0;
+            boolean collapses = false;
+            for (int i = 0; i < 3; i++) {
+                corner = triangles[t * 3 + i] == moved ? i : corner;
+                collapses |= triangles[t * 3 + i] == other;
+            }
+            if (collapses) {
+                continue;
+            }
+            int b = triangles[t * 3 + (corner + 1) % 3];
+            int c = triangles[t * 3 + (corner + 2) % 3];
+            float bx = positions[b * 3];
+            float by = positions[b * 3 + 1];
+            float bz = positions[b * 3 + 2];
+            float e1x = positions[c * 3] - bx;
+            float e1y = positions[c * 3 + 1] - by;
+            float e1z = positions[c * 3 + 2] - bz;
+            float e2x = positions[moved * 3] - bx;
+            float e2y = positions[moved * 3 + 1] - by;
+            float e2z = positions[moved * 3 + 2] - bz;
+            float e3x = collapse.x - bx;
+            float e3y = collapse.y - by;
+            float e3z = collapse.z - bz;
+            // Normals of the triangle before and after moving the vertex, both as (c - b) x (vertex - b)
+            float n1x = e1y * e2z - e1z * e2y;
+            float n1y = e1z * e2x - e1x * e2z;
+            float n1z = e1x * e2y - e1y * e2x;
+            float n2x = e1y * e3z - e1z * e3y;
+            float n2y = e1z * e3x - e1x * e3z;
+            float n2z = e1x * e3y - e1y * e3x;
+            if (n1x * n2x + n1y * n2y + n1z * n2z <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int triangleCount(IndexedMesh mesh) {
+        int count = 0;
+        for (int face = 0; face < mesh.getFaceCount(); face++) {
+            count += Math.max(0, mesh.getFaceSize(face) - 2);
+        }
+        return count;
+    }
+
+    private static int[] triangulate(IndexedMesh mesh) {
+        int[] triangles = new int[triangleCount(mesh) * 3];
+        int i = 0;
+        for (int face = 0; face < mesh.getFaceCount(); face++) {
+            int first = mesh.getFaceVertex(face, 0);
+            for (int corner = 1; corner < mesh.getFaceSize(face) - 1; corner++) {
+                triangles[i++] = first;
+                triangles[i++] = mesh.getFaceVertex(face, corner);
+                triangles[i++] = mesh.getFaceVertex(face, corner + 1);
+            }
+        }
+        return triangles;
+    }
+
+    private static void addPlane(double[] quadrics, int vertex, double a, double b, double c, double d) {
+        int o = vertex * 10;
+        quadrics[o] += a * a;
+        quadrics[o + 1] += a * b;
+        quadrics[o + 2] += a * c;
+        quadrics[o + 3] += a * d;
+        quadrics[o + 4] += b * b;
+        quadrics[o + 5] += b * c;
+        quadrics[o + 6] += b * d;
+        quadrics[o + 7] += c * c;
+        quadrics[o + 8] += c * d;
+        quadrics[o + 9] += d * d;
+    }
+
+    private static void addBoundaryPlanes(float[] positions, int[] triangles, double[] quadrics) {
+        // Edges used by a single triangle lie on the border of an open mesh
+        Map<Long, Integer> edgeUses = new HashMap<>();
+        for (int t = 0; t < triangles.length / 3; t++) {
+            for (int corner = 0; corner < 3; corner++) {
+                long key = edgeKey(triangles[t * 3 + corner], triangles[t * 3 + (corner + 1) % 3]);
+                edgeUses.merge(key, 1, Integer::sum);
+            }
+        }
+        Vector3f edge = new Vector3f();
+        Vector3f normal = new Vector3f();
+        Vector3f other = new Vector3f();
+        for (int t = 0; t < triangles.length / 3; t++) {
+            for (int corner = 0; corner < 3; corner++) {
+                int u = triangles[t * 3 + corner];
+                int v = triangles[t * 3 + (corner + 1) % 3];
+                if (edgeUses.get(edgeKey(u, v)) != 1) {
+                    continue;
+                }
+                int w = triangles[t * 3 + (corner + 2) % 3];
+                edge.set(positions[v * 3] - positions[u * 3], positions[v * 3 + 1] - positions[u * 3 + 1],
+                        positions[v * 3 + 2] - positions[u * 3 + 2]);
+                other.set(positions[w * 3] - positions[u * 3], positions[w * 3 + 1] - positions[u * 3 + 1],
+                        positions[w * 3 + 2] - positions[u * 3 + 2]);
+                // The plane through the edge, perpendicular to the triangle, keeps the border from caving in
+                normal.set(edge).cross(other).cross(edge);
+                if (normal.lengthSquared() == 0) {
+                    continue;
+                }
+                normal.normalize();
+                double d = -(normal.x * positions[u * 3] + normal.y * positions[u * 3 + 1]
+                        + normal.z * positions[u * 3 + 2]);
+                double weight = Math.sqrt(BOUNDARY_WEIGHT);
+                addPlane(quadrics, u, normal.x * weight, normal.y * weight, normal.z * weight, d * weight);
+                addPlane(quadrics, v, normal.x * weight, normal.y * weight, normal.z * weight, d * weight);
+            }
+        }
+    }
+
+    private static long edgeKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    private static double error(double[] quadrics, int u, int v, double x, double y, double z) {
+        int ou = u * 10;
+        int ov = v * 10;
+        double q0 = quadrics[ou] + quadrics[ov];
+        double q1 = quadrics[ou + 1] + quadrics[ov + 1];
+        double q2 = quadrics[ou + 2] + quadrics[ov + 2];
+        double q3 = quadrics[ou + 3] + quadrics[ov + 3];
+        double q4 = quadrics[ou + 4] + quadrics[ov + 4];
+        double q5 = quadrics[ou + 5] + quadrics[ov + 5];
+        double q6 = quadrics[ou + 6] + quadrics[ov + 6];
+        double q7 = quadrics[ou + 7] + quadrics[ov + 7];
+        double q8 = quadrics[ou + 8] + quadrics[ov + 8];
+        double q9 = quadrics[ou + 9] + quadrics[ov + 9];
+        return q0 * x * x + 2 * q1 * x * y + 2 * q2 * x * z + 2 * q3 * x
+                + q4 * y * y + 2 * q5 * y * z + 2 * q6 * y
+                + q7 * z * z + 2 * q8 * z
+                + q9;
+    }
+
+    private static Collapse collapse(float[] positions, double[] quadrics, int[] versions, int u, int v) {
+        float ux = positions[u * 3];
+        float uy = positions[u * 3 + 1];
+        float uz = positions[u * 3 + 2];
+        float vx = positions[v * 3];
+        float vy = positions[v * 3 + 1];
+        float vz = positions[v * 3 + 2];
+        float mx = (ux + vx) * 0.5f;
+        float my = (uy + vy) * 0.5f;
+        float mz = (uz + vz) * 0.5f;
+        double costU = error(quadrics, u, v, ux, uy, uz);
+        double costV = error(quadrics, u, v, vx, vy, vz);
+        double costM = error(quadrics, u, v, mx, my, mz);
+        if (costU <= costV && costU <= costM) {
+            return new Collapse(costU, u, v, versions[u], versions[v], ux, uy, uz);
+        } else if (costV <= costM) {
+            return new Collapse(costV, u, v, versions[u], versions[v], vx, vy, vz);
+        }
+        return new Collapse(costM, u, v, versions[u], versions[v], mx, my, mz);
+    }
+
+    private static IndexedMesh compact(float[] positions, int[] triangles, boolean[] removedTriangles) {
+        int[] remap = new int[positions.length / 3];
+        Arrays.fill(remap, -1);
+        int vertexCount = 0;
+        int liveTriangles = 0;
+        for (int t = 0; t < removedTriangles.length; t++) {
+            if (removedTriangles[t]) {
+                continue;
+            }
+            liveTriangles++;
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = triangles[t * 3 + corner];
+                if (remap[vertex] < 0) {
+                    remap[vertex] = vertexCount++;
+                }
+            }
+        }
+        float[] compactPositions = new float[vertexCount * 3];
+        for (int v = 0; v < remap.length; v++) {
+            if (remap[v] >= 0) {
+                System.arraycopy(positions, v * 3, compactPositions, remap[v] * 3, 3);
+            }
+        }
+        int[] compactIndices = new int[liveTriangles * 3];
+        int i = 0;
+        for (int t = 0; t < removedTriangles.length; t++) {
+            if (!removedTriangles[t]) {
+                for (int corner = 0; corner < 3; corner++) {
+                    compactIndices[i++] = remap[triangles[t * 3 + corner]];
+                }
+            }
+        }
+        return IndexedMesh.triangles(compactPositions, compactIndices);
+    }
+
+    private static IndexedMesh mergeCoplanar(IndexedMesh mesh) {
+        int triangleCount = mesh.getFaceCount();
+        float[] positions = new float[mesh.getVertexCount() * 3];
+        Vector3f position = new Vector3f();
+        for (int v = 0; v < mesh.getVertexCount(); v++) {
+            mesh.getPosition(v, position);
+            positions[v * 3] = position.x;
+            positions[v * 3 + 1] = position.y;
+            positions[v * 3 + 2] = position.z;
+        }
+        Vector3f[] normals = new Vector3f[triangleCount];
+        Map<Long, Integer> directedEdges = new HashMap<>();
+        for (int t = 0; t < triangleCount; t++) {
+            int a = mesh.getFaceVertex(t, 0);
+            int b = mesh.getFaceVertex(t, 1);
+            int c = mesh.getFaceVertex(t, 2);
+            normals[t] = vertex(positions, b, new Vector3f()).sub(vertex(positions, a, position))
+                    .cross(vertex(positions, c, new Vector3f()).sub(position));
+            if (normals[t].lengthSquared() > 0) {
+                normals[t].normalize();
+            }
+            directedEdges.put(((long) a << 32) | b, t);
+            directedEdges.put(((long) b << 32) | c, t);
+            directedEdges.put(((long) c << 32) | a, t);
+        }
+
+        boolean[] merged = new boolean[triangleCount];
+        List<Integer> indices = new ArrayList<>(triangleCount * 3);
+        List<Integer> faceOffsets = new ArrayList<>(triangleCount + 1);
+        List<Integer> polygon = new ArrayList<>();
+        for (int seed = 0; seed < triangleCount; seed++) {
+            if (merged[seed]) {
+                continue;
+            }
+            merged[seed] = true;
+            polygon.clear();
+            for (int corner = 0; corner < 3; corner++) {
+                polygon.add(mesh.getFaceVertex(seed, corner));
+            }
+            Vector3f normal = normals[seed];
+            boolean grown = normal.lengthSquared() > 0;
+            while (grown) {
+                grown = false;
+                for (int i = 0; i < polygon.size() && !grown; i++) {
+                    int a = polygon.get(i);
+                    int b = polygon.get((i + 1) % polygon.size());
+                    // The neighbour across the polygon's edge a -> b runs along it as b -> a
+                    Integer neighbour = directedEdges.get(((long) b << 32) | a);
+                    if (neighbour == null || merged[neighbour]
+                            || normals[neighbour].dot(normal) < COPLANAR_COSINE) {
+                        continue;
+                    }
+                    int apex = mesh.getFaceVertex(neighbour, 0) + mesh.getFaceVertex(neighbour, 1)
+                            + mesh.getFaceVertex(neighbour, 2) - a - b;
+                    int before = polygon.get((i + polygon.size() - 1) % polygon.size());
+                    int after = polygon.get((i + 2) % polygon.size());
+                    if (polygon.contains(apex)
+                            || !convex(positions, before, a, apex, normal)
+                            || !convex(positions, a, apex, b, normal)
+                            || !convex(positions, apex, b, after, normal)) {
+                        // Holes and concave corners would break the fan triangulation used by sampling
+                        continue;
+                    }
+                    polygon.add(i + 1, apex);
+                    merged[neighbour] = true;
+                    grown = true;
+                }
+            }
+            faceOffsets.add(indices.size());
+            indices.addAll(polygon);
+        }
+        faceOffsets.add(indices.size());
+        return IndexedMesh.of(
+                positions,
+                indices.stream().mapToInt(Integer::intValue).toArray(),
+                faceOffsets.stream().mapToInt(Integer::intValue).toArray()
+        );
+    }
+
+    private static Vector3f vertex(float[] positions, int vertex, Vector3f dest) {
+        return dest.set(positions[vertex * 3], positions[vertex * 3 + 1], positions[vertex * 3 + 2]);
+    }
+
+    private static boolean convex(float[] positions, int previous, int corner, int next, Vector3f normal) {
+        Vector3f in = vertex(positions, corner, new Vector3f()).sub(vertex(positions, previous, new Vector3f()));
+        Vector3f out = vertex(positions, next, new Vector3f()).sub(vertex(positions, corner, new Vector3f()));
+        float scale = in.length() * out.length();
+        // Straight corners are allowed, they are drawn the same as a single edge
+        return in.cross(out).dot(normal) >= -1e-4f * scale;
+    }
+
+    private record Collapse(double cost, int keep, int remove, int keepVersion, int removeVersion,
+                            float x, float y, float z) implements Comparable<Collapse> {
+        @Override
+        public int compareTo(Collapse other) {
+            return Double.compare(this.cost, other.cost);
+        }
+    }
+}
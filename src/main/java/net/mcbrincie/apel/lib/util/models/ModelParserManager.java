@@ -12,7 +12,9 @@ public class ModelParserManager implements ModelParser {
         ImmutableMap.Builder<String, ModelParser> builder = ImmutableMap.builder();
         builder.put("obj", new ObjParser());
         builder.put("fbx", new FbxParser());
-        builder.put("gltf", new GltfParser());
+        GltfParser gltfParser = new GltfParser();
+        builder.put("gltf", gltfParser);
+        builder.put("glb", gltfParser);
         return builder.build();
     }
 
@@ -4,13 +4,71 @@ import com.google.common.collect.ImmutableList;
 import org.joml.Vector2f;
 import org.joml.Vector3f;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Represents a read-only *.obj model
  *
  * @param faces What are the faces of the model
  * @param polyLines What are the polylines of the model
+ * @param mesh The indexed mesh of the model, which is what {@code ParticleModel} renders
  */
-public record ObjModel(ImmutableList<Face> faces, ImmutableList<PolyLine> polyLines) {
+public record ObjModel(ImmutableList<Face> faces, ImmutableList<PolyLine> polyLines, IndexedMesh mesh) {
+    /**
+     * Constructs the model out of its faces and polylines, deriving the indexed mesh from the faces. Vertices
+     * shared by multiple faces (the same {@link Vector3f} instance) are shared in the mesh as well.
+     *
+     * @param faces What are the faces of the model
+     * @param polyLines What are the polylines of the model
+     */
+    public ObjModel(ImmutableList<Face> faces, ImmutableList<PolyLine> polyLines) {
+        this(faces, polyLines, meshFromFaces(faces));
+    }
+
+    /**
+     * Constructs a model that only consists of an indexed mesh, used by the binary model formats.
+     * Such models have no faces or polylines.
+     *
+     * @param mesh The indexed mesh of the model
+     * @return The constructed model
+     */
+    public static ObjModel of(IndexedMesh mesh) {
+        return new ObjModel(ImmutableList.of(), ImmutableList.of(), mesh);
+    }
+
+    private static IndexedMesh meshFromFaces(List<Face> faces) {
+        Map<Vector3f, Integer> vertexIndices = new IdentityHashMap<>();
+        List<Vector3f> positions = new ArrayList<>();
+        int indexCount = 0;
+        for (Face face : faces) {
+            indexCount += face.vertices().size();
+        }
+        int[] indices = new int[indexCount];
+        int[] faceOffsets = new int[faces.size() + 1];
+        int i = 0;
+        for (int f = 0; f < faces.size(); f++) {
+            faceOffsets[f] = i;
+            for (Vertex vertex : faces.get(f).vertices()) {
+                indices[i++] = vertexIndices.computeIfAbsent(vertex.position(), position -> {
+                    positions.add(position);
+                    return positions.size() - 1;
+                });
+            }
+        }
+        faceOffsets[faces.size()] = i;
+        float[] flatPositions = new float[positions.size() * 3];
+        for (int v = 0; v < positions.size(); v++) {
+            Vector3f position = positions.get(v);
+            flatPositions[v * 3] = position.x;
+            flatPositions[v * 3 + 1] = position.y;
+            flatPositions[v * 3 + 2] = position.z;
+        }
+        return IndexedMesh.of(flatPositions, indices, faceOffsets);
+    }
+
     public record Vertex(Vector3f position, Vector2f textureCoordinates, Vector3f normal) {
     }
 
@@ -0,0 +1,90 @@
+package net.mcbrincie.apel.lib.easing;
+
+import net.mcbrincie.apel.lib.easing.shaped.BounceEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.ElasticEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.LinearEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.QuadEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.SineEasingCurve;
+import net.mcbrincie.apel.lib.easing.utility.CompositeEasingCurve;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EasingCurveTest {
+
+    @Test
+    void testPrimitivePathsMatchBoxedValues() {
+        // Given a scalar, a vector and an integer curve
+        EasingCurve<Float> scalar = new ElasticEasingCurve<>(2f, 5f, EaseType.EASE_OUT);
+        EasingCurve<Vector3f> vector = new BounceEasingCurve<>(new Vector3f(0, 1, 2), new Vector3f(4, 5, 6), EaseType.EASE_IN_OUT);
+        EasingCurve<Integer> integer = new LinearEasingCurve<>(0, 10);
+        Vector3f dest = new Vector3f();
+
+        for (int i = 0; i <= 100; i++) {
+            float t = i / 100f;
+
+            // When they are evaluated through the primitive paths
+            float scalarValue = scalar.getFloat(t);
+            Vector3f vectorValue = vector.getValue(t, dest);
+
+            // Then the values match the boxed ones, and the vector is written into the given one
+            assertEquals(scalar.getValue(t), scalarValue);
+            assertEquals(vector.getValue(t), vectorValue);
+            assertSame(dest, vectorValue);
+            assertEquals(integer.getValue(t), Math.round(integer.getFloat(t)));
+        }
+    }
+
+    @Test
+    void testConstantDoesNotShareItsValue() {
+        // Given a constant vector curve
+        Vector3f value = new Vector3f(1, 2, 3);
+        ConstantEasingCurve<Vector3f> constant = new ConstantEasingCurve<>(value);
+
+        // When it is evaluated into a vector which is then modified
+        Vector3f computed = constant.getValue(0.5f, new Vector3f());
+        computed.mul(2);
+
+        // Then the constant value is untouched
+        assertEquals(new Vector3f(1, 2, 3), value);
+        assertEquals(3f, new ConstantEasingCurve<>(3f).getFloat(0.5f));
+    }
+
+    @Test
+    void testBakedCurvesFollowTheOriginal() {
+        // Given an elastic curve and a composite curve
+        EasingCurve<Float> elastic = new ElasticEasingCurve<>(2f, 5f, EaseType.EASE_IN_OUT);
+        EasingCurve<Float> composite = new CompositeEasingCurve<>(
+                new QuadEasingCurve<>(0f, 1f, EaseType.EASE_IN), new SineEasingCurve<>(0f, 1f, EaseType.EASE_OUT)
+        );
+
+        // When they are baked
+        EasingCurve<Float> bakedElastic = elastic.bake(1024);
+        EasingCurve<Float> bakedComposite = composite.bake(1024);
+
+        // Then they stay close to the original curves, and keep the start and end values
+        for (int i = 0; i <= 1000; i++) {
+            float t = i / 1000f;
+            assertEquals(elastic.getFloat(t), bakedElastic.getFloat(t), 1e-3f);
+            assertEquals(composite.compute(t), bakedComposite.compute(t), 1e-3f);
+        }
+        assertEquals(5f, bakedElastic.getValue(1f));
+    }
+
+    @Test
+    void testBakeEdgeCases() {
+        // Given a constant curve and a linear curve
+        ConstantEasingCurve<Float> constant = new ConstantEasingCurve<>(3f);
+        EasingCurve<Float> linear = new LinearEasingCurve<>(0f, 1f);
+
+        // When they are baked
+        // Then constants are left as they are, and the resolution must be positive
+        assertSame(constant, constant.bake(16));
+        assertEquals(0.25f, linear.bake(1).compute(0.25f), 1e-6f);
+        assertThrows(IllegalArgumentException.class, () -> linear.bake(0));
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class DrawContextTest {
     // Declaring a null to avoid mocking and needing the Minecraft startup
@@ -98,4 +99,23 @@ class DrawContextTest {
         //noinspection AssertBetweenInconvertibleTypes
         assertNotEquals(key1, keyWrongType, "Keys with different types should not be equal");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEqualKeysShareSlots() {
+        // Given a DrawContext and keys declared separately, two of which are equal
+        DrawContext<?> context = new DrawContext<>(NULL_WORLD, new Vector3f(0), 0, 0, 0, NULL_COMPUTED_EASINGS);
+        Key<Integer> key = Key.integerKey("slotted");
+        Key<Integer> sameKey = new Key<>("slotted") {};
+        Key<Boolean> otherKey = Key.booleanKey("slotted");
+
+        // When metadata is added with one of the equal keys
+        context.addMetadata(key, 7);
+
+        // Then equal keys share a slot and the value, while other keys have their own slot and no value
+        assertEquals(key.getSlot(), sameKey.getSlot());
+        assertNotEquals(key.getSlot(), otherKey.getSlot());
+        assertEquals(7, context.getMetadata(sameKey));
+        assertNull(context.getMetadata(otherKey));
+        assertEquals(true, context.getMetadata(otherKey, true));
+    }
+}
@@ -0,0 +1,52 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParticleArrayTest {
+
+    @Test
+    void testInstancesAreDrawnAtEveryCell() {
+        // Given a point above its drawing position, counting its draws, in a row of three
+        AtomicInteger pointDraws = new AtomicInteger();
+        ParticlePoint point = ParticlePoint.builder()
+                .particleEffect(null)
+                .offset(new Vector3f(0, 1, 0))
+                .build();
+        point.subscribeToBeforeDraw((data, object) -> pointDraws.incrementAndGet());
+        ParticleArray<ParticlePoint> array = ParticleArray.<ParticlePoint>builder()
+                .particleObject(point)
+                .gridSize(new Vector3i(3, 1, 1))
+                .spacing(new Vector3f(2, 0, 0))
+                .build();
+
+        // When the array is drawn
+        List<Vector3f> drawn = new ArrayList<>();
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                drawn.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+        array.doDraw(renderer, 0, new Vector3f(10, 0, 0), 1, 0, new Vector3f(1));
+
+        // Then the point is computed once, and drawn at each cell of the row
+        assertEquals(1, pointDraws.get());
+        assertEquals(List.of(new Vector3f(8, 1, 0), new Vector3f(10, 1, 0), new Vector3f(12, 1, 0)), drawn);
+    }
+}
@@ -0,0 +1,79 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ParticleBranchGenTest {
+
+    private static ParticleBranchGen.Builder<?> branchGenBuilder() {
+        // Use a null effect to prevent having to initialize all the Minecraft Server logic
+        return ParticleBranchGen.builder()
+                .particleEffect(null)
+                .amount(2)
+                .minLengthThreshold(1f)
+                .maxLengthThreshold(3f)
+                .minimumAngle(new Vector3f(-1))
+                .maximumAngle(new Vector3f(1))
+                .minimumTotalBranches(50)
+                .maximumTotalBranches(100)
+                .minimumBranchesPerDivision(1)
+                .maximumBranchesPerDivision(6);
+    }
+
+    private static List<Vector3f> draw(ParticleBranchGen branchGen) {
+        List<Vector3f> drawn = new ArrayList<>();
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                drawn.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+        branchGen.doDraw(renderer, 0, new Vector3f(), 1, 0, new Vector3f(1));
+        return drawn;
+    }
+
+    @Test
+    void testSeededBranchesAreReproducible() {
+        // Given two generators with the same seed, one of them generating in parallel, and one with another seed
+        ParticleBranchGen first = branchGenBuilder().seed(42).build();
+        ParticleBranchGen parallel = branchGenBuilder().seed(42).parallelThreshold(1).build();
+        ParticleBranchGen other = branchGenBuilder().seed(7).build();
+
+        // When they are drawn
+        List<Vector3f> firstDrawn = draw(first);
+
+        // Then the same seed draws the same branches, every time and regardless of parallelism
+        assertFalse(firstDrawn.isEmpty());
+        assertEquals(firstDrawn, draw(first));
+        assertEquals(firstDrawn, draw(parallel));
+        assertNotEquals(firstDrawn, draw(other));
+    }
+
+    @Test
+    void testGenerateOnceReusesBranches() {
+        // Given an unseeded generator which generates its branches once
+        ParticleBranchGen branchGen = branchGenBuilder().generateOnce(true).build();
+
+        // When it is drawn twice
+        List<Vector3f> firstDrawn = draw(branchGen);
+        List<Vector3f> secondDrawn = draw(branchGen);
+
+        // Then the branches are the same
+        assertEquals(firstDrawn, secondDrawn);
+    }
+}
@@ -0,0 +1,102 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.mcbrincie.apel.lib.util.media.resamplers.MediaResamplers;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParticleMediaTest {
+    private static final int RED = 0xFFFF0000;
+    private static final int BLUE = 0xFF0000FF;
+
+    /** A drawn run, in pixels of the frame, along with the color it was mapped from */
+    private record Run(int color, int x, int y, int amount) {}
+
+    @Test
+    void testRunsSplitOnColorChangeAndSkipTranslucentPixels() {
+        // Given a frame whose first row has a red pair, a pixel below the alpha threshold, and two lone pixels, and
+        // whose second row is entirely blue
+        int[] pixels = {
+                RED, RED, 0x40FF0000, BLUE, RED,
+                BLUE, BLUE, BLUE, BLUE, BLUE
+        };
+
+        // When it is drawn with an alpha threshold of 128
+        List<Run> runs = draw(new ParticleMedia.FrameData(pixels, 5, 2), 128);
+
+        // Then every run of a row sharing a color is one line, lone pixels are single particles, and the translucent
+        // pixel ends the run without being drawn
+        assertEquals(List.of(
+                new Run(RED, 0, 0, 2),
+                new Run(BLUE, 3, 0, 1),
+                new Run(RED, 4, 0, 1),
+                new Run(BLUE, 0, 1, 5)
+        ), runs);
+    }
+
+    @Test
+    void testLongRunsSplitAtMaximumLength() {
+        // Given a single red row, three pixels longer than a line instruction can hold
+        int width = Short.MAX_VALUE + 3;
+        int[] pixels = new int[width];
+        Arrays.fill(pixels, RED);
+
+        // When it is drawn
+        List<Run> runs = draw(new ParticleMedia.FrameData(pixels, width, 1), 0);
+
+        // Then the row is split into a line of the maximum length and a line of the remaining pixels
+        assertEquals(List.of(
+                new Run(RED, 0, 0, Short.MAX_VALUE),
+                new Run(RED, Short.MAX_VALUE, 0, 3)
+        ), runs);
+    }
+
+    private static List<Run> draw(ParticleMedia.FrameData frame, int alphaThreshold) {
+        // Every run maps its color right before it is drawn, so the last mapped color belongs to the drawn run
+        List<Integer> colors = new ArrayList<>();
+        ParticleMedia media = ParticleMedia.builder()
+                .mediaProcessor(step -> frame)
+                .mediaResampler(MediaResamplers.retain())
+                .colorParticleMapper(color -> {
+                    colors.add(color);
+                    return null;
+                })
+                .alphaThreshold(alphaThreshold)
+                .build();
+        List<Run> runs = new ArrayList<>();
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                runs.add(run(colors.getLast(), drawPos, 1));
+            }
+
+            @Override
+            public void drawLine(
+                    ParticleEffect particleEffect, int step, Vector3f drawPos, Vector3f start, Vector3f end,
+                    Vector3f rotation, int amount
+            ) {
+                runs.add(run(colors.getLast(), drawPos, amount));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+        media.doDraw(renderer, 0, new Vector3f(), 1, 0, new Vector3f(1));
+        return runs;
+    }
+
+    private static Run run(int color, Vector3f drawPos, int amount) {
+        // Pixels are a hundredth of a block apart, drawn toward the negative axes
+        return new Run(color, Math.round(drawPos.x * -100), Math.round(drawPos.y * -100), amount);
+    }
+}
@@ -0,0 +1,83 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.easing.EasingCurve;
+import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParticleMirrorTest {
+    private static final float EPSILON = 1e-5f;
+
+    private static List<Vector3f> draw(ParticleMirror<ParticlePoint> mirror) {
+        List<Vector3f> drawn = new ArrayList<>();
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                drawn.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+        mirror.doDraw(renderer, 0, new Vector3f(), 1, 0, new Vector3f(1));
+        return drawn;
+    }
+
+    @Test
+    void testChildIsReflectedAcrossTheMirror() {
+        // Given a point, counting its draws, mirrored across the horizontal plane
+        AtomicInteger pointDraws = new AtomicInteger();
+        ParticlePoint point = ParticlePoint.builder()
+                .particleEffect(null)
+                .offset(new Vector3f(1, 0.5f, 0))
+                .build();
+        point.subscribeToBeforeDraw((data, object) -> pointDraws.incrementAndGet());
+        EasingCurve<Vector3f> rotation = point.getRotation();
+        ParticleMirror<ParticlePoint> mirror = ParticleMirror.<ParticlePoint>builder()
+                .particleObject(point)
+                .distance(2f)
+                .build();
+
+        // When the mirror is drawn
+        List<Vector3f> drawn = draw(mirror);
+
+        // Then the point is drawn once below the mirror, reflected above it, and left untouched
+        assertEquals(1, pointDraws.get());
+        assertEquals(2, drawn.size());
+        assertTrue(drawn.get(0).equals(new Vector3f(1, -1.5f, 0), EPSILON));
+        assertTrue(drawn.get(1).equals(new Vector3f(1, 1.5f, 0), EPSILON));
+        assertSame(rotation, point.getRotation());
+    }
+
+    @Test
+    void testLockedAxisIsNotReflected() {
+        // Given a point mirrored across the horizontal plane, with the Y axis locked
+        ParticlePoint point = ParticlePoint.builder()
+                .particleEffect(null)
+                .offset(new Vector3f(1, 0.5f, 0))
+                .build();
+        ParticleMirror<ParticlePoint> mirror = ParticleMirror.<ParticlePoint>builder()
+                .particleObject(point)
+                .distance(2f)
+                .lockY()
+                .build();
+
+        // When the mirror is drawn
+        List<Vector3f> drawn = draw(mirror);
+
+        // Then the copy is only moved to the other side of the mirror
+        assertTrue(drawn.get(1).equals(new Vector3f(1, 2.5f, 0), EPSILON));
+    }
+}
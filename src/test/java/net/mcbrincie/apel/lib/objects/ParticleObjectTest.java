@@ -0,0 +1,66 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.easing.shaped.LinearEasingCurve;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ParticleObjectTest {
+
+    private static ParticleTriangle triangle() {
+        return ParticleTriangle.builder()
+                .vertex1(new Vector3f(0))
+                .vertex2(new Vector3f(0, 1, 0))
+                .vertex3(new Vector3f(1, 0, 0))
+                .build();
+    }
+
+    @Test
+    void testConstantRotationIsFoldedOnce() {
+        // Given an object with a constant rotation past a full turn
+        Vector3f rotation = new Vector3f(7, 0, 0);
+        ParticleTriangle triangle = triangle();
+        triangle.setRotation(rotation);
+
+        // When the rotation is computed on two steps
+        Vector3f first = triangle.computeRotation(0f);
+        Vector3f second = triangle.computeRotation(0.5f);
+
+        // Then it is normalized once and shared
+        assertSame(first, second);
+        assertEquals((float) (7 % Math.TAU), first.x);
+        assertEquals(new Vector3f(7, 0, 0), rotation);
+    }
+
+    @Test
+    void testFoldFollowsChangesToTheConstant() {
+        // Given an object with a constant offset whose value was already computed
+        Vector3f offset = new Vector3f(1, 2, 3);
+        ParticleTriangle triangle = triangle();
+        triangle.setOffset(offset);
+        Vector3f before = triangle.computeOffset(0f);
+
+        // When the constant's vector is modified in place
+        offset.set(4, 5, 6);
+        Vector3f after = triangle.computeOffset(0f);
+
+        // Then the new value is computed into a new vector, leaving the previous one untouched
+        assertNotSame(before, after);
+        assertEquals(new Vector3f(1, 2, 3), before);
+        assertEquals(new Vector3f(4, 5, 6), after);
+    }
+
+    @Test
+    void testEasedPropertiesAreComputedPerStep() {
+        // Given an object with an eased scale
+        ParticleTriangle triangle = triangle();
+        triangle.setScale(new LinearEasingCurve<>(new Vector3f(0), new Vector3f(2)));
+
+        // When the scale is computed on a step
+        // Then it follows the curve
+        assertEquals(new Vector3f(1), triangle.computeScale(0.5f));
+    }
+}
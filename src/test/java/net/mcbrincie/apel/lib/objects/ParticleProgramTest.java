@@ -0,0 +1,144 @@
+package net.mcbrincie.apel.lib.objects;
+
+import net.mcbrincie.apel.lib.easing.EasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.LinearEasingCurve;
+import net.mcbrincie.apel.lib.renderers.ApelServerRenderer;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParticleProgramTest {
+    private static ParticlePoint nullPoint(EasingCurve<Vector3f> offset) {
+        // Use a null effect to prevent having to initialize all the Minecraft Server logic
+        return ParticlePoint.builder().particleEffect(null).offset(offset).build();
+    }
+
+    private static ApelServerRenderer collectingRenderer(List<Vector3f> drawn) {
+        return new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                drawn.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    void testStaticObjectsAreDetected() {
+        // Given a point with constant easings, and one with a moving offset
+        ParticlePoint still = nullPoint(new ConstantEasingCurve<>(new Vector3f(1, 0, 0)));
+        ParticlePoint moving = nullPoint(new LinearEasingCurve<>(new Vector3f(), new Vector3f(0, 4, 0)));
+
+        // When they are combined
+        ParticleCombiner stillCombiner = ParticleCombiner.builder().object(still).build();
+        ParticleCombiner mixedCombiner = ParticleCombiner.builder().object(still).object(moving).build();
+
+        // Then only the objects without dynamic easings are static
+        assertTrue(still.isStatic());
+        assertFalse(moving.isStatic());
+        assertTrue(stillCombiner.isStatic());
+        assertFalse(mixedCombiner.isStatic());
+    }
+
+    @Test
+    void testProgramDrawsLikeTheTree() {
+        // Given a combiner of two static points and a moving point, nested in another combiner
+        ParticlePoint first = nullPoint(new ConstantEasingCurve<>(new Vector3f(1, 0, 0)));
+        ParticlePoint second = nullPoint(new ConstantEasingCurve<>(new Vector3f(2, 0, 0)));
+        ParticlePoint moving = nullPoint(new LinearEasingCurve<>(new Vector3f(), new Vector3f(0, 4, 0)));
+        ParticleCombiner inner = ParticleCombiner.builder().object(second).object(moving).build();
+        ParticleCombiner root = ParticleCombiner.builder().object(first).object(inner).build();
+
+        // When it is compiled and run over an animation
+        ParticleProgram program = ParticleProgram.compile(root);
+        List<Vector3f> expected = new ArrayList<>();
+        List<Vector3f> drawn = new ArrayList<>();
+        for (int step = 0; step <= 2; step++) {
+            Vector3f drawPos = new Vector3f(step, 10, 0);
+            root.doDraw(collectingRenderer(expected), step, drawPos, 2, 0, new Vector3f(1));
+            program.run(collectingRenderer(drawn), step, drawPos, 2, 0);
+        }
+
+        // Then the static points are recorded as one operation, and the particles match drawing the tree
+        assertEquals(2, program.size());
+        assertEquals(expected, drawn);
+    }
+
+    @Test
+    void testProgramFollowsChangesToTheTree() {
+        // Given a compiled program of a combiner with a static point
+        ParticlePoint first = nullPoint(new ConstantEasingCurve<>(new Vector3f(1, 0, 0)));
+        ParticleCombiner root = ParticleCombiner.builder().object(first).build();
+        ParticleProgram program = ParticleProgram.compile(root);
+        program.run(collectingRenderer(new ArrayList<>()), 0, new Vector3f(), 2, 0);
+
+        // When the point is moved and another point is added, without invalidating the program
+        first.setOffset(new Vector3f(3, 0, 0));
+        root.appendObject(nullPoint(new ConstantEasingCurve<>(new Vector3f(0, 5, 0))));
+        List<Vector3f> drawn = new ArrayList<>();
+        program.run(collectingRenderer(drawn), 1, new Vector3f(), 2, 0);
+
+        // Then the program draws the tree as it is now
+        assertEquals(List.of(new Vector3f(3, 0, 0), new Vector3f(0, 5, 0)), drawn);
+    }
+
+    @Test
+    void testAnimatedSphereRadiusIsDrawnEveryStep() {
+        // Given a sphere whose radius grows over the animation
+        ParticleSphere sphere = ParticleSphere.builder()
+                .particleEffect(null)
+                .radius(new LinearEasingCurve<>(1f, 3f))
+                .amount(8)
+                .build();
+
+        // When it is compiled and run over an animation
+        ParticleProgram program = ParticleProgram.compile(sphere);
+        List<Vector3f> expected = new ArrayList<>();
+        List<Vector3f> drawn = new ArrayList<>();
+        for (int step = 0; step <= 2; step++) {
+            sphere.doDraw(collectingRenderer(expected), step, new Vector3f(), 2, 0, new Vector3f(1));
+            program.run(collectingRenderer(drawn), step, new Vector3f(), 2, 0);
+        }
+
+        // Then the sphere is not recorded, and it grows like the tree does
+        assertFalse(sphere.isStatic());
+        assertEquals(expected, drawn);
+        assertTrue(drawn.get(16).length() > drawn.get(0).length());
+    }
+
+    @Test
+    void testProgramFollowsUtilityObjectSetters() {
+        // Given a compiled program of a static array holding a single point
+        ParticlePoint point = nullPoint(new ConstantEasingCurve<>(new Vector3f()));
+        ParticleArray<ParticlePoint> array = ParticleArray.<ParticlePoint>builder()
+                .particleObject(point)
+                .gridSize(new Vector3i(1, 1, 1))
+                .spacing(new Vector3f(2, 2, 2))
+                .build();
+        ParticleProgram program = ParticleProgram.compile(array);
+        program.run(collectingRenderer(new ArrayList<>()), 0, new Vector3f(), 2, 0);
+
+        // When the grid size is changed after compiling
+        array.setGridSize(new Vector3i(2, 1, 1));
+        List<Vector3f> drawn = new ArrayList<>();
+        program.run(collectingRenderer(drawn), 1, new Vector3f(), 2, 0);
+
+        // Then the program draws the larger grid
+        assertTrue(array.isStatic());
+        assertEquals(List.of(new Vector3f(-1, 0, 0), new Vector3f(1, 0, 0)), drawn);
+    }
+}
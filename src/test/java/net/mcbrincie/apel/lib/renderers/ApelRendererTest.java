@@ -1,6 +1,10 @@
 package net.mcbrincie.apel.lib.renderers;
 
+import io.netty.buffer.Unpooled;
 import net.mcbrincie.apel.lib.util.math.bezier.BezierCurve;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.registry.DynamicRegistryManager;
+import org.joml.Matrix3f;
 import org.joml.Vector3f;
 import org.junit.jupiter.api.Test;
 
@@ -28,4 +32,45 @@ class ApelRendererTest {
         assertEquals(curve1, curve2);
         assertEquals(curve1.hashCode(), curve2.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testInstanced_skipsUnknownInstructions() {
+        // Given an instanced shape whose instructions include an unknown tag
+        ApelRenderer.Line line = new ApelRenderer.Line(new Vector3f(), new Vector3f(), new Vector3f(0, 1, 0),
+                                                       IGNORED_ROTATION, 4);
+        RegistryByteBuf buf = new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+        buf.writeVarInt(2);
+        buf.writeByte('?');
+        line.write(buf);
+        buf.writeVarInt(1);
+        buf.writeFloat(1);
+        buf.writeFloat(2);
+        buf.writeFloat(3);
+
+        // When it is read
+        ApelRenderer.Instanced instanced = ApelRenderer.Instanced.from(buf);
+
+        // Then only the known instruction is kept, and the offsets are still read
+        assertEquals(List.of(line), instanced.instructions());
+        assertArrayEquals(new float[] {1, 2, 3}, instanced.offsets());
+    }
+
+    @Test
+    void testTransformed_roundTrips() {
+        // Given a line reflected across the horizontal plane, with an asymmetric matrix to catch swapped entries
+        ApelRenderer.Line line = new ApelRenderer.Line(new Vector3f(), new Vector3f(), new Vector3f(0, 1, 0),
+                                                       IGNORED_ROTATION, 4);
+        Matrix3f transform = new Matrix3f(1, 2, 3, 4, -1, 5, 6, 7, 1);
+        ApelRenderer.Transformed transformed = new ApelRenderer.Transformed(
+                List.of(line), new Vector3f(0, -2, 0), new Vector3f(0, 2, 0), transform);
+        RegistryByteBuf buf = new RegistryByteBuf(Unpooled.buffer(), DynamicRegistryManager.EMPTY);
+
+        // When it is written and read back
+        transformed.write(buf);
+        ApelRenderer.Instruction read = ApelFramePayload.readInstruction(buf);
+
+        // Then the instruction is unchanged and nothing is left over
+        assertEquals(transformed, read);
+        assertEquals(0, buf.readableBytes());
+    }
+}
@@ -0,0 +1,132 @@
+package net.mcbrincie.apel.lib.renderers;
+
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Matrix3f;
+import org.joml.Matrix3fc;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaticGeometryTest {
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    void testReplayTranslatesRecordedParticles() {
+        // Given a renderer collecting the drawn positions, and a line recorded at (10, 0, 0)
+        List<Vector3f> drawn = new ArrayList<>();
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                drawn.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+        Vector3f origin = new Vector3f(10, 0, 0);
+        StaticGeometry geometry = StaticGeometry.record(renderer, origin, recorder -> recorder.drawLine(
+                null, 0, origin, new Vector3f(0, 0, 0), new Vector3f(2, 0, 0), new Vector3f(), 3
+        ));
+
+        // When it is replayed at (0, 5, 0)
+        geometry.replay(renderer, 1, new Vector3f(0, 5, 0));
+
+        // Then nothing was drawn while recording, and the particles are drawn relative to the new position
+        assertEquals(3, geometry.size());
+        assertEquals(3, drawn.size());
+        assertTrue(drawn.get(0).equals(new Vector3f(0, 5, 0), EPSILON));
+        assertTrue(drawn.get(1).equals(new Vector3f(1, 5, 0), EPSILON));
+        assertTrue(drawn.get(2).equals(new Vector3f(2, 5, 0), EPSILON));
+    }
+
+    @Test
+    void testRecordAndDrawPassesShapesOn() {
+        // Given a renderer counting the lines and particles it is asked to draw
+        List<Vector3f> particles = new ArrayList<>();
+        int[] lines = {0};
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                particles.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public void drawLine(
+                    ParticleEffect particleEffect, int step, Vector3f drawPos, Vector3f start, Vector3f end,
+                    Vector3f rotation, int amount
+            ) {
+                lines[0]++;
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+
+        // When a line and a particle are recorded while drawing
+        Vector3f origin = new Vector3f(10, 0, 0);
+        StaticGeometry geometry = StaticGeometry.recordAndDraw(renderer, origin, recorder -> {
+            recorder.drawLine(null, 0, origin, new Vector3f(0, 0, 0), new Vector3f(2, 0, 0), new Vector3f(), 3);
+            recorder.drawParticle(null, 0, new Vector3f(10, 1, 0));
+        });
+
+        // Then the line reaches the renderer as a line, and the recording holds every particle
+        assertEquals(1, lines[0]);
+        assertEquals(1, particles.size());
+        assertTrue(particles.get(0).equals(new Vector3f(10, 1, 0), EPSILON));
+        assertEquals(4, geometry.size());
+    }
+
+    @Test
+    void testRecordAndDrawPassesTransformedCopiesOn() {
+        // Given a renderer which draws transformed copies its own way, by drawing the object and naming the copy
+        List<Vector3f> particles = new ArrayList<>();
+        List<Vector3f> copies = new ArrayList<>();
+        ApelServerRenderer renderer = new ApelServerRenderer() {
+            @Override
+            public void drawParticle(ParticleEffect particleEffect, int step, Vector3f drawPos) {
+                particles.add(new Vector3f(drawPos));
+            }
+
+            @Override
+            public void drawTransformedCopy(
+                    int step, Vector3f drawPos, Vector3f copyPos, Matrix3fc transform,
+                    Consumer<ApelServerRenderer> draw
+            ) {
+                draw.accept(this);
+                copies.add(new Vector3f(copyPos));
+            }
+
+            @Override
+            public ServerWorld getServerWorld() {
+                return null;
+            }
+        };
+
+        // When a particle and its reflection across the horizontal plane are recorded while drawing
+        Vector3f origin = new Vector3f();
+        Matrix3f reflection = new Matrix3f().scaling(1, -1, 1);
+        StaticGeometry geometry = StaticGeometry.recordAndDraw(renderer, origin, recorder ->
+                recorder.drawTransformedCopy(0, new Vector3f(0, -2, 0), new Vector3f(0, 2, 0), reflection,
+                                             copyRenderer -> copyRenderer.drawParticle(null, 0, new Vector3f(1, -1, 0))
+                )
+        );
+
+        // Then the renderer only receives the object and the copy, and the recording holds both copies' particles
+        assertEquals(List.of(new Vector3f(1, -1, 0)), particles);
+        assertEquals(List.of(new Vector3f(0, 2, 0)), copies);
+        assertEquals(2, geometry.size());
+        geometry.replay(renderer, 1, origin);
+        assertTrue(particles.get(2).equals(new Vector3f(1, 1, 0), EPSILON));
+    }
+}
@@ -0,0 +1,68 @@
+package net.mcbrincie.apel.lib.util;
+
+import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.LinearEasingCurve;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComputedEasingsTest {
+    private static final ComputedField.OfFloat RADIUS = ComputedField.floatField("radius");
+    private static final ComputedField.OfInt SIDES = ComputedField.intField("sides");
+    private static final ComputedField.OfObject<Vector3f> VERTEX = ComputedField.objectField("vertex");
+    private static final ComputedField.OfFloat UNUSED = ComputedField.floatField("unused");
+
+    @Test
+    void testTypedFields() {
+        // Given a container halfway through an animation
+        ComputedEasingPA container = new ComputedEasingPA(null, 5, 10);
+
+        // When fields of every type are added
+        container.addComputedField(RADIUS, new LinearEasingCurve<>(0f, 4f))
+                .addComputedField(SIDES, new LinearEasingCurve<>(0, 5))
+                .addComputedField(VERTEX, new ConstantEasingCurve<>(new Vector3f(1, 2, 3)));
+
+        // Then they hold the values of the curves, integers being rounded like their boxed values
+        float radius = container.getComputedField(RADIUS);
+        int sides = container.getComputedField(SIDES);
+        assertEquals(2f, radius);
+        assertEquals(new LinearEasingCurve<>(0, 5).getValue(0.5f), sides);
+        assertEquals(new Vector3f(1, 2, 3), container.getComputedField(VERTEX));
+    }
+
+    @Test
+    void testMissingFields() {
+        // Given a container without fields
+        ComputedEasingPA container = new ComputedEasingPA(null, 5, 10);
+
+        // When fields are read
+        // Then they read as zero or null
+        assertEquals(0f, container.getComputedField(UNUSED));
+        assertEquals(0, container.getComputedField(SIDES));
+        assertNull(container.getComputedField(VERTEX));
+    }
+
+    @Test
+    void testStoreFieldsComparesWithPreviousStep() {
+        // Given a snapshot of the fields of a step with an animated radius
+        ComputedEasings.Snapshot snapshot = new ComputedEasings.Snapshot();
+        LinearEasingCurve<Float> radius = new LinearEasingCurve<>(0f, 4f);
+        ConstantEasingCurve<Integer> sides = new ConstantEasingCurve<>(3);
+        new ComputedEasingPA(null, 5, 10).addComputedField(RADIUS, radius).addComputedField(SIDES, sides)
+                .storeFields(snapshot);
+
+        // When the same step and then the next one are stored
+        boolean sameStep = new ComputedEasingPA(null, 5, 10).addComputedField(RADIUS, radius)
+                .addComputedField(SIDES, sides).storeFields(snapshot);
+        boolean nextStep = new ComputedEasingPA(null, 6, 10).addComputedField(RADIUS, radius)
+                .addComputedField(SIDES, sides).storeFields(snapshot);
+
+        // Then only the step whose radius changed differs
+        assertTrue(sameStep);
+        assertFalse(nextStep);
+    }
+}
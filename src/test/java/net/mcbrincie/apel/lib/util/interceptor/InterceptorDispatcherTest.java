@@ -0,0 +1,79 @@
+package net.mcbrincie.apel.lib.util.interceptor;
+
+import net.mcbrincie.apel.lib.objects.ParticlePoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterceptorDispatcherTest {
+
+    @Test
+    void testIdentityInterceptorsAreDropped() {
+        // Given a dispatcher
+        ObjectInterceptorDispatcher<ParticlePoint> dispatcher = new ObjectInterceptorDispatcher<>();
+
+        // When identity and null interceptors are added
+        dispatcher.addInterceptor(ObjectInterceptor.identity());
+        dispatcher.addInterceptor(3, ObjectInterceptor.identity());
+        dispatcher.addInterceptor(null);
+
+        // Then the dispatcher stays empty
+        assertTrue(dispatcher.isEmpty());
+    }
+
+    @Test
+    void testInterceptorsRunInPriorityOrder() {
+        // Given a dispatcher with interceptors added out of priority order
+        ObjectInterceptorDispatcher<ParticlePoint> dispatcher = new ObjectInterceptorDispatcher<>();
+        List<String> calls = new ArrayList<>();
+        dispatcher.addInterceptor(10, (data, object) -> calls.add("late"));
+        dispatcher.addInterceptor((data, object) -> calls.add("first"));
+        dispatcher.addInterceptor(10, (data, object) -> calls.add("later"));
+        dispatcher.addInterceptor(5, (data, object) -> calls.add("early"));
+
+        // When the interceptors are computed
+        dispatcher.compute(null, null);
+
+        // Then they run by priority, and in insertion order within a priority
+        assertFalse(dispatcher.isEmpty());
+        assertEquals(List.of("first", "early", "late", "later"), calls);
+    }
+
+    @Test
+    void testConcurrentRegistration() throws Exception {
+        // Given a dispatcher and several threads
+        ObjectInterceptorDispatcher<ParticlePoint> dispatcher = new ObjectInterceptorDispatcher<>();
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When every thread adds interceptors while the dispatcher is computed
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    dispatcher.addInterceptor((data, object) -> calls.incrementAndGet());
+                    dispatcher.compute(null, null);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then no interceptor was lost, and every one received its own priority
+        calls.set(0);
+        dispatcher.compute(null, null);
+        assertEquals(1000, calls.get());
+        assertEquals(1001, dispatcher.addInterceptor((data, object) -> { }));
+    }
+}
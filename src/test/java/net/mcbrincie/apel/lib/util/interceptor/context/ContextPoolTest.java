@@ -0,0 +1,79 @@
+package net.mcbrincie.apel.lib.util.interceptor.context;
+
+import net.mcbrincie.apel.lib.util.ComputedEasingPO;
+import net.minecraft.server.world.ServerWorld;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContextPoolTest {
+    // Declaring a null to avoid mocking and needing the Minecraft startup
+    private static final ServerWorld NULL_WORLD = null;
+    private static final ComputedEasingPO NULL_COMPUTED_EASINGS = null;
+
+    @Test
+    void testNestedContextsAreReused() {
+        // Given a pool which drew a parent and a child holding metadata
+        ContextPool pool = new ContextPool(false);
+        Key<Integer> key = Key.integerKey("foo");
+        DrawContext<?> parent = pool.acquireDraw(NULL_WORLD, new Vector3f(), 0, 10, 0, NULL_COMPUTED_EASINGS);
+        DrawContext<?> child = pool.acquireDraw(NULL_WORLD, new Vector3f(), 0, 10, 0, NULL_COMPUTED_EASINGS);
+        child.addMetadata(key, 3);
+        pool.release(child);
+        pool.release(parent);
+
+        // When the next frame is drawn
+        Vector3f position = new Vector3f(1, 2, 3);
+        DrawContext<?> nextParent = pool.acquireDraw(NULL_WORLD, position, 1, 10, 0, NULL_COMPUTED_EASINGS);
+        DrawContext<?> nextChild = pool.acquireDraw(NULL_WORLD, position, 1, 10, 0, NULL_COMPUTED_EASINGS);
+
+        // Then the same contexts are handed out, holding the new values and none of the old metadata
+        assertSame(parent, nextParent);
+        assertSame(child, nextChild);
+        assertEquals(1, nextChild.getCurrentStep());
+        assertSame(position, nextChild.getPosition());
+        assertNull(nextChild.getMetadata(key));
+    }
+
+    @Test
+    void testContextsAreReleasedInnermostFirst() {
+        // Given a pool with a parent and a child animation context
+        ContextPool pool = new ContextPool(false);
+        AnimationContext parent = pool.acquireAnimation(NULL_WORLD, null, 0);
+        AnimationContext child = pool.acquireAnimation(NULL_WORLD, new Vector3f(), 0);
+        child.setShouldRender(false);
+
+        // When the parent is released first
+        // Then it is rejected, and a reused context renders again
+        assertThrows(IllegalStateException.class, () -> pool.release(parent));
+        pool.release(child);
+        pool.release(parent);
+        pool.acquireAnimation(NULL_WORLD, null, 0);
+        assertTrue(pool.acquireAnimation(NULL_WORLD, new Vector3f(), 1).shouldRender());
+    }
+
+    @Test
+    void testDebugModeDetectsEscapes() {
+        // Given a pool in debug mode and a context kept past the end of its draw
+        ContextPool pool = new ContextPool(true);
+        DrawContext<?> escaped = pool.acquireDraw(NULL_WORLD, new Vector3f(), 0, 10, 0, NULL_COMPUTED_EASINGS);
+        pool.release(escaped);
+        AnimationContext escapedAnimation = pool.acquireAnimation(NULL_WORLD, new Vector3f(), 0);
+        pool.release(escapedAnimation);
+
+        // When another draw happens and the escaped contexts are used
+        DrawContext<?> next = pool.acquireDraw(NULL_WORLD, new Vector3f(), 1, 10, 0, NULL_COMPUTED_EASINGS);
+
+        // Then the pool does not reuse them, and they throw
+        assertNotSame(escaped, next);
+        assertThrows(IllegalStateException.class, escaped::getPosition);
+        assertThrows(IllegalStateException.class, () -> escaped.addMetadata(Key.integerKey("foo"), 1));
+        assertThrows(IllegalStateException.class, escapedAnimation::shouldRender);
+    }
+}
@@ -0,0 +1,137 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.quantizers.MediaPalette;
+import net.mcbrincie.apel.lib.util.media.quantizers.MediaQuantizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaClipCacheTest {
+    private static final int RED = 0xFFFF0000;
+    private static final int BLUE = 0xFF0000FF;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBakeAndReopen() throws IOException {
+        // Given a 3x2 frame with a red run, a transparent pixel and blue pixels
+        int[] pixels = {
+                RED, RED, 0x00000000,
+                BLUE, RED, BLUE
+        };
+        ParticleMedia.FrameData frame = new ParticleMedia.FrameData(pixels, 3, 2);
+        MediaQuantizer quantizer = MediaQuantizer.of(MediaPalette.of(RED, BLUE), false);
+        Path file = this.tempDir.resolve("clip.apmc");
+
+        // When two frames are baked, skipping the fully transparent pixels, and the file is reopened
+        MediaClipCache.bake(file, 0, 2, step -> frame, quantizer, 1);
+        MediaClipCache clip = MediaClipCache.open(file);
+
+        // Then the frames are stored as runs grouped by palette entry
+        assertEquals(2, clip.getFrameCount());
+        assertEquals(RED, clip.getPalette().getColor(0));
+        assertEquals(3, clip.getWidth(1));
+        assertEquals(2, clip.getHeight(1));
+        assertEquals(4, clip.getRunCount(1));
+        assertRun(clip, 1, 0, 0, 0, 0, 2);
+        assertRun(clip, 1, 1, 0, 1, 1, 1);
+        assertRun(clip, 1, 2, 1, 0, 1, 1);
+        assertRun(clip, 1, 3, 1, 2, 1, 1);
+    }
+
+    @Test
+    void testBakedPaletteSpansTheClip() throws IOException {
+        // Given a clip opening on black frames and ending on red ones, quantized to a computed palette
+        int[] black = new int[4];
+        int[] red = new int[4];
+        Arrays.fill(black, 0xFF000000);
+        Arrays.fill(red, RED);
+        MediaQuantizer quantizer = MediaQuantizer.medianCut(2, false);
+        Path file = this.tempDir.resolve("fade.apmc");
+
+        // When it is baked
+        MediaClipCache clip = MediaClipCache.bake(file, 0, 8,
+                step -> new ParticleMedia.FrameData(step < 4 ? black : red, 2, 2), quantizer, 1);
+
+        // Then the palette holds the colors of the whole clip, not only of the first frame
+        assertEquals(2, clip.getPalette().size());
+        assertEquals(RED, clip.getPalette().getColor(clip.getRunEntry(7, 0)));
+    }
+
+    @Test
+    void testLoadBakesAgainOnlyWhenThePipelineChanges() throws IOException {
+        // Given a clip loaded once, counting the frames processed
+        ParticleMedia.FrameData red = new ParticleMedia.FrameData(new int[]{RED, RED}, 2, 1);
+        ParticleMedia.FrameData blue = new ParticleMedia.FrameData(new int[]{BLUE, BLUE}, 2, 1);
+        MediaQuantizer quantizer = MediaQuantizer.of(MediaPalette.of(RED, BLUE), false);
+        Path file = this.tempDir.resolve("load.apmc");
+        AtomicInteger processed = new AtomicInteger();
+        long first = MediaClipCache.load(file, null, 8, step -> {
+            processed.incrementAndGet();
+            return red;
+        }, quantizer, 1).getFingerprint();
+
+        // When it is loaded again with the same pipeline, and then with frames that changed
+        processed.set(0);
+        MediaClipCache same = MediaClipCache.load(file, null, 8, step -> {
+            processed.incrementAndGet();
+            return red;
+        }, quantizer, 1);
+        int processedForSame = processed.get();
+        MediaClipCache changed = MediaClipCache.load(file, null, 8, step -> blue, quantizer, 1);
+
+        // Then the matching file is mapped after only fingerprinting a few frames, and the changed one is baked again
+        assertEquals(first, same.getFingerprint());
+        assertTrue(processedForSame < 8);
+        assertNotEquals(first, changed.getFingerprint());
+        assertEquals(BLUE, changed.getPalette().getColor(changed.getRunEntry(0, 0)));
+        assertEquals(changed.getFingerprint(), MediaClipCache.open(file).getFingerprint());
+    }
+
+    @Test
+    void testLoadAsyncBakesInTheBackground() throws Exception {
+        // Given a clip which has not been baked yet
+        ParticleMedia.FrameData frame = new ParticleMedia.FrameData(new int[]{RED, BLUE}, 2, 1);
+        MediaQuantizer quantizer = MediaQuantizer.of(MediaPalette.of(RED, BLUE), false);
+        Path file = this.tempDir.resolve("async.apmc");
+
+        // When it is loaded asynchronously
+        MediaClipCache clip = MediaClipCache.loadAsync(file, null, 3, step -> frame, quantizer, 1)
+                .get(10, TimeUnit.SECONDS);
+
+        // Then the clip is baked to the file
+        assertEquals(3, clip.getFrameCount());
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        // Given a file which is not a baked clip
+        Path file = this.tempDir.resolve("other.apmc");
+        Files.write(file, new byte[32]);
+
+        // When it is opened
+        // Then it is rejected
+        assertThrows(IOException.class, () -> MediaClipCache.open(file));
+    }
+
+    private static void assertRun(MediaClipCache clip, int frame, int run, int entry, int x, int y, int length) {
+        assertEquals(entry, clip.getRunEntry(frame, run));
+        assertEquals(x, clip.getRunX(frame, run));
+        assertEquals(y, clip.getRunY(frame, run));
+        assertEquals(length, clip.getRunLength(frame, run));
+    }
+}
@@ -0,0 +1,62 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaFrameDeltaTest {
+
+    @Test
+    void testOnlyChangesBeyondThresholdAreDrawn() {
+        // Given a delta with a threshold of 8 which rendered a 2x1 keyframe
+        MediaFrameDelta delta = MediaFrameDelta.of(8, 100);
+        assertTrue(delta.begin(2, 1, 0));
+        assertTrue(delta.changed(0, 0xFF102030));
+        assertTrue(delta.changed(1, 0xFF102030));
+
+        // When the next frame changes one pixel slightly and the other beyond the threshold
+        boolean keyframe = delta.begin(2, 1, 1);
+        boolean small = delta.changed(0, 0xFF142030);
+        boolean large = delta.changed(1, 0xFF102040);
+
+        // Then only the large change is drawn
+        assertFalse(keyframe);
+        assertFalse(small);
+        assertTrue(large);
+    }
+
+    @Test
+    void testDriftAccumulatesAgainstRenderedColor() {
+        // Given a delta with a threshold of 8 which rendered a single black pixel
+        MediaFrameDelta delta = MediaFrameDelta.of(8, 100);
+        delta.begin(1, 1, 0);
+        delta.changed(0, 0xFF000000);
+
+        // When the pixel brightens by 5 per frame
+        delta.begin(1, 1, 1);
+        boolean first = delta.changed(0, 0xFF050505);
+        delta.begin(1, 1, 2);
+        boolean second = delta.changed(0, 0xFF0A0A0A);
+
+        // Then it is drawn once the drift from the rendered color exceeds the threshold
+        assertFalse(first);
+        assertTrue(second);
+    }
+
+    @Test
+    void testKeyframes() {
+        // Given a delta with a keyframe every 3 frames
+        MediaFrameDelta delta = MediaFrameDelta.of(0, 3);
+
+        // When frames are drawn, the size changes, and the animation restarts
+        // Then keyframes happen on the first frame, every 3 frames, on resize and on restart
+        assertTrue(delta.begin(4, 4, 0));
+        assertFalse(delta.begin(4, 4, 1));
+        assertFalse(delta.begin(4, 4, 2));
+        assertTrue(delta.begin(4, 4, 3));
+        assertTrue(delta.begin(8, 4, 4));
+        assertFalse(delta.begin(8, 4, 5));
+        assertTrue(delta.begin(8, 4, 0));
+    }
+}
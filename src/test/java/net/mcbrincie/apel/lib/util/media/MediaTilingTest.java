@@ -0,0 +1,71 @@
+package net.mcbrincie.apel.lib.util.media;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilter;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilterPipeline;
+import net.mcbrincie.apel.lib.util.media.filters.MediaFilters;
+import net.mcbrincie.apel.lib.util.media.resamplers.MediaResamplers;
+import net.mcbrincie.apel.lib.util.media.resamplers.TiledMediaResampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MediaTilingTest {
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 200;
+
+    @Test
+    void testTilesCoverEveryRowOnce() {
+        // Given a parallel tiling splitting every frame, on a pool of four workers
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MediaTiling tiling = MediaTiling.parallel(pool, 1);
+
+        // When the rows of a tall frame are visited
+        AtomicIntegerArray visits = new AtomicIntegerArray(5000);
+        tiling.forEachRows(4, 5000, (fromRow, toRow) -> {
+            for (int row = fromRow; row < toRow; row++) {
+                visits.incrementAndGet(row);
+            }
+        });
+        pool.shutdown();
+
+        // Then every row is visited exactly once
+        for (int row = 0; row < visits.length(); row++) {
+            assertEquals(1, visits.get(row));
+        }
+    }
+
+    @Test
+    void testTiledOutputMatchesSequential() {
+        // Given a random frame, resampled and passed through fused pixel filters
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MediaTiling tiling = MediaTiling.parallel(pool, 1);
+        List<MediaFilter> filters = List.of(MediaFilters.brightness(1.2f), MediaFilters.contrast(0.8f));
+        int[] pixels = new Random(42).ints(WIDTH * HEIGHT).toArray();
+
+        // When it is processed both sequentially and in parallel tiles
+        int[] sequential = process(pixels, filters, MediaTiling.SEQUENTIAL);
+        int[] tiled = process(pixels, filters, tiling);
+        pool.shutdown();
+
+        // Then both outputs are identical
+        assertArrayEquals(sequential, tiled);
+    }
+
+    private static int[] process(int[] pixels, List<MediaFilter> filters, MediaTiling tiling) {
+        ParticleMedia.FrameData frame = new ParticleMedia.FrameData(pixels.clone(), WIDTH, HEIGHT);
+        TiledMediaResampler resampler = (TiledMediaResampler) MediaResamplers.bilinear(WIDTH / 2 + 7, HEIGHT * 2 - 3);
+        resampler.apply(frame, 0, tiling);
+        MediaFilterPipeline pipeline = new MediaFilterPipeline();
+        pipeline.setTiling(tiling);
+        ParticleMedia.FrameData filtered = pipeline.apply(frame, filters, 0);
+        return Arrays.copyOf(filtered.frame, filtered.width * filtered.height);
+    }
+}
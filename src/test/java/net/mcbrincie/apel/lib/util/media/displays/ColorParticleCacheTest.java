@@ -0,0 +1,43 @@
+package net.mcbrincie.apel.lib.util.media.displays;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColorParticleCacheTest {
+
+    @Test
+    void testCachesValues() {
+        // Given a cache counting the values it creates
+        AtomicInteger created = new AtomicInteger();
+        ColorParticleCache<String> cache = new ColorParticleCache<>(64, key -> {
+            created.incrementAndGet();
+            return Integer.toHexString(key);
+        });
+
+        // When the same color is looked up twice
+        String first = cache.get(0xFF8800);
+        String second = cache.get(0xFF8800);
+
+        // Then it is only created once
+        assertSame(first, second);
+        assertEquals("ff8800", first);
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void testBoundedUnderConcurrentUse() {
+        // Given a small cache
+        ColorParticleCache<Integer> cache = new ColorParticleCache<>(100, key -> key);
+
+        // When far more colors than its capacity are looked up from parallel threads
+        IntStream.range(0, 1 << 20).parallel().forEach(color -> assertEquals(color, cache.get(color)));
+
+        // Then every lookup returned the right value, and the capacity stayed the rounded-up bound
+        assertEquals(128, cache.capacity());
+    }
+}
@@ -0,0 +1,61 @@
+package net.mcbrincie.apel.lib.util.media.filters;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MediaFilterPipelineTest {
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+
+    @Test
+    void testFusedOutputMatchesFiltersAppliedOneAtATime() {
+        // Given a random frame, and pixel filters around a general filter which swaps the red and blue channels
+        MediaFilter swap = (data, t) -> {
+            for (int i = 0; i < data.width * data.height; i++) {
+                int argb = data.frame[i];
+                data.frame[i] = argb & 0xFF00FF00 | (argb >> 16 & 0xFF) | (argb & 0xFF) << 16;
+            }
+        };
+        List<MediaFilter> filters = List.of(
+                MediaFilters.brightness(1.3f), MediaFilters.contrast(0.4f), swap,
+                MediaFilters.saturate(1.5f), MediaFilters.invert()
+        );
+        int[] pixels = new Random(7).ints(WIDTH * HEIGHT).toArray();
+        int[] source = pixels.clone();
+
+        // When it is filtered through the pipeline, and by applying each filter in turn to a copy of it
+        ParticleMedia.FrameData fused = new MediaFilterPipeline().apply(
+                new ParticleMedia.FrameData(pixels, WIDTH, HEIGHT), filters, 0);
+        ParticleMedia.FrameData expected = new ParticleMedia.FrameData(pixels.clone(), WIDTH, HEIGHT);
+        for (MediaFilter filter : filters) {
+            filter.apply(expected, 0);
+        }
+
+        // Then both outputs are identical, and the source frame is left untouched
+        assertEquals(WIDTH, fused.width);
+        assertEquals(HEIGHT, fused.height);
+        assertArrayEquals(expected.frame, fused.frame);
+        assertArrayEquals(source, pixels);
+    }
+
+    @Test
+    void testBrightnessAndContrastScaleEachChannel() {
+        // Given a translucent pixel with distinct red, green and blue channels
+        int argb = 0x80C86432;
+
+        // When its brightness is halved, and its contrast raised
+        int dimmed = MediaFilters.brightness(0.5f).pixelOperation(0).applyAsInt(argb);
+        int contrasted = MediaFilters.contrast(0.5f).pixelOperation(0).applyAsInt(argb);
+
+        // Then every channel is scaled on its own, clamped to its range, and the alpha is kept
+        assertEquals(0x80643219, dimmed);
+        assertEquals(0x80FF2D00, contrasted);
+        assertEquals(argb, MediaFilters.contrast(0).pixelOperation(0).applyAsInt(argb));
+    }
+}
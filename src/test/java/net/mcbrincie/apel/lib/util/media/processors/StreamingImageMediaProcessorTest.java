@@ -0,0 +1,104 @@
+package net.mcbrincie.apel.lib.util.media.processors;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingImageMediaProcessorTest {
+    private static final int FRAMES = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoopingPlaybackWrapsAround() throws IOException {
+        // Given an animation of five frames, streamed through two buffered frames
+        try (StreamingImageMediaProcessor processor = new StreamingImageMediaProcessor(this.animation(), 2)) {
+
+            // When it is played in order three times over
+            // Then every frame holds its own color, including the first frame after the last one
+            for (int loop = 0; loop < 3; loop++) {
+                for (int frame = 0; frame < FRAMES; frame++) {
+                    assertFrame(frame, processor.process(frame));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSeekingRestartsTheDecoder() throws IOException {
+        // Given an animation of five frames, streamed through two buffered frames and played up to the fourth one
+        try (StreamingImageMediaProcessor processor = new StreamingImageMediaProcessor(this.animation(), 2)) {
+            for (int frame = 0; frame < 4; frame++) {
+                processor.process(frame);
+            }
+
+            // When an older frame is requested, and then playback continues from it
+            // Then the decoder restarts at the requested frame
+            assertFrame(1, processor.process(1));
+            assertFrame(2, processor.process(2));
+            assertFrame(0, processor.process(0));
+        }
+    }
+
+    @Test
+    void testClosingStopsPlayback() throws IOException {
+        // Given a streaming processor which played its first frame, and a copy of it
+        StreamingImageMediaProcessor processor = new StreamingImageMediaProcessor(this.animation(), 2);
+        processor.process(0);
+        StreamingImageMediaProcessor copy = processor.copy();
+
+        // When the processor is closed
+        processor.close();
+
+        // Then it can no longer be played, while the copy keeps its frame count and plays on its own
+        assertThrows(IllegalStateException.class, () -> processor.process(1));
+        assertEquals(FRAMES, copy.getFrameCount());
+        assertFrame(1, copy.process(1));
+        copy.close();
+    }
+
+    private static void assertFrame(int frame, ParticleMedia.FrameData data) {
+        assertEquals(2, data.width);
+        assertEquals(2, data.height);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(color(frame), data.frame[i]);
+        }
+    }
+
+    private static int color(int frame) {
+        return 0xFF000000 | (frame * 40) << 8;
+    }
+
+    private Path animation() throws IOException {
+        // TIFF is lossless and multi-page, so each frame can be told apart by its color
+        Path path = this.tempDir.resolve("animation.tiff");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(path.toFile())) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+            for (int frame = 0; frame < FRAMES; frame++) {
+                BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+                for (int i = 0; i < 4; i++) {
+                    image.setRGB(i % 2, i / 2, color(frame));
+                }
+                writer.writeToSequence(new IIOImage(image, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return path;
+    }
+}
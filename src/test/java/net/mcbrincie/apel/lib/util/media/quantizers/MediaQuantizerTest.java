@@ -0,0 +1,103 @@
+package net.mcbrincie.apel.lib.util.media.quantizers;
+
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaQuantizerTest {
+    private static final int SIZE = 16;
+
+    private static ParticleMedia.FrameData gray(int level) {
+        int[] pixels = new int[SIZE * SIZE];
+        Arrays.fill(pixels, 0xFF000000 | level << 16 | level << 8 | level);
+        return new ParticleMedia.FrameData(pixels, SIZE, SIZE);
+    }
+
+    private static int brightest(MediaPalette palette) {
+        int brightest = 0;
+        for (int entry = 0; entry < palette.size(); entry++) {
+            brightest = Math.max(brightest, palette.getColor(entry) & 0xFF);
+        }
+        return brightest;
+    }
+
+    @Test
+    void testAdaptiveFadeInRebuildsPalette() {
+        // Given an adaptive palette, and a clip fading in from black
+        MediaQuantizer quantizer = MediaQuantizer.adaptive(4, false);
+        quantizer.quantize(gray(0));
+        MediaPalette first = quantizer.getPalette();
+
+        // When a slightly brighter frame and then a white frame are quantized
+        quantizer.quantize(gray(4));
+        MediaPalette dim = quantizer.getPalette();
+        MediaQuantizer.QuantizedFrame white = quantizer.quantize(gray(255));
+
+        // Then the palette is kept while the error is small, and rebuilt to hold the white of the later frame
+        assertSame(first, dim);
+        assertTrue(brightest(white.getPalette()) >= 240);
+        assertEquals(255, white.getPalette().getColor(white.getEntry(0)) & 0xFF, 16);
+    }
+
+    @Test
+    void testComputedPaletteIsKeptAcrossFrames() {
+        // Given a computed palette built out of the first, black frame
+        MediaQuantizer quantizer = MediaQuantizer.medianCut(4, false);
+        quantizer.quantize(gray(0));
+        MediaPalette first = quantizer.getPalette();
+
+        // When a white frame is quantized
+        MediaQuantizer.QuantizedFrame white = quantizer.quantize(gray(255));
+
+        // Then the palette is not rebuilt
+        assertSame(first, white.getPalette());
+        assertFalse(quantizer.isAdaptive());
+    }
+
+    @Test
+    void testPreparedPaletteSpansClip() {
+        // Given a computed palette, and a clip of 100 frames that turns from black to white halfway
+        MediaQuantizer quantizer = MediaQuantizer.medianCut(4, false);
+        List<Integer> sampledFrames = new ArrayList<>();
+
+        // When it is prepared, and the first frame is quantized
+        quantizer.prepare(100, frame -> {
+            sampledFrames.add(frame);
+            return gray(frame < 50 ? 0 : 255);
+        });
+        MediaPalette prepared = quantizer.getPalette();
+        MediaQuantizer.QuantizedFrame black = quantizer.quantize(gray(0));
+
+        // Then frames from the whole clip are sampled once, and the palette holds the later colors from the start
+        assertEquals(32, sampledFrames.size());
+        assertEquals(0, sampledFrames.getFirst());
+        assertTrue(sampledFrames.getLast() >= 96);
+        assertEquals(255, brightest(prepared));
+        assertSame(prepared, black.getPalette());
+    }
+
+    @Test
+    void testFixedPaletteSpansSampledFrames() {
+        // Given a computed palette sampling a black and a white frame without quantizing them
+        MediaQuantizer quantizer = MediaQuantizer.medianCut(2, false);
+        quantizer.sample(gray(0));
+        quantizer.sample(gray(255));
+
+        // When it is fixed
+        MediaQuantizer fixed = quantizer.fixed();
+
+        // Then the palette holds both sampled colors, and a given palette stays as it is
+        assertEquals(2, fixed.getPalette().size());
+        assertEquals(255, brightest(fixed.getPalette()));
+        assertEquals(0xFF000000, fixed.getPalette().getColor(fixed.getPalette().nearest(0, 0, 0)));
+        assertSame(fixed, fixed.fixed());
+    }
+}
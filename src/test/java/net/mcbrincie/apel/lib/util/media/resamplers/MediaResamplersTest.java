@@ -0,0 +1,137 @@
+package net.mcbrincie.apel.lib.util.media.resamplers;
+
+import net.mcbrincie.apel.lib.easing.shaped.ConstantEasingCurve;
+import net.mcbrincie.apel.lib.easing.shaped.LinearEasingCurve;
+import net.mcbrincie.apel.lib.objects.ParticleMedia;
+import net.minecraft.util.math.ColorHelper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MediaResamplersTest {
+    // Source and destination sizes, covering single pixels, non-integer ratios, and both up and down scaling
+    private static final int[][] SIZES = {
+            {7, 5, 17, 11},
+            {13, 9, 4, 3},
+            {1, 1, 5, 4},
+            {6, 4, 1, 1},
+            {5, 5, 5, 5}
+    };
+
+    @Test
+    void testRebuiltTablesMatchPerPixelResampling() {
+        // Given a nearest neighbour and a bilinear resampler, reused across frames of every source size
+        Random random = new Random(3);
+        for (int[] size : SIZES) {
+            int srcW = size[0];
+            int srcH = size[1];
+            int destW = size[2];
+            int destH = size[3];
+            MediaResampler nearest = MediaResamplers.nearestNeighbour(destW, destH);
+            MediaResampler bilinear = MediaResamplers.bilinear(destW, destH);
+            for (int[] other : SIZES) {
+                nearest.apply(frame(random, other[0], other[1]), 0);
+                bilinear.apply(frame(random, other[0], other[1]), 0);
+            }
+            int[] pixels = random.ints(srcW * srcH).toArray();
+
+            // When a frame of the given source size is resampled, after the tables were built for other sizes
+            ParticleMedia.FrameData nearestFrame = new ParticleMedia.FrameData(pixels.clone(), srcW, srcH);
+            ParticleMedia.FrameData bilinearFrame = new ParticleMedia.FrameData(pixels.clone(), srcW, srcH);
+            nearest.apply(nearestFrame, 0);
+            bilinear.apply(bilinearFrame, 0);
+
+            // Then both match computing every destination pixel on its own
+            String message = Arrays.toString(size);
+            assertEquals(destW, nearestFrame.width, message);
+            assertEquals(destH, nearestFrame.height, message);
+            assertArrayEquals(nearestNeighbour(pixels, srcW, srcH, destW, destH), nearestFrame.frame, message);
+            assertArrayEquals(bilinear(pixels, srcW, srcH, destW, destH), bilinearFrame.frame, message);
+        }
+    }
+
+    @Test
+    void testDestinationBufferIsReused() {
+        // Given a bilinear resampler, and two frames of the same size
+        MediaResampler resampler = MediaResamplers.bilinear(9, 7);
+        Random random = new Random(5);
+        ParticleMedia.FrameData first = frame(random, 4, 3);
+        ParticleMedia.FrameData second = frame(random, 4, 3);
+        int[] pixels = second.frame.clone();
+
+        // When both are resampled
+        resampler.apply(first, 0);
+        resampler.apply(second, 0);
+
+        // Then the second frame is written into the color array of the first one
+        assertSame(first.frame, second.frame);
+        assertArrayEquals(bilinear(pixels, 4, 3, 9, 7), second.frame);
+    }
+
+    @Test
+    void testBufferIsReallocatedWhenOnlyDestinationSizeChanges() {
+        // Given a nearest neighbour resampler whose width grows from 8 to 12, and one source frame
+        MediaResampler resampler = MediaResamplers.nearestNeighbour(
+                new LinearEasingCurve<>(8, 12), new ConstantEasingCurve<>(6));
+        int[] pixels = new Random(9).ints(10 * 4).toArray();
+
+        // When the frame is resampled at the start and at the end of the curve
+        ParticleMedia.FrameData start = new ParticleMedia.FrameData(pixels.clone(), 10, 4);
+        resampler.apply(start, 0);
+        int[] startPixels = start.frame;
+        ParticleMedia.FrameData end = new ParticleMedia.FrameData(pixels.clone(), 10, 4);
+        resampler.apply(end, 1);
+
+        // Then the wider frame gets a new array of its own size, with the tables rebuilt for it
+        assertNotSame(startPixels, end.frame);
+        assertEquals(12, end.width);
+        assertEquals(12 * 6, end.frame.length);
+        assertArrayEquals(nearestNeighbour(pixels, 10, 4, 12, 6), end.frame);
+    }
+
+    private static ParticleMedia.FrameData frame(Random random, int width, int height) {
+        return new ParticleMedia.FrameData(random.ints(width * height).toArray(), width, height);
+    }
+
+    private static int[] nearestNeighbour(int[] src, int srcW, int srcH, int destW, int destH) {
+        int[] dst = new int[destW * destH];
+        float xRatio = srcW / (float) destW;
+        float yRatio = srcH / (float) destH;
+        for (int y = 0; y < destH; y++) {
+            int srcY = Math.min((int) (y * yRatio), srcH - 1);
+            for (int x = 0; x < destW; x++) {
+                int srcX = Math.min((int) (x * xRatio), srcW - 1);
+                dst[y * destW + x] = src[srcY * srcW + srcX];
+            }
+        }
+        return dst;
+    }
+
+    private static int[] bilinear(int[] src, int srcW, int srcH, int destW, int destH) {
+        int[] dst = new int[destW * destH];
+        float xRatio = (srcW - 1) / (float) destW;
+        float yRatio = (srcH - 1) / (float) destH;
+        for (int y = 0; y < destH; y++) {
+            float fy = y * yRatio;
+            int y0 = (int) fy;
+            int y1 = Math.min(y0 + 1, srcH - 1);
+            float dy = fy - y0;
+            for (int x = 0; x < destW; x++) {
+                float fx = x * xRatio;
+                int x0 = (int) fx;
+                int x1 = Math.min(x0 + 1, srcW - 1);
+                float dx = fx - x0;
+                int c0 = ColorHelper.lerp(dx, src[y0 * srcW + x0], src[y0 * srcW + x1]);
+                int c1 = ColorHelper.lerp(dx, src[y1 * srcW + x0], src[y1 * srcW + x1]);
+                dst[y * destW + x] = ColorHelper.lerp(dy, c0, c1);
+            }
+        }
+        return dst;
+    }
+}
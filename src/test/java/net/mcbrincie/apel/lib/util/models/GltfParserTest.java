@@ -0,0 +1,170 @@
+package net.mcbrincie.apel.lib.util.models;
+
+import com.google.common.collect.ImmutableList;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GltfParserTest {
+
+    private static final String TRIANGLE_JSON = """
+            {"asset":{"version":"2.0"},
+             "buffers":[{"byteLength":44}],
+             "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":36},
+                            {"buffer":0,"byteOffset":36,"byteLength":6}],
+             "accessors":[{"bufferView":0,"componentType":5126,"count":3,"type":"VEC3"},
+                          {"bufferView":1,"componentType":5123,"count":3,"type":"SCALAR"}],
+             "meshes":[{"primitives":[{"attributes":{"POSITION":0},"indices":1}]}]}
+            """;
+
+    private static final String SPARSE_JSON = """
+            {"asset":{"version":"2.0"},
+             "buffers":[{"byteLength":56}],
+             "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":36},
+                            {"buffer":0,"byteOffset":48,"byteLength":6},
+                            {"buffer":0,"byteOffset":36,"byteLength":12},
+                            {"buffer":0,"byteOffset":54,"byteLength":2}],
+             "accessors":[{"bufferView":0,"componentType":5126,"count":3,"type":"VEC3",
+                           "sparse":{"count":1,
+                                     "indices":{"bufferView":3,"componentType":5123},
+                                     "values":{"bufferView":2}}},
+                          {"bufferView":1,"componentType":5123,"count":3,"type":"SCALAR"}],
+             "meshes":[{"primitives":[{"attributes":{"POSITION":0},"indices":1}]}]}
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParseBinaryTriangle() throws IOException {
+        // Given a binary glTF file with a single indexed triangle
+        Path file = this.tempDir.resolve("triangle.glb");
+        Files.write(file, glb(TRIANGLE_JSON, new float[]{0, 0, 0, 1, 0, 0, 0, 2, 0}, new short[]{0, 2, 1}));
+
+        // When it is parsed
+        ObjModel model = new ModelParserManager().parse(file.toFile());
+
+        // Then the mesh views the positions and indices in the binary chunk
+        IndexedMesh mesh = model.mesh();
+        assertTrue(model.faces().isEmpty());
+        assertEquals(3, mesh.getVertexCount());
+        assertEquals(1, mesh.getFaceCount());
+        assertEquals(new Vector3f(0, 0, 0), mesh.getPosition(mesh.getFaceVertex(0, 0), new Vector3f()));
+        assertEquals(new Vector3f(0, 2, 0), mesh.getPosition(mesh.getFaceVertex(0, 1), new Vector3f()));
+        assertEquals(new Vector3f(1, 0, 0), mesh.getPosition(mesh.getFaceVertex(0, 2), new Vector3f()));
+    }
+
+    @Test
+    void testParseSparseAccessor() throws IOException {
+        // Given a binary glTF file whose positions are overridden by a sparse accessor at the second vertex
+        Path file = this.tempDir.resolve("sparse.glb");
+        float[] positions = {0, 0, 0, 1, 0, 0, 0, 2, 0, 5, 5, 5};
+        Files.write(file, glb(SPARSE_JSON, positions, new short[]{0, 2, 1, 1}));
+
+        // When it is parsed
+        IndexedMesh mesh = new ModelParserManager().parse(file.toFile()).mesh();
+
+        // Then the sparse value replaces the base position, and the others are kept
+        assertEquals(3, mesh.getVertexCount());
+        assertEquals(new Vector3f(0, 0, 0), mesh.getPosition(0, new Vector3f()));
+        assertEquals(new Vector3f(5, 5, 5), mesh.getPosition(1, new Vector3f()));
+        assertEquals(new Vector3f(0, 2, 0), mesh.getPosition(2, new Vector3f()));
+    }
+
+    @Test
+    void testMalformedFileParsesEmpty() throws IOException {
+        // Given a binary glTF file whose indices refer past the last vertex
+        Path file = this.tempDir.resolve("malformed.glb");
+        Files.write(file, glb(TRIANGLE_JSON, new float[]{0, 0, 0, 1, 0, 0, 0, 2, 0}, new short[]{0, 2, 7}));
+
+        // When it is parsed
+        ObjModel model = new ModelParserManager().parse(file.toFile());
+
+        // Then the error is logged rather than thrown, and the model is empty
+        assertEquals(0, model.mesh().getFaceCount());
+    }
+
+    @Test
+    void testMistypedPropertiesParseEmpty() throws IOException {
+        // Given binary glTF files with a string accessor index, a missing accessor, and a buffer view out of bounds
+        float[] positions = {0, 0, 0, 1, 0, 0, 0, 2, 0};
+        short[] indices = {0, 2, 1};
+        String[] malformed = {
+                TRIANGLE_JSON.replace("\"POSITION\":0", "\"POSITION\":\"first\""),
+                TRIANGLE_JSON.replace("\"POSITION\":0", "\"POSITION\":9"),
+                TRIANGLE_JSON.replace("\"byteOffset\":36", "\"byteOffset\":4000")
+        };
+
+        for (int i = 0; i < malformed.length; i++) {
+            Path file = this.tempDir.resolve("mistyped" + i + ".glb");
+            Files.write(file, glb(malformed[i], positions, indices));
+
+            // When it is parsed
+            ObjModel model = new ModelParserManager().parse(file.toFile());
+
+            // Then the validation rejects it, and the model is empty
+            assertEquals(0, model.mesh().getFaceCount());
+        }
+    }
+
+    @Test
+    void testObjModelDerivesMesh() {
+        // Given an ObjModel built out of a quad sharing its vertices with a triangle
+        Vector3f a = new Vector3f(0, 0, 0);
+        Vector3f b = new Vector3f(1, 0, 0);
+        Vector3f c = new Vector3f(1, 1, 0);
+        Vector3f d = new Vector3f(0, 1, 0);
+        Vector3f e = new Vector3f(2, 0, 0);
+        ObjModel model = new ObjModel(
+                ImmutableList.of(face(a, b, c, d), face(b, e, c)),
+                ImmutableList.of()
+        );
+
+        // Then the mesh keeps the polygon sizes and shares the vertices
+        IndexedMesh mesh = model.mesh();
+        assertEquals(5, mesh.getVertexCount());
+        assertEquals(2, mesh.getFaceCount());
+        assertEquals(4, mesh.getFaceSize(0));
+        assertEquals(3, mesh.getFaceSize(1));
+        assertEquals(mesh.getFaceVertex(0, 1), mesh.getFaceVertex(1, 0));
+        assertEquals(e, mesh.getPosition(mesh.getFaceVertex(1, 1), new Vector3f()));
+    }
+
+    private static ObjModel.Face face(Vector3f... positions) {
+        ImmutableList.Builder<ObjModel.Vertex> vertices = ImmutableList.builder();
+        for (Vector3f position : positions) {
+            vertices.add(new ObjModel.Vertex(position, null, null));
+        }
+        return new ObjModel.Face(vertices.build());
+    }
+
+    private static byte[] glb(String json, float[] positions, short[] indices) {
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        int jsonLength = (jsonBytes.length + 3) & ~3;
+        int binLength = (positions.length * 4 + indices.length * 2 + 3) & ~3;
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 8 + jsonLength + 8 + binLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x46546C67).putInt(2).putInt(buffer.capacity());
+        buffer.putInt(jsonLength).putInt(0x4E4F534A).put(jsonBytes);
+        for (int i = jsonBytes.length; i < jsonLength; i++) {
+            buffer.put((byte) ' ');
+        }
+        buffer.putInt(binLength).putInt(0x004E4942);
+        for (float position : positions) {
+            buffer.putFloat(position);
+        }
+        for (short index : indices) {
+            buffer.putShort(index);
+        }
+        return buffer.array();
+    }
+}
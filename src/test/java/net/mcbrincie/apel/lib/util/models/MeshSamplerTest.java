@@ -0,0 +1,64 @@
+package net.mcbrincie.apel.lib.util.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeshSamplerTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    // A 1x1 square split into a small triangle (area 1/4 * 1/2) and the rest as a quad
+    private static final IndexedMesh SQUARE = IndexedMesh.of(
+            new float[]{0, 0, 0, 0.5f, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0.5f, 0},
+            new int[]{0, 1, 5, 1, 2, 3, 4, 5},
+            new int[]{0, 3, 8}
+    );
+
+    @Test
+    void testSampleSurfaceFollowsArea() {
+        // Given a sampler over a mesh whose faces have different areas
+        MeshSampler sampler = new MeshSampler(SQUARE);
+
+        // When sampling the surface
+        float[] points = sampler.sampleSurface(800, 42);
+
+        // Then every point lies on the surface and faces receive points proportionally to their area
+        assertEquals(1.0, sampler.getSurfaceArea(), EPSILON);
+        assertEquals(800 * 3, points.length);
+        int inSmallTriangle = 0;
+        for (int i = 0; i < points.length; i += 3) {
+            assertTrue(points[i] >= -EPSILON && points[i] <= 1 + EPSILON);
+            assertTrue(points[i + 1] >= -EPSILON && points[i + 1] <= 1 + EPSILON);
+            assertEquals(0, points[i + 2], EPSILON);
+            if (points[i] + points[i + 1] < 0.5f) {
+                inSmallTriangle++;
+            }
+        }
+        assertEquals(100, inSmallTriangle, 10);
+    }
+
+    @Test
+    void testSamplePoissonDisk() {
+        // Given a sampler over a square
+        MeshSampler sampler = new MeshSampler(SQUARE);
+
+        // When sampling blue noise twice with the same seed
+        float[] points = sampler.samplePoissonDisk(50, 7);
+
+        // Then the exact budget is returned, deterministically, and no two points are on top of each other
+        assertEquals(50 * 3, points.length);
+        assertArrayEquals(points, sampler.samplePoissonDisk(50, 7));
+        float minDistance = Float.MAX_VALUE;
+        for (int i = 0; i < points.length; i += 3) {
+            for (int j = i + 3; j < points.length; j += 3) {
+                float dx = points[i] - points[j];
+                float dy = points[i + 1] - points[j + 1];
+                minDistance = Math.min(minDistance, (float) Math.sqrt(dx * dx + dy * dy));
+            }
+        }
+        assertTrue(minDistance > 0.05f);
+    }
+}
@@ -0,0 +1,161 @@
+package net.mcbrincie.apel.lib.util.models;
+
+import com.google.common.collect.ImmutableList;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeshSimplifierTest {
+
+    private static final float EPSILON = 1e-5f;
+    private static final int GRID = 8;
+
+    @Test
+    void testSimplifyFlatGrid() {
+        // Given a flat 8x8 grid of quads (128 triangles)
+        IndexedMesh grid = grid();
+
+        // When it is simplified to a quarter of the triangles
+        IndexedMesh simplified = MeshSimplifier.simplify(grid, 32);
+
+        // Then it has no more than the target, and every vertex stays on the plane within the grid
+        assertTrue(simplified.isTriangulated());
+        assertTrue(simplified.getFaceCount() <= 32);
+        assertTrue(simplified.getFaceCount() > 0);
+        Vector3f position = new Vector3f();
+        for (int v = 0; v < simplified.getVertexCount(); v++) {
+            simplified.getPosition(v, position);
+            assertEquals(0, position.z, EPSILON);
+            assertTrue(position.x >= -EPSILON && position.x <= GRID + EPSILON);
+            assertTrue(position.y >= -EPSILON && position.y <= GRID + EPSILON);
+        }
+    }
+
+    @Test
+    void testBuildLevelsOfDetail() {
+        // Given a flat grid
+        IndexedMesh grid = grid();
+
+        // When a chain of three levels is built
+        ImmutableList<IndexedMesh> levels = MeshSimplifier.buildLevelsOfDetail(grid, 3, 0.5f);
+
+        // Then the first level is the grid itself, and each level halves the triangles
+        assertEquals(3, levels.size());
+        assertSame(grid, levels.get(0));
+        assertTrue(levels.get(1).getFaceCount() <= 64);
+        assertTrue(levels.get(2).getFaceCount() <= 32);
+    }
+
+    @Test
+    void testPolygonalLevelsKeepPolygons() {
+        // Given a flat grid of quads
+        IndexedMesh quads = quadGrid();
+
+        // When it is simplified to a quarter of the triangles
+        IndexedMesh simplified = MeshSimplifier.simplify(quads, 32);
+
+        // Then the coplanar triangles are merged back into convex polygons, without diagonal edges
+        assertFalse(simplified.isTriangulated());
+        assertTrue(simplified.getFaceCount() > 0);
+        Vector3f previous = new Vector3f();
+        Vector3f corner = new Vector3f();
+        Vector3f next = new Vector3f();
+        for (int face = 0; face < simplified.getFaceCount(); face++) {
+            int size = simplified.getFaceSize(face);
+            assertTrue(size >= 3);
+            for (int i = 0; i < size; i++) {
+                simplified.getPosition(simplified.getFaceVertex(face, i), previous);
+                simplified.getPosition(simplified.getFaceVertex(face, (i + 1) % size), corner);
+                simplified.getPosition(simplified.getFaceVertex(face, (i + 2) % size), next);
+                Vector3f turn = new Vector3f(corner).sub(previous).cross(new Vector3f(next).sub(corner));
+                assertTrue(turn.z >= -EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void testClosedMeshStaysManifold() {
+        // Given a closed, triangulated cube
+        float[] positions = {0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 1, 1, 0, 1, 1, 1, 1, 0, 1, 1};
+        int[] indices = {
+                0, 2, 1, 0, 3, 2, 4, 5, 6, 4, 6, 7, 0, 1, 5, 0, 5, 4,
+                1, 2, 6, 1, 6, 5, 2, 3, 7, 2, 7, 6, 3, 0, 4, 3, 4, 7
+        };
+        IndexedMesh cube = IndexedMesh.triangles(positions, indices);
+
+        // When it is simplified as far as it goes
+        IndexedMesh simplified = MeshSimplifier.simplify(cube, 0);
+
+        // Then the result is still closed, with every edge shared by exactly two triangles
+        assertTrue(simplified.getFaceCount() >= 4);
+        Map<Long, Integer> edgeUses = new HashMap<>();
+        for (int face = 0; face < simplified.getFaceCount(); face++) {
+            for (int corner = 0; corner < 3; corner++) {
+                int u = simplified.getFaceVertex(face, corner);
+                int v = simplified.getFaceVertex(face, (corner + 1) % 3);
+                edgeUses.merge(((long) Math.min(u, v) << 32) | Math.max(u, v), 1, Integer::sum);
+            }
+        }
+        for (int uses : edgeUses.values()) {
+            assertEquals(2, uses);
+        }
+    }
+
+    private static IndexedMesh quadGrid() {
+        float[] positions = new float[(GRID + 1) * (GRID + 1) * 3];
+        for (int y = 0; y <= GRID; y++) {
+            for (int x = 0; x <= GRID; x++) {
+                int v = y * (GRID + 1) + x;
+                positions[v * 3] = x;
+                positions[v * 3 + 1] = y;
+            }
+        }
+        int[] indices = new int[GRID * GRID * 4];
+        int[] faceOffsets = new int[GRID * GRID + 1];
+        int i = 0;
+        for (int y = 0; y < GRID; y++) {
+            for (int x = 0; x < GRID; x++) {
+                int v = y * (GRID + 1) + x;
+                faceOffsets[i / 4] = i;
+                indices[i++] = v;
+                indices[i++] = v + 1;
+                indices[i++] = v + GRID + 2;
+                indices[i++] = v + GRID + 1;
+            }
+        }
+        faceOffsets[GRID * GRID] = i;
+        return IndexedMesh.of(positions, indices, faceOffsets);
+    }
+
+    private static IndexedMesh grid() {
+        float[] positions = new float[(GRID + 1) * (GRID + 1) * 3];
+        for (int y = 0; y <= GRID; y++) {
+            for (int x = 0; x <= GRID; x++) {
+                int v = y * (GRID + 1) + x;
+                positions[v * 3] = x;
+                positions[v * 3 + 1] = y;
+            }
+        }
+        int[] indices = new int[GRID * GRID * 6];
+        int i = 0;
+        for (int y = 0; y < GRID; y++) {
+            for (int x = 0; x < GRID; x++) {
+                int v = y * (GRID + 1) + x;
+                indices[i++] = v;
+                indices[i++] = v + 1;
+                indices[i++] = v + GRID + 1;
+                indices[i++] = v + 1;
+                indices[i++] = v + GRID + 2;
+                indices[i++] = v + GRID + 1;
+            }
+        }
+        return IndexedMesh.triangles(positions, indices);
+    }
+}